@@ -0,0 +1,61 @@
+package com.gestionhotel.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.utils.GenerateurDonnees;
+
+/**
+ * Construit les hôtels de test des benchmarks avec {@link GenerateurDonnees}.
+ * Graine et date de référence sont fixes : deux exécutions (ou deux commits)
+ * mesurent exactement le même jeu de données.
+ */
+public final class JeuDeDonnees {
+
+    public static final long GRAINE = 20240601L;
+    public static final LocalDate REFERENCE = LocalDate.of(2025, 1, 1);
+
+    /** Nombre moyen de réservations par chambre (environ trois ans d'historique). */
+    private static final int RESERVATIONS_PAR_CHAMBRE = 200;
+
+    private JeuDeDonnees() {
+    }
+
+    /**
+     * Redirige la sortie standard vers un flux vide : les messages de Hotel
+     * (confirmation de réservation, rapports) ne doivent pas être mesurés.
+     */
+    public static void silencerSortie() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * @param nombreReservations Nombre de réservations générées
+     * @return Le générateur configuré pour cette taille : chambres (60 % simples,
+     *         30 % doubles, 10 % suites), un client pour quatre réservations, douze services
+     */
+    public static GenerateurDonnees generateur(int nombreReservations) {
+        int chambres = Math.max(30, nombreReservations / RESERVATIONS_PAR_CHAMBRE);
+        int doubles = chambres * 3 / 10;
+        int suites = chambres / 10;
+        GenerateurDonnees generateur = new GenerateurDonnees(GRAINE);
+        generateur.setNombreChambres(chambres - doubles - suites, doubles, suites);
+        generateur.setNombreClients(Math.max(10, nombreReservations / 4));
+        generateur.setNombreServices(12);
+        generateur.setNombreReservations(nombreReservations);
+        generateur.setNombreAnnees(3);
+        generateur.setDateReference(REFERENCE);
+        return generateur;
+    }
+
+    /**
+     * @param nombreReservations Nombre de réservations à générer
+     * @return Un hôtel rempli en mémoire
+     */
+    public static Hotel construire(int nombreReservations) {
+        Hotel hotel = new Hotel("", "");
+        generateur(nombreReservations).genererHotel(hotel);
+        return hotel;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gestionhotel.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.utils.SnapshotBinaire;
+
+/**
+ * Mesure la sauvegarde et le chargement du snapshot binaire, le format écrit
+ * par FilePersistence.sauvegarderHotel et relu par chargerHotel.
+ * Les fichiers sont créés dans le répertoire temporaire et non dans data/.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PersistanceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int taille;
+
+    private Hotel hotel;
+    private File sauvegarde;
+    private File relecture;
+
+    @Setup
+    public void preparer() throws IOException {
+        JeuDeDonnees.silencerSortie();
+        hotel = JeuDeDonnees.construire(taille);
+        sauvegarde = File.createTempFile("bench-ecriture", ".snap");
+        relecture = File.createTempFile("bench-lecture", ".snap");
+        SnapshotBinaire.ecrire(hotel, relecture);
+    }
+
+    @TearDown
+    public void nettoyer() {
+        sauvegarde.delete();
+        relecture.delete();
+    }
+
+    @Benchmark
+    public File sauvegarder() throws IOException {
+        SnapshotBinaire.ecrire(hotel, sauvegarde);
+        return sauvegarde;
+    }
+
+    @Benchmark
+    public Hotel charger() throws IOException {
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, relecture);
+        return copie;
+    }
+}
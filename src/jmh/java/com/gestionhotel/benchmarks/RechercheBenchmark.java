@@ -0,0 +1,87 @@
+package com.gestionhotel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.GestionnaireClient;
+
+/**
+ * Mesure les recherches en lecture seule : chambre par numéro, chambres par type
+ * et client par email. Les clés sont tirées à l'avance avec une graine fixe ;
+ * un email sur quatre est en majuscules pour passer par la normalisation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RechercheBenchmark {
+
+    private static final int NOMBRE_CLES = 4096;
+    private static final String[] TYPES = { "Simple", "Double", "Suite" };
+
+    @Param({ "1000", "100000", "1000000" })
+    public int taille;
+
+    private Hotel hotel;
+    private GestionnaireClient gestionnaire;
+    private int[] numerosChambres;
+    private String[] emails;
+    private int position;
+
+    @Setup
+    public void preparer() {
+        JeuDeDonnees.silencerSortie();
+        hotel = JeuDeDonnees.construire(taille);
+        gestionnaire = new GestionnaireClient();
+        for (Client client : hotel.getClients()) {
+            gestionnaire.ajouterClient(client);
+        }
+
+        Random aleatoire = new Random(JeuDeDonnees.GRAINE);
+        Chambre[] chambres = hotel.getChambres().toArray(new Chambre[0]);
+        Client[] clients = hotel.getClients().toArray(new Client[0]);
+        numerosChambres = new int[NOMBRE_CLES];
+        emails = new String[NOMBRE_CLES];
+        for (int i = 0; i < NOMBRE_CLES; i++) {
+            numerosChambres[i] = chambres[aleatoire.nextInt(chambres.length)].getNumero();
+            String email = clients[aleatoire.nextInt(clients.length)].getEmail();
+            emails[i] = i % 4 == 0 ? email.toUpperCase() : email;
+        }
+    }
+
+    private int suivante() {
+        position = (position + 1) & (NOMBRE_CLES - 1);
+        return position;
+    }
+
+    @Benchmark
+    public Chambre rechercherChambre() {
+        return hotel.rechercherChambre(numerosChambres[suivante()]);
+    }
+
+    @Benchmark
+    public ArrayList<Chambre> rechercherChambresParType() {
+        return hotel.rechercherChambresParType(TYPES[suivante() % TYPES.length]);
+    }
+
+    @Benchmark
+    public Client rechercherParEmail() {
+        return gestionnaire.rechercherParEmail(emails[suivante()]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.gestionhotel.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+
+/**
+ * Mesure Hotel.creerReservation : chemin nominal, refus pour chevauchement
+ * et réservation concurrente depuis plusieurs terminaux.
+ * L'hôtel est reconstruit à chaque itération pour que les réservations
+ * ajoutées pendant la mesure ne faussent pas l'itération suivante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReservationBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int taille;
+
+    private Hotel hotel;
+    private Chambre[] chambres;
+    private Client[] clients;
+    private LocalDate lointain;
+    private final AtomicLong curseur = new AtomicLong();
+    private Reservation existante;
+
+    @Setup(Level.Trial)
+    public void silencer() {
+        JeuDeDonnees.silencerSortie();
+    }
+
+    @Setup(Level.Iteration)
+    public void preparer() {
+        hotel = JeuDeDonnees.construire(taille);
+        List<Chambre> liste = hotel.getChambres();
+        chambres = liste.toArray(new Chambre[0]);
+        clients = hotel.getClients().toArray(new Client[0]);
+        // Au-delà de l'historique généré : chaque (chambre, nuit) n'est demandée qu'une fois.
+        // Date fixe pour des mesures reproductibles ; elle doit rester future (dates passées refusées)
+        lointain = JeuDeDonnees.REFERENCE.plusYears(10);
+        curseur.set(0);
+        // Séjour futur servant de conflit : le refus passe par le test du planning
+        existante = hotel.creerReservation(clients[0], chambres[0], lointain.minusDays(7), lointain.minusDays(5));
+    }
+
+    private Reservation reserverSuivante() {
+        long k = curseur.getAndIncrement();
+        Chambre chambre = chambres[(int) (k % chambres.length)];
+        LocalDate debut = lointain.plusDays(k / chambres.length);
+        Client client = clients[(int) (k % clients.length)];
+        return hotel.creerReservation(client, chambre, debut, debut.plusDays(1));
+    }
+
+    @Benchmark
+    public Reservation creerReservation() {
+        return reserverSuivante();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Reservation creerReservationConcurrente() {
+        return reserverSuivante();
+    }
+
+    @Benchmark
+    public Reservation creerReservationRefusee() {
+        return hotel.creerReservation(existante.getClient(), existante.getChambre(),
+                existante.getDebut(), existante.getFin());
+    }
+}
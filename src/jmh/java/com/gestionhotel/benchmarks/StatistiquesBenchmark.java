@@ -0,0 +1,191 @@
+package com.gestionhotel.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.gestionhotel.core.AgregateurStatistiques;
+import com.gestionhotel.core.Classement;
+import com.gestionhotel.core.CritereClassement;
+import com.gestionhotel.core.Granularite;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.PointSerie;
+import com.gestionhotel.core.Statistiques;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Mesure chaque méthode publique de Statistiques sur un agrégateur à jour,
+ * ainsi que la reconstruction complète de l'agrégateur (premier appel après
+ * un chargement ou une invalidation), dans le fil appelant puis sur le pool commun.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StatistiquesBenchmark {
+
+    /** Taille des classements mesurés (top-K). */
+    private static final int K = 10;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int taille;
+
+    private Hotel hotel;
+    private Statistiques statistiques;
+    private Client client;
+
+    @Setup
+    public void preparer() {
+        JeuDeDonnees.silencerSortie();
+        hotel = JeuDeDonnees.construire(taille);
+        statistiques = new Statistiques(hotel);
+        client = hotel.getClients().iterator().next();
+        hotel.getAgregateur();
+        hotel.getSeriesOccupation();
+    }
+
+    @Benchmark
+    public double calculerChiffreAffaires() {
+        return statistiques.calculerChiffreAffaires();
+    }
+
+    @Benchmark
+    public long calculerChiffreAffairesCentimes() {
+        return statistiques.calculerChiffreAffairesCentimes();
+    }
+
+    @Benchmark
+    public double calculerChiffreAffairesParStatut() {
+        return statistiques.calculerChiffreAffairesParStatut(StatutReservation.TERMINEE);
+    }
+
+    @Benchmark
+    public double calculerChiffreAffairesParLibelle() {
+        return statistiques.calculerChiffreAffairesParStatut("Terminée");
+    }
+
+    @Benchmark
+    public double calculerTauxOccupation() {
+        return statistiques.calculerTauxOccupation();
+    }
+
+    @Benchmark
+    public Chambre trouverChambreLaPlusReservee() {
+        return statistiques.trouverChambreLaPlusReservee();
+    }
+
+    @Benchmark
+    public Map<StatutReservation, Integer> calculerReservationsParStatut() {
+        return statistiques.calculerReservationsParStatut();
+    }
+
+    @Benchmark
+    public double calculerNombreMoyenNuits() {
+        return statistiques.calculerNombreMoyenNuits();
+    }
+
+    @Benchmark
+    public Client trouverClientLePlusFidele() {
+        return statistiques.trouverClientLePlusFidele();
+    }
+
+    @Benchmark
+    public int compterReservationsClient() {
+        return statistiques.compterReservationsClient(client);
+    }
+
+    @Benchmark
+    public double calculerRevenuMoyenParReservation() {
+        return statistiques.calculerRevenuMoyenParReservation();
+    }
+
+    @Benchmark
+    public int calculerNombreTotalServices() {
+        return statistiques.calculerNombreTotalServices();
+    }
+
+    @Benchmark
+    public Service trouverServiceLePlusUtilise() {
+        return statistiques.trouverServiceLePlusUtilise();
+    }
+
+    @Benchmark
+    public List<PointSerie> calculerSerieOccupation() {
+        return statistiques.calculerSerieOccupation(null, JeuDeDonnees.REFERENCE.minusYears(3),
+                JeuDeDonnees.REFERENCE, Granularite.JOUR);
+    }
+
+    @Benchmark
+    public List<PointSerie> calculerSerieOccupationMensuelleSuites() {
+        return statistiques.calculerSerieOccupation("Suite", JeuDeDonnees.REFERENCE.minusYears(3),
+                JeuDeDonnees.REFERENCE, Granularite.MOIS);
+    }
+
+    @Benchmark
+    public List<Classement<Chambre>> classerChambres() {
+        return statistiques.classerChambres(K, CritereClassement.NOMBRE_RESERVATIONS);
+    }
+
+    @Benchmark
+    public List<Classement<Chambre>> classerChambresParChiffreAffaires() {
+        return statistiques.classerChambres(K, CritereClassement.CHIFFRE_AFFAIRES);
+    }
+
+    @Benchmark
+    public List<Classement<Client>> classerClients() {
+        return statistiques.classerClients(K, CritereClassement.NOMBRE_RESERVATIONS);
+    }
+
+    @Benchmark
+    public List<Classement<Client>> classerClientsParChiffreAffaires() {
+        return statistiques.classerClients(K, CritereClassement.CHIFFRE_AFFAIRES);
+    }
+
+    @Benchmark
+    public List<Classement<Service>> classerServices() {
+        return statistiques.classerServices(K, CritereClassement.NOMBRE_RESERVATIONS);
+    }
+
+    @Benchmark
+    public List<Classement<Service>> classerServicesParChiffreAffaires() {
+        return statistiques.classerServices(K, CritereClassement.CHIFFRE_AFFAIRES);
+    }
+
+    @Benchmark
+    public List<Classement<Client>> classerClientsApproximatif() {
+        return statistiques.classerClientsApproximatif(K, 100 * K);
+    }
+
+    @Benchmark
+    public void afficherRapportComplet() {
+        statistiques.afficherRapportComplet();
+    }
+
+    @Benchmark
+    public AgregateurStatistiques reconstruireAgregateur() {
+        hotel.invaliderStatistiques();
+        return hotel.getAgregateur();
+    }
+
+    @Benchmark
+    public AgregateurStatistiques reconstruireAgregateurParallele() {
+        hotel.invaliderStatistiques();
+        return hotel.getAgregateur(ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,108 @@
+package com.gestionhotel.benchmarks;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.MoteurTarifaire;
+import com.gestionhotel.model.Chambre;
+
+/**
+ * Mesure le devis d'un séjour avec le moteur tarifaire (saisons, jours de la semaine,
+ * remises de durée et yield), le même devis servi par le cache de l'hôtel, et le recalcul
+ * complet des grilles. Les séjours demandés (chambre, arrivée, 1 à 14 nuits) sont tirés à
+ * l'avance avec une graine fixe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TarificationBenchmark {
+
+    private static final int NOMBRE_DEVIS = 4096;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int taille;
+
+    private Hotel hotel;
+    private MoteurTarifaire moteur;
+    private Chambre[] chambres;
+    private long[] arrivees;
+    private int[] nuits;
+    private LocalDate[] debuts;
+    private LocalDate[] fins;
+    private int position;
+
+    @Setup
+    public void preparer() {
+        JeuDeDonnees.silencerSortie();
+        hotel = JeuDeDonnees.construire(taille);
+        moteur = new MoteurTarifaire(hotel);
+        moteur.setHorizon(JeuDeDonnees.REFERENCE.minusYears(3), JeuDeDonnees.REFERENCE.plusYears(2));
+        LocalDate ete = LocalDate.of(JeuDeDonnees.REFERENCE.getYear(), 7, 1);
+        moteur.ajouterSaison(null, ete, ete.plusMonths(2), 1.3);
+        moteur.setCoefficientJour(null, DayOfWeek.FRIDAY, 1.1);
+        moteur.setCoefficientJour(null, DayOfWeek.SATURDAY, 1.2);
+        moteur.ajouterRemiseDuree(7, 0.10);
+        moteur.ajouterSeuilOccupation(null, 80.0, 1.15);
+        hotel.setTarification(moteur);
+        moteur.recalculer();
+
+        Random aleatoire = new Random(JeuDeDonnees.GRAINE);
+        Chambre[] parc = hotel.getChambres().toArray(new Chambre[0]);
+        chambres = new Chambre[NOMBRE_DEVIS];
+        arrivees = new long[NOMBRE_DEVIS];
+        nuits = new int[NOMBRE_DEVIS];
+        debuts = new LocalDate[NOMBRE_DEVIS];
+        fins = new LocalDate[NOMBRE_DEVIS];
+        for (int i = 0; i < NOMBRE_DEVIS; i++) {
+            chambres[i] = parc[aleatoire.nextInt(parc.length)];
+            arrivees[i] = JeuDeDonnees.REFERENCE.toEpochDay() + aleatoire.nextInt(365);
+            nuits[i] = 1 + aleatoire.nextInt(14);
+            debuts[i] = LocalDate.ofEpochDay(arrivees[i]);
+            fins[i] = debuts[i].plusDays(nuits[i]);
+        }
+    }
+
+    private int suivant() {
+        position = (position + 1) & (NOMBRE_DEVIS - 1);
+        return position;
+    }
+
+    @Benchmark
+    public double devisSejour() {
+        int i = suivant();
+        return chambres[i].calculerPrix(arrivees[i], arrivees[i] + nuits[i]);
+    }
+
+    @Benchmark
+    public double devisEnCache() {
+        int i = suivant();
+        return hotel.chiffrerSejour(chambres[i], debuts[i], fins[i], null);
+    }
+
+    @Benchmark
+    public double devisSansMoteur() {
+        int i = suivant();
+        return chambres[i].calculerPrix(nuits[i]);
+    }
+
+    @Benchmark
+    public void recalculerGrilles() {
+        moteur.recalculer();
+    }
+}
@@ -1,18 +1,32 @@
 package com.gestionhotel;
 
+import java.io.File;
 import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.RegistreHotels;
 import com.gestionhotel.ui.MenuPrincipal;
+import com.gestionhotel.ui.ServeurApi;
 import com.gestionhotel.utils.FilePersistence;
 
 /**
  * Classe principale de l'application.
  * Initialise l'hôtel, charge les données et démarre le menu interactif.
  * Implémente une gestion robuste des erreurs globales.
+ * Avec un code d'hôtel en argument ({@code Main <code> [ville]}), l'hôtel est pris dans le
+ * registre multi-hôtels de {@code data/hotels} (créé s'il n'existe pas encore).
+ * Avec {@code Main --api [port]}, l'hôtel est servi par l'API HTTP au lieu du menu console.
  * 
  * @author Dev 3 (Phase 4 - Try-catch global)
  */
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && "--api".equals(args[0])) {
+            demarrerApi(args.length > 1 ? Integer.parseInt(args[1]) : ServeurApi.PORT_DEFAUT);
+            return;
+        }
+        if (args.length > 0) {
+            demarrerDepuisRegistre(args[0], args.length > 1 ? args[1] : null);
+            return;
+        }
         try {
             // Initialisation de l'hôtel
             Hotel hotel = new Hotel("Hôtel Le Magnifique", "123 Avenue des Champs-Élysées, Paris");
@@ -31,6 +45,9 @@ public class Main {
                 }
             } else {
                 System.out.println("ℹ️  Aucune donnée existante trouvée. Démarrage d'un nouvel hôtel.");
+                if (!FilePersistence.ouvrirJournal(hotel)) {
+                    System.err.println("⚠️  Journal indisponible : les modifications ne seront sauvegardées qu'à la fermeture.");
+                }
             }
 
             // Démarrage du menu principal
@@ -48,6 +65,7 @@ public class Main {
             } else {
                 System.err.println("⚠️  Erreur lors de la sauvegarde des données.");
             }
+            FilePersistence.fermerJournal();
             System.out.println("\nMerci d'avoir utilisé notre système. À bientôt !");
             
         } catch (NullPointerException e) {
@@ -61,4 +79,79 @@ public class Main {
             System.exit(1);
         }
     }
+
+    /**
+     * Démarre le menu sur un hôtel du registre multi-hôtels, puis sauvegarde tout le registre.
+     * 
+     * @param code  Le code de l'hôtel
+     * @param ville La ville, obligatoire pour créer un hôtel absent du registre
+     */
+    private static void demarrerDepuisRegistre(String code, String ville) {
+        try {
+            RegistreHotels registre = RegistreHotels.charger(new File(FilePersistence.REPERTOIRE_DEFAUT, "hotels"));
+            Hotel hotel = registre.getHotel(code);
+            if (hotel == null) {
+                if (ville == null) {
+                    System.err.println("❌ Hôtel " + code + " inconnu. Usage pour le créer : Main " + code + " <ville>");
+                    registre.fermer();
+                    return;
+                }
+                hotel = registre.creerHotel(code, "Hôtel " + code, ville, ville);
+                System.out.println("ℹ️  Nouvel hôtel " + code + " créé à " + ville + ".");
+            } else {
+                System.out.println("✅ Hôtel " + code + " chargé (" + registre.getNombreHotels() + " hôtels au registre).");
+            }
+
+            new MenuPrincipal(hotel).demarrer();
+
+            System.out.println("Sauvegarde des données...");
+            if (registre.sauvegarder()) {
+                System.out.println("✅ Données sauvegardées avec succès.");
+            } else {
+                System.err.println("⚠️  Erreur lors de la sauvegarde des données.");
+            }
+            registre.fermer();
+        } catch (Exception e) {
+            System.err.println("❌ Erreur critique lors du démarrage de l'application :");
+            System.err.println("   " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Sert l'hôtel par l'API HTTP jusqu'à l'arrêt du processus, puis sauvegarde.
+     * 
+     * @param port Le port d'écoute
+     */
+    private static void demarrerApi(int port) {
+        try {
+            Hotel hotel = new Hotel("Hôtel Le Magnifique", "123 Avenue des Champs-Élysées, Paris");
+            if (FilePersistence.fichiersExistent()) {
+                if (!FilePersistence.chargerHotel(hotel)) {
+                    System.err.println("⚠️  Erreur lors du chargement des données. Démarrage avec des données vierges.");
+                }
+            } else if (!FilePersistence.ouvrirJournal(hotel)) {
+                System.err.println("⚠️  Journal indisponible : les modifications ne seront sauvegardées qu'à l'arrêt.");
+            }
+
+            ServeurApi serveur = new ServeurApi(hotel, port);
+            serveur.demarrer();
+            System.out.println("✅ API HTTP à l'écoute sur le port " + serveur.getPort()
+                    + (serveur.utiliseFilsVirtuels() ? " (fils virtuels)." : " (pool de fils)."));
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                serveur.arreter(2);
+                if (!FilePersistence.sauvegarderHotel(hotel)) {
+                    System.err.println("⚠️  Erreur lors de la sauvegarde des données.");
+                }
+                FilePersistence.fermerJournal();
+            }));
+        } catch (Exception e) {
+            System.err.println("❌ Erreur critique lors du démarrage de l'API :");
+            System.err.println("   " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
 }
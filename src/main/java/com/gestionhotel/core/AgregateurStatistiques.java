@@ -0,0 +1,300 @@
+package com.gestionhotel.core;
+
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.TableEntiers;
+
+/**
+ * Compteurs statistiques maintenus au fil des événements de l'hôtel
+ * (création, changement de statut, ajout de service).
+ * Les statistiques se lisent ainsi en O(1) au lieu de reparcourir toutes les réservations.
+ * Après un changement de tarif les compteurs sont invalidés, puis reconstruits
+ * en une seule passe à la lecture suivante.
+ * Toutes les méthodes publiques sont synchronisées : l'agrégateur est partagé
+ * par les terminaux d'un même hôtel.
+ * Le chiffre d'affaires est cumulé en centimes ({@link Montant}) : les sommes sont exactes
+ * quel que soit l'ordre des événements.
+ */
+public class AgregateurStatistiques {
+
+    /**
+     * Compteur d'occurrences par identifiant avec suivi du maximum.
+     * Les compteurs ne font que croître, le maximum se tient donc à jour en O(1).
+     */
+    private static class Compteur {
+        private TableEntiers valeurs = new TableEntiers();
+        private int idMax = -1;
+        private int max = 0;
+
+        void incrementer(int id) {
+            int valeur = valeurs.ajouter(id, 1);
+            if (valeur > max) {
+                max = valeur;
+                idMax = id;
+            }
+        }
+
+        void ajouter(TableEntiers comptes) {
+            for (int id : comptes.cles()) {
+                int valeur = valeurs.ajouter(id, comptes.get(id, 0));
+                if (valeur > max) {
+                    max = valeur;
+                    idMax = id;
+                }
+            }
+        }
+
+        void vider() {
+            valeurs = new TableEntiers();
+            idMax = -1;
+            max = 0;
+        }
+    }
+
+    private static final int NB_STATUTS = StatutReservation.values().length;
+
+    private int nombreReservations;
+    private int[] reservationsParStatut;
+    private long[] chiffreAffairesParStatut; // En centimes
+    private long nuitsNonAnnulees;
+    private int nombreServices;
+    private Compteur chambres;
+    private Compteur clients;
+    private Compteur services;
+    private boolean aJour;
+
+    /**
+     * Constructeur : compteurs vides et à jour (hôtel sans réservation).
+     */
+    public AgregateurStatistiques() {
+        this.reservationsParStatut = new int[NB_STATUTS];
+        this.chiffreAffairesParStatut = new long[NB_STATUTS];
+        this.chambres = new Compteur();
+        this.clients = new Compteur();
+        this.services = new Compteur();
+        this.aJour = true;
+    }
+
+    // ===========================
+    // ÉVÉNEMENTS
+    // ===========================
+
+    /**
+     * Prend en compte une nouvelle réservation.
+     * 
+     * @param reservation La réservation créée
+     */
+    public synchronized void reservationCreee(Reservation reservation) {
+        if (aJour) {
+            comptabiliser(reservation);
+        }
+    }
+
+    /**
+     * Déplace une réservation d'un statut à un autre.
+     * 
+     * @param reservation  La réservation (déjà dans son nouveau statut)
+     * @param ancienStatut Le statut avant la transition
+     */
+    public synchronized void statutModifie(Reservation reservation, StatutReservation ancienStatut) {
+        if (!aJour || ancienStatut == reservation.getStatut()) {
+            return;
+        }
+        long prix = reservation.calculerPrixTotalCentimes();
+        reservationsParStatut[ancienStatut.ordinal()]--;
+        chiffreAffairesParStatut[ancienStatut.ordinal()] -= prix;
+        reservationsParStatut[reservation.getStatut().ordinal()]++;
+        chiffreAffairesParStatut[reservation.getStatut().ordinal()] += prix;
+        if (reservation.estAnnulee()) {
+            nuitsNonAnnulees -= reservation.calculerNombreNuits();
+        }
+    }
+
+    /**
+     * Prend en compte un service ajouté à une réservation existante.
+     * 
+     * @param reservation La réservation
+     * @param service     Le service ajouté
+     */
+    public synchronized void serviceAjoute(Reservation reservation, Service service) {
+        if (aJour) {
+            nombreServices++;
+            services.incrementer(service.getIdService());
+            chiffreAffairesParStatut[reservation.getStatut().ordinal()] += service.getPrixCentimes();
+        }
+    }
+
+    /**
+     * Marque les compteurs comme obsolètes (par exemple après un changement de tarif).
+     */
+    public synchronized void invalider() {
+        aJour = false;
+    }
+
+    /**
+     * @return true si les compteurs reflètent l'état courant des réservations
+     */
+    public synchronized boolean estAJour() {
+        return aJour;
+    }
+
+    /**
+     * Reconstruit tous les compteurs en une seule passe sur les réservations.
+     * 
+     * @param reservations Toutes les réservations de l'hôtel
+     */
+    public synchronized void reconstruire(Iterable<Reservation> reservations) {
+        reconstruire(reservations, null);
+    }
+
+    /**
+     * Reconstruit tous les compteurs : cumuls de l'historique archivé puis une passe
+     * sur les réservations vivantes.
+     * 
+     * @param reservations Les réservations vivantes de l'hôtel
+     * @param archive      Les cumuls de l'archive en colonnes (null si aucune)
+     */
+    public synchronized void reconstruire(Iterable<Reservation> reservations, ResumeColonnes archive) {
+        ResumeColonnes total = new ResumeColonnes();
+        if (archive != null) {
+            total.fusionner(archive);
+        }
+        for (Reservation reservation : reservations) {
+            total.comptabiliser(reservation);
+        }
+        reconstruire(total);
+    }
+
+    /**
+     * Remplace tous les compteurs par des cumuls calculés par ailleurs
+     * (calcul complet par tranches, éventuellement parallèle).
+     * 
+     * @param total Les cumuls de toutes les réservations
+     */
+    public synchronized void reconstruire(ResumeColonnes total) {
+        nombreReservations = total.nombreReservations;
+        reservationsParStatut = total.reservationsParStatut.clone();
+        chiffreAffairesParStatut = total.chiffreAffairesParStatut.clone();
+        nuitsNonAnnulees = total.nuitsNonAnnulees;
+        nombreServices = total.nombreServices;
+        chambres.vider();
+        clients.vider();
+        services.vider();
+        chambres.ajouter(total.parChambre);
+        clients.ajouter(total.parClient);
+        services.ajouter(total.parService);
+        aJour = true;
+    }
+
+    private void comptabiliser(Reservation reservation) {
+        StatutReservation statut = reservation.getStatut();
+        nombreReservations++;
+        reservationsParStatut[statut.ordinal()]++;
+        chiffreAffairesParStatut[statut.ordinal()] += reservation.calculerPrixTotalCentimes();
+        if (statut != StatutReservation.ANNULEE) {
+            nuitsNonAnnulees += reservation.calculerNombreNuits();
+        }
+        chambres.incrementer(reservation.getChambre().getNumero());
+        clients.incrementer(reservation.getClient().getNumeroClient());
+        for (Service service : reservation.getServices()) {
+            nombreServices++;
+            services.incrementer(service.getIdService());
+        }
+    }
+
+    // ===========================
+    // LECTURES
+    // ===========================
+
+    public synchronized int getNombreReservations() {
+        return nombreReservations;
+    }
+
+    public synchronized int getNombreReservations(StatutReservation statut) {
+        return reservationsParStatut[statut.ordinal()];
+    }
+
+    public synchronized int getNombreReservationsNonAnnulees() {
+        return nombreReservations - reservationsParStatut[StatutReservation.ANNULEE.ordinal()];
+    }
+
+    /**
+     * @return Le chiffre d'affaires des réservations non annulées
+     */
+    public synchronized double getChiffreAffaires() {
+        return Montant.enEuros(getChiffreAffairesCentimes());
+    }
+
+    /**
+     * @return Le chiffre d'affaires exact des réservations non annulées, en centimes
+     */
+    public synchronized long getChiffreAffairesCentimes() {
+        long total = 0;
+        for (StatutReservation statut : StatutReservation.values()) {
+            if (statut != StatutReservation.ANNULEE) {
+                total += chiffreAffairesParStatut[statut.ordinal()];
+            }
+        }
+        return total;
+    }
+
+    public synchronized double getChiffreAffaires(StatutReservation statut) {
+        return Montant.enEuros(chiffreAffairesParStatut[statut.ordinal()]);
+    }
+
+    public synchronized long getChiffreAffairesCentimes(StatutReservation statut) {
+        return chiffreAffairesParStatut[statut.ordinal()];
+    }
+
+    public synchronized long getNuitsNonAnnulees() {
+        return nuitsNonAnnulees;
+    }
+
+    public synchronized int getNombreServices() {
+        return nombreServices;
+    }
+
+    /**
+     * @return Copie du nombre de réservations par numéro de chambre
+     */
+    public synchronized TableEntiers getReservationsParChambre() {
+        return new TableEntiers(chambres.valeurs);
+    }
+
+    /**
+     * @return Copie du nombre de réservations par numéro de client
+     */
+    public synchronized TableEntiers getReservationsParClient() {
+        return new TableEntiers(clients.valeurs);
+    }
+
+    /**
+     * @return Copie du nombre de commandes par identifiant de service
+     */
+    public synchronized TableEntiers getCommandesParService() {
+        return new TableEntiers(services.valeurs);
+    }
+
+    /**
+     * @return Le numéro de la chambre la plus réservée, ou -1 si aucune réservation
+     */
+    public synchronized int getChambreLaPlusReservee() {
+        return chambres.idMax;
+    }
+
+    /**
+     * @return Le numéro du client ayant le plus de réservations, ou -1 si aucune réservation
+     */
+    public synchronized int getClientLePlusFidele() {
+        return clients.idMax;
+    }
+
+    /**
+     * @return L'identifiant du service le plus commandé, ou -1 si aucun service
+     */
+    public synchronized int getServiceLePlusUtilise() {
+        return services.idMax;
+    }
+}
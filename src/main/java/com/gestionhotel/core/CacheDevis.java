@@ -0,0 +1,234 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.ValidationUtils;
+
+/**
+ * Cache des devis de séjour (chambre + services), borné et évincé du moins récemment utilisé.
+ *
+ * La clé réunit le type de chambre, son prix par nuit et son supplément, les dates et
+ * l'ensemble des services (identifiants triés, doublons compris) : deux chambres du même
+ * type au même tarif partagent leurs devis. La tarification branchée sur les chambres ne
+ * doit donc dépendre que du type et des prix (c'est le cas de {@link MoteurTarifaire}).
+ *
+ * Tout changement de prix vide le cache ; un compteur de génération empêche un devis
+ * calculé avant le vidage d'y être rangé après. Les opérations sont synchronisées : les
+ * sections critiques se limitent à une lecture ou une écriture dans la table.
+ */
+public class CacheDevis {
+
+    public static final int CAPACITE_DEFAUT = 10_000;
+
+    /**
+     * Clé d'un devis. Le hachage est calculé une fois à la construction.
+     */
+    private static final class Cle {
+        private final String type;
+        private final long prixParNuit;
+        private final long supplement;
+        private final long jourDebut;
+        private final long jourFin;
+        private final int[] services;
+        private final int hachage;
+
+        Cle(String type, long prixParNuit, long supplement, long jourDebut, long jourFin, int[] services) {
+            this.type = type;
+            this.prixParNuit = prixParNuit;
+            this.supplement = supplement;
+            this.jourDebut = jourDebut;
+            this.jourFin = jourFin;
+            this.services = services;
+            int h = type.hashCode();
+            h = 31 * h + Long.hashCode(this.prixParNuit);
+            h = 31 * h + Long.hashCode(this.supplement);
+            h = 31 * h + Long.hashCode(jourDebut);
+            h = 31 * h + Long.hashCode(jourFin);
+            this.hachage = 31 * h + Arrays.hashCode(services);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Cle)) {
+                return false;
+            }
+            Cle autre = (Cle) o;
+            return hachage == autre.hachage
+                    && jourDebut == autre.jourDebut
+                    && jourFin == autre.jourFin
+                    && prixParNuit == autre.prixParNuit
+                    && supplement == autre.supplement
+                    && type.equals(autre.type)
+                    && Arrays.equals(services, autre.services);
+        }
+
+        @Override
+        public int hashCode() {
+            return hachage;
+        }
+    }
+
+    private final int capacite;
+    private final LinkedHashMap<Cle, Long> devis;
+    private long generation;
+    private long succes;
+    private long echecs;
+
+    /**
+     * Crée un cache d'au plus {@code capacite} devis.
+     *
+     * @param capacite Nombre maximal de devis conservés (> 0)
+     */
+    public CacheDevis(int capacite) {
+        ValidationUtils.requirePositive(capacite, "La capacité du cache");
+        this.capacite = capacite;
+        // Ordre d'accès : l'entrée la plus ancienne est la moins récemment lue
+        this.devis = new LinkedHashMap<Cle, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, Long> eldest) {
+                return size() > CacheDevis.this.capacite;
+            }
+        };
+    }
+
+    // ===========================
+    // Devis
+    // ===========================
+
+    /**
+     * Retourne le prix d'un séjour : chambre sur les dates plus la somme des services.
+     * Le devis est lu dans le cache, ou calculé puis rangé.
+     *
+     * @param chambre  La chambre
+     * @param debut    Date d'arrivée
+     * @param fin      Date de départ
+     * @param services Les services commandés (null ou vide si aucun)
+     * @return Le prix total du séjour (0 pour la chambre si fin <= début)
+     */
+    public double coter(Chambre chambre, LocalDate debut, LocalDate fin, Collection<Service> services) {
+        return Montant.enEuros(coterCentimes(chambre, debut, fin, services));
+    }
+
+    /**
+     * Variante exacte en centimes de {@link #coter}.
+     *
+     * @param chambre  La chambre
+     * @param debut    Date d'arrivée
+     * @param fin      Date de départ
+     * @param services Les services commandés (null ou vide si aucun)
+     * @return Le prix total du séjour en centimes
+     */
+    public long coterCentimes(Chambre chambre, LocalDate debut, LocalDate fin, Collection<Service> services) {
+        ValidationUtils.requireNonNull(chambre, "La chambre");
+        ValidationUtils.requireNonNullDate(debut, "La date de début");
+        ValidationUtils.requireNonNullDate(fin, "La date de fin");
+
+        Service[] tries = trier(services);
+        int[] identifiants = new int[tries.length];
+        for (int i = 0; i < tries.length; i++) {
+            identifiants[i] = tries[i].getIdService();
+        }
+        long jourDebut = debut.toEpochDay();
+        long jourFin = fin.toEpochDay();
+        Cle cle = new Cle(chambre.getType().toLowerCase(Locale.ROOT), chambre.getPrixParNuitCentimes(),
+                chambre.getSupplementParNuitCentimes(), jourDebut, jourFin, identifiants);
+
+        long generationLue;
+        synchronized (this) {
+            Long connu = devis.get(cle);
+            if (connu != null) {
+                succes++;
+                return connu;
+            }
+            echecs++;
+            generationLue = generation;
+        }
+
+        // Calcul hors verrou : la tarification peut être coûteuse
+        long total = jourFin > jourDebut ? chambre.calculerPrixCentimes(jourDebut, jourFin) : 0;
+        for (Service service : tries) {
+            total += service.getPrixCentimes();
+        }
+
+        synchronized (this) {
+            if (generation == generationLue) {
+                devis.put(cle, total);
+            }
+        }
+        return total;
+    }
+
+    private static Service[] trier(Collection<Service> services) {
+        if (services == null || services.isEmpty()) {
+            return new Service[0];
+        }
+        Service[] tries = services.toArray(new Service[0]);
+        Arrays.sort(tries, (a, b) -> Integer.compare(a.getIdService(), b.getIdService()));
+        return tries;
+    }
+
+    /**
+     * Oublie tous les devis. Appelé à chaque changement de prix.
+     */
+    public synchronized void vider() {
+        devis.clear();
+        generation++;
+    }
+
+    // ===========================
+    // Compteurs
+    // ===========================
+
+    public int getCapacite() {
+        return capacite;
+    }
+
+    public synchronized int getTaille() {
+        return devis.size();
+    }
+
+    /**
+     * @return Nombre de devis trouvés dans le cache
+     */
+    public synchronized long getSucces() {
+        return succes;
+    }
+
+    /**
+     * @return Nombre de devis absents du cache (calculés)
+     */
+    public synchronized long getEchecs() {
+        return echecs;
+    }
+
+    /**
+     * @return La part des devis servis par le cache, entre 0 et 1 (0 si aucun devis)
+     */
+    public synchronized double getTauxSucces() {
+        long total = succes + echecs;
+        return total == 0 ? 0.0 : (double) succes / total;
+    }
+
+    /**
+     * Remet les compteurs à zéro sans toucher aux devis.
+     */
+    public synchronized void reinitialiserCompteurs() {
+        succes = 0;
+        echecs = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CacheDevis[" + devis.size() + "/" + capacite + ", " + succes + " succès, " + echecs + " échecs]";
+    }
+}
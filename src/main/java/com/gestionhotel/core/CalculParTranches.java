@@ -0,0 +1,124 @@
+package com.gestionhotel.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.utils.ArchiveMappee;
+
+/**
+ * Calcul complet des cumuls statistiques, découpé en tranches de taille fixe.
+ *
+ * Chaque tranche (réservations vivantes, lignes de l'archive en colonnes puis de
+ * l'archive sur disque) produit son
+ * {@link ResumeColonnes} ; les résumés partiels sont ensuite fusionnés de gauche à
+ * droite. Les montants étant cumulés en centimes entiers, le résultat est exact et
+ * identique en mode séquentiel et en mode parallèle, quel que soit le nombre de fils.
+ */
+final class CalculParTranches {
+
+    static final int TAILLE_TRANCHE = 16384;
+
+    private final Reservation[] vivantes;
+    private final ReservationsColonnes.Colonnes archive;
+    private final ArchiveMappee fichier;
+    private final int tailleFichier;
+    private final ReservationsColonnes.Tarifs tarifs;
+    private final int tranchesVivantes;
+    private final int tranchesArchive;
+    private final ResumeColonnes[] partiels;
+
+    private CalculParTranches(Reservation[] vivantes, ReservationsColonnes.Colonnes archive, ArchiveMappee fichier,
+            ReservationsColonnes.Tarifs tarifs) {
+        this.vivantes = vivantes;
+        this.archive = archive;
+        this.fichier = fichier;
+        this.tailleFichier = fichier != null ? fichier.getTaille() : 0;
+        this.tarifs = tarifs;
+        this.tranchesVivantes = nombreTranches(vivantes.length);
+        this.tranchesArchive = nombreTranches(archive.taille);
+        this.partiels = new ResumeColonnes[tranchesVivantes + tranchesArchive + nombreTranches(tailleFichier)];
+    }
+
+    private static int nombreTranches(int taille) {
+        return (taille + TAILLE_TRANCHE - 1) / TAILLE_TRANCHE;
+    }
+
+    /**
+     * Calcule les cumuls de toutes les réservations, vivantes et archivées.
+     *
+     * @param vivantes Copie des réservations vivantes
+     * @param archive  Vue figée de l'archive
+     * @param fichier  Archive sur disque, ou null
+     * @param tarifs   Prix courants pour l'archive
+     * @param pool     Pool d'exécution, ou null pour calculer dans le fil appelant
+     * @return Les cumuls
+     */
+    static ResumeColonnes resumer(Reservation[] vivantes, ReservationsColonnes.Colonnes archive,
+            ArchiveMappee fichier, ReservationsColonnes.Tarifs tarifs, ForkJoinPool pool) {
+        CalculParTranches calcul = new CalculParTranches(vivantes, archive, fichier, tarifs);
+        if (pool == null) {
+            for (int i = 0; i < calcul.partiels.length; i++) {
+                calcul.calculerTranche(i);
+            }
+        } else {
+            pool.invoke(calcul.new Plage(0, calcul.partiels.length));
+        }
+
+        ResumeColonnes total = new ResumeColonnes();
+        for (ResumeColonnes partiel : calcul.partiels) {
+            total.fusionner(partiel);
+        }
+        return total;
+    }
+
+    private void calculerTranche(int indice) {
+        if (indice < tranchesVivantes) {
+            int debut = indice * TAILLE_TRANCHE;
+            int fin = Math.min(vivantes.length, debut + TAILLE_TRANCHE);
+            ResumeColonnes resume = new ResumeColonnes();
+            for (int i = debut; i < fin; i++) {
+                resume.comptabiliser(vivantes[i]);
+            }
+            partiels[indice] = resume;
+        } else if (indice < tranchesVivantes + tranchesArchive) {
+            int debut = (indice - tranchesVivantes) * TAILLE_TRANCHE;
+            int fin = Math.min(archive.taille, debut + TAILLE_TRANCHE);
+            partiels[indice] = ReservationsColonnes.resumer(archive, tarifs, debut, fin);
+        } else {
+            int debut = (indice - tranchesVivantes - tranchesArchive) * TAILLE_TRANCHE;
+            int fin = Math.min(tailleFichier, debut + TAILLE_TRANCHE);
+            ResumeColonnes resume = new ResumeColonnes();
+            fichier.parcourir(debut, fin, (numero, chambre, client, jourDebut, jourFin, statut, services,
+                    premier, dernier) -> resume.comptabiliser(chambre, client, jourDebut, jourFin, statut,
+                            services, premier, dernier, tarifs));
+            partiels[indice] = resume;
+        }
+    }
+
+    /**
+     * Plage de tranches coupée en deux jusqu'à n'en contenir qu'une.
+     */
+    private final class Plage extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int debut;
+        private final int fin;
+
+        Plage(int debut, int fin) {
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= 1) {
+                if (fin > debut) {
+                    calculerTranche(debut);
+                }
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new Plage(debut, milieu), new Plage(milieu, fin));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.gestionhotel.core;
+
+import com.gestionhotel.model.Chambre;
+
+/**
+ * Résultat d'une recherche multi-hôtels : une chambre et l'hôtel qui la propose.
+ */
+public class ChambreTrouvee {
+
+    private final String codeHotel;
+    private final Hotel hotel;
+    private final String ville;
+    private final Chambre chambre;
+
+    public ChambreTrouvee(String codeHotel, Hotel hotel, String ville, Chambre chambre) {
+        this.codeHotel = codeHotel;
+        this.hotel = hotel;
+        this.ville = ville;
+        this.chambre = chambre;
+    }
+
+    /**
+     * @return Le code de l'hôtel dans le {@link RegistreHotels}
+     */
+    public String getCodeHotel() {
+        return codeHotel;
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public String getVille() {
+        return ville;
+    }
+
+    public Chambre getChambre() {
+        return chambre;
+    }
+
+    @Override
+    public String toString() {
+        return hotel.getNom() + " (" + ville + ") - " + chambre;
+    }
+}
@@ -0,0 +1,42 @@
+package com.gestionhotel.core;
+
+/**
+ * Une ligne d'un classement top-K : rang, élément classé et valeur du critère.
+ * 
+ * @param <T> Chambre, Client ou Service
+ */
+public class Classement<T> {
+
+    private final int rang;
+    private final T element;
+    private final double valeur;
+
+    public Classement(int rang, T element, double valeur) {
+        this.rang = rang;
+        this.element = element;
+        this.valeur = valeur;
+    }
+
+    /**
+     * @return Le rang, à partir de 1
+     */
+    public int getRang() {
+        return rang;
+    }
+
+    public T getElement() {
+        return element;
+    }
+
+    /**
+     * @return Le nombre de réservations ou le chiffre d'affaires, selon le critère
+     */
+    public double getValeur() {
+        return valeur;
+    }
+
+    @Override
+    public String toString() {
+        return rang + ". " + element + " (" + valeur + ")";
+    }
+}
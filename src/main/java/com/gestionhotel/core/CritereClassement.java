@@ -0,0 +1,13 @@
+package com.gestionhotel.core;
+
+/**
+ * Critère d'un classement top-K de {@link Statistiques}.
+ */
+public enum CritereClassement {
+
+    /** Nombre de réservations (ou de commandes pour un service), annulées comprises. */
+    NOMBRE_RESERVATIONS,
+
+    /** Chiffre d'affaires des réservations non annulées, aux prix courants. */
+    CHIFFRE_AFFAIRES
+}
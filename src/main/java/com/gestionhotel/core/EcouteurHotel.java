@@ -0,0 +1,78 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Écouteur des modifications de l'hôtel.
+ * Chaque méthode est appelée une fois la modification appliquée et les index à jour ;
+ * les chargements (snapshot, fichiers, journal) ne déclenchent aucun événement. Un import
+ * dans un hôtel en service ({@link Hotel#insererReservations}) prévient par
+ * {@link #reservationInseree} puis {@link #lotInsere}.
+ * Toutes les méthodes ont une implémentation vide par défaut.
+ */
+public interface EcouteurHotel {
+
+    default void chambreAjoutee(Chambre chambre) {
+    }
+
+    default void chambreSupprimee(Chambre chambre) {
+    }
+
+    default void prixChambreModifie(Chambre chambre, double ancienPrix) {
+    }
+
+    default void clientAjoute(Client client) {
+    }
+
+    default void clientModifie(Client client) {
+    }
+
+    default void reservationCreee(Reservation reservation) {
+    }
+
+    /**
+     * @param reservation La réservation (statut, date et motif d'annulation déjà à jour)
+     * @param ancien      Le statut avant la transition
+     */
+    default void statutReservationModifie(Reservation reservation, StatutReservation ancien) {
+    }
+
+    default void serviceAjoute(Service service) {
+    }
+
+    /**
+     * Appelé après un changement de nom, de description, de prix ou de disponibilité.
+     */
+    default void serviceModifie(Service service) {
+    }
+
+    default void serviceReservationAjoute(Reservation reservation, Service service) {
+    }
+
+    /**
+     * Réservation insérée telle quelle par un import : statut, annulation et services
+     * sont déjà ceux d'origine. Appelée sous le verrou de sa chambre.
+     */
+    default void reservationInseree(Reservation reservation) {
+    }
+
+    /**
+     * Fin d'un lot d'insertions : {@link #reservationInseree} a été appelée pour chacune.
+     *
+     * @param nombre Le nombre de réservations insérées
+     */
+    default void lotInsere(int nombre) {
+    }
+
+    /**
+     * @param avant   Date limite passée à {@link Hotel#archiverReservations}
+     * @param nombre  Le nombre de réservations déplacées dans l'archive
+     */
+    default void reservationsArchivees(LocalDate avant, int nombre) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.gestionhotel.core;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Pas de temps d'une série de {@link SeriesOccupation}.
+ * Les semaines commencent le lundi, les mois le 1er.
+ */
+public enum Granularite {
+
+    JOUR,
+    SEMAINE,
+    MOIS;
+
+    /**
+     * @param jour Un jour quelconque
+     * @return Le premier jour de la période qui contient ce jour
+     */
+    public LocalDate debutPeriode(LocalDate jour) {
+        switch (this) {
+            case SEMAINE:
+                return jour.with(DayOfWeek.MONDAY);
+            case MOIS:
+                return jour.withDayOfMonth(1);
+            default:
+                return jour;
+        }
+    }
+
+    /**
+     * @param debut Premier jour d'une période
+     * @return Le premier jour de la période suivante
+     */
+    public LocalDate periodeSuivante(LocalDate debut) {
+        switch (this) {
+            case SEMAINE:
+                return debut.plusWeeks(1);
+            case MOIS:
+                return debut.plusMonths(1);
+            default:
+                return debut.plusDays(1);
+        }
+    }
+}
@@ -1,28 +1,129 @@
 package com.gestionhotel.core;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import com.gestionhotel.model.AllocateurIdentifiants;
 import com.gestionhotel.model.Chambre;
 import com.gestionhotel.model.Client;
 import com.gestionhotel.model.Reservation;
 import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
 import com.gestionhotel.model.GestionnaireClient;
+import com.gestionhotel.model.ObservateurPrix;
+import com.gestionhotel.model.Tarification;
+import com.gestionhotel.utils.ArchiveMappee;
+import com.gestionhotel.utils.DateUtils;
+import com.gestionhotel.utils.VisiteurArchive;
 
 /**
  * Classe principale représentant l'hôtel.
  * Gère les chambres, clients, réservations et services.
  * 
+ * L'hôtel peut être partagé entre plusieurs terminaux :
+ * - les lectures (recherches, listes, disponibilités) passent par des structures
+ *   concurrentes et ne prennent aucun verrou ;
+ * - les opérations sur les réservations d'une chambre sont sérialisées par un verrou
+ *   choisi selon le numéro de chambre (verrous répartis), si bien que deux chambres
+ *   différentes se réservent en parallèle et qu'une même chambre ne peut être vendue deux fois ;
+ * - les modifications du catalogue (chambres, services) et des clients, plus rares,
+ *   ont chacune leur verrou.
+ * 
  * @author Dev 1 (Phase 3)
  */
 public class Hotel {
 
+    // Nombre de verrous répartis entre les chambres (puissance de 2)
+    private static final int NOMBRE_VERROUS_CHAMBRES = 64;
+
     // Attributs
-    private String nom;
-    private String adresse;
-    private ArrayList<Chambre> chambres;
-    private ArrayList<Client> clients;
-    private ArrayList<Reservation> reservations;
-    private ArrayList<Service> servicesDisponibles;
+    private volatile String nom;
+    private volatile String adresse;
+    private CopyOnWriteArrayList<Chambre> chambres;
+    private Collection<Client> clients; // Vue triée par numéro sur clientsParNumero
+    private Collection<Reservation> reservations; // Vue triée par numéro sur reservationsParNumero
+    private CopyOnWriteArrayList<Service> servicesDisponibles;
     private GestionnaireClient gestionnaireClient;
+    private PlanningChambres planning;
+
+    // Index maintenus à chaque ajout / suppression / changement de prix.
+    // Les listes des index ne sont jamais modifiées après publication : elles sont remplacées.
+    private ConcurrentHashMap<Integer, Chambre> chambresParNumero;
+    private ConcurrentSkipListMap<Integer, Client> clientsParNumero;
+    private ConcurrentSkipListMap<Integer, Reservation> reservationsParNumero;
+    private ConcurrentHashMap<Integer, CopyOnWriteArrayList<Reservation>> reservationsParClient; // Numéro client -> historique
+    private ConcurrentHashMap<String, List<Chambre>> chambresParType; // Type en minuscules -> chambres
+    private ConcurrentSkipListMap<Double, List<Chambre>> chambresParPrix; // Prix par nuit -> chambres
+    private ConcurrentHashMap<Integer, Service> servicesParId;
+
+    // Verrous : un par groupe de chambres pour les réservations, un pour le catalogue, un pour les clients
+    private final ReentrantLock[] verrousChambres;
+    private final Object verrouCatalogue = new Object();
+    private final Object verrouClients = new Object();
+
+    // Statistiques tenues à jour à chaque événement
+    private AgregateurStatistiques agregateur;
+
+    // Historique des réservations closes, stocké en colonnes hors du graphe d'objets
+    private final ReservationsColonnes archive = new ReservationsColonnes();
+    private final Object verrouArchivage = new Object();
+    // Historique sur disque, projeté en mémoire (facultatif)
+    private volatile ArchiveMappee archiveFichier;
+
+    // Séries d'occupation, créées à la première demande puis tenues à jour
+    private volatile SeriesOccupation seriesOccupation;
+
+    // Politique de prix commune aux chambres (null = prix par nuit fixe)
+    private volatile Tarification tarification;
+
+    // Espaces d'identifiants propres à l'hôtel (null = allocateurs globaux des classes du modèle)
+    private volatile AllocateurIdentifiants allocateurReservations;
+    private volatile AllocateurIdentifiants allocateurClients;
+    private volatile AllocateurIdentifiants allocateurServices;
+
+    // Messages de suivi des réservations sur la console (coupés par l'API HTTP)
+    private volatile boolean messages = true;
+
+    // Devis de séjour déjà calculés, vidés à chaque changement de prix
+    private final CacheDevis cacheDevis = new CacheDevis(CacheDevis.CAPACITE_DEFAUT);
+
+    // Écouteurs prévenus après chaque modification (journal, etc.)
+    private CopyOnWriteArrayList<EcouteurHotel> ecouteurs;
+
+    private final ObservateurPrix observateurPrix = new ObservateurPrix() {
+        @Override
+        public void prixChambreModifie(Chambre chambre, double ancienPrix) {
+            synchronized (verrouCatalogue) {
+                reindexerPrix(chambre, ancienPrix);
+                agregateur.invalider();
+                cacheDevis.vider();
+                for (EcouteurHotel ecouteur : ecouteurs) {
+                    ecouteur.prixChambreModifie(chambre, ancienPrix);
+                }
+            }
+        }
+
+        @Override
+        public void prixServiceModifie(Service service, double ancienPrix) {
+            synchronized (verrouCatalogue) {
+                agregateur.invalider();
+                cacheDevis.vider();
+                for (EcouteurHotel ecouteur : ecouteurs) {
+                    ecouteur.serviceModifie(service);
+                }
+            }
+        }
+    };
 
     /**
      * Constructeur de l'hôtel.
@@ -33,11 +134,25 @@ public class Hotel {
     public Hotel(String nom, String adresse) {
         this.nom = nom;
         this.adresse = adresse;
-        this.chambres = new ArrayList<>();
-        this.clients = new ArrayList<>();
-        this.reservations = new ArrayList<>();
-        this.servicesDisponibles = new ArrayList<>();
+        this.chambres = new CopyOnWriteArrayList<>();
+        this.servicesDisponibles = new CopyOnWriteArrayList<>();
         this.gestionnaireClient = new GestionnaireClient();
+        this.planning = new PlanningChambres();
+        this.chambresParNumero = new ConcurrentHashMap<>();
+        this.clientsParNumero = new ConcurrentSkipListMap<>();
+        this.clients = Collections.unmodifiableCollection(clientsParNumero.values());
+        this.reservationsParNumero = new ConcurrentSkipListMap<>();
+        this.reservations = Collections.unmodifiableCollection(reservationsParNumero.values());
+        this.reservationsParClient = new ConcurrentHashMap<>();
+        this.chambresParType = new ConcurrentHashMap<>();
+        this.chambresParPrix = new ConcurrentSkipListMap<>();
+        this.servicesParId = new ConcurrentHashMap<>();
+        this.verrousChambres = new ReentrantLock[NOMBRE_VERROUS_CHAMBRES];
+        for (int i = 0; i < NOMBRE_VERROUS_CHAMBRES; i++) {
+            this.verrousChambres[i] = new ReentrantLock();
+        }
+        this.agregateur = new AgregateurStatistiques();
+        this.ecouteurs = new CopyOnWriteArrayList<>();
     }
 
     // ===========================
@@ -60,20 +175,290 @@ public class Hotel {
         this.adresse = adresse;
     }
 
-    public ArrayList<Chambre> getChambres() {
-        return chambres;
+    /**
+     * Active ou coupe les messages de suivi (création, annulation, confirmation, fin de
+     * séjour, erreurs de saisie) écrits sur la console. Les méthodes d'affichage ne
+     * sont pas concernées.
+     * 
+     * @param messages false pour un hôtel servi sans console (API HTTP)
+     */
+    public void setMessages(boolean messages) {
+        this.messages = messages;
     }
 
-    public ArrayList<Client> getClients() {
+    /**
+     * @return Les chambres, dans l'ordre d'ajout (liste en lecture seule, copiée à l'écriture)
+     */
+    public List<Chambre> getChambres() {
+        return Collections.unmodifiableList(chambres);
+    }
+
+    /**
+     * @return Vue en lecture seule des clients, triés par numéro
+     */
+    public Collection<Client> getClients() {
         return clients;
     }
 
-    public ArrayList<Reservation> getReservations() {
+    /**
+     * @return Vue en lecture seule des réservations, triées par numéro
+     */
+    public Collection<Reservation> getReservations() {
         return reservations;
     }
 
-    public ArrayList<Service> getServicesDisponibles() {
-        return servicesDisponibles;
+    /**
+     * @return Les services, dans l'ordre d'ajout (liste en lecture seule, copiée à l'écriture)
+     */
+    public List<Service> getServicesDisponibles() {
+        return Collections.unmodifiableList(servicesDisponibles);
+    }
+
+    public PlanningChambres getPlanning() {
+        return planning;
+    }
+
+    /**
+     * Retourne les compteurs statistiques, reconstruits en une passe s'ils sont obsolètes.
+     * 
+     * @return L'agrégateur à jour
+     */
+    public AgregateurStatistiques getAgregateur() {
+        return getAgregateur(null);
+    }
+
+    /**
+     * Retourne les compteurs statistiques ; s'ils sont obsolètes, la reconstruction est
+     * découpée en tranches calculées sur le pool donné. Le résultat est identique à
+     * celui d'une reconstruction séquentielle.
+     * 
+     * @param pool Pool d'exécution, ou null pour reconstruire dans le fil appelant
+     * @return L'agrégateur à jour
+     */
+    public AgregateurStatistiques getAgregateur(ForkJoinPool pool) {
+        synchronized (agregateur) {
+            if (!agregateur.estAJour()) {
+                Reservation[] vivantes = reservations.toArray(new Reservation[0]);
+                agregateur.reconstruire(CalculParTranches.resumer(vivantes, archive.capturer(),
+                        archiveFichier, new ReservationsColonnes.Tarifs(this), pool));
+            }
+        }
+        return agregateur;
+    }
+
+    /**
+     * Retourne les séries d'occupation, RevPAR et ADR de l'hôtel. Créées au premier
+     * appel, elles suivent ensuite les réservations comme écouteur de l'hôtel.
+     * 
+     * @return Les séries de l'hôtel
+     */
+    public SeriesOccupation getSeriesOccupation() {
+        SeriesOccupation series = seriesOccupation;
+        if (series == null) {
+            synchronized (ecouteurs) {
+                series = seriesOccupation;
+                if (series == null) {
+                    series = new SeriesOccupation(this);
+                    ajouterEcouteur(series);
+                    seriesOccupation = series;
+                }
+            }
+        }
+        return series;
+    }
+
+    /**
+     * @return L'historique archivé (réservations closes sorties du graphe d'objets)
+     */
+    public ReservationsColonnes getArchive() {
+        return archive;
+    }
+
+    /**
+     * Rattache une archive sur disque : les réservations archivées ensuite y sont
+     * écrites au lieu de l'archive en colonnes, et elle entre dans les statistiques
+     * sans être chargée. À appeler avant le chargement du snapshot, pour que les
+     * réservations déjà présentes dans le fichier ne soient pas restaurées.
+     * 
+     * @param fichier L'archive ouverte (null pour la détacher)
+     */
+    public void attacherArchiveFichier(ArchiveMappee fichier) {
+        synchronized (verrouArchivage) {
+            synchronized (agregateur) {
+                this.archiveFichier = fichier;
+                agregateur.invalider();
+            }
+        }
+        SeriesOccupation series = seriesOccupation;
+        if (series != null) {
+            series.invalider();
+        }
+    }
+
+    /**
+     * @return L'archive sur disque rattachée, ou null
+     */
+    public ArchiveMappee getArchiveFichier() {
+        return archiveFichier;
+    }
+
+    /**
+     * @return Le nombre de réservations archivées (en colonnes et sur disque)
+     */
+    public int getNombreReservationsArchivees() {
+        ArchiveMappee fichier = archiveFichier;
+        return archive.getTaille() + (fichier != null ? fichier.getTaille() : 0);
+    }
+
+    /**
+     * @param numero Un numéro de réservation
+     * @return true si cette réservation est dans l'archive en colonnes ou sur disque
+     */
+    public boolean estArchivee(int numero) {
+        ArchiveMappee fichier = archiveFichier;
+        return archive.contient(numero) || (fichier != null && fichier.contient(numero));
+    }
+
+    /**
+     * Parcourt toutes les réservations archivées, en colonnes puis sur disque,
+     * sans recréer d'objet Reservation.
+     * 
+     * @param visiteur Reçoit chaque ligne
+     */
+    public void parcourirArchives(VisiteurArchive visiteur) {
+        ArchiveMappee fichier = archiveFichier;
+        archive.parcourir(visiteur);
+        if (fichier != null) {
+            fichier.parcourir(visiteur);
+        }
+    }
+
+    /**
+     * Signale que des réservations ou des tarifs ont été modifiés hors des méthodes de
+     * l'hôtel : les statistiques et les séries seront reconstruites à la prochaine lecture,
+     * et les devis en cache oubliés.
+     */
+    public void invaliderStatistiques() {
+        agregateur.invalider();
+        cacheDevis.vider();
+        SeriesOccupation series = seriesOccupation;
+        if (series != null) {
+            series.invalider();
+        }
+    }
+
+    /**
+     * Donne à l'hôtel ses propres espaces de numéros de réservations, clients et services,
+     * indépendants des autres hôtels du processus (voir {@link RegistreHotels}).
+     * À faire avant tout ajout. Un allocateur null garde l'allocateur global correspondant.
+     * 
+     * @param reservations Allocateur des numéros de réservation
+     * @param clients      Allocateur des numéros de client
+     * @param services     Allocateur des identifiants de service
+     */
+    public void setAllocateurs(AllocateurIdentifiants reservations, AllocateurIdentifiants clients,
+            AllocateurIdentifiants services) {
+        this.allocateurReservations = reservations;
+        this.allocateurClients = clients;
+        this.allocateurServices = services;
+    }
+
+    /**
+     * @return L'allocateur des numéros de réservation de l'hôtel (propre ou global)
+     */
+    public AllocateurIdentifiants getAllocateurReservations() {
+        AllocateurIdentifiants propre = allocateurReservations;
+        return propre != null ? propre : Reservation.getAllocateur();
+    }
+
+    /**
+     * @return L'allocateur des numéros de client de l'hôtel (propre ou global)
+     */
+    public AllocateurIdentifiants getAllocateurClients() {
+        AllocateurIdentifiants propre = allocateurClients;
+        return propre != null ? propre : Client.getAllocateur();
+    }
+
+    /**
+     * @return L'allocateur des identifiants de service de l'hôtel (propre ou global)
+     */
+    public AllocateurIdentifiants getAllocateurServices() {
+        AllocateurIdentifiants propre = allocateurServices;
+        return propre != null ? propre : Service.getAllocateur();
+    }
+
+    public CacheDevis getCacheDevis() {
+        return cacheDevis;
+    }
+
+    /**
+     * Chiffre un séjour (chambre + services) en passant par le cache de devis.
+     * Destiné aux recherches qui re-chiffrent sans cesse les mêmes périodes.
+     * 
+     * @param chambre  La chambre
+     * @param debut    Date d'arrivée
+     * @param fin      Date de départ
+     * @param services Les services envisagés (null si aucun)
+     * @return Le prix total du séjour aux tarifs courants
+     */
+    public double chiffrerSejour(Chambre chambre, LocalDate debut, LocalDate fin, Collection<Service> services) {
+        return cacheDevis.coter(chambre, debut, fin, services);
+    }
+
+    /**
+     * Chiffre une réservation via le cache de devis ; même résultat que
+     * {@link Reservation#calculerPrixTotal()}.
+     * 
+     * @param reservation La réservation
+     * @return Le prix total de la réservation (0 si null)
+     */
+    public double chiffrerReservation(Reservation reservation) {
+        if (reservation == null) {
+            return 0.0;
+        }
+        return cacheDevis.coter(reservation.getChambre(), reservation.getDebut(), reservation.getFin(),
+                reservation.getServices());
+    }
+
+    public Tarification getTarification() {
+        return tarification;
+    }
+
+    /**
+     * Branche une politique de prix (par exemple un {@link MoteurTarifaire}) sur toutes
+     * les chambres, présentes et à venir. Les prix de toutes les réservations en dépendent :
+     * les statistiques sont invalidées.
+     * 
+     * @param tarification La tarification, ou null pour revenir aux prix par nuit fixes
+     */
+    public void setTarification(Tarification tarification) {
+        synchronized (verrouCatalogue) {
+            this.tarification = tarification;
+            for (Chambre chambre : chambres) {
+                chambre.setTarification(tarification);
+            }
+        }
+        invaliderStatistiques();
+    }
+
+    /**
+     * Enregistre un écouteur prévenu après chaque modification de l'hôtel.
+     * 
+     * @param ecouteur L'écouteur à ajouter
+     */
+    public void ajouterEcouteur(EcouteurHotel ecouteur) {
+        if (ecouteur != null && !ecouteurs.contains(ecouteur)) {
+            ecouteurs.add(ecouteur);
+        }
+    }
+
+    /**
+     * Retire un écouteur précédemment enregistré.
+     * 
+     * @param ecouteur L'écouteur à retirer
+     */
+    public void retirerEcouteur(EcouteurHotel ecouteur) {
+        ecouteurs.remove(ecouteur);
     }
 
     // ===========================
@@ -86,8 +471,69 @@ public class Hotel {
      * @param chambre La chambre à ajouter
      */
     public void ajouterChambre(Chambre chambre) {
-        if (chambre != null && rechercherChambre(chambre.getNumero()) == null) {
+        if (chambre == null) {
+            return;
+        }
+        synchronized (verrouCatalogue) {
+            if (chambresParNumero.containsKey(chambre.getNumero())) {
+                return;
+            }
+            this.planning.ajouterChambre(chambre.getNumero());
             this.chambres.add(chambre);
+            this.chambresParNumero.put(chambre.getNumero(), chambre);
+            ajouterA(chambresParType, cleType(chambre.getType()), chambre);
+            ajouterA(chambresParPrix, chambre.getPrixParNuit(), chambre);
+            chambre.ajouterObservateur(observateurPrix);
+            if (tarification != null) {
+                chambre.setTarification(tarification);
+            }
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.chambreAjoutee(chambre);
+            }
+        }
+        grillesPerimees();
+    }
+
+    /**
+     * Retire une chambre de l'hôtel et de tous les index.
+     * 
+     * @param numero Le numéro de la chambre à retirer
+     * @return La chambre retirée, ou null si elle n'existait pas
+     */
+    public Chambre supprimerChambre(int numero) {
+        Chambre chambre;
+        synchronized (verrouCatalogue) {
+            chambre = chambresParNumero.remove(numero);
+            if (chambre == null) {
+                return null;
+            }
+            this.chambres.remove(chambre);
+            retirerDe(chambresParType, cleType(chambre.getType()), chambre);
+            retirerDe(chambresParPrix, chambre.getPrixParNuit(), chambre);
+            ReentrantLock verrou = verrouChambre(numero);
+            verrou.lock();
+            try {
+                this.planning.retirerChambre(numero);
+            } finally {
+                verrou.unlock();
+            }
+            chambre.retirerObservateur(observateurPrix);
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.chambreSupprimee(chambre);
+            }
+        }
+        grillesPerimees();
+        return chambre;
+    }
+
+    /**
+     * Prévient le moteur tarifaire branché que le parc de chambres a changé (hors du
+     * verrou du catalogue, comme {@link #setTarification}).
+     */
+    private void grillesPerimees() {
+        Tarification courante = tarification;
+        if (courante instanceof MoteurTarifaire) {
+            ((MoteurTarifaire) courante).chambresModifiees();
         }
     }
 
@@ -121,20 +567,44 @@ public class Hotel {
     }
 
     /**
-     * Retourne la liste des chambres disponibles.
+     * Retourne la liste des chambres disponibles pour la nuit en cours.
      * 
-     * @return ArrayList des chambres non occupées
+     * @return ArrayList des chambres libres ce soir
      */
     public ArrayList<Chambre> getChambresDisponibles() {
+        LocalDate aujourdhui = LocalDate.now();
+        return getChambresDisponibles(aujourdhui, aujourdhui.plusDays(1));
+    }
+
+    /**
+     * Retourne la liste des chambres libres sur toute une période.
+     * 
+     * @param debut Date d'arrivée
+     * @param fin   Date de départ (exclue)
+     * @return ArrayList des chambres sans séjour chevauchant la période
+     */
+    public ArrayList<Chambre> getChambresDisponibles(LocalDate debut, LocalDate fin) {
         ArrayList<Chambre> disponibles = new ArrayList<>();
         for (Chambre chambre : chambres) {
-            if (!chambre.isOccupee()) {
+            if (planning.estDisponible(chambre.getNumero(), debut, fin)) {
                 disponibles.add(chambre);
             }
         }
         return disponibles;
     }
 
+    /**
+     * Vérifie si une chambre est libre sur une période.
+     * 
+     * @param chambre La chambre
+     * @param debut   Date d'arrivée
+     * @param fin     Date de départ (exclue)
+     * @return true si la chambre peut être réservée sur la période
+     */
+    public boolean estChambreDisponible(Chambre chambre, LocalDate debut, LocalDate fin) {
+        return chambre != null && planning.estDisponible(chambre.getNumero(), debut, fin);
+    }
+
     /**
      * Recherche une chambre par son numéro.
      * 
@@ -142,12 +612,7 @@ public class Hotel {
      * @return La chambre trouvée ou null si non trouvée
      */
     public Chambre rechercherChambre(int numero) {
-        for (Chambre chambre : chambres) {
-            if (chambre.getNumero() == numero) {
-                return chambre;
-            }
-        }
-        return null;
+        return chambresParNumero.get(numero);
     }
 
     /**
@@ -157,47 +622,175 @@ public class Hotel {
      * @return ArrayList des chambres correspondant au type
      */
     public ArrayList<Chambre> rechercherChambresParType(String type) {
-        ArrayList<Chambre> resultat = new ArrayList<>();
-        for (Chambre chambre : chambres) {
-            if (chambre.getType().equalsIgnoreCase(type)) {
-                resultat.add(chambre);
-            }
+        if (type == null) {
+            return new ArrayList<>();
         }
-        return resultat;
+        List<Chambre> resultat = chambresParType.get(cleType(type));
+        return resultat != null ? new ArrayList<>(resultat) : new ArrayList<>();
     }
 
     /**
      * Recherche les chambres dont le prix est inférieur ou égal au prix maximum.
      * 
      * @param prixMax Le prix maximum par nuit
-     * @return ArrayList des chambres dans la fourchette de prix
+     * @return ArrayList des chambres dans la fourchette de prix, triées par prix croissant
      */
     public ArrayList<Chambre> rechercherChambresParPrix(double prixMax) {
+        return rechercherChambresParPrix(Double.NEGATIVE_INFINITY, prixMax);
+    }
+
+    /**
+     * Recherche les chambres dont le prix est compris dans une fourchette.
+     * 
+     * @param prixMin Le prix minimum par nuit (inclus)
+     * @param prixMax Le prix maximum par nuit (inclus)
+     * @return ArrayList des chambres dans la fourchette de prix, triées par prix croissant
+     */
+    public ArrayList<Chambre> rechercherChambresParPrix(double prixMin, double prixMax) {
         ArrayList<Chambre> resultat = new ArrayList<>();
-        for (Chambre chambre : chambres) {
-            if (chambre.getPrixParNuit() <= prixMax) {
-                resultat.add(chambre);
-            }
+        if (prixMin > prixMax) {
+            return resultat;
+        }
+        for (List<Chambre> memePrix : chambresParPrix.subMap(prixMin, true, prixMax, true).values()) {
+            resultat.addAll(memePrix);
         }
         return resultat;
     }
 
+    /**
+     * Déplace une chambre dans l'index des prix après un changement de tarif.
+     * Appelé sous le verrou du catalogue.
+     */
+    private void reindexerPrix(Chambre chambre, double ancienPrix) {
+        if (chambresParNumero.get(chambre.getNumero()) != chambre) {
+            return;
+        }
+        retirerDe(chambresParPrix, ancienPrix, chambre);
+        ajouterA(chambresParPrix, chambre.getPrixParNuit(), chambre);
+    }
+
+    /**
+     * Ajoute une chambre à une entrée d'index en publiant une nouvelle liste,
+     * pour que les lecteurs sans verrou ne voient jamais une liste en cours de modification.
+     * Appelé sous le verrou du catalogue.
+     */
+    private static <K> void ajouterA(Map<K, List<Chambre>> index, K cle, Chambre chambre) {
+        List<Chambre> actuelle = index.get(cle);
+        ArrayList<Chambre> nouvelle = actuelle != null ? new ArrayList<>(actuelle) : new ArrayList<>();
+        nouvelle.add(chambre);
+        index.put(cle, Collections.unmodifiableList(nouvelle));
+    }
+
+    private static <K> void retirerDe(Map<K, List<Chambre>> index, K cle, Chambre chambre) {
+        List<Chambre> actuelle = index.get(cle);
+        if (actuelle == null) {
+            return;
+        }
+        ArrayList<Chambre> nouvelle = new ArrayList<>(actuelle);
+        nouvelle.remove(chambre);
+        if (nouvelle.isEmpty()) {
+            index.remove(cle);
+        } else {
+            index.put(cle, Collections.unmodifiableList(nouvelle));
+        }
+    }
+
+    private ReentrantLock verrouChambre(int numeroChambre) {
+        return verrousChambres[numeroChambre & (NOMBRE_VERROUS_CHAMBRES - 1)];
+    }
+
+    private static String cleType(String type) {
+        return type.toLowerCase(Locale.ROOT);
+    }
+
     // ===========================
     // MÉTHODES DE GESTION DES CLIENTS (Phase 3 - Dev 2)
     // ===========================
 
     /**
-     * Ajoute un client à l'hôtel.
+     * Crée un client numéroté dans l'espace de l'hôtel (sans l'ajouter).
+     * 
+     * @param nom       Nom du client
+     * @param prenom    Prénom du client
+     * @param email     Email du client
+     * @param telephone Téléphone du client
+     * @return Le nouveau client
+     */
+    public Client nouveauClient(String nom, String prenom, String email, String telephone) {
+        AllocateurIdentifiants propre = allocateurClients;
+        return propre != null ? new Client(propre.suivant(), nom, prenom, email, telephone)
+                : new Client(nom, prenom, email, telephone);
+    }
+
+    /**
+     * Ajoute un client à l'hôtel. L'allocateur de numéros de l'hôtel (propre ou global)
+     * passe au-delà de son numéro, qu'il soit nouveau ou restauré.
      * 
      * @param client Le client à ajouter
+     * @return true si le client a été ajouté, false s'il est null ou si son email
+     *         ou son téléphone est déjà utilisé
+     */
+    public boolean ajouterClient(Client client) {
+        if (client == null) {
+            return false;
+        }
+        synchronized (verrouClients) {
+            if (!gestionnaireClient.ajouterClient(client)) {
+                return false;
+            }
+            this.clientsParNumero.put(client.getNumeroClient(), client);
+            getAllocateurClients().reserverJusqua(client.getNumeroClient());
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.clientAjoute(client);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Modifie les informations d'un client en gardant les index email/téléphone à jour.
+     * 
+     * @param numero    Le numéro du client
+     * @param nom       Le nouveau nom
+     * @param prenom    Le nouveau prénom
+     * @param email     Le nouvel email
+     * @param telephone Le nouveau téléphone
+     * @return true si la modification a réussi, false si le client est inconnu ou
+     *         si l'email ou le téléphone appartient à un autre client
      */
-    public void ajouterClient(Client client) {
-        if (client != null) {
-            gestionnaireClient.ajouterClient(client);
-            this.clients.add(client);
+    public boolean modifierClient(int numero, String nom, String prenom, String email, String telephone) {
+        synchronized (verrouClients) {
+            if (!gestionnaireClient.modifierClient(numero, nom, prenom, email, telephone)) {
+                return false;
+            }
+            Client client = gestionnaireClient.obtenirClient(numero);
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.clientModifie(client);
+            }
+            return true;
         }
     }
 
+    /**
+     * Vérifie si un email est déjà utilisé par un client.
+     * 
+     * @param email L'email à vérifier
+     * @return true si l'email existe déjà
+     */
+    public boolean emailExiste(String email) {
+        return gestionnaireClient.emailExiste(email);
+    }
+
+    /**
+     * Vérifie si un téléphone est déjà utilisé par un client.
+     * 
+     * @param telephone Le téléphone à vérifier
+     * @return true si le téléphone existe déjà
+     */
+    public boolean telephoneExiste(String telephone) {
+        return gestionnaireClient.telephoneExiste(telephone);
+    }
+
     /**
      * Affiche tous les clients de l'hôtel.
      */
@@ -231,7 +824,7 @@ public class Hotel {
 
     /**
      * Crée une nouvelle réservation avec validation complète (Phase 3 - Dev 3).
-     * Vérifie que la chambre est disponible et les dates sont valides.
+     * Vérifie que la chambre est libre sur la période et que les dates sont valides.
      * 
      * @param client    Le client
      * @param chambre   La chambre
@@ -240,42 +833,86 @@ public class Hotel {
      * @return La réservation créée ou null en cas d'erreur
      */
     public Reservation creerReservation(Client client, Chambre chambre, String dateDebut, String dateFin) {
-        // Validation 1 : Chambre occupée
-        if (chambre.isOccupee()) {
-            System.out.println("Erreur: La chambre n°" + chambre.getNumero() + " est déjà occupée.");
+        LocalDate debut;
+        LocalDate fin;
+        try {
+            debut = DateUtils.parserDateFR(dateDebut);
+            fin = DateUtils.parserDateFR(dateFin);
+        } catch (IllegalArgumentException e) {
+            afficher("Erreur: " + e.getMessage());
             return null;
         }
-        
-        // Validation 2 : Client valide
+        return creerReservation(client, chambre, debut, fin);
+    }
+
+    /**
+     * Crée une nouvelle réservation à partir de dates déjà parsées.
+     * 
+     * @param client  Le client
+     * @param chambre La chambre
+     * @param debut   Date d'arrivée
+     * @param fin     Date de départ (exclue)
+     * @return La réservation créée ou null en cas d'erreur
+     */
+    public Reservation creerReservation(Client client, Chambre chambre, LocalDate debut, LocalDate fin) {
+        // Validation 1 : Client valide
         if (client == null) {
-            System.out.println("Erreur: Le client est invalide.");
+            afficher("Erreur: Le client est invalide.");
             return null;
         }
         
-        // Validation 3 : Dates valides (format et logique)
+        // Validation 2 : Dates valides
+        if (debut == null || fin == null) {
+            afficher("Erreur: Les dates de séjour sont obligatoires.");
+            return null;
+        }
+        if (!debut.isBefore(fin)) {
+            afficher("Erreur: La date de départ doit être après la date d'arrivée.");
+            return null;
+        }
+        if (!DateUtils.estPeriodeValide(debut, fin)) {
+            afficher("Erreur: La période de réservation est invalide.");
+            return null;
+        }
+
+        if (chambre == null) {
+            afficher("Erreur: La chambre est invalide.");
+            return null;
+        }
+
+        // Validation 3 : Chambre libre sur toute la période.
+        // Le test et la réservation se font sous le verrou de la chambre : deux terminaux
+        // ne peuvent pas vendre la même période.
+        Reservation reservation;
+        ReentrantLock verrou = verrouChambre(chambre.getNumero());
+        verrou.lock();
         try {
-            java.time.LocalDate debut = com.gestionhotel.utils.DateUtils.parserDateFR(dateDebut);
-            java.time.LocalDate fin = com.gestionhotel.utils.DateUtils.parserDateFR(dateFin);
-            
-            if (!debut.isBefore(fin)) {
-                System.out.println("Erreur: La date de départ doit être après la date d'arrivée.");
+            if (!estChambreDisponible(chambre, debut, fin)) {
+                afficher("Erreur: La chambre n°" + chambre.getNumero() + " est déjà réservée sur cette période.");
                 return null;
             }
-            
-            if (!com.gestionhotel.utils.DateUtils.estPeriodeValide(debut, fin)) {
-                System.out.println("Erreur: La période de réservation est invalide.");
-                return null;
+
+            // Créer la réservation
+            AllocateurIdentifiants propre = allocateurReservations;
+            reservation = propre != null ? new Reservation(propre.suivant(), client, chambre, debut, fin)
+                    : new Reservation(client, chambre, debut, fin);
+            this.planning.reserver(chambre.getNumero(), debut, fin, reservation.getNumeroReservation());
+            // Publication et comptage sous le moniteur de l'agrégateur : une reconstruction
+            // voit la réservation déjà comptée ou pas du tout, jamais l'une sans l'autre
+            synchronized (agregateur) {
+                this.reservationsParNumero.put(reservation.getNumeroReservation(), reservation);
+                this.reservationsParClient.computeIfAbsent(client.getNumeroClient(), k -> new CopyOnWriteArrayList<>())
+                        .add(reservation);
+                this.agregateur.reservationCreee(reservation);
             }
-        } catch (IllegalArgumentException e) {
-            System.out.println("Erreur: " + e.getMessage());
-            return null;
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.reservationCreee(reservation);
+            }
+        } finally {
+            verrou.unlock();
         }
         
-        // Créer la réservation
-        Reservation reservation = new Reservation(client, chambre, dateDebut, dateFin);
-        this.reservations.add(reservation);
-        
-        System.out.println("✓ Réservation n°" + reservation.getNumeroReservation() + " créée avec succès.");
+        afficher("✓ Réservation n°" + reservation.getNumeroReservation() + " créée avec succès.");
         return reservation;
     }
 
@@ -300,27 +937,44 @@ public class Hotel {
      * @param client Le client
      */
     public void afficherReservationsClient(Client client) {
-        boolean found = false;
         System.out.println("=== Réservations de " + client.getNomComplet() + " (n°" + client.getNumeroClient() + ") ===");
-        for (Reservation reservation : reservations) {
-            if (reservation.getClient().getNumeroClient() == client.getNumeroClient()) {
-                System.out.println(reservation);
-                System.out.println("---");
-                found = true;
-            }
+        List<Reservation> historique = getReservationsClient(client.getNumeroClient());
+        for (Reservation reservation : historique) {
+            System.out.println(reservation);
+            System.out.println("---");
         }
-        if (!found) {
+        if (historique.isEmpty()) {
             System.out.println("Aucune réservation trouvée pour ce client.");
         }
     }
 
+    /**
+     * Retourne l'historique des réservations d'un client, annulées comprises.
+     * 
+     * @param numeroClient Le numéro du client
+     * @return Liste en lecture seule des réservations du client (vide si aucune)
+     */
+    public List<Reservation> getReservationsClient(int numeroClient) {
+        List<Reservation> historique = reservationsParClient.get(numeroClient);
+        return historique != null ? Collections.unmodifiableList(historique) : Collections.emptyList();
+    }
+
+    /**
+     * Retourne, pour chaque client ayant réservé, son historique de réservations.
+     * 
+     * @return Vue en lecture seule de l'index numéro client -> réservations
+     */
+    public Map<Integer, List<Reservation>> getReservationsParClient() {
+        return Collections.unmodifiableMap(reservationsParClient);
+    }
+
     /**
      * Affiche les réservations actives (EN_COURS ou CONFIRMEES) (Phase 3 - Dev 3).
      */
     public void afficherReservationsActives() {
         ArrayList<Reservation> actives = new ArrayList<>();
         for (Reservation r : reservations) {
-            if (!r.getStatut().equals("Annulée") && !r.getStatut().equals("Terminée")) {
+            if (r.getStatut().estActif()) {
                 actives.add(r);
             }
         }
@@ -343,7 +997,7 @@ public class Hotel {
     public void afficherReservationsAnnulees() {
         ArrayList<Reservation> annulees = new ArrayList<>();
         for (Reservation r : reservations) {
-            if (r.getStatut().equals("Annulée")) {
+            if (r.getStatut() == StatutReservation.ANNULEE) {
                 annulees.add(r);
             }
         }
@@ -367,12 +1021,7 @@ public class Hotel {
      * @return La réservation trouvée ou null
      */
     public Reservation rechercherReservation(int numero) {
-        for (Reservation reservation : reservations) {
-            if (reservation.getNumeroReservation() == numero) {
-                return reservation;
-            }
-        }
-        return null;
+        return reservationsParNumero.get(numero);
     }
 
     /**
@@ -384,14 +1033,31 @@ public class Hotel {
     public void annulerReservation(int numero, String raison) {
         Reservation reservation = rechercherReservation(numero);
         if (reservation != null) {
-            boolean succes = reservation.annuler(raison);
+            boolean succes;
+            ReentrantLock verrou = verrouChambre(reservation.getChambre().getNumero());
+            verrou.lock();
+            try {
+                StatutReservation ancienStatut = reservation.getStatut();
+                synchronized (agregateur) {
+                    succes = ancienStatut.peutPasserA(StatutReservation.ANNULEE) && reservation.annuler(raison);
+                    if (succes) {
+                        agregateur.statutModifie(reservation, ancienStatut);
+                    }
+                }
+                if (succes) {
+                    libererPlanning(reservation);
+                    notifierStatut(reservation, ancienStatut);
+                }
+            } finally {
+                verrou.unlock();
+            }
             if (succes) {
-                System.out.println("✓ Réservation n°" + numero + " annulée avec succès.");
+                afficher("✓ Réservation n°" + numero + " annulée avec succès.");
             } else {
-                System.out.println("✗ Impossible d'annuler la réservation n°" + numero);
+                afficher("✗ Impossible d'annuler la réservation n°" + numero + " (" + reservation.getStatut().getLibelle() + ")");
             }
         } else {
-            System.out.println("Erreur: Réservation n°" + numero + " non trouvée.");
+            afficher("Erreur: Réservation n°" + numero + " non trouvée.");
         }
     }
 
@@ -412,14 +1078,31 @@ public class Hotel {
     public void terminerReservation(int numero) {
         Reservation reservation = rechercherReservation(numero);
         if (reservation != null) {
-            boolean succes = reservation.terminer();
+            boolean succes;
+            ReentrantLock verrou = verrouChambre(reservation.getChambre().getNumero());
+            verrou.lock();
+            try {
+                StatutReservation ancienStatut = reservation.getStatut();
+                synchronized (agregateur) {
+                    succes = ancienStatut.peutPasserA(StatutReservation.TERMINEE) && reservation.terminer();
+                    if (succes) {
+                        agregateur.statutModifie(reservation, ancienStatut);
+                    }
+                }
+                if (succes) {
+                    libererPlanning(reservation);
+                    notifierStatut(reservation, ancienStatut);
+                }
+            } finally {
+                verrou.unlock();
+            }
             if (succes) {
-                System.out.println("✓ Réservation n°" + numero + " terminée. Chambre libérée.");
+                afficher("✓ Réservation n°" + numero + " terminée. Chambre libérée.");
             } else {
-                System.out.println("✗ Impossible de terminer la réservation n°" + numero);
+                afficher("✗ Impossible de terminer la réservation n°" + numero + " (" + reservation.getStatut().getLibelle() + ")");
             }
         } else {
-            System.out.println("Erreur: Réservation n°" + numero + " non trouvée.");
+            afficher("Erreur: Réservation n°" + numero + " non trouvée.");
         }
     }
 
@@ -431,14 +1114,42 @@ public class Hotel {
     public void confirmerReservation(int numero) {
         Reservation reservation = rechercherReservation(numero);
         if (reservation != null) {
-            boolean succes = reservation.confirmer();
+            boolean succes;
+            ReentrantLock verrou = verrouChambre(reservation.getChambre().getNumero());
+            verrou.lock();
+            try {
+                StatutReservation ancienStatut = reservation.getStatut();
+                synchronized (agregateur) {
+                    succes = ancienStatut.peutPasserA(StatutReservation.CONFIRMEE) && reservation.confirmer();
+                    if (succes) {
+                        agregateur.statutModifie(reservation, ancienStatut);
+                    }
+                }
+                if (succes) {
+                    notifierStatut(reservation, ancienStatut);
+                }
+            } finally {
+                verrou.unlock();
+            }
             if (succes) {
-                System.out.println("✓ Réservation n°" + numero + " confirmée.");
+                afficher("✓ Réservation n°" + numero + " confirmée.");
             } else {
-                System.out.println("✗ Impossible de confirmer la réservation n°" + numero);
+                afficher("✗ Impossible de confirmer la réservation n°" + numero + " (" + reservation.getStatut().getLibelle() + ")");
             }
         } else {
-            System.out.println("Erreur: Réservation n°" + numero + " non trouvée.");
+            afficher("Erreur: Réservation n°" + numero + " non trouvée.");
+        }
+    }
+
+    private void afficher(String message) {
+        if (messages) {
+            System.out.println(message);
+        }
+    }
+
+    private void notifierStatut(Reservation reservation, StatutReservation ancienStatut) {
+        for (EcouteurHotel ecouteur : ecouteurs) {
+            ecouteur.statutReservationModifie(reservation, ancienStatut);
         }
     }
 
@@ -450,25 +1161,309 @@ public class Hotel {
     public int getNombreReservationsActives() {
         int count = 0;
         for (Reservation r : reservations) {
-            if (!r.getStatut().equals("Annulée") && !r.getStatut().equals("Terminée")) {
+            if (r.getStatut().estActif()) {
                 count++;
             }
         }
         return count;
     }
 
+    /**
+     * Restaure en une passe des réservations sauvegardées (chargement de fichiers).
+     * Contrairement à {@link #creerReservation}, aucune validation métier n'est faite :
+     * les numéros, statuts et dates passées sont conservés tels quels et rien n'est affiché.
+     * Le planning, l'occupation des chambres et les statistiques sont reconstruits ensuite.
+     * Les numéros déjà présents dans l'hôtel ou dans l'archive sont ignorés.
+     * L'allocateur de numéros de l'hôtel (propre ou global) passe au-delà des numéros restaurés.
+     * À appeler au chargement, avant que l'hôtel ne soit partagé entre terminaux.
+     * 
+     * @param lot Les réservations à restaurer
+     * @return Le nombre de réservations restaurées
+     */
+    public int restaurerReservations(Collection<Reservation> lot) {
+        int restaurees = 0;
+        for (Reservation reservation : lot) {
+            if (estArchivee(reservation.getNumeroReservation())
+                    || reservationsParNumero.putIfAbsent(reservation.getNumeroReservation(), reservation) != null) {
+                continue;
+            }
+            this.reservationsParClient.computeIfAbsent(reservation.getClient().getNumeroClient(),
+                    k -> new CopyOnWriteArrayList<>()).add(reservation);
+            getAllocateurReservations().reserverJusqua(reservation.getNumeroReservation());
+            restaurees++;
+        }
+        reconstruirePlanning();
+        agregateur.invalider();
+        return restaurees;
+    }
+
+    /**
+     * Insère un lot de réservations restaurées dans un hôtel déjà chargé (import).
+     * Comme {@link #restaurerReservations}, sans validation métier ni affichage, mais
+     * les séjours actifs sont ajoutés au planning un à un, sous le verrou de leur
+     * chambre, au lieu de reconstruire tout le planning : le coût dépend du lot et
+     * non du nombre de réservations déjà présentes.
+     * Sont ignorés les numéros déjà présents (vivants ou archivés) et les séjours
+     * actifs qui chevauchent le planning. Les écouteurs sont prévenus de chaque
+     * insertion ({@link EcouteurHotel#reservationInseree}) puis de la fin du lot.
+     * 
+     * @param lot Les réservations à insérer
+     * @return Les réservations écartées, dans l'ordre du lot (vide si toutes sont insérées)
+     */
+    public List<Reservation> insererReservations(Collection<Reservation> lot) {
+        List<Reservation> ecartees = new ArrayList<>();
+        int inserees = 0;
+        // Historiques copiés à l'écriture : un seul ajout par client et par lot
+        Map<Integer, List<Reservation>> parClient = new HashMap<>();
+        for (Reservation reservation : lot) {
+            int numero = reservation.getNumeroReservation();
+            Chambre chambre = reservation.getChambre();
+            boolean active = reservation.getStatut().estActif();
+            ReentrantLock verrou = verrouChambre(chambre.getNumero());
+            verrou.lock();
+            try {
+                if (estArchivee(numero) || (active
+                        && !planning.reserver(chambre.getNumero(), reservation.getDebut(), reservation.getFin(), numero))) {
+                    ecartees.add(reservation);
+                    continue;
+                }
+                if (reservationsParNumero.putIfAbsent(numero, reservation) != null) {
+                    if (active) {
+                        planning.liberer(chambre.getNumero(), reservation.getDebut(), numero);
+                    }
+                    ecartees.add(reservation);
+                    continue;
+                }
+                if (active && reservation.couvreAujourdhui()) {
+                    chambre.setOccupee(true);
+                }
+                // Sous le verrou : un changement de statut ne peut pas être notifié avant
+                for (EcouteurHotel ecouteur : ecouteurs) {
+                    ecouteur.reservationInseree(reservation);
+                }
+            } finally {
+                verrou.unlock();
+            }
+            parClient.computeIfAbsent(reservation.getClient().getNumeroClient(), k -> new ArrayList<>()).add(reservation);
+            getAllocateurReservations().reserverJusqua(numero);
+            inserees++;
+        }
+        for (Map.Entry<Integer, List<Reservation>> entree : parClient.entrySet()) {
+            this.reservationsParClient.computeIfAbsent(entree.getKey(), k -> new CopyOnWriteArrayList<>())
+                    .addAll(entree.getValue());
+        }
+        if (inserees > 0) {
+            invaliderStatistiques();
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.lotInsere(inserees);
+            }
+        }
+        return ecartees;
+    }
+
+    /**
+     * Déplace dans l'archive en colonnes les réservations closes (terminées ou annulées)
+     * dont le séjour s'achève avant la date donnée. Elles quittent les listes et la
+     * recherche par numéro mais restent comptées dans les statistiques ; leur date et
+     * leur motif d'annulation ne sont pas conservés. Si une archive sur disque est
+     * rattachée, elles y sont écrites (sauf au-delà de {@link ArchiveMappee#MAX_SERVICES} services).
+     * 
+     * @param avant Date limite (exclue) de fin de séjour
+     * @return Le nombre de réservations archivées
+     */
+    public int archiverReservations(LocalDate avant) {
+        synchronized (verrouArchivage) {
+            int archivees = 0;
+            for (Reservation reservation : reservations) {
+                if (!estArchivable(reservation, avant)) {
+                    continue;
+                }
+                ReentrantLock verrou = verrouChambre(reservation.getChambre().getNumero());
+                verrou.lock();
+                try {
+                    // Le déplacement est atomique vis-à-vis d'une reconstruction des statistiques
+                    synchronized (agregateur) {
+                        if (!estArchivable(reservation, avant)
+                                || reservationsParNumero.get(reservation.getNumeroReservation()) != reservation) {
+                            continue;
+                        }
+                        ArchiveMappee fichier = archiveFichier;
+                        if (fichier != null && reservation.getServices().size() <= ArchiveMappee.MAX_SERVICES) {
+                            fichier.ajouter(reservation);
+                        } else {
+                            archive.ajouter(reservation);
+                        }
+                        reservationsParNumero.remove(reservation.getNumeroReservation());
+                        List<Reservation> historique = reservationsParClient.get(reservation.getClient().getNumeroClient());
+                        if (historique != null) {
+                            historique.remove(reservation);
+                        }
+                        archivees++;
+                    }
+                } finally {
+                    verrou.unlock();
+                }
+            }
+            if (archivees > 0) {
+                ArchiveMappee fichier = archiveFichier;
+                if (fichier != null) {
+                    fichier.forcer();
+                }
+                for (EcouteurHotel ecouteur : ecouteurs) {
+                    ecouteur.reservationsArchivees(avant, archivees);
+                }
+            }
+            return archivees;
+        }
+    }
+
+    private static boolean estArchivable(Reservation reservation, LocalDate avant) {
+        return !reservation.getStatut().estActif() && reservation.getFin().isBefore(avant);
+    }
+
+    /**
+     * Reconstruit le planning à partir des réservations actives, puis recalcule
+     * l'occupation actuelle de chaque chambre.
+     */
+    private void reconstruirePlanning() {
+        planning.vider();
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatut().estActif()) {
+                planning.reserver(reservation.getChambre().getNumero(), reservation.getDebut(),
+                        reservation.getFin(), reservation.getNumeroReservation());
+            }
+        }
+        LocalDate aujourdhui = LocalDate.now();
+        for (Chambre chambre : chambres) {
+            chambre.setOccupee(!planning.estDisponible(chambre.getNumero(), aujourdhui, aujourdhui.plusDays(1)));
+        }
+    }
+
+    /**
+     * Libère dans le planning le séjour d'une réservation annulée ou terminée,
+     * puis recalcule l'occupation actuelle de la chambre.
+     * Le verrou de la chambre est pris s'il ne l'est pas déjà.
+     * 
+     * @param reservation La réservation close
+     */
+    public void libererPlanning(Reservation reservation) {
+        Chambre chambre = reservation.getChambre();
+        ReentrantLock verrou = verrouChambre(chambre.getNumero());
+        verrou.lock();
+        try {
+            planning.liberer(chambre.getNumero(), reservation.getDebut(), reservation.getNumeroReservation());
+            LocalDate aujourdhui = LocalDate.now();
+            chambre.setOccupee(!planning.estDisponible(chambre.getNumero(), aujourdhui, aujourdhui.plusDays(1)));
+        } finally {
+            verrou.unlock();
+        }
+    }
+
     // ===========================
     // MÉTHODES DE GESTION DES SERVICES
     // ===========================
 
     /**
-     * Ajoute un service disponible à l'hôtel.
+     * Crée un service identifié dans l'espace de l'hôtel (sans l'ajouter).
+     * 
+     * @param nom         Nom du service
+     * @param description Description du service
+     * @param prix        Prix du service
+     * @return Le nouveau service
+     */
+    public Service nouveauService(String nom, String description, double prix) {
+        AllocateurIdentifiants propre = allocateurServices;
+        return propre != null ? new Service(propre.suivant(), nom, description, prix)
+                : new Service(nom, description, prix);
+    }
+
+    /**
+     * Ajoute un service disponible à l'hôtel. L'allocateur d'identifiants de l'hôtel
+     * (propre ou global) passe au-delà de son identifiant.
      * 
      * @param service Le service à ajouter
      */
     public void ajouterService(Service service) {
-        if (service != null) {
+        if (service == null) {
+            return;
+        }
+        synchronized (verrouCatalogue) {
             this.servicesDisponibles.add(service);
+            this.servicesParId.put(service.getIdService(), service);
+            getAllocateurServices().reserverJusqua(service.getIdService());
+            service.ajouterObservateur(observateurPrix);
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.serviceAjoute(service);
+            }
+        }
+    }
+
+    /**
+     * Modifie un service de l'hôtel et prévient les écouteurs.
+     * 
+     * @param idService   L'identifiant du service
+     * @param nom         Le nouveau nom
+     * @param description La nouvelle description
+     * @param prix        Le nouveau prix
+     * @return true si le service existe, false sinon
+     */
+    public boolean modifierService(int idService, String nom, String description, double prix) {
+        Service service = servicesParId.get(idService);
+        if (service == null) {
+            return false;
+        }
+        synchronized (verrouCatalogue) {
+            service.setNom(nom);
+            service.setDescription(description);
+            if (service.getPrix() != prix) {
+                service.setPrix(prix); // L'observateur de prix prévient les écouteurs
+            } else {
+                for (EcouteurHotel ecouteur : ecouteurs) {
+                    ecouteur.serviceModifie(service);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recherche un service de l'hôtel par son identifiant.
+     * 
+     * @param idService L'identifiant du service
+     * @return Le service trouvé ou null
+     */
+    public Service rechercherService(int idService) {
+        return servicesParId.get(idService);
+    }
+
+    /**
+     * Ajoute un service à une réservation en tenant les statistiques à jour.
+     * 
+     * @param reservation La réservation
+     * @param service     Le service à ajouter
+     * @return true si le service a été ajouté, false s'il est null ou indisponible
+     */
+    public boolean ajouterServiceReservation(Reservation reservation, Service service) {
+        if (reservation == null) {
+            return false;
+        }
+        ReentrantLock verrou = verrouChambre(reservation.getChambre().getNumero());
+        verrou.lock();
+        try {
+            // Une réservation archivée est figée
+            synchronized (agregateur) {
+                if (reservationsParNumero.get(reservation.getNumeroReservation()) != reservation
+                        || !reservation.ajouterService(service)) {
+                    return false;
+                }
+                agregateur.serviceAjoute(reservation, service);
+            }
+            for (EcouteurHotel ecouteur : ecouteurs) {
+                ecouteur.serviceReservationAjoute(reservation, service);
+            }
+            return true;
+        } finally {
+            verrou.unlock();
         }
     }
 
@@ -0,0 +1,115 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.gestionhotel.model.Chambre;
+
+/**
+ * Index commun aux hôtels d'un {@link RegistreHotels} : chambres regroupées par ville
+ * puis par type (clés en minuscules). Une recherche ne parcourt que les chambres du
+ * couple (ville, type) demandé, quel que soit le nombre d'hôtels, et interroge pour
+ * chacune le planning de son hôtel (disponibilité en O(log n)).
+ *
+ * L'index est tenu à jour par les événements des hôtels (chambre ajoutée ou
+ * supprimée) ; les réservations n'y changent rien puisque la disponibilité est lue
+ * dans les plannings au moment de la recherche.
+ */
+final class IndexDisponibilites {
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, CopyOnWriteArrayList<ChambreTrouvee>>> parVille =
+            new ConcurrentHashMap<>();
+
+    private static String cle(String texte) {
+        return texte.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void ajouter(ChambreTrouvee entree) {
+        parVille.computeIfAbsent(cle(entree.getVille()), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cle(entree.getChambre().getType()), k -> new CopyOnWriteArrayList<>())
+                .add(entree);
+    }
+
+    void retirer(String ville, Hotel hotel, Chambre chambre) {
+        Map<String, CopyOnWriteArrayList<ChambreTrouvee>> parType = parVille.get(cle(ville));
+        if (parType == null) {
+            return;
+        }
+        CopyOnWriteArrayList<ChambreTrouvee> entrees = parType.get(cle(chambre.getType()));
+        if (entrees != null) {
+            entrees.removeIf(entree -> entree.getHotel() == hotel && entree.getChambre() == chambre);
+        }
+    }
+
+    void retirerHotel(String ville, Hotel hotel) {
+        Map<String, CopyOnWriteArrayList<ChambreTrouvee>> parType = parVille.get(cle(ville));
+        if (parType != null) {
+            for (CopyOnWriteArrayList<ChambreTrouvee> entrees : parType.values()) {
+                entrees.removeIf(entree -> entree.getHotel() == hotel);
+            }
+        }
+    }
+
+    /**
+     * Recherche les chambres libres sur toute la période.
+     *
+     * @param ville  La ville, ou null pour toutes
+     * @param type   Le type de chambre, ou null pour tous
+     * @param debut  Date d'arrivée
+     * @param fin    Date de départ (exclue)
+     * @param limite Nombre maximal de résultats
+     * @return Les chambres libres, hôtel par hôtel dans l'ordre d'ajout
+     */
+    List<ChambreTrouvee> rechercher(String ville, String type, LocalDate debut, LocalDate fin, int limite) {
+        List<ChambreTrouvee> resultat = new ArrayList<>();
+        if (ville != null) {
+            rechercher(parVille.get(cle(ville)), type, debut, fin, limite, resultat);
+        } else {
+            for (Map<String, CopyOnWriteArrayList<ChambreTrouvee>> parType : parVille.values()) {
+                if (!rechercher(parType, type, debut, fin, limite, resultat)) {
+                    break;
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * @return false si la limite est atteinte
+     */
+    private static boolean rechercher(Map<String, CopyOnWriteArrayList<ChambreTrouvee>> parType, String type,
+            LocalDate debut, LocalDate fin, int limite, List<ChambreTrouvee> resultat) {
+        if (parType == null) {
+            return true;
+        }
+        if (type != null) {
+            return rechercher(parType.get(cle(type)), debut, fin, limite, resultat);
+        }
+        for (List<ChambreTrouvee> entrees : parType.values()) {
+            if (!rechercher(entrees, debut, fin, limite, resultat)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean rechercher(List<ChambreTrouvee> entrees, LocalDate debut, LocalDate fin, int limite,
+            List<ChambreTrouvee> resultat) {
+        if (entrees == null) {
+            return true;
+        }
+        for (ChambreTrouvee entree : entrees) {
+            if (resultat.size() >= limite) {
+                return false;
+            }
+            if (entree.getHotel().estChambreDisponible(entree.getChambre(), debut, fin)) {
+                resultat.add(entree);
+            }
+        }
+        return resultat.size() < limite;
+    }
+}
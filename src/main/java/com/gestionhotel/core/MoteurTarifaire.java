@@ -0,0 +1,417 @@
+package com.gestionhotel.core;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Tarification;
+import com.gestionhotel.utils.ValidationUtils;
+
+/**
+ * Tarification dynamique : calendrier de tarifs, saisons, jours de la semaine,
+ * remises sur la durée et yield selon l'occupation.
+ *
+ * Le tarif d'une nuit vaut (tarif du calendrier, sinon prix par nuit de la chambre)
+ * × coefficients des saisons × coefficient du jour de la semaine × coefficient de
+ * yield ; les suppléments des options s'y ajoutent tels quels, puis la remise de durée
+ * s'applique au séjour. Les règles sont résolues une fois pour toutes, par type de
+ * chambre et sur l'horizon, en sommes préfixes : un devis coûte quelques lectures de
+ * tableau, quelle que soit la durée du séjour. Hors horizon, le prix par nuit s'applique.
+ *
+ * Le yield s'appuie sur l'occupation par type relevée au moment du calcul des grilles
+ * (nuits à venir seulement) : les prix restent stables jusqu'au prochain
+ * {@link #recalculer()}, à lancer par exemple chaque nuit. Toute modification des
+ * règles invalide les grilles et les statistiques de l'hôtel.
+ *
+ * Une règle dont le type est null s'applique à tous les types.
+ */
+public class MoteurTarifaire implements Tarification {
+
+    private static final String TOUS = ""; // Clé des règles valables pour tous les types
+
+    /**
+     * Coefficient appliqué aux nuits d'une plage de dates.
+     */
+    private static final class Saison {
+        final String type;
+        final long debut;
+        final long fin;
+        final double coefficient;
+
+        Saison(String type, long debut, long fin, double coefficient) {
+            this.type = type;
+            this.debut = debut;
+            this.fin = fin;
+            this.coefficient = coefficient;
+        }
+    }
+
+    /**
+     * Coefficient appliqué aux nuits dont l'occupation atteint un seuil.
+     */
+    private static final class SeuilOccupation {
+        final String type;
+        final double taux;
+        final double coefficient;
+
+        SeuilOccupation(String type, double taux, double coefficient) {
+            this.type = type;
+            this.taux = taux;
+            this.coefficient = coefficient;
+        }
+    }
+
+    /**
+     * Tarifs résolus d'un type de chambre sur l'horizon, en sommes préfixes.
+     */
+    private static final class Grille {
+        final double[] cumulCoefficients; // Somme des coefficients des nuits sans tarif de calendrier
+        final double[] cumulTarifs; // Somme tarif × coefficient des nuits du calendrier
+
+        Grille(int jours) {
+            cumulCoefficients = new double[jours + 1];
+            cumulTarifs = new double[jours + 1];
+        }
+    }
+
+    /**
+     * Résultat complet d'un calcul, publié en bloc.
+     */
+    private static final class Grilles {
+        final long origine; // Jour (depuis l'epoch) de la case 0
+        final HashMap<String, Grille> parType = new HashMap<>();
+        final double[] remises; // Remise par nombre de nuits (la dernière case vaut au-delà)
+
+        Grilles(long origine, double[] remises) {
+            this.origine = origine;
+            this.remises = remises;
+        }
+    }
+
+    private final Hotel hotel;
+
+    // Règles (lues et modifiées sous le moniteur du moteur)
+    private final HashMap<String, HashMap<Long, Double>> calendrier = new HashMap<>();
+    private final ArrayList<Saison> saisons = new ArrayList<>();
+    private final HashMap<String, double[]> coefficientsJour = new HashMap<>();
+    private final TreeMap<Integer, Double> remisesDuree = new TreeMap<>(); // Nuits minimum -> remise
+    private final ArrayList<SeuilOccupation> seuils = new ArrayList<>();
+    private LocalDate debutHorizon;
+    private LocalDate finHorizon;
+
+    // Résultat du calcul, remplacé en bloc (null = à recalculer)
+    private volatile Grilles grilles;
+
+    /**
+     * Crée un moteur sans règle (les prix par nuit s'appliquent tels quels) sur un horizon
+     * de trois ans en arrière à deux ans en avant. Pour qu'il serve, il doit être branché
+     * sur l'hôtel avec {@link Hotel#setTarification}.
+     *
+     * @param hotel L'hôtel dont l'occupation alimente le yield
+     */
+    public MoteurTarifaire(Hotel hotel) {
+        this.hotel = ValidationUtils.requireNonNull(hotel, "hotel");
+        LocalDate aujourdhui = LocalDate.now();
+        this.debutHorizon = aujourdhui.minusYears(3);
+        this.finHorizon = aujourdhui.plusYears(2);
+    }
+
+    // ===========================
+    // RÈGLES
+    // ===========================
+
+    /**
+     * Fixe le tarif d'un type de chambre pour chaque nuit d'une période, à la place du
+     * prix par nuit des chambres.
+     *
+     * @param type  Type de chambre, ou null pour tous
+     * @param debut Première nuit
+     * @param fin   Lendemain de la dernière nuit
+     * @param tarif Tarif par nuit
+     */
+    public void definirTarif(String type, LocalDate debut, LocalDate fin, double tarif) {
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        ValidationUtils.requirePositive(tarif, "tarif");
+        synchronized (this) {
+            HashMap<Long, Double> jours = calendrier.computeIfAbsent(cle(type), k -> new HashMap<>());
+            for (long jour = debut.toEpochDay(); jour < fin.toEpochDay(); jour++) {
+                jours.put(jour, tarif);
+            }
+        }
+        invalider();
+    }
+
+    /**
+     * Ajoute une saison : les nuits de la période sont multipliées par le coefficient
+     * (les saisons qui se chevauchent se cumulent).
+     *
+     * @param type        Type de chambre, ou null pour tous
+     * @param debut       Première nuit
+     * @param fin         Lendemain de la dernière nuit
+     * @param coefficient Coefficient (ex: 1.25 pour +25 %)
+     */
+    public void ajouterSaison(String type, LocalDate debut, LocalDate fin, double coefficient) {
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        ValidationUtils.requirePositive(coefficient, "coefficient");
+        synchronized (this) {
+            saisons.add(new Saison(cle(type), debut.toEpochDay(), fin.toEpochDay(), coefficient));
+        }
+        invalider();
+    }
+
+    /**
+     * Fixe le coefficient d'un jour de la semaine (nuit du jour donné au lendemain).
+     *
+     * @param type        Type de chambre, ou null pour tous
+     * @param jour        Le jour
+     * @param coefficient Coefficient (ex: 1.15 le samedi)
+     */
+    public void setCoefficientJour(String type, DayOfWeek jour, double coefficient) {
+        ValidationUtils.requireNonNull(jour, "jour");
+        ValidationUtils.requirePositive(coefficient, "coefficient");
+        synchronized (this) {
+            double[] coefficients = coefficientsJour.computeIfAbsent(cle(type), k -> {
+                double[] neufs = new double[7];
+                Arrays.fill(neufs, 1.0);
+                return neufs;
+            });
+            coefficients[jour.getValue() - 1] = coefficient;
+        }
+        invalider();
+    }
+
+    /**
+     * Ajoute une remise sur le prix de l'hébergement à partir d'une durée de séjour.
+     * La remise du palier le plus long atteint s'applique.
+     *
+     * @param nuitsMinimum Durée minimale du séjour
+     * @param remise       Part retirée, entre 0 et 1 (ex: 0.10 pour -10 %)
+     */
+    public void ajouterRemiseDuree(int nuitsMinimum, double remise) {
+        ValidationUtils.requirePositive(nuitsMinimum, "nuitsMinimum");
+        ValidationUtils.requireInRange(remise, 0.0, 1.0, "remise");
+        synchronized (this) {
+            remisesDuree.put(nuitsMinimum, remise);
+        }
+        invalider();
+    }
+
+    /**
+     * Ajoute une règle de yield : les nuits à venir dont le taux d'occupation du type
+     * atteint le seuil sont multipliées par le coefficient. Le seuil le plus haut
+     * atteint l'emporte.
+     *
+     * @param type        Type de chambre, ou null pour tous
+     * @param taux        Seuil d'occupation en pourcentage (0 à 100)
+     * @param coefficient Coefficient (ex: 1.2)
+     */
+    public void ajouterSeuilOccupation(String type, double taux, double coefficient) {
+        ValidationUtils.requireInRange(taux, 0.0, 100.0, "taux");
+        ValidationUtils.requirePositive(coefficient, "coefficient");
+        synchronized (this) {
+            seuils.add(new SeuilOccupation(cle(type), taux, coefficient));
+        }
+        invalider();
+    }
+
+    /**
+     * Fixe la période couverte par les grilles.
+     *
+     * @param debut Première nuit couverte
+     * @param fin   Lendemain de la dernière nuit couverte
+     */
+    public void setHorizon(LocalDate debut, LocalDate fin) {
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        synchronized (this) {
+            debutHorizon = debut;
+            finHorizon = fin;
+        }
+        invalider();
+    }
+
+    /**
+     * Recalcule les grilles tout de suite, avec l'occupation actuelle pour le yield.
+     */
+    public void recalculer() {
+        invalider();
+        grilles();
+    }
+
+    private void invalider() {
+        grilles = null;
+        // Hors du moniteur du moteur : les statistiques le prennent pendant leurs calculs
+        hotel.invaliderStatistiques();
+    }
+
+    /**
+     * Jette les grilles après l'ajout ou le retrait d'une chambre : les types couverts et
+     * le nombre de chambres par type (yield) en dépendent. Appelée par l'hôtel.
+     */
+    void chambresModifiees() {
+        synchronized (this) {
+            // Sous le moniteur : un calcul en cours, qui ignorait la chambre, ne peut plus publier après
+            grilles = null;
+        }
+        hotel.invaliderStatistiques();
+    }
+
+    private static String cle(String type) {
+        return type == null ? TOUS : type.toLowerCase(Locale.ROOT);
+    }
+
+    // ===========================
+    // DEVIS
+    // ===========================
+
+    @Override
+    public double calculerPrix(Chambre chambre, long jourDebut, long jourFin) {
+        int nuits = (int) (jourFin - jourDebut);
+        if (nuits <= 0) {
+            return 0.0;
+        }
+        Grilles courantes = grilles();
+        Grille grille = courantes.parType.get(cle(chambre.getType()));
+        double base = chambre.getPrixParNuit();
+        double prix;
+        if (grille == null) {
+            prix = base * nuits;
+        } else {
+            int jours = grille.cumulCoefficients.length - 1;
+            int premier = (int) Math.max(0, Math.min(jours, jourDebut - courantes.origine));
+            int dernier = (int) Math.max(0, Math.min(jours, jourFin - courantes.origine));
+            prix = base * (grille.cumulCoefficients[dernier] - grille.cumulCoefficients[premier])
+                    + (grille.cumulTarifs[dernier] - grille.cumulTarifs[premier])
+                    + base * (nuits - (dernier - premier)); // Nuits hors horizon
+        }
+        prix += chambre.getSupplementParNuit() * nuits;
+        double[] paliers = courantes.remises;
+        double remise = paliers[Math.min(nuits, paliers.length - 1)];
+        return remise == 0.0 ? prix : prix * (1.0 - remise);
+    }
+
+    /**
+     * @return Les grilles à jour, calculées si les règles ont changé
+     */
+    private Grilles grilles() {
+        Grilles courantes = grilles;
+        if (courantes != null) {
+            return courantes;
+        }
+        synchronized (this) {
+            if (grilles == null) {
+                construire();
+            }
+            return grilles;
+        }
+    }
+
+    /**
+     * Résout toutes les règles, nuit par nuit, pour chaque type de chambre de l'hôtel.
+     */
+    private void construire() {
+        long premierJour = debutHorizon.toEpochDay();
+        int jours = (int) (finHorizon.toEpochDay() - premierJour);
+
+        HashMap<String, Integer> chambresParType = new HashMap<>();
+        for (Chambre chambre : hotel.getChambres()) {
+            chambresParType.merge(cle(chambre.getType()), 1, Integer::sum);
+        }
+        Map<String, int[]> occupation = seuils.isEmpty() ? new HashMap<>()
+                : relever(chambresParType.keySet(), premierJour, jours);
+
+        double[] paliers = new double[remisesDuree.isEmpty() ? 1 : remisesDuree.lastKey() + 1];
+        for (Map.Entry<Integer, Double> palier : remisesDuree.entrySet()) {
+            Arrays.fill(paliers, palier.getKey(), paliers.length, palier.getValue());
+        }
+        Grilles resultat = new Grilles(premierJour, paliers);
+        for (Map.Entry<String, Integer> entree : chambresParType.entrySet()) {
+            String type = entree.getKey();
+            Grille grille = new Grille(jours);
+            HashMap<Long, Double> tarifsType = calendrier.get(type);
+            HashMap<Long, Double> tarifsTous = calendrier.get(TOUS);
+            double[] joursType = coefficientsJour.get(type);
+            double[] joursTous = coefficientsJour.get(TOUS);
+            int[] vendues = occupation.get(type);
+            for (int i = 0; i < jours; i++) {
+                long jour = premierJour + i;
+                double coefficient = 1.0;
+                for (Saison saison : saisons) {
+                    if (jour >= saison.debut && jour < saison.fin
+                            && (saison.type.equals(TOUS) || saison.type.equals(type))) {
+                        coefficient *= saison.coefficient;
+                    }
+                }
+                int jourSemaine = (int) Math.floorMod(jour + 3, 7L); // Le 1970-01-01 est un jeudi
+                if (joursTous != null) {
+                    coefficient *= joursTous[jourSemaine];
+                }
+                if (joursType != null) {
+                    coefficient *= joursType[jourSemaine];
+                }
+                if (vendues != null) {
+                    coefficient *= coefficientYield(type, vendues[i] * 100.0 / entree.getValue());
+                }
+
+                Double tarif = tarifsType != null ? tarifsType.get(jour) : null;
+                if (tarif == null && tarifsTous != null) {
+                    tarif = tarifsTous.get(jour);
+                }
+                grille.cumulCoefficients[i + 1] = grille.cumulCoefficients[i] + (tarif == null ? coefficient : 0.0);
+                grille.cumulTarifs[i + 1] = grille.cumulTarifs[i] + (tarif == null ? 0.0 : tarif * coefficient);
+            }
+            resultat.parType.put(type, grille);
+        }
+        grilles = resultat;
+    }
+
+    private double coefficientYield(String type, double taux) {
+        double seuilAtteint = -1;
+        double coefficient = 1.0;
+        for (SeuilOccupation seuil : seuils) {
+            if ((seuil.type.equals(TOUS) || seuil.type.equals(type)) && taux >= seuil.taux
+                    && seuil.taux > seuilAtteint) {
+                seuilAtteint = seuil.taux;
+                coefficient = seuil.coefficient;
+            }
+        }
+        return coefficient;
+    }
+
+    /**
+     * Compte, par type et par nuit à venir de l'horizon, les chambres vendues
+     * (réservations non annulées), par somme préfixe de différences.
+     */
+    private Map<String, int[]> relever(Iterable<String> types, long premierJour, int jours) {
+        HashMap<String, int[]> vendues = new HashMap<>();
+        for (String type : types) {
+            vendues.put(type, new int[jours + 1]);
+        }
+        long aujourdhui = LocalDate.now().toEpochDay();
+        for (Reservation reservation : hotel.getReservations()) {
+            if (reservation.getStatut() == StatutReservation.ANNULEE) {
+                continue;
+            }
+            int[] differences = vendues.get(cle(reservation.getChambre().getType()));
+            long debut = Math.max(Math.max(reservation.getDebut().toEpochDay(), aujourdhui), premierJour);
+            long fin = Math.min(reservation.getFin().toEpochDay(), premierJour + jours);
+            if (differences == null || fin <= debut) {
+                continue;
+            }
+            differences[(int) (debut - premierJour)]++;
+            differences[(int) (fin - premierJour)]--;
+        }
+        for (int[] differences : vendues.values()) {
+            for (int i = 1; i <= jours; i++) {
+                differences[i] += differences[i - 1];
+            }
+        }
+        return vendues;
+    }
+}
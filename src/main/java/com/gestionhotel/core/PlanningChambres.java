@@ -0,0 +1,159 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Planning de disponibilité des chambres par période.
+ * Chaque chambre possède son propre arbre de séjours triés par date d'arrivée,
+ * ce qui permet de savoir en O(log n) si elle est libre sur [arrivée, départ).
+ * Les séjours d'une même chambre ne se chevauchent jamais.
+ * 
+ * Les lectures sont sans verrou (structures concurrentes). Les écritures sur une
+ * même chambre doivent être sérialisées par l'appelant : {@link Hotel} les fait
+ * sous le verrou de la chambre.
+ */
+public class PlanningChambres {
+
+    /**
+     * Séjour occupant une chambre sur l'intervalle de jours [debut, fin).
+     */
+    private static class Sejour {
+        private final int debut;
+        private final int fin;
+        private final int numeroReservation;
+
+        Sejour(int debut, int fin, int numeroReservation) {
+            this.debut = debut;
+            this.fin = fin;
+            this.numeroReservation = numeroReservation;
+        }
+    }
+
+    // Numéro de chambre -> séjours indexés par jour d'arrivée (epoch day)
+    private ConcurrentHashMap<Integer, ConcurrentSkipListMap<Integer, Sejour>> plannings;
+
+    /**
+     * Constructeur du planning (vide).
+     */
+    public PlanningChambres() {
+        this.plannings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Déclare une chambre dans le planning.
+     *
+     * @param numeroChambre Le numéro de la chambre
+     */
+    public void ajouterChambre(int numeroChambre) {
+        plannings.putIfAbsent(numeroChambre, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Retire une chambre et tous ses séjours du planning.
+     *
+     * @param numeroChambre Le numéro de la chambre
+     */
+    public void retirerChambre(int numeroChambre) {
+        plannings.remove(numeroChambre);
+    }
+
+    /**
+     * Vérifie si une chambre est libre sur la période [debut, fin).
+     *
+     * @param numeroChambre Le numéro de la chambre
+     * @param debut         Date d'arrivée
+     * @param fin           Date de départ (exclue)
+     * @return true si aucun séjour ne chevauche la période
+     */
+    public boolean estDisponible(int numeroChambre, LocalDate debut, LocalDate fin) {
+        ConcurrentSkipListMap<Integer, Sejour> sejours = plannings.get(numeroChambre);
+        if (sejours == null) {
+            return false;
+        }
+        return estLibre(sejours, (int) debut.toEpochDay(), (int) fin.toEpochDay());
+    }
+
+    /**
+     * Réserve une chambre sur la période [debut, fin) si elle est libre.
+     *
+     * @param numeroChambre     Le numéro de la chambre
+     * @param debut             Date d'arrivée
+     * @param fin               Date de départ (exclue)
+     * @param numeroReservation Le numéro de la réservation correspondante
+     * @return true si la période a été réservée, false si elle chevauche un séjour
+     */
+    public boolean reserver(int numeroChambre, LocalDate debut, LocalDate fin, int numeroReservation) {
+        ConcurrentSkipListMap<Integer, Sejour> sejours = plannings.get(numeroChambre);
+        int jourDebut = (int) debut.toEpochDay();
+        int jourFin = (int) fin.toEpochDay();
+        if (sejours == null || jourDebut >= jourFin || !estLibre(sejours, jourDebut, jourFin)) {
+            return false;
+        }
+        sejours.put(jourDebut, new Sejour(jourDebut, jourFin, numeroReservation));
+        return true;
+    }
+
+    /**
+     * Libère le séjour d'une réservation (annulation ou check-out).
+     *
+     * @param numeroChambre     Le numéro de la chambre
+     * @param debut             Date d'arrivée du séjour
+     * @param numeroReservation Le numéro de la réservation à libérer
+     * @return true si le séjour a été retiré, false s'il n'existait pas
+     */
+    public boolean liberer(int numeroChambre, LocalDate debut, int numeroReservation) {
+        ConcurrentSkipListMap<Integer, Sejour> sejours = plannings.get(numeroChambre);
+        if (sejours == null) {
+            return false;
+        }
+        int jourDebut = (int) debut.toEpochDay();
+        Sejour sejour = sejours.get(jourDebut);
+        if (sejour == null || sejour.numeroReservation != numeroReservation) {
+            return false;
+        }
+        sejours.remove(jourDebut);
+        return true;
+    }
+
+    /**
+     * Retourne les numéros des chambres libres sur la période [debut, fin).
+     * Chaque chambre est testée en O(log n), sans parcourir les réservations.
+     *
+     * @param debut Date d'arrivée
+     * @param fin   Date de départ (exclue)
+     * @return La liste des numéros de chambres libres
+     */
+    public ArrayList<Integer> getChambresLibres(LocalDate debut, LocalDate fin) {
+        int jourDebut = (int) debut.toEpochDay();
+        int jourFin = (int) fin.toEpochDay();
+        ArrayList<Integer> libres = new ArrayList<>();
+        for (Map.Entry<Integer, ConcurrentSkipListMap<Integer, Sejour>> entry : plannings.entrySet()) {
+            if (estLibre(entry.getValue(), jourDebut, jourFin)) {
+                libres.add(entry.getKey());
+            }
+        }
+        return libres;
+    }
+
+    /**
+     * Vide tous les séjours en conservant les chambres déclarées.
+     */
+    public void vider() {
+        for (ConcurrentSkipListMap<Integer, Sejour> sejours : plannings.values()) {
+            sejours.clear();
+        }
+    }
+
+    /**
+     * Les séjours étant disjoints et triés, seul le dernier séjour commençant
+     * avant le jour de départ peut chevaucher la période demandée.
+     */
+    private static boolean estLibre(ConcurrentSkipListMap<Integer, Sejour> sejours, int jourDebut, int jourFin) {
+        Map.Entry<Integer, Sejour> precedent = sejours.floorEntry(jourFin - 1);
+        return precedent == null || precedent.getValue().fin <= jourDebut;
+    }
+}
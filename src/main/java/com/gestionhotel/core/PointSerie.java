@@ -0,0 +1,83 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+
+/**
+ * Une période d'une série d'occupation : nuits disponibles et vendues, chiffre
+ * d'affaires des nuitées, et les indicateurs qui en découlent.
+ */
+public class PointSerie {
+
+    private final LocalDate debut;
+    private final LocalDate fin;
+    private final long nuitsDisponibles;
+    private final long nuitsVendues;
+    private final double chiffreAffaires;
+
+    public PointSerie(LocalDate debut, LocalDate fin, long nuitsDisponibles, long nuitsVendues, double chiffreAffaires) {
+        this.debut = debut;
+        this.fin = fin;
+        this.nuitsDisponibles = nuitsDisponibles;
+        this.nuitsVendues = nuitsVendues;
+        this.chiffreAffaires = chiffreAffaires;
+    }
+
+    /**
+     * @return Premier jour de la période
+     */
+    public LocalDate getDebut() {
+        return debut;
+    }
+
+    /**
+     * @return Lendemain du dernier jour de la période
+     */
+    public LocalDate getFin() {
+        return fin;
+    }
+
+    /**
+     * @return Chambres × jours de la période
+     */
+    public long getNuitsDisponibles() {
+        return nuitsDisponibles;
+    }
+
+    public long getNuitsVendues() {
+        return nuitsVendues;
+    }
+
+    /**
+     * @return Le chiffre d'affaires hébergement des nuits de la période
+     */
+    public double getChiffreAffaires() {
+        return chiffreAffaires;
+    }
+
+    /**
+     * @return Le taux d'occupation en pourcentage (0-100)
+     */
+    public double getTauxOccupation() {
+        return nuitsDisponibles == 0 ? 0.0 : (double) nuitsVendues / nuitsDisponibles * 100.0;
+    }
+
+    /**
+     * @return Le revenu par chambre disponible (RevPAR)
+     */
+    public double getRevPAR() {
+        return nuitsDisponibles == 0 ? 0.0 : chiffreAffaires / nuitsDisponibles;
+    }
+
+    /**
+     * @return Le prix moyen par nuit vendue (ADR)
+     */
+    public double getADR() {
+        return nuitsVendues == 0 ? 0.0 : chiffreAffaires / nuitsVendues;
+    }
+
+    @Override
+    public String toString() {
+        return debut + " : " + String.format("%.1f", getTauxOccupation()) + "% | RevPAR "
+                + String.format("%.2f", getRevPAR()) + "€ | ADR " + String.format("%.2f", getADR()) + "€";
+    }
+}
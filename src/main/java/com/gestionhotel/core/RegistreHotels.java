@@ -0,0 +1,329 @@
+package com.gestionhotel.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.model.AllocateurParBlocs;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.utils.FilePersistence;
+import com.gestionhotel.utils.ValidationUtils;
+
+/**
+ * Registre des hôtels d'un même processus (plusieurs établissements).
+ *
+ * Chaque hôtel est désigné par un code court et possède :
+ * - son répertoire de sauvegarde, {@code <racine>/<code>/} (snapshot et journal) ;
+ * - ses propres espaces de numéros de réservations, clients et services.
+ * Le fichier {@code <racine>/registre.txt} liste les codes et les villes.
+ *
+ * Les recherches multi-hôtels passent par un {@link IndexDisponibilites} commun,
+ * tenu à jour par les événements des hôtels : "une suite libre à Paris du 3 au 5"
+ * ne parcourt que les suites des hôtels parisiens.
+ */
+public class RegistreHotels {
+
+    public static final String FICHIER_REGISTRE = "registre.txt";
+
+    // Le code sert de nom de répertoire
+    private static final Pattern CODE_VALIDE = Pattern.compile("[A-Za-z0-9_-]+");
+
+    /**
+     * Un hôtel inscrit au registre, avec l'écouteur qui maintient l'index.
+     */
+    private static final class Propriete {
+        final String code;
+        final Hotel hotel;
+        final String ville;
+        final File repertoire;
+        EcouteurHotel ecouteur;
+
+        Propriete(String code, Hotel hotel, String ville, File repertoire) {
+            this.code = code;
+            this.hotel = hotel;
+            this.ville = ville;
+            this.repertoire = repertoire;
+        }
+    }
+
+    private final File racine;
+    private final ConcurrentSkipListMap<String, Propriete> proprietes = new ConcurrentSkipListMap<>();
+    private final IndexDisponibilites index = new IndexDisponibilites();
+
+    /**
+     * Crée un registre vide dont les hôtels seront sauvegardés sous la racine donnée.
+     *
+     * @param racine Répertoire racine (un sous-répertoire par hôtel)
+     */
+    public RegistreHotels(File racine) {
+        this.racine = ValidationUtils.requireNonNull(racine, "La racine du registre");
+    }
+
+    // ===========================
+    // HÔTELS
+    // ===========================
+
+    /**
+     * Crée un hôtel vierge avec ses propres espaces de numéros, l'inscrit au registre
+     * et ouvre son journal.
+     *
+     * @param code    Code de l'hôtel (lettres, chiffres, '-' ou '_'), unique
+     * @param nom     Nom de l'hôtel
+     * @param adresse Adresse de l'hôtel
+     * @param ville   Ville, critère des recherches multi-hôtels
+     * @return Le nouvel hôtel
+     * @throws ValidationException si le code est invalide ou déjà pris, ou la ville vide
+     */
+    public Hotel creerHotel(String code, String nom, String adresse, String ville) {
+        verifierCode(code);
+        verifierVille(ville);
+        Hotel hotel = nouvelHotel(nom, adresse);
+        Propriete propriete = new Propriete(code, hotel, ville.trim(), new File(racine, code));
+        if (proprietes.putIfAbsent(code, propriete) != null) {
+            throw new ValidationException("Le code d'hôtel " + code + " est déjà utilisé");
+        }
+        indexer(propriete);
+        if (!FilePersistence.ouvrirJournal(hotel, propriete.repertoire)) {
+            System.err.println("Journal indisponible pour l'hôtel " + code
+                    + " : les modifications ne seront sauvegardées qu'à la fermeture.");
+        }
+        return hotel;
+    }
+
+    /**
+     * Retire un hôtel du registre et des recherches, et ferme son journal
+     * (ses fichiers restent sur disque).
+     *
+     * @param code Le code de l'hôtel
+     * @return true si l'hôtel était inscrit
+     */
+    public boolean retirerHotel(String code) {
+        Propriete propriete = code != null ? proprietes.remove(code) : null;
+        if (propriete == null) {
+            return false;
+        }
+        propriete.hotel.retirerEcouteur(propriete.ecouteur);
+        index.retirerHotel(propriete.ville, propriete.hotel);
+        FilePersistence.fermerJournal(propriete.repertoire);
+        return true;
+    }
+
+    private static Hotel nouvelHotel(String nom, String adresse) {
+        Hotel hotel = new Hotel(nom, adresse);
+        hotel.setAllocateurs(new AllocateurParBlocs(), new AllocateurParBlocs(), new AllocateurParBlocs());
+        return hotel;
+    }
+
+    private void verifierCode(String code) {
+        ValidationUtils.requireNotBlank(code, "Le code d'hôtel");
+        if (!CODE_VALIDE.matcher(code).matches()) {
+            throw new ValidationException("Le code d'hôtel ne peut contenir que lettres, chiffres, '-' et '_'");
+        }
+    }
+
+    private static void verifierVille(String ville) {
+        ValidationUtils.requireNotBlank(ville, "La ville");
+        if (ville.indexOf('|') >= 0 || ville.indexOf('\n') >= 0) {
+            throw new ValidationException("La ville ne peut contenir ni '|' ni retour à la ligne");
+        }
+    }
+
+    /**
+     * Indexe les chambres présentes puis suit les ajouts et suppressions.
+     */
+    private void indexer(Propriete propriete) {
+        propriete.ecouteur = new EcouteurHotel() {
+            @Override
+            public void chambreAjoutee(Chambre chambre) {
+                index.ajouter(new ChambreTrouvee(propriete.code, propriete.hotel, propriete.ville, chambre));
+            }
+
+            @Override
+            public void chambreSupprimee(Chambre chambre) {
+                index.retirer(propriete.ville, propriete.hotel, chambre);
+            }
+        };
+        propriete.hotel.ajouterEcouteur(propriete.ecouteur);
+        for (Chambre chambre : propriete.hotel.getChambres()) {
+            propriete.ecouteur.chambreAjoutee(chambre);
+        }
+    }
+
+    public Hotel getHotel(String code) {
+        Propriete propriete = code != null ? proprietes.get(code) : null;
+        return propriete != null ? propriete.hotel : null;
+    }
+
+    /**
+     * @return Les codes des hôtels inscrits, triés, en lecture seule
+     */
+    public Set<String> getCodes() {
+        return Collections.unmodifiableSet(proprietes.keySet());
+    }
+
+    public int getNombreHotels() {
+        return proprietes.size();
+    }
+
+    /**
+     * @param code Le code de l'hôtel
+     * @return Sa ville, ou null si le code est inconnu
+     */
+    public String getVille(String code) {
+        Propriete propriete = code != null ? proprietes.get(code) : null;
+        return propriete != null ? propriete.ville : null;
+    }
+
+    /**
+     * @param code Le code de l'hôtel
+     * @return Son répertoire de sauvegarde, ou null si le code est inconnu
+     */
+    public File getRepertoire(String code) {
+        Propriete propriete = code != null ? proprietes.get(code) : null;
+        return propriete != null ? propriete.repertoire : null;
+    }
+
+    // ===========================
+    // RECHERCHES MULTI-HÔTELS
+    // ===========================
+
+    /**
+     * @param ville La ville (casse indifférente)
+     * @return Les hôtels de cette ville, par ordre de code
+     */
+    public List<Hotel> rechercherHotels(String ville) {
+        List<Hotel> resultat = new ArrayList<>();
+        String cle = ville != null ? ville.trim().toLowerCase(Locale.ROOT) : null;
+        for (Propriete propriete : proprietes.values()) {
+            if (cle == null || propriete.ville.toLowerCase(Locale.ROOT).equals(cle)) {
+                resultat.add(propriete.hotel);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Recherche dans tous les hôtels les chambres libres sur toute une période.
+     *
+     * @param ville Ville (casse indifférente), ou null pour toutes
+     * @param type  Type de chambre ("Simple", "Double", "Suite"), ou null pour tous
+     * @param debut Date d'arrivée
+     * @param fin   Date de départ (exclue)
+     * @return Les chambres libres avec leur hôtel
+     */
+    public List<ChambreTrouvee> rechercherChambresDisponibles(String ville, String type, LocalDate debut,
+            LocalDate fin) {
+        ValidationUtils.requireDateRange(debut, fin, "La date de début", "La date de fin");
+        return index.rechercher(ville, type, debut, fin, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Trouve une chambre libre, n'importe laquelle : la recherche s'arrête à la première.
+     *
+     * @param ville Ville (casse indifférente), ou null pour toutes
+     * @param type  Type de chambre, ou null pour tous
+     * @param debut Date d'arrivée
+     * @param fin   Date de départ (exclue)
+     * @return Une chambre libre avec son hôtel, ou null s'il n'y en a aucune
+     */
+    public ChambreTrouvee trouverChambreDisponible(String ville, String type, LocalDate debut, LocalDate fin) {
+        ValidationUtils.requireDateRange(debut, fin, "La date de début", "La date de fin");
+        List<ChambreTrouvee> resultat = index.rechercher(ville, type, debut, fin, 1);
+        return resultat.isEmpty() ? null : resultat.get(0);
+    }
+
+    // ===========================
+    // PERSISTANCE
+    // ===========================
+
+    /**
+     * Charge un registre sauvegardé : chaque hôtel est relu depuis son répertoire
+     * (snapshot puis journal, voir {@link FilePersistence#chargerHotel(Hotel, File)}).
+     * Un hôtel illisible est signalé et démarre vierge.
+     *
+     * @param racine Répertoire racine du registre
+     * @return Le registre (vide si la racine ne contient pas de registre)
+     * @throws IOException si le fichier du registre ne peut pas être lu
+     */
+    public static RegistreHotels charger(File racine) throws IOException {
+        RegistreHotels registre = new RegistreHotels(racine);
+        File fichier = new File(racine, FICHIER_REGISTRE);
+        if (!fichier.exists()) {
+            return registre;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(fichier.toPath(), StandardCharsets.UTF_8)) {
+            String ligne;
+            while ((ligne = reader.readLine()) != null) {
+                String[] parts = ligne.split("\\|", 2);
+                if (parts.length < 2 || !CODE_VALIDE.matcher(parts[0]).matches()) {
+                    continue; // Ligne corrompue
+                }
+                registre.chargerHotel(parts[0], parts[1]);
+            }
+        }
+        return registre;
+    }
+
+    private void chargerHotel(String code, String ville) {
+        Propriete propriete = new Propriete(code, nouvelHotel(code, ""), ville, new File(racine, code));
+        if (FilePersistence.fichiersExistent(propriete.repertoire)) {
+            if (!FilePersistence.chargerHotel(propriete.hotel, propriete.repertoire)) {
+                System.err.println("Erreur lors du chargement de l'hôtel " + code + " : démarrage avec des données vierges.");
+            }
+        } else {
+            FilePersistence.ouvrirJournal(propriete.hotel, propriete.repertoire);
+        }
+        if (proprietes.putIfAbsent(code, propriete) == null) {
+            indexer(propriete);
+        }
+    }
+
+    /**
+     * Sauvegarde le registre et tous ses hôtels (checkpoint de chaque journal).
+     *
+     * @return true si tout a été sauvegardé, false si au moins une écriture a échoué
+     */
+    public boolean sauvegarder() {
+        boolean reussi = true;
+        try {
+            Files.createDirectories(racine.toPath());
+            File temporaire = new File(racine, FICHIER_REGISTRE + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaire.toPath(), StandardCharsets.UTF_8)) {
+                for (Propriete propriete : proprietes.values()) {
+                    writer.write(propriete.code + "|" + propriete.ville);
+                    writer.newLine();
+                }
+            }
+            Files.move(temporaire.toPath(), new File(racine, FICHIER_REGISTRE).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la sauvegarde du registre : " + e.getMessage());
+            reussi = false;
+        }
+        for (Propriete propriete : proprietes.values()) {
+            reussi &= FilePersistence.sauvegarderHotel(propriete.hotel, propriete.repertoire);
+        }
+        return reussi;
+    }
+
+    /**
+     * Ferme les journaux de tous les hôtels (après {@link #sauvegarder}).
+     */
+    public void fermer() {
+        for (Propriete propriete : proprietes.values()) {
+            FilePersistence.fermerJournal(propriete.repertoire);
+        }
+    }
+}
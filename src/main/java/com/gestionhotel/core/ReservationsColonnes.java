@@ -0,0 +1,364 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.TableEntiers;
+import com.gestionhotel.utils.VisiteurArchive;
+
+/**
+ * Stockage en colonnes de réservations closes (historique).
+ *
+ * Une réservation occupe une case dans chaque tableau primitif : numéro, chambre,
+ * client, jours de début et de fin (jours depuis l'epoch) et statut ; ses services
+ * sont rangés à la suite dans un tableau unique, repérés par un tableau de débuts
+ * (format CSR). Environ 30 octets par réservation au lieu de plusieurs centaines
+ * pour le graphe d'objets, et les statistiques parcourent des tableaux contigus.
+ *
+ * Le stockage ne fait que croître : une ligne écrite ne change plus. Les lectures
+ * capturent les tableaux sous le verrou puis les parcourent sans le tenir.
+ * La date et le motif d'annulation ne sont pas conservés.
+ */
+public class ReservationsColonnes {
+
+    private static final int CAPACITE_INITIALE = 256;
+
+    private int taille;
+    private int[] numeros;
+    private int[] chambres;
+    private int[] clients;
+    private int[] debuts;
+    private int[] fins;
+    private byte[] statuts;
+    private int[] debutServices;
+    private int[] services;
+    private final TableEntiers lignes = new TableEntiers();
+
+    public ReservationsColonnes() {
+        allouer(CAPACITE_INITIALE, CAPACITE_INITIALE);
+    }
+
+    private void allouer(int capacite, int capaciteServices) {
+        numeros = new int[capacite];
+        chambres = new int[capacite];
+        clients = new int[capacite];
+        debuts = new int[capacite];
+        fins = new int[capacite];
+        statuts = new byte[capacite];
+        debutServices = new int[capacite + 1];
+        services = new int[capaciteServices];
+    }
+
+    // ===========================
+    // AJOUT
+    // ===========================
+
+    /**
+     * Ajoute une réservation au stockage.
+     *
+     * @param reservation La réservation (close de préférence : son état est figé)
+     * @return false si ce numéro est déjà présent
+     */
+    public boolean ajouter(Reservation reservation) {
+        Object[] liste = reservation.getServices().toArray();
+        int[] ids = new int[liste.length];
+        for (int i = 0; i < liste.length; i++) {
+            ids[i] = ((Service) liste[i]).getIdService();
+        }
+        return ajouter(reservation.getNumeroReservation(), reservation.getChambre().getNumero(),
+                reservation.getClient().getNumeroClient(), (int) reservation.getDebut().toEpochDay(),
+                (int) reservation.getFin().toEpochDay(), reservation.getStatut(), ids);
+    }
+
+    /**
+     * Ajoute une ligne au stockage (chargement d'un snapshot).
+     *
+     * @return false si ce numéro est déjà présent
+     */
+    public synchronized boolean ajouter(int numero, int numeroChambre, int numeroClient, int jourDebut, int jourFin,
+            StatutReservation statut, int[] idsServices) {
+        if (lignes.contient(numero)) {
+            return false;
+        }
+        if (taille == numeros.length) {
+            int capacite = Math.max(CAPACITE_INITIALE, numeros.length * 2);
+            numeros = Arrays.copyOf(numeros, capacite);
+            chambres = Arrays.copyOf(chambres, capacite);
+            clients = Arrays.copyOf(clients, capacite);
+            debuts = Arrays.copyOf(debuts, capacite);
+            fins = Arrays.copyOf(fins, capacite);
+            statuts = Arrays.copyOf(statuts, capacite);
+            debutServices = Arrays.copyOf(debutServices, capacite + 1);
+        }
+        int premier = debutServices[taille];
+        if (premier + idsServices.length > services.length) {
+            services = Arrays.copyOf(services, Math.max(services.length * 2, premier + idsServices.length));
+        }
+        System.arraycopy(idsServices, 0, services, premier, idsServices.length);
+
+        numeros[taille] = numero;
+        chambres[taille] = numeroChambre;
+        clients[taille] = numeroClient;
+        debuts[taille] = jourDebut;
+        fins[taille] = jourFin;
+        statuts[taille] = (byte) statut.ordinal();
+        debutServices[taille + 1] = premier + idsServices.length;
+        lignes.put(numero, taille);
+        taille++;
+        return true;
+    }
+
+    /**
+     * Ajoute toutes les lignes d'un autre stockage (chargement d'un snapshot).
+     *
+     * @param autre Le stockage source
+     * @return Le nombre de lignes ajoutées (les numéros déjà présents sont ignorés)
+     */
+    public int ajouter(ReservationsColonnes autre) {
+        Colonnes c = autre.capturer();
+        int ajoutees = 0;
+        for (int i = 0; i < c.taille; i++) {
+            int[] ids = Arrays.copyOfRange(c.services, c.debutServices[i], c.debutServices[i + 1]);
+            if (ajouter(c.numeros[i], c.chambres[i], c.clients[i], c.debuts[i], c.fins[i],
+                    StatutReservation.values()[c.statuts[i]], ids)) {
+                ajoutees++;
+            }
+        }
+        return ajoutees;
+    }
+
+    /**
+     * Ramène les tableaux à la taille utile (après un chargement ou un archivage).
+     */
+    public synchronized void compacter() {
+        numeros = Arrays.copyOf(numeros, taille);
+        chambres = Arrays.copyOf(chambres, taille);
+        clients = Arrays.copyOf(clients, taille);
+        debuts = Arrays.copyOf(debuts, taille);
+        fins = Arrays.copyOf(fins, taille);
+        statuts = Arrays.copyOf(statuts, taille);
+        debutServices = Arrays.copyOf(debutServices, taille + 1);
+        services = Arrays.copyOf(services, debutServices[taille]);
+    }
+
+    // ===========================
+    // ACCÈS PAR LIGNE
+    // ===========================
+
+    public synchronized int getTaille() {
+        return taille;
+    }
+
+    /**
+     * @param numero Le numéro de réservation
+     * @return La ligne de cette réservation, ou -1 si elle n'est pas stockée ici
+     */
+    public synchronized int indexDe(int numero) {
+        return lignes.get(numero, -1);
+    }
+
+    public boolean contient(int numero) {
+        return indexDe(numero) >= 0;
+    }
+
+    public synchronized int getNumero(int ligne) {
+        return numeros[verifier(ligne)];
+    }
+
+    public synchronized int getNumeroChambre(int ligne) {
+        return chambres[verifier(ligne)];
+    }
+
+    public synchronized int getNumeroClient(int ligne) {
+        return clients[verifier(ligne)];
+    }
+
+    public synchronized LocalDate getDebut(int ligne) {
+        return LocalDate.ofEpochDay(debuts[verifier(ligne)]);
+    }
+
+    public synchronized LocalDate getFin(int ligne) {
+        return LocalDate.ofEpochDay(fins[verifier(ligne)]);
+    }
+
+    public synchronized StatutReservation getStatut(int ligne) {
+        return StatutReservation.values()[statuts[verifier(ligne)]];
+    }
+
+    /**
+     * @return Les identifiants des services de la ligne (copie)
+     */
+    public synchronized int[] getServices(int ligne) {
+        verifier(ligne);
+        return Arrays.copyOfRange(services, debutServices[ligne], debutServices[ligne + 1]);
+    }
+
+    private int verifier(int ligne) {
+        if (ligne < 0 || ligne >= taille) {
+            throw new IndexOutOfBoundsException("Ligne " + ligne + " hors du stockage (" + taille + ")");
+        }
+        return ligne;
+    }
+
+    /**
+     * Parcourt toutes les lignes stockées, sans créer d'objet par ligne.
+     *
+     * @param visiteur Reçoit chaque ligne
+     */
+    public void parcourir(VisiteurArchive visiteur) {
+        Colonnes c = capturer();
+        for (int i = 0; i < c.taille; i++) {
+            visiteur.ligne(c.numeros[i], c.chambres[i], c.clients[i], c.debuts[i], c.fins[i], c.statuts[i],
+                    c.services, c.debutServices[i], c.debutServices[i + 1]);
+        }
+    }
+
+    /**
+     * Recrée l'objet Reservation d'une ligne (export, consultation ponctuelle).
+     *
+     * @param ligne La ligne
+     * @param hotel L'hôtel qui fournit client, chambre et services
+     * @return La réservation, ou null si son client ou sa chambre n'existe plus
+     */
+    public Reservation materialiser(int ligne, Hotel hotel) {
+        Colonnes c = capturer();
+        if (ligne < 0 || ligne >= c.taille) {
+            throw new IndexOutOfBoundsException("Ligne " + ligne + " hors du stockage (" + c.taille + ")");
+        }
+        Client client = hotel.rechercherClient(c.clients[ligne]);
+        Chambre chambre = hotel.rechercherChambre(c.chambres[ligne]);
+        if (client == null || chambre == null) {
+            return null;
+        }
+        Reservation reservation = new Reservation(c.numeros[ligne], client, chambre,
+                LocalDate.ofEpochDay(c.debuts[ligne]), LocalDate.ofEpochDay(c.fins[ligne]),
+                StatutReservation.values()[c.statuts[ligne]]);
+        for (int s = c.debutServices[ligne]; s < c.debutServices[ligne + 1]; s++) {
+            Service service = hotel.rechercherService(c.services[s]);
+            if (service != null) {
+                reservation.getServices().add(service);
+            }
+        }
+        return reservation;
+    }
+
+    /**
+     * @return Estimation de la mémoire occupée par les tableaux, en octets
+     */
+    public synchronized long getEmpreinteMemoire() {
+        return 4L * (numeros.length * 5L + debutServices.length + services.length) + statuts.length;
+    }
+
+    // ===========================
+    // ANALYSES
+    // ===========================
+
+    /**
+     * Vue figée des tableaux : les lignes 0..taille-1 ne changent plus.
+     */
+    static final class Colonnes {
+        final int taille;
+        final int[] numeros;
+        final int[] chambres;
+        final int[] clients;
+        final int[] debuts;
+        final int[] fins;
+        final byte[] statuts;
+        final int[] debutServices;
+        final int[] services;
+
+        Colonnes(ReservationsColonnes source) {
+            this.taille = source.taille;
+            this.numeros = source.numeros;
+            this.chambres = source.chambres;
+            this.clients = source.clients;
+            this.debuts = source.debuts;
+            this.fins = source.fins;
+            this.statuts = source.statuts;
+            this.debutServices = source.debutServices;
+            this.services = source.services;
+        }
+    }
+
+    synchronized Colonnes capturer() {
+        return new Colonnes(this);
+    }
+
+    /**
+     * Prix courants lus une fois avant un parcours : chambre par numéro et prix
+     * des services par identifiant, en accès direct par tableau.
+     */
+    static final class Tarifs {
+        final Chambre[] chambres;
+        final long[] prixServices; // En centimes
+
+        Tarifs(Hotel hotel) {
+            int maxChambre = 0;
+            for (Chambre chambre : hotel.getChambres()) {
+                maxChambre = Math.max(maxChambre, chambre.getNumero());
+            }
+            chambres = new Chambre[maxChambre + 1];
+            for (Chambre chambre : hotel.getChambres()) {
+                chambres[chambre.getNumero()] = chambre;
+            }
+            int maxService = 0;
+            for (Service service : hotel.getServicesDisponibles()) {
+                maxService = Math.max(maxService, service.getIdService());
+            }
+            prixServices = new long[maxService + 1];
+            for (Service service : hotel.getServicesDisponibles()) {
+                prixServices[service.getIdService()] = service.getPrixCentimes();
+            }
+        }
+
+        long prixChambre(int numero, int jourDebut, int jourFin) {
+            Chambre chambre = numero >= 0 && numero < chambres.length ? chambres[numero] : null;
+            return chambre != null ? chambre.calculerPrixCentimes(jourDebut, Math.max(jourDebut, jourFin)) : 0;
+        }
+
+        long prixService(int id) {
+            return id >= 0 && id < prixServices.length ? prixServices[id] : 0;
+        }
+    }
+
+    /**
+     * Calcule en une passe tous les cumuls du stockage, aux prix courants de l'hôtel
+     * (comme {@link Reservation#calculerPrixTotal}). Une chambre supprimée depuis
+     * l'archivage ne rapporte rien.
+     *
+     * @param hotel L'hôtel qui fournit les prix
+     * @return Les cumuls
+     */
+    public ResumeColonnes resumer(Hotel hotel) {
+        Colonnes c = capturer();
+        return resumer(c, new Tarifs(hotel), 0, c.taille);
+    }
+
+    static ResumeColonnes resumer(Colonnes c, Tarifs tarifs, int debut, int fin) {
+        ResumeColonnes resume = new ResumeColonnes();
+        for (int i = debut; i < fin; i++) {
+            resume.comptabiliser(c.chambres[i], c.clients[i], c.debuts[i], c.fins[i], c.statuts[i],
+                    c.services, c.debutServices[i], c.debutServices[i + 1], tarifs);
+        }
+        return resume;
+    }
+
+    /**
+     * @param numeroClient Le numéro du client
+     * @return Le nombre de réservations stockées pour ce client
+     */
+    public int compterReservationsClient(int numeroClient) {
+        Colonnes c = capturer();
+        int nombre = 0;
+        for (int i = 0; i < c.taille; i++) {
+            if (c.clients[i] == numeroClient) {
+                nombre++;
+            }
+        }
+        return nombre;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gestionhotel.core;
+
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.TableEntiers;
+
+/**
+ * Cumuls calculés en une passe sur une plage de réservations (objets ou {@link ReservationsColonnes}) :
+ * nombres et chiffre d'affaires par statut, nuits, services et fréquences par
+ * chambre, client et service. Deux résumés de plages disjointes se fusionnent.
+ * Le chiffre d'affaires est tenu en centimes : les fusions sont exactes.
+ */
+public class ResumeColonnes {
+
+    private static final int NB_STATUTS = StatutReservation.values().length;
+
+    int nombreReservations;
+    final int[] reservationsParStatut = new int[NB_STATUTS];
+    final long[] chiffreAffairesParStatut = new long[NB_STATUTS]; // En centimes
+    long nuitsNonAnnulees;
+    int nombreServices;
+    final TableEntiers parChambre = new TableEntiers();
+    final TableEntiers parClient = new TableEntiers();
+    final TableEntiers parService = new TableEntiers();
+
+    /**
+     * Ajoute une réservation vivante aux cumuls (mêmes règles que {@link AgregateurStatistiques}).
+     */
+    void comptabiliser(Reservation reservation) {
+        StatutReservation statut = reservation.getStatut();
+        nombreReservations++;
+        reservationsParStatut[statut.ordinal()]++;
+        chiffreAffairesParStatut[statut.ordinal()] += reservation.calculerPrixTotalCentimes();
+        if (statut != StatutReservation.ANNULEE) {
+            nuitsNonAnnulees += reservation.calculerNombreNuits();
+        }
+        parChambre.ajouter(reservation.getChambre().getNumero(), 1);
+        parClient.ajouter(reservation.getClient().getNumeroClient(), 1);
+        for (Service service : reservation.getServices()) {
+            nombreServices++;
+            parService.ajouter(service.getIdService(), 1);
+        }
+    }
+
+    /**
+     * Ajoute une ligne archivée aux cumuls, aux prix courants des tarifs.
+     */
+    void comptabiliser(int numeroChambre, int numeroClient, int jourDebut, int jourFin, int statut,
+            int[] services, int premierService, int finService, ReservationsColonnes.Tarifs tarifs) {
+        int nuits = Math.max(0, jourFin - jourDebut);
+        long prixServices = 0;
+        for (int s = premierService; s < finService; s++) {
+            prixServices += tarifs.prixService(services[s]);
+            parService.ajouter(services[s], 1);
+        }
+        nombreServices += finService - premierService;
+        nombreReservations++;
+        reservationsParStatut[statut]++;
+        chiffreAffairesParStatut[statut] += tarifs.prixChambre(numeroChambre, jourDebut, jourFin) + prixServices;
+        if (statut != StatutReservation.ANNULEE.ordinal()) {
+            nuitsNonAnnulees += nuits;
+        }
+        parChambre.ajouter(numeroChambre, 1);
+        parClient.ajouter(numeroClient, 1);
+    }
+
+    /**
+     * Ajoute les cumuls d'une autre plage à ce résumé.
+     *
+     * @param autre Le résumé d'une plage disjointe
+     * @return Ce résumé
+     */
+    public ResumeColonnes fusionner(ResumeColonnes autre) {
+        nombreReservations += autre.nombreReservations;
+        for (int i = 0; i < NB_STATUTS; i++) {
+            reservationsParStatut[i] += autre.reservationsParStatut[i];
+            chiffreAffairesParStatut[i] += autre.chiffreAffairesParStatut[i];
+        }
+        nuitsNonAnnulees += autre.nuitsNonAnnulees;
+        nombreServices += autre.nombreServices;
+        fusionner(parChambre, autre.parChambre);
+        fusionner(parClient, autre.parClient);
+        fusionner(parService, autre.parService);
+        return this;
+    }
+
+    private static void fusionner(TableEntiers cible, TableEntiers source) {
+        for (int cle : source.cles()) {
+            cible.ajouter(cle, source.get(cle, 0));
+        }
+    }
+
+    public int getNombreReservations() {
+        return nombreReservations;
+    }
+
+    public int getNombreReservations(StatutReservation statut) {
+        return reservationsParStatut[statut.ordinal()];
+    }
+
+    public double getChiffreAffaires(StatutReservation statut) {
+        return Montant.enEuros(chiffreAffairesParStatut[statut.ordinal()]);
+    }
+
+    public long getChiffreAffairesCentimes(StatutReservation statut) {
+        return chiffreAffairesParStatut[statut.ordinal()];
+    }
+
+    public long getNuitsNonAnnulees() {
+        return nuitsNonAnnulees;
+    }
+
+    public int getNombreServices() {
+        return nombreServices;
+    }
+
+    /**
+     * @return Nombre de réservations par numéro de chambre
+     */
+    public TableEntiers getReservationsParChambre() {
+        return parChambre;
+    }
+
+    /**
+     * @return Nombre de réservations par numéro de client
+     */
+    public TableEntiers getReservationsParClient() {
+        return parClient;
+    }
+
+    /**
+     * @return Nombre de commandes par identifiant de service
+     */
+    public TableEntiers getCommandesParService() {
+        return parService;
+    }
+}
@@ -0,0 +1,257 @@
+package com.gestionhotel.core;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.TableEntiers;
+import com.gestionhotel.utils.ValidationUtils;
+
+/**
+ * Séries temporelles d'occupation, de RevPAR et d'ADR par type de chambre.
+ *
+ * Chaque type tient deux tableaux de différences indexés par jour : un séjour
+ * [début, fin) ajoute +1 nuit et +tarif à son premier jour et les retire au jour
+ * du départ. Les revenus sont tenus en centimes : le prix du séjour est réparti
+ * exactement sur ses nuits (les centimes restants sur les premières) et converti en
+ * euros seulement dans les points de la série. Une série se lit par somme préfixe, en O(réservations + jours) au lieu
+ * de O(chambres × jours). Les réservations créées ou annulées mettent les tableaux à
+ * jour en O(1) ; un changement de tarif les fait reconstruire à la lecture suivante.
+ *
+ * Seules les réservations non annulées comptent. Le chiffre d'affaires est celui de
+ * l'hébergement (prix du séjour réparti sur ses nuits, sans les services), aux prix
+ * courants ; les nuits disponibles sont calculées sur le parc de chambres actuel.
+ *
+ * Une réservation est visible dans l'hôtel avant que son événement n'arrive : les
+ * numéros des réservations comptées sont retenus, et un événement portant sur une
+ * réservation déjà prise en compte par la reconstruction est ignoré.
+ */
+public class SeriesOccupation implements EcouteurHotel {
+
+    /**
+     * Tableaux de différences d'un type de chambre, étendus à la demande.
+     */
+    private static final class Courbe {
+        private int origine; // Jour (depuis l'epoch) de la case 0
+        private int[] nuits = new int[0];
+        private long[] revenus = new long[0]; // Centimes
+
+        void ajouter(int jourDebut, int jourFin, long prixSejour, int signe) {
+            if (jourFin <= jourDebut) {
+                return;
+            }
+            couvrir(jourDebut, jourFin);
+            int nombreNuits = jourFin - jourDebut;
+            long tarifNuit = Math.floorDiv(prixSejour, nombreNuits);
+            int reste = (int) Math.floorMod(prixSejour, (long) nombreNuits);
+            nuits[jourDebut - origine] += signe;
+            nuits[jourFin - origine] -= signe;
+            revenus[jourDebut - origine] += signe * tarifNuit;
+            revenus[jourFin - origine] -= signe * tarifNuit;
+            if (reste > 0) {
+                revenus[jourDebut - origine] += signe;
+                revenus[jourDebut + reste - origine] -= signe;
+            }
+        }
+
+        private void couvrir(int premier, int dernier) {
+            if (nuits.length == 0) {
+                origine = premier;
+                nuits = new int[Math.max(64, dernier - premier + 1)];
+                revenus = new long[nuits.length];
+                return;
+            }
+            int fin = origine + nuits.length - 1;
+            if (premier >= origine && dernier <= fin) {
+                return;
+            }
+            // Extension au moins doublée du côté qui manque : coût amorti constant
+            int nouvelleOrigine = premier < origine ? Math.min(premier, origine - nuits.length) : origine;
+            int nouvelleFin = dernier > fin ? Math.max(dernier, fin + nuits.length) : fin;
+            int[] nouvellesNuits = new int[nouvelleFin - nouvelleOrigine + 1];
+            long[] nouveauxRevenus = new long[nouvellesNuits.length];
+            System.arraycopy(nuits, 0, nouvellesNuits, origine - nouvelleOrigine, nuits.length);
+            System.arraycopy(revenus, 0, nouveauxRevenus, origine - nouvelleOrigine, revenus.length);
+            nuits = nouvellesNuits;
+            revenus = nouveauxRevenus;
+            origine = nouvelleOrigine;
+        }
+
+        /**
+         * Ajoute aux cumuls journaliers de [jourDebut, jourDebut + vendues.length)
+         * les nuits et revenus (en centimes) de cette courbe.
+         */
+        void cumuler(int jourDebut, long[] vendues, long[] chiffres) {
+            int nuitsCourantes = 0;
+            long revenuCourant = 0;
+            int jourFin = jourDebut + vendues.length;
+            int dernier = Math.min(jourFin, origine + nuits.length);
+            for (int jour = origine; jour < dernier; jour++) {
+                nuitsCourantes += nuits[jour - origine];
+                revenuCourant += revenus[jour - origine];
+                if (jour >= jourDebut) {
+                    vendues[jour - jourDebut] += nuitsCourantes;
+                    chiffres[jour - jourDebut] += revenuCourant;
+                }
+            }
+        }
+    }
+
+    private final Hotel hotel;
+    private final HashMap<String, Courbe> courbes = new HashMap<>(); // Type en minuscules -> courbe
+    private TableEntiers comptees = new TableEntiers(); // Réservations vivantes comptées
+    private boolean aJour;
+
+    /**
+     * Crée les séries d'un hôtel ; elles sont calculées à la première lecture.
+     * Pour qu'elles suivent les réservations, l'objet doit être enregistré comme
+     * écouteur de l'hôtel (ce que fait {@link Hotel#getSeriesOccupation()}).
+     *
+     * @param hotel L'hôtel observé
+     */
+    public SeriesOccupation(Hotel hotel) {
+        this.hotel = ValidationUtils.requireNonNull(hotel, "hotel");
+    }
+
+    // ===========================
+    // LECTURE
+    // ===========================
+
+    /**
+     * Calcule la série d'un type de chambre (ou de tout l'hôtel) sur une plage de dates.
+     * La première et la dernière période sont tronquées à la plage demandée.
+     *
+     * @param type        Type de chambre ("Simple", "Double", "Suite"), ou null pour tout l'hôtel
+     * @param debut       Premier jour de la plage
+     * @param fin         Lendemain du dernier jour de la plage
+     * @param granularite Jour, semaine ou mois
+     * @return Un point par période, dans l'ordre chronologique
+     */
+    public synchronized List<PointSerie> calculer(String type, LocalDate debut, LocalDate fin,
+            Granularite granularite) {
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        ValidationUtils.requireNonNull(granularite, "granularite");
+        if (!aJour) {
+            reconstruire();
+        }
+
+        String cle = type == null ? null : type.toLowerCase(Locale.ROOT);
+        int jourDebut = (int) debut.toEpochDay();
+        int jours = (int) ChronoUnit.DAYS.between(debut, fin);
+        long[] vendues = new long[jours];
+        long[] chiffres = new long[jours];
+        for (Map.Entry<String, Courbe> entree : courbes.entrySet()) {
+            if (cle == null || cle.equals(entree.getKey())) {
+                entree.getValue().cumuler(jourDebut, vendues, chiffres);
+            }
+        }
+        int chambres = 0;
+        for (Chambre chambre : hotel.getChambres()) {
+            if (cle == null || cle.equals(chambre.getType().toLowerCase(Locale.ROOT))) {
+                chambres++;
+            }
+        }
+
+        List<PointSerie> serie = new ArrayList<>();
+        LocalDate periode = granularite.debutPeriode(debut);
+        while (periode.isBefore(fin)) {
+            LocalDate suivante = granularite.periodeSuivante(periode);
+            LocalDate debutPoint = periode.isBefore(debut) ? debut : periode;
+            LocalDate finPoint = suivante.isAfter(fin) ? fin : suivante;
+            int premier = (int) (debutPoint.toEpochDay() - jourDebut);
+            int dernier = (int) (finPoint.toEpochDay() - jourDebut);
+            long nuitsVendues = 0;
+            long chiffreAffaires = 0;
+            for (int i = premier; i < dernier; i++) {
+                nuitsVendues += vendues[i];
+                chiffreAffaires += chiffres[i];
+            }
+            serie.add(new PointSerie(debutPoint, finPoint, (long) chambres * (dernier - premier),
+                    nuitsVendues, Montant.enEuros(chiffreAffaires)));
+            periode = suivante;
+        }
+        return serie;
+    }
+
+    /**
+     * Force un recalcul complet à la prochaine lecture.
+     */
+    public synchronized void invalider() {
+        aJour = false;
+        courbes.clear();
+        comptees = new TableEntiers();
+    }
+
+    private void reconstruire() {
+        courbes.clear();
+        comptees = new TableEntiers();
+        // Une réservation archivée pendant le parcours n'est comptée qu'une fois
+        TableEntiers vues = new TableEntiers();
+        for (Reservation reservation : hotel.getReservations()) {
+            vues.put(reservation.getNumeroReservation(), 1);
+            if (reservation.getStatut() != StatutReservation.ANNULEE) {
+                comptabiliser(reservation, 1);
+                comptees.put(reservation.getNumeroReservation(), 1);
+            }
+        }
+
+        ReservationsColonnes.Tarifs tarifs = new ReservationsColonnes.Tarifs(hotel);
+        int annulee = StatutReservation.ANNULEE.ordinal();
+        hotel.parcourirArchives((numero, numeroChambre, client, jourDebut, jourFin, statut, services, premier, dernier) -> {
+            if (statut == annulee || jourFin <= jourDebut || vues.contient(numero) || numeroChambre < 0
+                    || numeroChambre >= tarifs.chambres.length || tarifs.chambres[numeroChambre] == null) {
+                return;
+            }
+            Chambre chambre = tarifs.chambres[numeroChambre];
+            courbe(chambre).ajouter(jourDebut, jourFin, chambre.calculerPrixCentimes(jourDebut, jourFin), 1);
+        });
+        aJour = true;
+    }
+
+    private void comptabiliser(Reservation reservation, int signe) {
+        if (reservation.calculerNombreNuits() <= 0) {
+            return;
+        }
+        Chambre chambre = reservation.getChambre();
+        courbe(chambre).ajouter((int) reservation.getDebut().toEpochDay(), (int) reservation.getFin().toEpochDay(),
+                reservation.calculerPrixChambreCentimes(), signe);
+    }
+
+    private Courbe courbe(Chambre chambre) {
+        return courbes.computeIfAbsent(chambre.getType().toLowerCase(Locale.ROOT), type -> new Courbe());
+    }
+
+    // ===========================
+    // ÉVÉNEMENTS
+    // ===========================
+
+    @Override
+    public synchronized void reservationCreee(Reservation reservation) {
+        if (aJour && reservation.getStatut() != StatutReservation.ANNULEE
+                && !comptees.contient(reservation.getNumeroReservation())) {
+            comptabiliser(reservation, 1);
+            comptees.put(reservation.getNumeroReservation(), 1);
+        }
+    }
+
+    @Override
+    public synchronized void statutReservationModifie(Reservation reservation, StatutReservation ancien) {
+        // Une annulation déjà vue par la reconstruction n'a pas été comptée
+        if (aJour && reservation.getStatut() == StatutReservation.ANNULEE
+                && comptees.supprimer(reservation.getNumeroReservation())) {
+            comptabiliser(reservation, -1);
+        }
+    }
+
+    @Override
+    public void prixChambreModifie(Chambre chambre, double ancienPrix) {
+        invalider();
+    }
+}
@@ -1,21 +1,44 @@
 package com.gestionhotel.core;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
 import com.gestionhotel.model.Chambre;
 import com.gestionhotel.model.Client;
 import com.gestionhotel.model.Reservation;
 import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.ArchiveMappee;
+import com.gestionhotel.utils.EsquisseFrequences;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.TableEntiers;
+import com.gestionhotel.utils.TasBorne;
+import com.gestionhotel.utils.ValidationUtils;
 
 /**
  * Classe utilitaire pour calculer et afficher les statistiques de l'hôtel.
  * Fournit des méthodes pour analyser les performances, l'occupation et les revenus.
+ * Les valeurs proviennent des compteurs incrémentaux de l'hôtel ({@link AgregateurStatistiques}).
+ * En mode parallèle, leur reconstruction complète est répartie sur un {@link ForkJoinPool}.
+ * Les montants sont cumulés en centimes ({@link Montant}) et convertis en euros à la lecture.
  * 
  * @author Dev 4 (Phase 3)
  */
 public class Statistiques {
 
+    // Dimensions d'un cumul de chiffre d'affaires
+    private static final int PAR_CHAMBRE = 0;
+    private static final int PAR_CLIENT = 1;
+    private static final int PAR_SERVICE = 2;
+
     private Hotel hotel;
+    private ForkJoinPool pool; // null : calcul dans le fil appelant
 
     /**
      * Constructeur de la classe Statistiques.
@@ -26,6 +49,46 @@ public class Statistiques {
         this.hotel = hotel;
     }
 
+    // ===========================
+    // MODE DE CALCUL
+    // ===========================
+
+    /**
+     * Active ou désactive le calcul parallèle sur le pool commun.
+     * 
+     * @param parallele true pour répartir les reconstructions sur tous les cœurs
+     */
+    public void setModeParallele(boolean parallele) {
+        this.pool = parallele ? ForkJoinPool.commonPool() : null;
+    }
+
+    /**
+     * Calcule en parallèle sur un pool dédié (rapports d'audit sur un serveur de calcul).
+     * Les résultats sont identiques au mode séquentiel.
+     * 
+     * @param pool Le pool à utiliser, ou null pour revenir au mode séquentiel
+     */
+    public void setModeParallele(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isModeParallele() {
+        return pool != null;
+    }
+
+    /**
+     * Recalcule toutes les statistiques depuis les réservations, aux prix courants
+     * (en parallèle si ce mode est actif).
+     */
+    public void recalculer() {
+        hotel.invaliderStatistiques();
+        agregateur();
+    }
+
+    private AgregateurStatistiques agregateur() {
+        return hotel.getAgregateur(pool);
+    }
+
     /**
      * Calcule le chiffre d'affaires total de l'hôtel.
      * Compte uniquement les réservations non annulées.
@@ -33,29 +96,36 @@ public class Statistiques {
      * @return Le chiffre d'affaires total en euros
      */
     public double calculerChiffreAffaires() {
-        double chiffreAffaires = 0.0;
-        for (Reservation reservation : hotel.getReservations()) {
-            if (!reservation.getStatut().equals("Annulée")) {
-                chiffreAffaires += reservation.calculerPrixTotal();
-            }
-        }
-        return chiffreAffaires;
+        return agregateur().getChiffreAffaires();
+    }
+
+    /**
+     * Chiffre d'affaires exact des réservations non annulées.
+     * 
+     * @return Le chiffre d'affaires total en centimes
+     */
+    public long calculerChiffreAffairesCentimes() {
+        return agregateur().getChiffreAffairesCentimes();
     }
 
     /**
      * Calcule le chiffre d'affaires pour un statut spécifique.
      * 
-     * @param statut Le statut des réservations à considérer ("Confirmée", "Terminée", etc.)
+     * @param statut Le statut des réservations à considérer
+     * @return Le chiffre d'affaires pour ce statut
+     */
+    public double calculerChiffreAffairesParStatut(StatutReservation statut) {
+        return agregateur().getChiffreAffaires(statut);
+    }
+
+    /**
+     * Calcule le chiffre d'affaires pour un statut donné par son libellé.
+     * 
+     * @param statut Le libellé du statut ("Confirmée", "Terminée", etc.)
      * @return Le chiffre d'affaires pour ce statut
      */
     public double calculerChiffreAffairesParStatut(String statut) {
-        double chiffreAffaires = 0.0;
-        for (Reservation reservation : hotel.getReservations()) {
-            if (reservation.getStatut().equals(statut)) {
-                chiffreAffaires += reservation.calculerPrixTotal();
-            }
-        }
-        return chiffreAffaires;
+        return calculerChiffreAffairesParStatut(StatutReservation.depuisLibelle(statut));
     }
 
     /**
@@ -85,50 +155,27 @@ public class Statistiques {
      * @return La chambre avec le plus de réservations, ou null si aucune réservation
      */
     public Chambre trouverChambreLaPlusReservee() {
-        if (hotel.getReservations().isEmpty()) {
-            return null;
-        }
-
-        // Compteur pour chaque chambre
-        Map<Integer, Integer> compteurChambres = new HashMap<>();
-        
-        for (Reservation reservation : hotel.getReservations()) {
-            int numeroChambre = reservation.getChambre().getNumero();
-            compteurChambres.put(numeroChambre, 
-                compteurChambres.getOrDefault(numeroChambre, 0) + 1);
-        }
-
-        // Trouver la chambre avec le maximum de réservations
-        int maxReservations = 0;
-        int numeroChambreMax = -1;
-        
-        for (Map.Entry<Integer, Integer> entry : compteurChambres.entrySet()) {
-            if (entry.getValue() > maxReservations) {
-                maxReservations = entry.getValue();
-                numeroChambreMax = entry.getKey();
-            }
-        }
-
+        int numeroChambreMax = agregateur().getChambreLaPlusReservee();
         if (numeroChambreMax == -1) {
             return null;
         }
-
         return hotel.rechercherChambre(numeroChambreMax);
     }
 
     /**
      * Calcule le nombre de réservations par statut.
      * 
-     * @return Une map avec le statut comme clé et le nombre comme valeur
+     * @return Une map (ordonnée selon le cycle de vie) avec le statut comme clé et le nombre comme valeur
      */
-    public Map<String, Integer> calculerReservationsParStatut() {
-        Map<String, Integer> statistiques = new HashMap<>();
-        
-        for (Reservation reservation : hotel.getReservations()) {
-            String statut = reservation.getStatut();
-            statistiques.put(statut, statistiques.getOrDefault(statut, 0) + 1);
+    public Map<StatutReservation, Integer> calculerReservationsParStatut() {
+        AgregateurStatistiques agregateur = agregateur();
+        Map<StatutReservation, Integer> statistiques = new EnumMap<>(StatutReservation.class);
+        for (StatutReservation statut : StatutReservation.values()) {
+            int nombre = agregateur.getNombreReservations(statut);
+            if (nombre > 0) {
+                statistiques.put(statut, nombre);
+            }
         }
-        
         return statistiques;
     }
 
@@ -138,25 +185,12 @@ public class Statistiques {
      * @return Le nombre moyen de nuits, ou 0 si aucune réservation
      */
     public double calculerNombreMoyenNuits() {
-        if (hotel.getReservations().isEmpty()) {
-            return 0.0;
-        }
-
-        int totalNuits = 0;
-        int nombreReservations = 0;
-        
-        for (Reservation reservation : hotel.getReservations()) {
-            if (!reservation.getStatut().equals("Annulée")) {
-                totalNuits += reservation.calculerNombreNuits();
-                nombreReservations++;
-            }
-        }
-
+        AgregateurStatistiques agregateur = agregateur();
+        int nombreReservations = agregateur.getNombreReservationsNonAnnulees();
         if (nombreReservations == 0) {
             return 0.0;
         }
-
-        return (double) totalNuits / nombreReservations;
+        return (double) agregateur.getNuitsNonAnnulees() / nombreReservations;
     }
 
     /**
@@ -165,60 +199,46 @@ public class Statistiques {
      * @return Le client avec le plus de réservations, ou null si aucune réservation
      */
     public Client trouverClientLePlusFidele() {
-        if (hotel.getReservations().isEmpty()) {
-            return null;
-        }
-
-        Map<Integer, Integer> compteurClients = new HashMap<>();
-        
-        for (Reservation reservation : hotel.getReservations()) {
-            int numeroClient = reservation.getClient().getNumeroClient();
-            compteurClients.put(numeroClient, 
-                compteurClients.getOrDefault(numeroClient, 0) + 1);
-        }
-
-        int maxReservations = 0;
-        int numeroClientMax = -1;
-        
-        for (Map.Entry<Integer, Integer> entry : compteurClients.entrySet()) {
-            if (entry.getValue() > maxReservations) {
-                maxReservations = entry.getValue();
-                numeroClientMax = entry.getKey();
-            }
-        }
-
+        int numeroClientMax = agregateur().getClientLePlusFidele();
         if (numeroClientMax == -1) {
             return null;
         }
-
         return hotel.rechercherClient(numeroClientMax);
     }
 
+    /**
+     * Retourne le nombre de réservations (annulées et archivées comprises) d'un client.
+     * 
+     * @param client Le client
+     * @return Le nombre de réservations du client
+     */
+    public int compterReservationsClient(Client client) {
+        int numeroClient = client.getNumeroClient();
+        int[] archivees = new int[1];
+        ArchiveMappee fichier = hotel.getArchiveFichier();
+        if (fichier != null) {
+            fichier.parcourir((numero, chambre, proprietaire, jourDebut, jourFin, statut, services, premier, dernier) -> {
+                if (proprietaire == numeroClient) {
+                    archivees[0]++;
+                }
+            });
+        }
+        return hotel.getReservationsClient(numeroClient).size()
+                + hotel.getArchive().compterReservationsClient(numeroClient) + archivees[0];
+    }
+
     /**
      * Calcule le revenu moyen par réservation.
      * 
      * @return Le revenu moyen en euros, ou 0 si aucune réservation
      */
     public double calculerRevenuMoyenParReservation() {
-        if (hotel.getReservations().isEmpty()) {
-            return 0.0;
-        }
-
-        double totalRevenu = 0.0;
-        int nombreReservations = 0;
-        
-        for (Reservation reservation : hotel.getReservations()) {
-            if (!reservation.getStatut().equals("Annulée")) {
-                totalRevenu += reservation.calculerPrixTotal();
-                nombreReservations++;
-            }
-        }
-
+        AgregateurStatistiques agregateur = agregateur();
+        int nombreReservations = agregateur.getNombreReservationsNonAnnulees();
         if (nombreReservations == 0) {
             return 0.0;
         }
-
-        return totalRevenu / nombreReservations;
+        return Montant.enEuros(agregateur.getChiffreAffairesCentimes()) / nombreReservations;
     }
 
     /**
@@ -227,11 +247,7 @@ public class Statistiques {
      * @return Le nombre total de services commandés
      */
     public int calculerNombreTotalServices() {
-        int total = 0;
-        for (Reservation reservation : hotel.getReservations()) {
-            total += reservation.getServices().size();
-        }
-        return total;
+        return agregateur().getNombreServices();
     }
 
     /**
@@ -240,46 +256,206 @@ public class Statistiques {
      * @return Le service le plus commandé, ou null si aucun service
      */
     public Service trouverServiceLePlusUtilise() {
-        if (hotel.getReservations().isEmpty()) {
+        int idServiceMax = agregateur().getServiceLePlusUtilise();
+        if (idServiceMax == -1) {
             return null;
         }
+        return hotel.rechercherService(idServiceMax);
+    }
 
-        Map<Integer, Integer> compteurServices = new HashMap<>();
-        
+    /**
+     * Calcule la série d'occupation, de RevPAR et d'ADR d'un type de chambre,
+     * à partir des dates de séjour (et non du seul état d'occupation courant).
+     * 
+     * @param type        Type de chambre ("Simple", "Double", "Suite"), ou null pour tout l'hôtel
+     * @param debut       Premier jour de la plage
+     * @param fin         Lendemain du dernier jour de la plage
+     * @param granularite Jour, semaine ou mois
+     * @return Un point par période, dans l'ordre chronologique
+     */
+    public List<PointSerie> calculerSerieOccupation(String type, LocalDate debut, LocalDate fin,
+            Granularite granularite) {
+        return hotel.getSeriesOccupation().calculer(type, debut, fin, granularite);
+    }
+
+    // ===========================
+    // CLASSEMENTS
+    // ===========================
+
+    /**
+     * Classe les chambres selon le critère donné.
+     * 
+     * @param k       Nombre de chambres voulues (top-K)
+     * @param critere Nombre de réservations ou chiffre d'affaires
+     * @return Les k meilleures chambres, de la première à la dernière
+     */
+    public List<Classement<Chambre>> classerChambres(int k, CritereClassement critere) {
+        if (critere == CritereClassement.NOMBRE_RESERVATIONS) {
+            return classer(k, agregateur().getReservationsParChambre(), hotel::rechercherChambre);
+        }
+        return classer(k, cumulerChiffreAffaires(PAR_CHAMBRE), hotel::rechercherChambre);
+    }
+
+    /**
+     * Classe les clients selon le critère donné.
+     * 
+     * @param k       Nombre de clients voulus (top-K)
+     * @param critere Nombre de réservations ou chiffre d'affaires
+     * @return Les k meilleurs clients, du premier au dernier
+     */
+    public List<Classement<Client>> classerClients(int k, CritereClassement critere) {
+        if (critere == CritereClassement.NOMBRE_RESERVATIONS) {
+            return classer(k, agregateur().getReservationsParClient(), hotel::rechercherClient);
+        }
+        return classer(k, cumulerChiffreAffaires(PAR_CLIENT), hotel::rechercherClient);
+    }
+
+    /**
+     * Classe les services selon le critère donné (commandes, ou recette des
+     * réservations non annulées).
+     * 
+     * @param k       Nombre de services voulus (top-K)
+     * @param critere Nombre de commandes ou chiffre d'affaires
+     * @return Les k meilleurs services, du premier au dernier
+     */
+    public List<Classement<Service>> classerServices(int k, CritereClassement critere) {
+        if (critere == CritereClassement.NOMBRE_RESERVATIONS) {
+            return classer(k, agregateur().getCommandesParService(), hotel::rechercherService);
+        }
+        return classer(k, cumulerChiffreAffaires(PAR_SERVICE), hotel::rechercherService);
+    }
+
+    /**
+     * Classe approximativement les clients par nombre de réservations avec une
+     * mémoire fixe ({@link EsquisseFrequences}), pour les historiques où un compteur
+     * par client serait trop coûteux. Les valeurs sont des majorants : l'erreur
+     * reste inférieure au nombre de réservations divisé par la capacité.
+     * 
+     * @param k        Nombre de clients voulus
+     * @param capacite Nombre de compteurs de l'esquisse (au moins k)
+     * @return Les k clients les plus fréquents selon l'esquisse
+     */
+    public List<Classement<Client>> classerClientsApproximatif(int k, int capacite) {
+        ValidationUtils.requireInRange(capacite, k, Integer.MAX_VALUE, "capacite");
+        EsquisseFrequences esquisse = new EsquisseFrequences(capacite);
         for (Reservation reservation : hotel.getReservations()) {
-            for (Service service : reservation.getServices()) {
-                int idService = service.getIdService();
-                compteurServices.put(idService, 
-                    compteurServices.getOrDefault(idService, 0) + 1);
+            esquisse.offrir(reservation.getClient().getNumeroClient());
+        }
+        hotel.parcourirArchives((numero, chambre, client, jourDebut, jourFin, statut, services, premier, dernier)
+                -> esquisse.offrir(client));
+        TasBorne tas = esquisse.classer(k);
+        List<Classement<Client>> resultat = new ArrayList<>(tas.taille());
+        for (int rang = 0; rang < tas.taille(); rang++) {
+            Client client = hotel.rechercherClient(tas.getId(rang));
+            if (client != null) {
+                resultat.add(new Classement<>(resultat.size() + 1, client, tas.getValeur(rang)));
             }
         }
+        return resultat;
+    }
 
-        if (compteurServices.isEmpty()) {
-            return null;
+    /**
+     * Garde les k meilleurs identifiants avec un tas borné (O(n log k)) puis
+     * les résout en objets ; les identifiants supprimés de l'hôtel sont écartés.
+     */
+    private static <T> List<Classement<T>> classer(int k, TableEntiers comptes, IntFunction<T> resolution) {
+        return classer(k, comptes.cles(), id -> comptes.get(id, 0), resolution);
+    }
+
+    private static <T> List<Classement<T>> classer(int k, CumulsParId cumuls, IntFunction<T> resolution) {
+        return classer(k, cumuls.ids(), id -> Montant.enEuros(cumuls.get(id)), resolution);
+    }
+
+    private static <T> List<Classement<T>> classer(int k, int[] ids, IntToDoubleFunction valeur,
+            IntFunction<T> resolution) {
+        ValidationUtils.requirePositive(k, "k");
+        TasBorne tas = new TasBorne(k);
+        for (int id : ids) {
+            if (resolution.apply(id) != null) {
+                tas.offrir(id, valeur.applyAsDouble(id));
+            }
         }
+        int nombre = tas.trier();
+        List<Classement<T>> resultat = new ArrayList<>(nombre);
+        for (int rang = 0; rang < nombre; rang++) {
+            resultat.add(new Classement<>(rang + 1, resolution.apply(tas.getId(rang)), tas.getValeur(rang)));
+        }
+        return resultat;
+    }
 
-        int maxUtilisations = 0;
-        int idServiceMax = -1;
-        
-        for (Map.Entry<Integer, Integer> entry : compteurServices.entrySet()) {
-            if (entry.getValue() > maxUtilisations) {
-                maxUtilisations = entry.getValue();
-                idServiceMax = entry.getKey();
+    /**
+     * Somme de montants en centimes par identifiant : index primitif vers un tableau de longs.
+     */
+    private static final class CumulsParId {
+        private final TableEntiers index = new TableEntiers();
+        private long[] sommes = new long[16];
+
+        void ajouter(int id, long montant) {
+            int i = index.get(id, -1);
+            if (i < 0) {
+                i = index.taille();
+                index.put(id, i);
+                if (i == sommes.length) {
+                    sommes = Arrays.copyOf(sommes, i * 2);
+                }
             }
+            sommes[i] += montant;
         }
 
-        if (idServiceMax == -1) {
-            return null;
+        long get(int id) {
+            int i = index.get(id, -1);
+            return i < 0 ? 0 : sommes[i];
+        }
+
+        int[] ids() {
+            return index.cles();
         }
+    }
 
-        // Trouver le service dans la liste des services disponibles
-        for (Service service : hotel.getServicesDisponibles()) {
-            if (service.getIdService() == idServiceMax) {
-                return service;
+    /**
+     * Cumule en une passe le chiffre d'affaires non annulé par chambre, client ou
+     * service, réservations vivantes puis archivées, aux prix courants. Une réservation
+     * archivée pendant le parcours n'est comptée qu'une fois.
+     */
+    private CumulsParId cumulerChiffreAffaires(int dimension) {
+        CumulsParId cumuls = new CumulsParId();
+        TableEntiers vues = new TableEntiers();
+        for (Reservation reservation : hotel.getReservations()) {
+            vues.put(reservation.getNumeroReservation(), 1);
+            if (reservation.getStatut() == StatutReservation.ANNULEE) {
+                continue;
+            }
+            if (dimension == PAR_SERVICE) {
+                for (Service service : reservation.getServices()) {
+                    cumuls.ajouter(service.getIdService(), service.getPrixCentimes());
+                }
+            } else {
+                int id = dimension == PAR_CHAMBRE ? reservation.getChambre().getNumero()
+                        : reservation.getClient().getNumeroClient();
+                cumuls.ajouter(id, reservation.calculerPrixTotalCentimes());
             }
         }
 
-        return null;
+        ReservationsColonnes.Tarifs tarifs = new ReservationsColonnes.Tarifs(hotel);
+        int annulee = StatutReservation.ANNULEE.ordinal();
+        hotel.parcourirArchives((numero, chambre, client, jourDebut, jourFin, statut, services, premier, dernier) -> {
+            if (statut == annulee || vues.contient(numero)) {
+                return;
+            }
+            long prixServices = 0;
+            for (int s = premier; s < dernier; s++) {
+                long prix = tarifs.prixService(services[s]);
+                prixServices += prix;
+                if (dimension == PAR_SERVICE) {
+                    cumuls.ajouter(services[s], prix);
+                }
+            }
+            if (dimension != PAR_SERVICE) {
+                int id = dimension == PAR_CHAMBRE ? chambre : client;
+                cumuls.ajouter(id, tarifs.prixChambre(chambre, jourDebut, jourFin) + prixServices);
+            }
+        });
+        return cumuls;
     }
 
     /**
@@ -294,7 +470,11 @@ public class Statistiques {
         System.out.println("=== INFORMATIONS GÉNÉRALES ===");
         System.out.println("Nombre de chambres : " + hotel.getChambres().size());
         System.out.println("Nombre de clients : " + hotel.getClients().size());
-        System.out.println("Nombre de réservations : " + hotel.getReservations().size());
+        int archivees = hotel.getNombreReservationsArchivees();
+        System.out.println("Nombre de réservations : " + (hotel.getReservations().size() + archivees));
+        if (archivees > 0) {
+            System.out.println("  dont archivées : " + archivees);
+        }
         System.out.println("Nombre de services disponibles : " + hotel.getServicesDisponibles().size());
         System.out.println();
 
@@ -317,9 +497,9 @@ public class Statistiques {
         System.out.println("Nombre moyen de nuits : " + 
             String.format("%.1f", calculerNombreMoyenNuits()));
         
-        Map<String, Integer> reservationsParStatut = calculerReservationsParStatut();
+        Map<StatutReservation, Integer> reservationsParStatut = calculerReservationsParStatut();
         System.out.println("Répartition par statut :");
-        for (Map.Entry<String, Integer> entry : reservationsParStatut.entrySet()) {
+        for (Map.Entry<StatutReservation, Integer> entry : reservationsParStatut.entrySet()) {
             System.out.println("  - " + entry.getKey() + " : " + entry.getValue());
         }
         System.out.println();
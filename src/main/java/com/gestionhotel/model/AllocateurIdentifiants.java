@@ -0,0 +1,34 @@
+package com.gestionhotel.model;
+
+/**
+ * Source des identifiants des réservations, clients et services.
+ * L'implémentation par défaut est {@link AllocateurParBlocs} ; une autre peut être
+ * branchée via {@code Reservation.setAllocateur}, {@code Client.setAllocateur}
+ * et {@code Service.setAllocateur}.
+ */
+public interface AllocateurIdentifiants {
+
+    /**
+     * Retourne un identifiant jamais attribué. Peut être appelé par plusieurs fils à la fois.
+     * 
+     * @return Un nouvel identifiant strictement positif
+     */
+    int suivant();
+
+    /**
+     * Garantit que les prochains identifiants seront strictement supérieurs à celui donné
+     * (identifiant restauré depuis une sauvegarde ou le journal).
+     * 
+     * @param identifiant Identifiant déjà utilisé
+     */
+    void reserverJusqua(int identifiant);
+
+    /**
+     * Marque haute : tout identifiant déjà attribué lui est strictement inférieur.
+     * Sauvegardée puis rechargée avec {@code reserverJusqua(marque - 1)}, elle évite
+     * de réattribuer un identifiant après un redémarrage.
+     * 
+     * @return La marque haute courante
+     */
+    int getMarqueHaute();
+}
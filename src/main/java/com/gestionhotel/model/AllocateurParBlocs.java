@@ -0,0 +1,111 @@
+package com.gestionhotel.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocateur d'identifiants par blocs.
+ * Chaque fil réserve d'un coup un bloc d'identifiants consécutifs dans le compteur partagé,
+ * puis les distribue sans synchronisation : le compteur partagé n'est touché qu'une fois
+ * par bloc, ce qui évite la contention entre terminaux qui créent en même temps.
+ * Au sein d'un même fil les identifiants restent croissants et consécutifs.
+ *
+ * Les fils virtuels (un par requête, voir l'API HTTP) ne vivent pas assez longtemps
+ * pour épuiser un bloc : ils prennent directement un identifiant dans le compteur
+ * partagé, sans en gaspiller.
+ */
+public class AllocateurParBlocs implements AllocateurIdentifiants {
+
+    /** Taille de bloc par défaut. */
+    public static final int TAILLE_BLOC_DEFAUT = 32;
+
+    // Thread.isVirtual() (Java 21) ; null sur un JDK plus ancien
+    private static final MethodHandle EST_VIRTUEL = rechercherEstVirtuel();
+
+    /**
+     * Bloc en cours d'un fil : identifiants [suivant, fin).
+     */
+    private static class Bloc {
+        int suivant;
+        int fin;
+    }
+
+    private final int tailleBloc;
+    // Début du prochain bloc libre (= marque haute)
+    private final AtomicInteger prochainBloc;
+    // Plus petit identifiant encore attribuable (relevé par reserverJusqua)
+    private final AtomicInteger plancher;
+    private final ThreadLocal<Bloc> blocs = ThreadLocal.withInitial(Bloc::new);
+
+    /**
+     * Allocateur commençant à 1 avec la taille de bloc par défaut.
+     */
+    public AllocateurParBlocs() {
+        this(TAILLE_BLOC_DEFAUT, 1);
+    }
+
+    /**
+     * @param tailleBloc Nombre d'identifiants réservés à la fois par un fil (1 = pas de bloc)
+     * @param premier    Premier identifiant attribué
+     */
+    public AllocateurParBlocs(int tailleBloc, int premier) {
+        if (tailleBloc < 1 || premier < 1) {
+            throw new IllegalArgumentException("Taille de bloc et premier identifiant doivent être positifs");
+        }
+        this.tailleBloc = tailleBloc;
+        this.prochainBloc = new AtomicInteger(premier);
+        this.plancher = new AtomicInteger(premier);
+    }
+
+    @Override
+    public int suivant() {
+        if (estFilVirtuel()) {
+            // prochainBloc n'est jamais sous le plancher : reserverJusqua relève les deux
+            return prochainBloc.getAndIncrement();
+        }
+        Bloc bloc = blocs.get();
+        // Un bloc épuisé, ou rattrapé par un identifiant restauré, est abandonné
+        while (bloc.suivant >= bloc.fin || bloc.suivant < plancher.get()) {
+            int debut = prochainBloc.getAndAdd(tailleBloc);
+            bloc.suivant = debut;
+            bloc.fin = debut + tailleBloc;
+        }
+        return bloc.suivant++;
+    }
+
+    @Override
+    public void reserverJusqua(int identifiant) {
+        if (identifiant < plancher.get()) {
+            return;
+        }
+        plancher.accumulateAndGet(identifiant + 1, Math::max);
+        prochainBloc.accumulateAndGet(identifiant + 1, Math::max);
+    }
+
+    @Override
+    public int getMarqueHaute() {
+        return prochainBloc.get();
+    }
+
+    private static boolean estFilVirtuel() {
+        if (EST_VIRTUEL == null) {
+            return false;
+        }
+        try {
+            return (boolean) EST_VIRTUEL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle rechercherEstVirtuel() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+                    MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
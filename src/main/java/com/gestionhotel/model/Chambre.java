@@ -1,5 +1,9 @@
 package com.gestionhotel.model;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import com.gestionhotel.utils.Montant;
+
 /**
  * Classe abstraite représentant une chambre d'hôtel générique.
  * Cette classe sert de base pour les différents types de chambres (Simple,
@@ -11,24 +15,27 @@ public abstract class Chambre {
 
     // Attributs protégés pour être accessibles par les classes filles
     protected int numero; // Numéro de la chambre
-    protected double prixParNuit; // Tarif par nuit
-    protected boolean occupee; // Statut d'occupation (true = occupée, false = libre)
+    protected long prixParNuitCentimes; // Tarif par nuit, en centimes (voir Montant)
+    protected volatile boolean occupee; // Statut d'occupation (true = occupée, false = libre)
     protected int capacite; // Nombre maximum de personnes
     protected Client client; // Client actuellement occupant la chambre
+    private ArrayList<ObservateurPrix> observateurs; // Index et caches à prévenir d'un changement de prix
+    private volatile Tarification tarification; // Null = prix par nuit fixe
 
     /**
      * Constructeur complet pour initialiser une chambre.
      * 
      * @param numero      Le numéro unique de la chambre
-     * @param prixParNuit Le prix de base par nuit
+     * @param prixParNuit Le prix de base par nuit, en euros (arrondi au centime)
      * @param capacite    La capacité maximale d'accueil
      */
     public Chambre(int numero, double prixParNuit, int capacite) {
         this.numero = numero;
-        this.prixParNuit = prixParNuit;
+        this.prixParNuitCentimes = Montant.depuisEuros(prixParNuit);
         this.capacite = capacite;
         this.occupee = false; // Par défaut, une chambre est libre à la création
         this.client = null; // Aucun client au départ
+        this.observateurs = new ArrayList<>();
     }
 
     // ===========================
@@ -44,11 +51,30 @@ public abstract class Chambre {
     }
 
     public double getPrixParNuit() {
-        return prixParNuit;
+        return Montant.enEuros(prixParNuitCentimes);
+    }
+
+    public long getPrixParNuitCentimes() {
+        return prixParNuitCentimes;
     }
 
+    /**
+     * Modifie le prix par nuit, arrondi au centime (voir {@link Montant#depuisEuros}).
+     * 
+     * @param prixParNuit Le nouveau prix en euros
+     */
     public void setPrixParNuit(double prixParNuit) {
-        this.prixParNuit = prixParNuit;
+        setPrixParNuitCentimes(Montant.depuisEuros(prixParNuit));
+    }
+
+    public void setPrixParNuitCentimes(long prixParNuitCentimes) {
+        long ancienPrix = this.prixParNuitCentimes;
+        this.prixParNuitCentimes = prixParNuitCentimes;
+        if (ancienPrix != prixParNuitCentimes) {
+            for (ObservateurPrix observateur : observateurs) {
+                observateur.prixChambreModifie(this, Montant.enEuros(ancienPrix));
+            }
+        }
     }
 
     public boolean isOccupee() {
@@ -75,6 +101,39 @@ public abstract class Chambre {
         this.client = client;
     }
 
+    /**
+     * Enregistre un observateur prévenu à chaque changement de prix.
+     * 
+     * @param observateur L'observateur à ajouter
+     */
+    public void ajouterObservateur(ObservateurPrix observateur) {
+        if (observateur != null && !observateurs.contains(observateur)) {
+            observateurs.add(observateur);
+        }
+    }
+
+    public Tarification getTarification() {
+        return tarification;
+    }
+
+    /**
+     * Branche une politique de prix (voir {@link com.gestionhotel.core.Hotel#setTarification}).
+     * 
+     * @param tarification La tarification, ou null pour revenir au prix par nuit fixe
+     */
+    public void setTarification(Tarification tarification) {
+        this.tarification = tarification;
+    }
+
+    /**
+     * Retire un observateur de prix.
+     * 
+     * @param observateur L'observateur à retirer
+     */
+    public void retirerObservateur(ObservateurPrix observateur) {
+        observateurs.remove(observateur);
+    }
+
     // ===========================
     // MÉTHODES MÉTIER
     // ===========================
@@ -89,13 +148,75 @@ public abstract class Chambre {
     public abstract String getType();
 
     /**
-     * Calcule le prix total pour un séjour donné.
+     * Calcule le prix total pour un séjour donné, au prix par nuit fixe.
      * 
      * @param nbNuits Le nombre de nuits réservées
-     * @return Le prix total (prixParNuit * nbNuits)
+     * @return Le prix total ((prixParNuit + supplément) * nbNuits)
      */
     public double calculerPrix(int nbNuits) {
-        return this.prixParNuit * nbNuits;
+        return Montant.enEuros(calculerPrixCentimes(nbNuits));
+    }
+
+    /**
+     * Variante exacte en centimes de {@link #calculerPrix(int)}.
+     * 
+     * @param nbNuits Le nombre de nuits réservées
+     * @return Le prix total en centimes
+     */
+    public long calculerPrixCentimes(int nbNuits) {
+        return Montant.multiplier(prixParNuitCentimes + getSupplementParNuitCentimes(), nbNuits);
+    }
+
+    /**
+     * Calcule le prix d'un séjour daté, selon la tarification de la chambre s'il y en a une.
+     * 
+     * @param debut Date d'arrivée
+     * @param fin   Date de départ (exclue)
+     * @return Le prix de l'hébergement
+     */
+    public double calculerPrix(LocalDate debut, LocalDate fin) {
+        return calculerPrix(debut.toEpochDay(), fin.toEpochDay());
+    }
+
+    /**
+     * Variante en jours depuis l'epoch, sans allocation (parcours de l'archive).
+     * 
+     * @param jourDebut Jour d'arrivée
+     * @param jourFin   Jour de départ (exclu)
+     * @return Le prix de l'hébergement
+     */
+    public double calculerPrix(long jourDebut, long jourFin) {
+        return Montant.enEuros(calculerPrixCentimes(jourDebut, jourFin));
+    }
+
+    /**
+     * Prix d'un séjour daté en centimes. Une tarification à coefficients est arrondie
+     * au centime une fois par séjour (voir {@link Tarification#calculerPrixCentimes}).
+     * 
+     * @param jourDebut Jour d'arrivée
+     * @param jourFin   Jour de départ (exclu)
+     * @return Le prix de l'hébergement en centimes
+     */
+    public long calculerPrixCentimes(long jourDebut, long jourFin) {
+        Tarification courante = tarification;
+        if (courante == null) {
+            return calculerPrixCentimes((int) (jourFin - jourDebut));
+        }
+        return courante.calculerPrixCentimes(this, jourDebut, jourFin);
+    }
+
+    /**
+     * @return Le supplément par nuit propre au type de chambre (options), hors tarification
+     */
+    public double getSupplementParNuit() {
+        return Montant.enEuros(getSupplementParNuitCentimes());
+    }
+
+    /**
+     * @return Le supplément par nuit en centimes ; à redéfinir par les types à options
+     */
+    public long getSupplementParNuitCentimes() {
+        return 0;
     }
 
     /**
@@ -108,6 +229,6 @@ public abstract class Chambre {
         // Utilisation de ternaire pour afficher "Oui" ou "Non" pour le statut occupé
         String statut = occupee ? "Occupée" : "Libre";
         return String.format("Chambre n°%d [%s] - Capacité: %d pers - Prix: %.2f€/nuit - Statut: %s",
-                numero, getType(), capacite, prixParNuit, statut);
+                numero, getType(), capacite, getPrixParNuit(), statut);
     }
 }
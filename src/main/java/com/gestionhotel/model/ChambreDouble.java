@@ -29,7 +29,7 @@ public class ChambreDouble extends Chambre {
     public String toString() {
         String typeLit = litsJumeaux ? "2 lits simples" : "1 lit double";
         return String.format("ChambreDouble #%d - %.2f€/nuit - Capacité: %d personnes - %s - %s",
-                numero, prixParNuit, capacite, typeLit,
+                numero, getPrixParNuit(), capacite, typeLit,
                 occupee ? "Occupée" : "Libre");
     }
 }
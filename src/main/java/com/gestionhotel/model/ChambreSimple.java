@@ -16,7 +16,7 @@ public class ChambreSimple extends Chambre {
     @Override
     public String toString() {
         return String.format("ChambreSimple #%d - %.2f€/nuit - Capacité: %d personne - %s",
-                numero, prixParNuit, capacite, 
+                numero, getPrixParNuit(), capacite, 
                 occupee ? "Occupée" : "Libre");
     }
 }
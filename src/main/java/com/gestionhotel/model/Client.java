@@ -5,8 +5,8 @@ import java.util.HashMap;
 
 public class Client {
     
-    // Attribut statique pour l'auto-incrémentation
-    private static int compteurClient = 1;
+    // Source des numéros de client (remplaçable, voir setAllocateur)
+    private static volatile AllocateurIdentifiants allocateur = new AllocateurParBlocs();
     
     // Attributs d'instance
     private int numeroClient;
@@ -25,7 +25,7 @@ public class Client {
      * @param telephone
      */
     public Client(String nom, String prenom, String email, String telephone) {
-        this.numeroClient = compteurClient++;
+        this.numeroClient = allocateur.suivant();
         this.nom = nom;
         this.prenom = prenom;
         this.email = email;
@@ -33,6 +33,39 @@ public class Client {
         this.chambresOccupees = new HashMap<>();
     }
 
+    /**
+     * Constructeur de restauration (chargement d'une sauvegarde ou du journal) :
+     * conserve le numéro d'origine. Aucun allocateur n'est avancé : c'est l'hôtel qui le
+     * fait en l'ajoutant ({@link com.gestionhotel.core.Hotel#ajouterClient}), avec le sien.
+     * 
+     * @param numeroClient Le numéro sauvegardé
+     * @param nom
+     * @param prenom
+     * @param email
+     * @param telephone
+     */
+    public Client(int numeroClient, String nom, String prenom, String email, String telephone) {
+        this.numeroClient = numeroClient;
+        this.nom = nom;
+        this.prenom = prenom;
+        this.email = email;
+        this.telephone = telephone;
+        this.chambresOccupees = new HashMap<>();
+    }
+
+    /**
+     * Remplace la source des numéros de client (à faire avant toute création).
+     * 
+     * @param nouvelAllocateur L'allocateur à utiliser
+     */
+    public static void setAllocateur(AllocateurIdentifiants nouvelAllocateur) {
+        allocateur = nouvelAllocateur;
+    }
+
+    public static AllocateurIdentifiants getAllocateur() {
+        return allocateur;
+    }
+
     // GETTERS & SETTERS
 
     public int getNumeroClient() {
@@ -1,40 +1,56 @@
 package com.gestionhotel.model;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Classe pour gérer les clients de l'hôtel.
  * Gère l'ajout, la suppression, la modification et la recherche de clients.
+ * Les recherches sont sans verrou ; les modifications sont sérialisées pour que
+ * l'unicité de l'email et du téléphone tienne entre terminaux concurrents.
  * 
  * @author Dev 2 (Phase 3)
  */
 public class GestionnaireClient {
 
-    // HashMap pour stocker les clients : clé = numéro client, valeur = Client
-    private HashMap<Integer, Client> clients;
+    // Map concurrente pour stocker les clients : clé = numéro client, valeur = Client
+    private ConcurrentHashMap<Integer, Client> clients;
+
+    // Index secondaires : email normalisé / téléphone normalisé -> client
+    private ConcurrentHashMap<String, Client> clientsParEmail;
+    private ConcurrentHashMap<String, Client> clientsParTelephone;
 
     /**
      * Constructeur du gestionnaire de clients.
-     * Initialise la HashMap vide.
+     * Initialise les maps vides.
      */
     public GestionnaireClient() {
-        this.clients = new HashMap<>();
+        this.clients = new ConcurrentHashMap<>();
+        this.clientsParEmail = new ConcurrentHashMap<>();
+        this.clientsParTelephone = new ConcurrentHashMap<>();
     }
 
     /**
      * Ajoute un nouveau client au gestionnaire.
+     * L'email et le téléphone doivent être uniques parmi les clients enregistrés.
      * 
      * @param client Le client à ajouter
      * @return true si l'ajout a réussi, false sinon
      */
-    public boolean ajouterClient(Client client) {
-        if (client != null && !clients.containsKey(client.getNumeroClient())) {
-            clients.put(client.getNumeroClient(), client);
-            return true;
+    public synchronized boolean ajouterClient(Client client) {
+        if (client == null || clients.containsKey(client.getNumeroClient())) {
+            return false;
+        }
+        if (estPrisParAutre(clientsParEmail, normaliserEmail(client.getEmail()), null)
+                || estPrisParAutre(clientsParTelephone, normaliserTelephone(client.getTelephone()), null)) {
+            return false;
         }
-        return false;
+        clients.put(client.getNumeroClient(), client);
+        indexer(client);
+        return true;
     }
 
     /**
@@ -43,8 +59,13 @@ public class GestionnaireClient {
      * @param numeroClient Le numéro du client à supprimer
      * @return true si la suppression a réussi, false sinon
      */
-    public boolean supprimerClient(int numeroClient) {
-        return clients.remove(numeroClient) != null;
+    public synchronized boolean supprimerClient(int numeroClient) {
+        Client client = clients.remove(numeroClient);
+        if (client == null) {
+            return false;
+        }
+        desindexer(client);
+        return true;
     }
 
     /**
@@ -59,6 +80,7 @@ public class GestionnaireClient {
 
     /**
      * Modifie les informations d'un client existant.
+     * La modification est refusée si l'email ou le téléphone appartient déjà à un autre client.
      * 
      * @param numeroClient Le numéro du client à modifier
      * @param nom Le nouveau nom
@@ -67,46 +89,44 @@ public class GestionnaireClient {
      * @param telephone Le nouveau téléphone
      * @return true si la modification a réussi, false sinon
      */
-    public boolean modifierClient(int numeroClient, String nom, String prenom, String email, String telephone) {
+    public synchronized boolean modifierClient(int numeroClient, String nom, String prenom, String email, String telephone) {
         Client client = clients.get(numeroClient);
-        if (client != null) {
-            client.setNom(nom);
-            client.setPrenom(prenom);
-            client.setEmail(email);
-            client.setTelephone(telephone);
-            return true;
+        if (client == null) {
+            return false;
         }
-        return false;
+        if (estPrisParAutre(clientsParEmail, normaliserEmail(email), client)
+                || estPrisParAutre(clientsParTelephone, normaliserTelephone(telephone), client)) {
+            return false;
+        }
+        desindexer(client);
+        client.setNom(nom);
+        client.setPrenom(prenom);
+        client.setEmail(email);
+        client.setTelephone(telephone);
+        indexer(client);
+        return true;
     }
 
     /**
-     * Recherche un client par son email.
+     * Recherche un client par son email (sans tenir compte de la casse).
      * 
      * @param email L'email à rechercher
      * @return Le client trouvé, ou null s'il n'existe pas
      */
     public Client rechercherParEmail(String email) {
-        for (Client client : clients.values()) {
-            if (client.getEmail().equalsIgnoreCase(email)) {
-                return client;
-            }
-        }
-        return null;
+        String cle = normaliserEmail(email);
+        return cle != null ? clientsParEmail.get(cle) : null;
     }
 
     /**
-     * Recherche un client par son téléphone.
+     * Recherche un client par son téléphone (seuls les chiffres sont comparés).
      * 
      * @param telephone Le téléphone à rechercher
      * @return Le client trouvé, ou null s'il n'existe pas
      */
     public Client rechercherParTelephone(String telephone) {
-        for (Client client : clients.values()) {
-            if (client.getTelephone().equals(telephone)) {
-                return client;
-            }
-        }
-        return null;
+        String cle = normaliserTelephone(telephone);
+        return cle != null ? clientsParTelephone.get(cle) : null;
     }
 
     /**
@@ -175,7 +195,77 @@ public class GestionnaireClient {
     /**
      * Vide complètement la liste des clients.
      */
-    public void effacerTousLesClients() {
+    public synchronized void effacerTousLesClients() {
         clients.clear();
+        clientsParEmail.clear();
+        clientsParTelephone.clear();
+    }
+
+    // ===========================
+    // NORMALISATION ET INDEX
+    // ===========================
+
+    /**
+     * Normalise un email pour l'index : espaces retirés et casse ignorée.
+     * 
+     * @param email L'email brut
+     * @return L'email normalisé, ou null s'il est vide
+     */
+    public static String normaliserEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String cle = email.trim().toLowerCase(Locale.ROOT);
+        return cle.isEmpty() ? null : cle;
+    }
+
+    /**
+     * Normalise un téléphone pour l'index : seuls les chiffres sont conservés.
+     * 
+     * @param telephone Le téléphone brut
+     * @return Les chiffres du téléphone, ou null s'il n'en contient aucun
+     */
+    public static String normaliserTelephone(String telephone) {
+        if (telephone == null) {
+            return null;
+        }
+        StringBuilder chiffres = new StringBuilder(telephone.length());
+        for (int i = 0; i < telephone.length(); i++) {
+            char c = telephone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                chiffres.append(c);
+            }
+        }
+        return chiffres.length() == 0 ? null : chiffres.toString();
+    }
+
+    private void indexer(Client client) {
+        String email = normaliserEmail(client.getEmail());
+        if (email != null) {
+            clientsParEmail.put(email, client);
+        }
+        String telephone = normaliserTelephone(client.getTelephone());
+        if (telephone != null) {
+            clientsParTelephone.put(telephone, client);
+        }
+    }
+
+    private void desindexer(Client client) {
+        String email = normaliserEmail(client.getEmail());
+        if (email != null && clientsParEmail.get(email) == client) {
+            clientsParEmail.remove(email);
+        }
+        String telephone = normaliserTelephone(client.getTelephone());
+        if (telephone != null && clientsParTelephone.get(telephone) == client) {
+            clientsParTelephone.remove(telephone);
+        }
+    }
+
+    private static boolean estPrisParAutre(Map<String, Client> index, String cle, Client client) {
+        if (cle == null) {
+            return false;
+        }
+        Client existant = index.get(cle);
+        return existant != null && existant != client;
     }
 }
@@ -0,0 +1,26 @@
+package com.gestionhotel.model;
+
+/**
+ * Observateur notifié lorsqu'un tarif change.
+ * Permet aux index, caches et statistiques de rester cohérents avec les tarifs.
+ */
+@FunctionalInterface
+public interface ObservateurPrix {
+
+    /**
+     * Appelé après la modification du prix par nuit d'une chambre.
+     * 
+     * @param chambre    La chambre modifiée (avec son nouveau prix)
+     * @param ancienPrix Le prix par nuit avant la modification
+     */
+    void prixChambreModifie(Chambre chambre, double ancienPrix);
+
+    /**
+     * Appelé après la modification du prix d'un service (y compris par promotion).
+     * 
+     * @param service    Le service modifié (avec son nouveau prix)
+     * @param ancienPrix Le prix avant la modification
+     */
+    default void prixServiceModifie(Service service, double ancienPrix) {
+    }
+}
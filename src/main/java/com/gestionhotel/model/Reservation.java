@@ -1,7 +1,10 @@
 package com.gestionhotel.model;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.gestionhotel.exceptions.ValidationException;
 import com.gestionhotel.utils.DateUtils;
+import com.gestionhotel.utils.Montant;
 import java.time.LocalDate;
 
 /**
@@ -9,7 +12,7 @@ import java.time.LocalDate;
  * Gère les informations de réservation incluant client, chambre, dates et services.
  * Implémente une gestion robuste des statuts et de l'annulation (Phase 2 - Dev 3).
  * 
- * Statuts possibles :
+ * Statuts possibles (voir {@link StatutReservation} pour les transitions) :
  * - "En cours" : réservation en cours de traitement
  * - "Confirmée" : réservation confirmée par le client
  * - "Annulée" : réservation annulée
@@ -19,17 +22,18 @@ import java.time.LocalDate;
  */
 public class Reservation {
 
-    // Attribut statique pour l'auto-incrémentation du numéro de réservation
-    private static int compteurReservation = 1;
+    // Source des numéros de réservation (remplaçable, voir setAllocateur)
+    private static volatile AllocateurIdentifiants allocateur = new AllocateurParBlocs();
 
     // Attributs d'instance
     private int numeroReservation;
     private Client client;
     private Chambre chambre;
-    private String dateDebut;      // Format "jj/mm/aaaa"
-    private String dateFin;        // Format "jj/mm/aaaa"
-    private ArrayList<Service> services;
-    private String statut;         // "En cours", "Confirmée", "Annulée", "Terminée"
+    private LocalDate debut;       // Date d'arrivée (parsée une seule fois)
+    private LocalDate fin;         // Date de départ (exclue)
+    private int nombreNuits;       // Mis en cache, recalculé à chaque changement de dates
+    private List<Service> services; // Copiée à l'écriture : lisible pendant un ajout concurrent
+    private volatile StatutReservation statut;
     private String dateAnnulation; // Date d'annulation si applicable (Phase 2)
     private String raison;         // Raison de l'annulation (Phase 2)
 
@@ -40,20 +44,88 @@ public class Reservation {
      * @param chambre   La chambre réservée
      * @param dateDebut Date de début de séjour (format jj/mm/aaaa)
      * @param dateFin   Date de fin de séjour (format jj/mm/aaaa)
+     * @throws IllegalArgumentException Si une des dates est mal formatée
      */
     public Reservation(Client client, Chambre chambre, String dateDebut, String dateFin) {
-        this.numeroReservation = compteurReservation++;
+        this(client, chambre, DateUtils.parserDateFR(dateDebut), DateUtils.parserDateFR(dateFin));
+    }
+
+    /**
+     * Constructeur complet à partir de dates déjà parsées.
+     * 
+     * @param client  Le client effectuant la réservation
+     * @param chambre La chambre réservée
+     * @param debut   Date d'arrivée
+     * @param fin     Date de départ (exclue)
+     */
+    public Reservation(Client client, Chambre chambre, LocalDate debut, LocalDate fin) {
+        this(allocateur.suivant(), client, chambre, debut, fin);
+    }
+
+    /**
+     * Constructeur d'une nouvelle réservation dont le numéro est attribué par l'appelant
+     * (hôtel disposant de son propre espace de numéros, voir {@code Hotel#setAllocateurs}).
+     * 
+     * @param numeroReservation Le numéro attribué
+     * @param client            Le client effectuant la réservation
+     * @param chambre           La chambre réservée
+     * @param debut             Date d'arrivée
+     * @param fin               Date de départ (exclue)
+     */
+    public Reservation(int numeroReservation, Client client, Chambre chambre, LocalDate debut, LocalDate fin) {
+        this.numeroReservation = numeroReservation;
         this.client = client;
         this.chambre = chambre;
-        this.dateDebut = dateDebut;
-        this.dateFin = dateFin;
-        this.services = new ArrayList<>();
-        this.statut = "En cours";
+        this.debut = debut;
+        this.fin = fin;
+        this.nombreNuits = calculerNuits(debut, fin);
+        this.services = new CopyOnWriteArrayList<>();
+        this.statut = StatutReservation.EN_COURS;
         this.dateAnnulation = null;
         this.raison = null;
         
-        // Marquer la chambre comme occupée
-        this.chambre.setOccupee(true);
+        // Marquer la chambre comme occupée si le séjour couvre la nuit en cours
+        if (couvre(debut, fin, LocalDate.now())) {
+            this.chambre.setOccupee(true);
+        }
+    }
+
+    /**
+     * Constructeur de restauration : recrée une réservation sauvegardée avec son
+     * numéro et son statut d'origine, sans toucher à l'occupation de la chambre.
+     * Aucun allocateur n'est avancé : c'est l'hôtel qui le fait en la restaurant
+     * ({@link com.gestionhotel.core.Hotel#restaurerReservations}), avec le sien.
+     * 
+     * @param numeroReservation Le numéro d'origine
+     * @param client            Le client
+     * @param chambre           La chambre
+     * @param debut             Date d'arrivée
+     * @param fin               Date de départ (exclue)
+     * @param statut            Le statut sauvegardé
+     */
+    public Reservation(int numeroReservation, Client client, Chambre chambre, LocalDate debut, LocalDate fin,
+            StatutReservation statut) {
+        this.numeroReservation = numeroReservation;
+        this.client = client;
+        this.chambre = chambre;
+        this.debut = debut;
+        this.fin = fin;
+        this.nombreNuits = calculerNuits(debut, fin);
+        this.services = new CopyOnWriteArrayList<>();
+        this.statut = statut;
+    }
+
+    /**
+     * Remplace la source des numéros de réservation (à faire avant toute création).
+     * 
+     * @param nouvelAllocateur L'allocateur à utiliser
+     */
+    public static void setAllocateur(AllocateurIdentifiants nouvelAllocateur) {
+        allocateur = nouvelAllocateur;
+    }
+
+    public static AllocateurIdentifiants getAllocateur() {
+        return allocateur;
     }
 
     // ===========================
@@ -80,38 +152,84 @@ public class Reservation {
         this.chambre = chambre;
     }
 
+    /**
+     * @return La date d'arrivée formatée jj/mm/aaaa
+     */
     public String getDateDebut() {
-        return dateDebut;
+        return DateUtils.formaterDateFR(debut);
     }
 
     public void setDateDebut(String dateDebut) {
-        this.dateDebut = dateDebut;
+        setDebut(DateUtils.parserDateFR(dateDebut));
     }
 
+    /**
+     * @return La date de départ formatée jj/mm/aaaa
+     */
     public String getDateFin() {
-        return dateFin;
+        return DateUtils.formaterDateFR(fin);
     }
 
     public void setDateFin(String dateFin) {
-        this.dateFin = dateFin;
+        setFin(DateUtils.parserDateFR(dateFin));
+    }
+
+    public LocalDate getDebut() {
+        return debut;
+    }
+
+    public void setDebut(LocalDate debut) {
+        this.debut = debut;
+        this.nombreNuits = calculerNuits(this.debut, this.fin);
+    }
+
+    public LocalDate getFin() {
+        return fin;
     }
 
-    public ArrayList<Service> getServices() {
+    public void setFin(LocalDate fin) {
+        this.fin = fin;
+        this.nombreNuits = calculerNuits(this.debut, this.fin);
+    }
+
+    public List<Service> getServices() {
         return services;
     }
 
-    public void setServices(ArrayList<Service> services) {
-        this.services = services;
+    public void setServices(List<Service> services) {
+        this.services = new CopyOnWriteArrayList<>(services);
     }
 
-    public String getStatut() {
+    public StatutReservation getStatut() {
         return statut;
     }
 
-    public void setStatut(String statut) {
+    /**
+     * Change le statut en respectant la table des transitions.
+     * 
+     * @param statut Le nouveau statut (identique à l'actuel : aucun effet)
+     * @throws ValidationException Si la transition n'est pas autorisée
+     */
+    public synchronized void setStatut(StatutReservation statut) {
+        if (statut == this.statut) {
+            return;
+        }
+        if (!this.statut.peutPasserA(statut)) {
+            throw new ValidationException("Transition interdite : " + this.statut + " -> " + statut);
+        }
         this.statut = statut;
     }
 
+    /**
+     * Change le statut à partir de son libellé (ex: "Confirmée").
+     * 
+     * @param libelle Le libellé du nouveau statut
+     * @throws ValidationException Si le libellé est inconnu ou la transition interdite
+     */
+    public void setStatut(String libelle) {
+        setStatut(StatutReservation.depuisLibelle(libelle));
+    }
+
     public String getDateAnnulation() {
         return dateAnnulation;
     }
@@ -133,28 +251,53 @@ public class Reservation {
     // ===========================
 
     /**
-     * Calcule le nombre de nuits de la réservation.
+     * Retourne le nombre de nuits de la réservation.
+     * La valeur est calculée une seule fois, lors de l'affectation des dates.
      * 
      * @return Le nombre de nuits entre dateDebut et dateFin
      */
     public int calculerNombreNuits() {
-        try {
-            LocalDate debut = DateUtils.parserDateFR(this.dateDebut);
-            LocalDate fin = DateUtils.parserDateFR(this.dateFin);
-            return (int) DateUtils.calculerNuits(debut, fin);
-        } catch (Exception e) {
+        return nombreNuits;
+    }
+
+    private static int calculerNuits(LocalDate debut, LocalDate fin) {
+        if (debut == null || fin == null || debut.isAfter(fin)) {
             return 0;
         }
+        return (int) DateUtils.calculerNuits(debut, fin);
+    }
+
+    /**
+     * Vérifie si le séjour inclut la nuit en cours.
+     * 
+     * @return true si dateDebut <= aujourd'hui < dateFin
+     */
+    public boolean couvreAujourdhui() {
+        return couvre(debut, fin, LocalDate.now());
+    }
+
+    // Statique : appelée depuis le constructeur sans exposer this
+    private static boolean couvre(LocalDate debut, LocalDate fin, LocalDate jour) {
+        return !debut.isAfter(jour) && fin.isAfter(jour);
     }
 
     /**
      * Calcule le prix total de la chambre pour le séjour.
      * 
-     * @return Le prix de la chambre multiplié par le nombre de nuits
+     * @return Le prix de la chambre pour les dates du séjour (voir {@link Chambre#calculerPrix(LocalDate, LocalDate)})
      */
     public double calculerPrixChambre() {
-        int nbNuits = calculerNombreNuits();
-        return chambre.calculerPrix(nbNuits);
+        return Montant.enEuros(calculerPrixChambreCentimes());
+    }
+
+    /**
+     * @return Le prix de la chambre pour les dates du séjour, en centimes
+     */
+    public long calculerPrixChambreCentimes() {
+        if (calculerNombreNuits() <= 0) {
+            return 0;
+        }
+        return chambre.calculerPrixCentimes(debut.toEpochDay(), fin.toEpochDay());
     }
 
     /**
@@ -163,9 +306,16 @@ public class Reservation {
      * @return La somme des prix de tous les services
      */
     public double calculerPrixServices() {
-        double total = 0;
+        return Montant.enEuros(calculerPrixServicesCentimes());
+    }
+
+    /**
+     * @return La somme exacte des prix des services, en centimes
+     */
+    public long calculerPrixServicesCentimes() {
+        long total = 0;
         for (Service service : services) {
-            total += service.getPrix();
+            total += service.getPrixCentimes();
         }
         return total;
     }
@@ -176,18 +326,28 @@ public class Reservation {
      * @return Le prix total de la réservation
      */
     public double calculerPrixTotal() {
-        return calculerPrixChambre() + calculerPrixServices();
+        return Montant.enEuros(calculerPrixTotalCentimes());
+    }
+
+    /**
+     * @return Le prix total de la réservation en centimes (base des statistiques)
+     */
+    public long calculerPrixTotalCentimes() {
+        return calculerPrixChambreCentimes() + calculerPrixServicesCentimes();
     }
 
     /**
      * Ajoute un service à la réservation.
      * 
      * @param service Le service à ajouter
+     * @return true si le service a été ajouté, false s'il est null ou indisponible
      */
-    public void ajouterService(Service service) {
+    public boolean ajouterService(Service service) {
         if (service != null && service.isDisponible()) {
             this.services.add(service);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -196,12 +356,12 @@ public class Reservation {
      * 
      * @return true si la confirmation a réussi, false sinon
      */
-    public boolean confirmer() {
-        if (!this.statut.equals("En cours")) {
+    public synchronized boolean confirmer() {
+        if (!this.statut.peutPasserA(StatutReservation.CONFIRMEE)) {
             System.out.println("Erreur : Seule une réservation EN_COURS peut être confirmée.");
             return false;
         }
-        this.statut = "Confirmée";
+        this.statut = StatutReservation.CONFIRMEE;
         return true;
     }
 
@@ -213,20 +373,20 @@ public class Reservation {
      * @param raison Motif de l'annulation (optionnel)
      * @return true si l'annulation a réussi, false sinon
      */
-    public boolean annuler(String raison) {
+    public synchronized boolean annuler(String raison) {
         // Validation : on ne peut annuler que si la réservation est EN_COURS ou CONFIRMEE
-        if (this.statut.equals("Annulée")) {
+        if (this.statut == StatutReservation.ANNULEE) {
             System.out.println("Erreur : Cette réservation est déjà annulée.");
             return false;
         }
         
-        if (this.statut.equals("Terminée")) {
+        if (!this.statut.peutPasserA(StatutReservation.ANNULEE)) {
             System.out.println("Erreur : Impossible d'annuler une réservation déjà terminée.");
             return false;
         }
         
         // Enregistrer les informations d'annulation
-        this.statut = "Annulée";
+        this.statut = StatutReservation.ANNULEE;
         this.dateAnnulation = DateUtils.formaterDateFR(LocalDate.now());
         this.raison = raison != null ? raison : "Non spécifiée";
         
@@ -251,7 +411,7 @@ public class Reservation {
      * @return true si l'annulation est possible, false sinon
      */
     public boolean peutEtreAnnulee() {
-        return (this.statut.equals("En cours") || this.statut.equals("Confirmée"));
+        return this.statut.peutPasserA(StatutReservation.ANNULEE);
     }
 
     /**
@@ -260,18 +420,18 @@ public class Reservation {
      * 
      * @return true si la fin a réussi, false sinon
      */
-    public boolean terminer() {
-        if (this.statut.equals("Annulée")) {
+    public synchronized boolean terminer() {
+        if (this.statut == StatutReservation.ANNULEE) {
             System.out.println("Erreur : Impossible de terminer une réservation annulée.");
             return false;
         }
         
-        if (this.statut.equals("Terminée")) {
+        if (!this.statut.peutPasserA(StatutReservation.TERMINEE)) {
             System.out.println("Erreur : Cette réservation est déjà terminée.");
             return false;
         }
         
-        this.statut = "Terminée";
+        this.statut = StatutReservation.TERMINEE;
         this.chambre.setOccupee(false);
         return true;
     }
@@ -282,7 +442,7 @@ public class Reservation {
      * @return true si le statut est ANNULEE
      */
     public boolean estAnnulee() {
-        return this.statut.equals("Annulée");
+        return this.statut == StatutReservation.ANNULEE;
     }
 
     /**
@@ -291,7 +451,7 @@ public class Reservation {
      * @return true si le statut est CONFIRMEE
      */
     public boolean estConfirmee() {
-        return this.statut.equals("Confirmée");
+        return this.statut == StatutReservation.CONFIRMEE;
     }
 
     /**
@@ -300,7 +460,7 @@ public class Reservation {
      * @return true si le statut est TERMINEES
      */
     public boolean estTerminee() {
-        return this.statut.equals("Terminée");
+        return this.statut == StatutReservation.TERMINEE;
     }
 
     /**
@@ -315,12 +475,12 @@ public class Reservation {
         sb.append("=== Réservation n°").append(numeroReservation).append(" ===\n");
         sb.append("Client: ").append(client.getNomComplet()).append("\n");
         sb.append("Chambre: ").append(chambre.getType()).append(" n°").append(chambre.getNumero()).append("\n");
-        sb.append("Période: du ").append(dateDebut).append(" au ").append(dateFin);
+        sb.append("Période: du ").append(getDateDebut()).append(" au ").append(getDateFin());
         sb.append(" (").append(calculerNombreNuits()).append(" nuits)\n");
         sb.append("Statut: ").append(statut).append("\n");
         
         // Afficher les infos d'annulation si applicable (Phase 2 - Dev 3)
-        if (statut.equals("Annulée")) {
+        if (statut == StatutReservation.ANNULEE) {
             sb.append("Date d'annulation: ").append(dateAnnulation != null ? dateAnnulation : "N/A").append("\n");
             sb.append("Raison: ").append(raison != null ? raison : "Non spécifiée").append("\n");
         }
@@ -336,9 +496,12 @@ public class Reservation {
             sb.append("\n");
         }
         
-        sb.append("Prix chambre: ").append(String.format("%.2f", calculerPrixChambre())).append("€\n");
-        sb.append("Prix services: ").append(String.format("%.2f", calculerPrixServices())).append("€\n");
-        sb.append("TOTAL: ").append(String.format("%.2f", calculerPrixTotal())).append("€");
+        // Chaque prix n'est calculé qu'une fois
+        long prixChambre = calculerPrixChambreCentimes();
+        long prixServices = calculerPrixServicesCentimes();
+        sb.append("Prix chambre: ").append(String.format("%.2f", Montant.enEuros(prixChambre))).append("€\n");
+        sb.append("Prix services: ").append(String.format("%.2f", Montant.enEuros(prixServices))).append("€\n");
+        sb.append("TOTAL: ").append(String.format("%.2f", Montant.enEuros(prixChambre + prixServices))).append("€");
         
         return sb.toString();
     }
@@ -1,5 +1,8 @@
 package com.gestionhotel.model;
 
+import java.util.ArrayList;
+import com.gestionhotel.utils.Montant;
+
 /**
  * Classe représentant un service hôtelier disponible pour les clients.
  * Cette classe permet de gérer différents types de services avec leurs tarifs.
@@ -12,25 +15,59 @@ public class Service {
     private int idService;
     private String nom;
     private String description;
-    private double prix;
+    private long prixCentimes; // Voir Montant
     private boolean disponible;
+    private ArrayList<ObservateurPrix> observateurs; // Prévenus à chaque changement de prix
     
-    // Attribut statique pour l'auto-incrémentation
-    private static int compteurService = 1;
+    // Source des identifiants de service (remplaçable, voir setAllocateur)
+    private static volatile AllocateurIdentifiants allocateur = new AllocateurParBlocs();
 
     /**
      * Constructeur complet pour initialiser un service.
      * 
      * @param nom         Nom du service
      * @param description Description détaillée du service
-     * @param prix        Prix du service
+     * @param prix        Prix du service, en euros (arrondi au centime)
      */
     public Service(String nom, String description, double prix) {
-        this.idService = compteurService++;
+        this.idService = allocateur.suivant();
         this.nom = nom;
         this.description = description;
-        this.prix = prix;
+        this.prixCentimes = Montant.depuisEuros(prix);
         this.disponible = true; // Par défaut, un service est disponible
+        this.observateurs = new ArrayList<>();
+    }
+
+    /**
+     * Constructeur de restauration (chargement d'une sauvegarde ou du journal) :
+     * conserve l'identifiant d'origine. Aucun allocateur n'est avancé : c'est l'hôtel qui le
+     * fait en l'ajoutant ({@link com.gestionhotel.core.Hotel#ajouterService}), avec le sien.
+     * 
+     * @param idService   Identifiant sauvegardé
+     * @param nom         Nom du service
+     * @param description Description détaillée du service
+     * @param prix        Prix du service, en euros (arrondi au centime)
+     */
+    public Service(int idService, String nom, String description, double prix) {
+        this.idService = idService;
+        this.nom = nom;
+        this.description = description;
+        this.prixCentimes = Montant.depuisEuros(prix);
+        this.disponible = true;
+        this.observateurs = new ArrayList<>();
+    }
+
+    /**
+     * Remplace la source des identifiants de service (à faire avant toute création).
+     * 
+     * @param nouvelAllocateur L'allocateur à utiliser
+     */
+    public static void setAllocateur(AllocateurIdentifiants nouvelAllocateur) {
+        allocateur = nouvelAllocateur;
+    }
+
+    public static AllocateurIdentifiants getAllocateur() {
+        return allocateur;
     }
 
     // GETTERS & SETTERS
@@ -56,11 +93,26 @@ public class Service {
     }
 
     public double getPrix() {
-        return prix;
+        return Montant.enEuros(prixCentimes);
+    }
+
+    public long getPrixCentimes() {
+        return prixCentimes;
     }
 
+    /**
+     * Modifie le prix, arrondi au centime (voir {@link Montant#depuisEuros}).
+     * 
+     * @param prix Le nouveau prix en euros
+     */
     public void setPrix(double prix) {
-        this.prix = prix;
+        setPrixCentimes(Montant.depuisEuros(prix));
+    }
+
+    public void setPrixCentimes(long prixCentimes) {
+        long ancienPrix = this.prixCentimes;
+        this.prixCentimes = prixCentimes;
+        notifierPrix(ancienPrix);
     }
 
     public boolean isDisponible() {
@@ -89,13 +141,44 @@ public class Service {
 
     /**
      * Applique une promotion au service.
+     * La réduction est arrondie au centime (demis au pair) : des promotions
+     * successives n'accumulent pas d'erreur d'arrondi.
      * 
      * @param pourcentageReduction Pourcentage de réduction (ex: 10 pour 10%)
      */
     public void appliquerPromotion(int pourcentageReduction) {
         if (pourcentageReduction > 0 && pourcentageReduction < 100) {
-            double reduction = this.prix * (pourcentageReduction / 100.0);
-            this.prix -= reduction;
+            long ancienPrix = this.prixCentimes;
+            this.prixCentimes -= Montant.pourcentage(this.prixCentimes, pourcentageReduction);
+            notifierPrix(ancienPrix);
+        }
+    }
+
+    /**
+     * Enregistre un observateur prévenu à chaque changement de prix.
+     * 
+     * @param observateur L'observateur à ajouter
+     */
+    public void ajouterObservateur(ObservateurPrix observateur) {
+        if (observateur != null && !observateurs.contains(observateur)) {
+            observateurs.add(observateur);
+        }
+    }
+
+    /**
+     * Retire un observateur de prix.
+     * 
+     * @param observateur L'observateur à retirer
+     */
+    public void retirerObservateur(ObservateurPrix observateur) {
+        observateurs.remove(observateur);
+    }
+
+    private void notifierPrix(long ancienPrix) {
+        if (ancienPrix != this.prixCentimes) {
+            for (ObservateurPrix observateur : observateurs) {
+                observateur.prixServiceModifie(this, Montant.enEuros(ancienPrix));
+            }
         }
     }
 
@@ -103,6 +186,6 @@ public class Service {
     public String toString() {
         String statut = disponible ? "Disponible" : "Indisponible";
         return String.format("Service n°%d - %s - %.2f€ - %s (%s)",
-                idService, nom, prix, description, statut);
+                idService, nom, getPrix(), description, statut);
     }
 }
@@ -0,0 +1,105 @@
+package com.gestionhotel.model;
+
+import java.util.EnumSet;
+
+import com.gestionhotel.exceptions.ValidationException;
+
+/**
+ * Statuts possibles d'une réservation et transitions autorisées entre eux.
+ * 
+ * EN_COURS -> CONFIRMEE, ANNULEE, TERMINEE
+ * CONFIRMEE -> ANNULEE, TERMINEE
+ * ANNULEE et TERMINEE sont des statuts finaux.
+ */
+public enum StatutReservation {
+
+    EN_COURS("En cours"),
+    CONFIRMEE("Confirmée"),
+    ANNULEE("Annulée"),
+    TERMINEE("Terminée");
+
+    private final String libelle;
+    private EnumSet<StatutReservation> suivants;
+
+    static {
+        EN_COURS.suivants = EnumSet.of(CONFIRMEE, ANNULEE, TERMINEE);
+        CONFIRMEE.suivants = EnumSet.of(ANNULEE, TERMINEE);
+        ANNULEE.suivants = EnumSet.noneOf(StatutReservation.class);
+        TERMINEE.suivants = EnumSet.noneOf(StatutReservation.class);
+    }
+
+    StatutReservation(String libelle) {
+        this.libelle = libelle;
+    }
+
+    /**
+     * @return Le libellé affiché et sauvegardé (ex: "Confirmée")
+     */
+    public String getLibelle() {
+        return libelle;
+    }
+
+    /**
+     * Vérifie si la transition directe vers un autre statut est autorisée.
+     * 
+     * @param cible Le statut visé
+     * @return true si la transition fait partie de la table des transitions
+     */
+    public boolean peutPasserA(StatutReservation cible) {
+        return cible != null && suivants.contains(cible);
+    }
+
+    /**
+     * Vérifie si un statut est atteignable depuis celui-ci (lui-même compris)
+     * en suivant la table des transitions.
+     * 
+     * @param cible Le statut visé
+     * @return true si le statut est atteignable
+     */
+    public boolean peutAtteindre(StatutReservation cible) {
+        if (cible == this) {
+            return true;
+        }
+        for (StatutReservation suivant : suivants) {
+            if (suivant.peutAtteindre(cible)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true si la réservation ne peut plus changer de statut
+     */
+    public boolean estFinal() {
+        return suivants.isEmpty();
+    }
+
+    /**
+     * @return true si la réservation n'est ni annulée ni terminée
+     */
+    public boolean estActif() {
+        return !estFinal();
+    }
+
+    /**
+     * Retrouve un statut à partir de son libellé.
+     * 
+     * @param libelle Le libellé (ex: "Annulée")
+     * @return Le statut correspondant
+     * @throws ValidationException Si le libellé est inconnu
+     */
+    public static StatutReservation depuisLibelle(String libelle) {
+        for (StatutReservation statut : values()) {
+            if (statut.libelle.equals(libelle)) {
+                return statut;
+            }
+        }
+        throw new ValidationException("Statut de réservation inconnu : " + libelle);
+    }
+
+    @Override
+    public String toString() {
+        return libelle;
+    }
+}
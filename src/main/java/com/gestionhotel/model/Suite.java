@@ -5,8 +5,8 @@ public class Suite extends Chambre {
     // Constantes
     private static final int CAPACITE_SUITE = 4;
     private static final double PRIX_BASE_SUITE = 150.0;
-    private static final double SUPPLEMENT_JACUZZI = 30.0;
-    private static final double SUPPLEMENT_BALCON = 20.0;
+    private static final long SUPPLEMENT_JACUZZI = 3_000; // En centimes
+    private static final long SUPPLEMENT_BALCON = 2_000;
     
     // Attributs supplémentaires
     private boolean jacuzzi;    // Présence d'un jacuzzi
@@ -51,23 +51,22 @@ public class Suite extends Chambre {
     }
 
     /**
-     * Calcule le prix total pour un séjour donné en tenant compte des suppléments.
+     * Supplément par nuit des options de la suite.
      * 
-     * @param nbNuits Le nombre de nuits réservées
-     * @return Le prix total avec les suppléments (jacuzzi + balcon)
+     * @return La somme des suppléments (jacuzzi + balcon), en centimes
      */
     @Override
-    public double calculerPrix(int nbNuits) {
-        double prixTotal = super.calculerPrix(nbNuits);
+    public long getSupplementParNuitCentimes() {
+        long supplement = 0;
         
         if (jacuzzi) {
-            prixTotal += SUPPLEMENT_JACUZZI * nbNuits;
+            supplement += SUPPLEMENT_JACUZZI;
         }
         if (balcon) {
-            prixTotal += SUPPLEMENT_BALCON * nbNuits;
+            supplement += SUPPLEMENT_BALCON;
         }
         
-        return prixTotal;
+        return supplement;
     }
 
     @Override
@@ -84,6 +83,6 @@ public class Suite extends Chambre {
         }
         
         return String.format("Suite n°%d - Capacité: %d personnes - Prix de base: %.2f€/nuit - Statut: %s%s",
-                numero, capacite, prixParNuit, statut, options);
+                numero, capacite, getPrixParNuit(), statut, options);
     }
 }
@@ -0,0 +1,35 @@
+package com.gestionhotel.model;
+
+import com.gestionhotel.utils.Montant;
+
+/**
+ * Politique de prix de l'hébergement, branchée derrière {@link Chambre#calculerPrix(long, long)}.
+ * Sans tarification, une chambre coûte son prix par nuit (suppléments compris) fois le nombre de nuits.
+ */
+@FunctionalInterface
+public interface Tarification {
+
+    /**
+     * Calcule le prix de l'hébergement d'une chambre pour les nuits [jourDebut, jourFin).
+     * Appelée pour chaque devis et chaque calcul de statistique : doit être rapide et sans verrou bloquant.
+     * 
+     * @param chambre   La chambre
+     * @param jourDebut Jour d'arrivée (jours depuis l'epoch)
+     * @param jourFin   Jour de départ, exclu (jours depuis l'epoch)
+     * @return Le prix du séjour, hors services
+     */
+    double calculerPrix(Chambre chambre, long jourDebut, long jourFin);
+
+    /**
+     * Prix du séjour en centimes : par défaut {@link #calculerPrix} arrondi au centime
+     * (demis au pair), une fois pour tout le séjour.
+     * 
+     * @param chambre   La chambre
+     * @param jourDebut Jour d'arrivée (jours depuis l'epoch)
+     * @param jourFin   Jour de départ, exclu (jours depuis l'epoch)
+     * @return Le prix du séjour en centimes, hors services
+     */
+    default long calculerPrixCentimes(Chambre chambre, long jourDebut, long jourFin) {
+        return Montant.depuisEuros(calculerPrix(chambre, jourDebut, jourFin));
+    }
+}
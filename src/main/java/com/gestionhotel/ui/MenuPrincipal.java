@@ -1,5 +1,6 @@
 package com.gestionhotel.ui;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Scanner;
 import com.gestionhotel.core.Hotel;
@@ -11,6 +12,7 @@ import com.gestionhotel.model.Suite;
 import com.gestionhotel.model.Client;
 import com.gestionhotel.model.Reservation;
 import com.gestionhotel.model.Service;
+import com.gestionhotel.utils.DateUtils;
 
 /**
  * Classe principale pour l'interface utilisateur en console.
@@ -362,18 +364,29 @@ public class MenuPrincipal {
                 System.out.println("⚠️  L'email ne peut pas être vide.");
                 return;
             }
+            if (hotel.emailExiste(email)) {
+                System.out.println("⚠️  Un client utilise déjà cet email.");
+                return;
+            }
 
             System.out.print("Téléphone : ");
             String telephone = scanner.nextLine().trim();
+            if (hotel.telephoneExiste(telephone)) {
+                System.out.println("⚠️  Un client utilise déjà ce téléphone.");
+                return;
+            }
 
-            Client client = new Client(nom, prenom, email, telephone);
+            Client client = hotel.nouveauClient(nom, prenom, email, telephone);
             
             if (!client.validerEmail()) {
                 System.out.println("⚠️  Attention: L'email semble invalide.");
             }
             
-            hotel.ajouterClient(client);
-            System.out.println("✅ Client ajouté avec succès : " + client);
+            if (hotel.ajouterClient(client)) {
+                System.out.println("✅ Client ajouté avec succès : " + client);
+            } else {
+                System.out.println("❌ Le client n'a pas pu être ajouté.");
+            }
         } catch (Exception e) {
             System.out.println("❌ Erreur lors de l'ajout du client : " + e.getMessage());
         }
@@ -435,29 +448,38 @@ public class MenuPrincipal {
         System.out.println("4. Téléphone");
         System.out.print("Votre choix : ");
 
+        String nom = client.getNom();
+        String prenom = client.getPrenom();
+        String email = client.getEmail();
+        String telephone = client.getTelephone();
+
         int choix = lireChoix();
         switch (choix) {
             case 1:
                 System.out.print("Nouveau nom : ");
-                client.setNom(scanner.nextLine().trim());
+                nom = scanner.nextLine().trim();
                 break;
             case 2:
                 System.out.print("Nouveau prénom : ");
-                client.setPrenom(scanner.nextLine().trim());
+                prenom = scanner.nextLine().trim();
                 break;
             case 3:
                 System.out.print("Nouvel email : ");
-                client.setEmail(scanner.nextLine().trim());
+                email = scanner.nextLine().trim();
                 break;
             case 4:
                 System.out.print("Nouveau téléphone : ");
-                client.setTelephone(scanner.nextLine().trim());
+                telephone = scanner.nextLine().trim();
                 break;
             default:
                 System.out.println("Choix invalide.");
                 return;
         }
-        System.out.println("Client modifié : " + client);
+        if (hotel.modifierClient(numero, nom, prenom, email, telephone)) {
+            System.out.println("Client modifié : " + client);
+        } else {
+            System.out.println("❌ Modification refusée : email ou téléphone déjà utilisé par un autre client.");
+        }
     }
 
     // ===========================
@@ -529,20 +551,6 @@ public class MenuPrincipal {
                 return;
             }
 
-            // Afficher les chambres disponibles
-            hotel.afficherChambresDisponibles();
-            System.out.print("Numéro de la chambre : ");
-            int numChambre = lireChoix();
-            Chambre chambre = hotel.rechercherChambre(numChambre);
-            if (chambre == null) {
-                System.out.println("❌ Chambre non trouvée.");
-                return;
-            }
-            if (chambre.isOccupee()) {
-                System.out.println("❌ Cette chambre est déjà occupée.");
-                return;
-            }
-
             // Dates
             System.out.print("Date d'arrivée (jj/mm/aaaa) : ");
             String dateDebut = scanner.nextLine().trim();
@@ -558,7 +566,32 @@ public class MenuPrincipal {
                 return;
             }
 
-            Reservation reservation = hotel.creerReservation(client, chambre, dateDebut, dateFin);
+            // Afficher les chambres libres sur la période
+            LocalDate debut = DateUtils.parserDateFR(dateDebut);
+            LocalDate fin = DateUtils.parserDateFR(dateFin);
+            ArrayList<Chambre> disponibles = hotel.getChambresDisponibles(debut, fin);
+            if (disponibles.isEmpty()) {
+                System.out.println("❌ Aucune chambre libre sur cette période.");
+                return;
+            }
+            System.out.println("=== Chambres libres du " + dateDebut + " au " + dateFin + " ===");
+            for (Chambre c : disponibles) {
+                System.out.println(c);
+            }
+
+            System.out.print("Numéro de la chambre : ");
+            int numChambre = lireChoix();
+            Chambre chambre = hotel.rechercherChambre(numChambre);
+            if (chambre == null) {
+                System.out.println("❌ Chambre non trouvée.");
+                return;
+            }
+            if (!hotel.estChambreDisponible(chambre, debut, fin)) {
+                System.out.println("❌ Cette chambre est déjà réservée sur cette période.");
+                return;
+            }
+
+            Reservation reservation = hotel.creerReservation(client, chambre, debut, fin);
             if (reservation != null) {
                 System.out.println("✅ Réservation créée avec succès !");
                 System.out.println(reservation);
@@ -614,15 +647,17 @@ public class MenuPrincipal {
         System.out.print("ID du service à ajouter : ");
         int idService = lireChoix();
 
-        for (Service s : hotel.getServicesDisponibles()) {
-            if (s.getIdService() == idService) {
-                reservation.ajouterService(s);
-                System.out.println("Service ajouté : " + s.getNom());
-                System.out.println("Nouveau total : " + String.format("%.2f", reservation.calculerPrixTotal()) + "€");
-                return;
-            }
+        Service s = hotel.rechercherService(idService);
+        if (s == null) {
+            System.out.println("Service non trouvé.");
+            return;
+        }
+        if (hotel.ajouterServiceReservation(reservation, s)) {
+            System.out.println("Service ajouté : " + s.getNom());
+            System.out.println("Nouveau total : " + String.format("%.2f", hotel.chiffrerReservation(reservation)) + "€");
+        } else {
+            System.out.println("Service indisponible : " + s.getNom());
         }
-        System.out.println("Service non trouvé.");
     }
 
     /**
@@ -692,7 +727,7 @@ public class MenuPrincipal {
         System.out.print("Prix (€) : ");
         try {
             double prix = Double.parseDouble(scanner.nextLine().trim());
-            Service service = new Service(nom, description, prix);
+            Service service = hotel.nouveauService(nom, description, prix);
             hotel.ajouterService(service);
             System.out.println("Service ajouté : " + service);
         } catch (NumberFormatException e) {
@@ -717,19 +752,22 @@ public class MenuPrincipal {
                 System.out.print("Votre choix : ");
 
                 int choix = lireChoix();
+                String nom = s.getNom();
+                String description = s.getDescription();
+                double prix = s.getPrix();
                 switch (choix) {
                     case 1:
                         System.out.print("Nouveau nom : ");
-                        s.setNom(scanner.nextLine().trim());
+                        nom = scanner.nextLine().trim();
                         break;
                     case 2:
                         System.out.print("Nouvelle description : ");
-                        s.setDescription(scanner.nextLine().trim());
+                        description = scanner.nextLine().trim();
                         break;
                     case 3:
                         System.out.print("Nouveau prix : ");
                         try {
-                            s.setPrix(Double.parseDouble(scanner.nextLine().trim()));
+                            prix = Double.parseDouble(scanner.nextLine().trim());
                         } catch (NumberFormatException e) {
                             System.out.println("Prix invalide.");
                             return;
@@ -739,6 +777,7 @@ public class MenuPrincipal {
                         System.out.println("Choix invalide.");
                         return;
                 }
+                hotel.modifierService(id, nom, description, prix);
                 System.out.println("Service modifié : " + s);
                 return;
             }
@@ -857,8 +896,8 @@ public class MenuPrincipal {
             int nombreReservations = 0;
             double depenseTotal = 0.0;
             
-            for (Reservation res : hotel.getReservations()) {
-                if (res.getClient().getNumeroClient() == numClient && !res.estAnnulee()) {
+            for (Reservation res : hotel.getReservationsClient(numClient)) {
+                if (!res.estAnnulee()) {
                     nombreReservations++;
                     depenseTotal += res.calculerPrixTotal();
                 }
@@ -0,0 +1,360 @@
+package com.gestionhotel.ui;
+
+import java.net.HttpURLConnection;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.exceptions.BusinessException;
+import com.gestionhotel.exceptions.HotelException;
+import com.gestionhotel.exceptions.NotFoundException;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.DateUtils;
+import com.gestionhotel.utils.Montant;
+import com.gestionhotel.utils.ObjetJson;
+import com.gestionhotel.utils.ValidationUtils;
+
+/**
+ * Opérations de l'API HTTP, indépendantes du transport : chacune reçoit ses paramètres
+ * à plat (chemin, requête et corps fusionnés) et appelle directement les méthodes de
+ * {@link Hotel}. Une requête unitaire et un élément de lot passent par le même code.
+ *
+ * Dates au format ISO (aaaa-mm-jj), montants en euros avec deux décimales, listes de
+ * services en "1;2" ou "1,2" (ou tableau JSON).
+ */
+final class OperationsApi {
+
+    static final String DISPONIBILITES = "disponibilites";
+    static final String DEVIS = "devis";
+    static final String RESERVER = "reserver";
+    static final String RESERVATION = "reservation";
+    static final String CONFIRMER = "confirmer";
+    static final String ANNULER = "annuler";
+    static final String TERMINER = "terminer";
+    static final String CREER_CLIENT = "creerClient";
+    static final String CLIENT = "client";
+    static final String MODIFIER_CLIENT = "modifierClient";
+
+    /**
+     * Résultat d'une opération : code HTTP et corps JSON.
+     */
+    static final class Reponse {
+        final int statut;
+        final String json;
+
+        Reponse(int statut, String json) {
+            this.statut = statut;
+            this.json = json;
+        }
+
+        static Reponse erreur(int statut, String message) {
+            StringBuilder json = new StringBuilder("{\"erreur\":");
+            ObjetJson.ecrireChaine(json, message == null ? "Erreur interne" : message);
+            return new Reponse(statut, json.append('}').toString());
+        }
+    }
+
+    private final Hotel hotel;
+
+    OperationsApi(Hotel hotel) {
+        this.hotel = ValidationUtils.requireNonNull(hotel, "hotel");
+    }
+
+    /**
+     * Exécute une opération ; les exceptions métier deviennent des réponses d'erreur.
+     *
+     * @param operation  Le nom de l'opération
+     * @param parametres Les paramètres à plat
+     * @return La réponse (jamais null)
+     */
+    Reponse executer(String operation, Map<String, String> parametres) {
+        try {
+            if (operation == null) {
+                throw new ValidationException("Le champ 'operation' est obligatoire");
+            }
+            switch (operation) {
+                case DISPONIBILITES:
+                    return disponibilites(parametres);
+                case DEVIS:
+                    return devis(parametres);
+                case RESERVER:
+                    return reserver(parametres);
+                case RESERVATION:
+                    return new Reponse(HttpURLConnection.HTTP_OK, json(reservation(parametres)));
+                case CONFIRMER:
+                    return changerStatut(parametres, StatutReservation.CONFIRMEE);
+                case ANNULER:
+                    return changerStatut(parametres, StatutReservation.ANNULEE);
+                case TERMINER:
+                    return changerStatut(parametres, StatutReservation.TERMINEE);
+                case CREER_CLIENT:
+                    return creerClient(parametres);
+                case CLIENT:
+                    return new Reponse(HttpURLConnection.HTTP_OK, json(client(parametres)));
+                case MODIFIER_CLIENT:
+                    return modifierClient(parametres);
+                default:
+                    throw new NotFoundException("Opération inconnue : " + operation);
+            }
+        } catch (ValidationException e) {
+            return Reponse.erreur(HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+        } catch (NotFoundException e) {
+            return Reponse.erreur(HttpURLConnection.HTTP_NOT_FOUND, e.getMessage());
+        } catch (BusinessException e) {
+            return Reponse.erreur(HttpURLConnection.HTTP_CONFLICT, e.getMessage());
+        } catch (HotelException e) {
+            return Reponse.erreur(HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // ===========================
+    // DISPONIBILITÉS ET DEVIS
+    // ===========================
+
+    private Reponse disponibilites(Map<String, String> parametres) {
+        LocalDate debut = date(parametres, "debut");
+        LocalDate fin = date(parametres, "fin");
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        String type = parametres.get("type");
+        StringBuilder json = new StringBuilder("{\"chambres\":[");
+        boolean premiere = true;
+        for (Chambre chambre : type == null ? hotel.getChambres() : hotel.rechercherChambresParType(type)) {
+            if (hotel.estChambreDisponible(chambre, debut, fin)) {
+                if (!premiere) {
+                    json.append(',');
+                }
+                ecrire(json, chambre);
+                premiere = false;
+            }
+        }
+        return new Reponse(HttpURLConnection.HTTP_OK, json.append("]}").toString());
+    }
+
+    private Reponse devis(Map<String, String> parametres) {
+        Chambre chambre = chambre(parametres);
+        LocalDate debut = date(parametres, "debut");
+        LocalDate fin = date(parametres, "fin");
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        long centimes = hotel.getCacheDevis().coterCentimes(chambre, debut, fin, services(parametres));
+        return new Reponse(HttpURLConnection.HTTP_OK, "{\"chambre\":" + chambre.getNumero() + ",\"montant\":"
+                + Montant.formater(centimes) + ",\"disponible\":" + hotel.estChambreDisponible(chambre, debut, fin) + "}");
+    }
+
+    // ===========================
+    // RÉSERVATIONS
+    // ===========================
+
+    private Reponse reserver(Map<String, String> parametres) {
+        Client client = hotel.rechercherClient(entier(parametres, "client"));
+        if (client == null) {
+            throw new NotFoundException("Client n°" + parametres.get("client") + " introuvable");
+        }
+        Chambre chambre = chambre(parametres);
+        LocalDate debut = date(parametres, "debut");
+        LocalDate fin = date(parametres, "fin");
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        if (!DateUtils.estPeriodeValide(debut, fin)) {
+            throw new ValidationException("La date d'arrivée ne peut pas être passée");
+        }
+        List<Service> services = services(parametres);
+        Reservation reservation = hotel.creerReservation(client, chambre, debut, fin);
+        if (reservation == null) {
+            throw new BusinessException("La chambre n°" + chambre.getNumero() + " est déjà réservée sur cette période");
+        }
+        // Un service retiré entre-temps : la réservation, incomplète, est annulée
+        for (Service service : services) {
+            if (!hotel.ajouterServiceReservation(reservation, service)) {
+                hotel.annulerReservation(reservation.getNumeroReservation(), "Service indisponible");
+                throw new BusinessException("Service n°" + service.getIdService() + " indisponible : réservation n°"
+                        + reservation.getNumeroReservation() + " annulée");
+            }
+        }
+        return new Reponse(HttpURLConnection.HTTP_CREATED, json(reservation));
+    }
+
+    private Reservation reservation(Map<String, String> parametres) {
+        int numero = entier(parametres, "numero");
+        Reservation reservation = hotel.rechercherReservation(numero);
+        if (reservation == null) {
+            throw new NotFoundException("Réservation n°" + numero + " introuvable");
+        }
+        return reservation;
+    }
+
+    /**
+     * Confirme, annule ou termine une réservation. Les méthodes de {@link Hotel} ne
+     * rendent pas de résultat : le succès se lit dans le statut obtenu.
+     */
+    private Reponse changerStatut(Map<String, String> parametres, StatutReservation cible) {
+        Reservation reservation = reservation(parametres);
+        StatutReservation avant = reservation.getStatut();
+        if (avant == cible || !avant.peutPasserA(cible)) {
+            throw new BusinessException("Réservation n°" + reservation.getNumeroReservation() + " : passage "
+                    + avant.getLibelle() + " -> " + cible.getLibelle() + " impossible");
+        }
+        if (cible == StatutReservation.CONFIRMEE) {
+            hotel.confirmerReservation(reservation.getNumeroReservation());
+        } else if (cible == StatutReservation.ANNULEE) {
+            hotel.annulerReservation(reservation.getNumeroReservation(), parametres.get("raison"));
+        } else {
+            hotel.terminerReservation(reservation.getNumeroReservation());
+        }
+        if (reservation.getStatut() != cible) {
+            throw new BusinessException("Réservation n°" + reservation.getNumeroReservation() + " modifiée entre-temps ("
+                    + reservation.getStatut().getLibelle() + ")");
+        }
+        return new Reponse(HttpURLConnection.HTTP_OK, json(reservation));
+    }
+
+    // ===========================
+    // CLIENTS
+    // ===========================
+
+    private Reponse creerClient(Map<String, String> parametres) {
+        Client client = hotel.nouveauClient(
+                ValidationUtils.requireNotBlank(parametres.get("nom"), "nom"),
+                ValidationUtils.requireNotBlank(parametres.get("prenom"), "prenom"),
+                ValidationUtils.requireValidEmail(parametres.get("email"), "email"),
+                ValidationUtils.requireNotBlank(parametres.get("telephone"), "telephone"));
+        if (!hotel.ajouterClient(client)) {
+            throw new BusinessException("Email ou téléphone déjà utilisé");
+        }
+        return new Reponse(HttpURLConnection.HTTP_CREATED, json(client));
+    }
+
+    private Client client(Map<String, String> parametres) {
+        String email = parametres.get("email");
+        Client client = parametres.get("numero") == null && email != null ? hotel.rechercherClientParEmail(email)
+                : hotel.rechercherClient(entier(parametres, "numero"));
+        if (client == null) {
+            throw new NotFoundException("Client introuvable");
+        }
+        return client;
+    }
+
+    private Reponse modifierClient(Map<String, String> parametres) {
+        Client client = client(parametres);
+        String nom = parametres.getOrDefault("nom", client.getNom());
+        String prenom = parametres.getOrDefault("prenom", client.getPrenom());
+        String email = parametres.getOrDefault("email", client.getEmail());
+        String telephone = parametres.getOrDefault("telephone", client.getTelephone());
+        ValidationUtils.requireValidEmail(email, "email");
+        if (!hotel.modifierClient(client.getNumeroClient(), nom, prenom, email, telephone)) {
+            throw new BusinessException("Email ou téléphone déjà utilisé");
+        }
+        return new Reponse(HttpURLConnection.HTTP_OK, json(client));
+    }
+
+    // ===========================
+    // PARAMÈTRES
+    // ===========================
+
+    private static int entier(Map<String, String> parametres, String nom) {
+        String texte = ValidationUtils.requireNotBlank(parametres.get(nom), nom);
+        try {
+            return Integer.parseInt(texte.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(nom + " doit être un entier : " + texte);
+        }
+    }
+
+    private static LocalDate date(Map<String, String> parametres, String nom) {
+        String texte = ValidationUtils.requireNotBlank(parametres.get(nom), nom);
+        try {
+            return LocalDate.parse(texte.trim());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(nom + " doit être une date aaaa-mm-jj : " + texte);
+        }
+    }
+
+    private Chambre chambre(Map<String, String> parametres) {
+        Chambre chambre = hotel.rechercherChambre(entier(parametres, "chambre"));
+        if (chambre == null) {
+            throw new NotFoundException("Chambre n°" + parametres.get("chambre") + " introuvable");
+        }
+        return chambre;
+    }
+
+    private List<Service> services(Map<String, String> parametres) {
+        List<Service> services = new ArrayList<>();
+        String liste = parametres.get("services");
+        if (liste == null) {
+            return services;
+        }
+        for (String id : liste.split("[;,]")) {
+            if (id.trim().isEmpty()) {
+                continue;
+            }
+            int idService;
+            try {
+                idService = Integer.parseInt(id.trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Identifiant de service invalide : " + id);
+            }
+            Service service = hotel.rechercherService(idService);
+            if (service == null) {
+                throw new NotFoundException("Service n°" + idService + " introuvable");
+            }
+            if (!service.isDisponible()) {
+                throw new BusinessException("Service n°" + idService + " indisponible");
+            }
+            services.add(service);
+        }
+        return services;
+    }
+
+    // ===========================
+    // JSON
+    // ===========================
+
+    private static void ecrire(StringBuilder json, Chambre chambre) {
+        json.append("{\"numero\":").append(chambre.getNumero()).append(",\"type\":");
+        ObjetJson.ecrireChaine(json, chambre.getType());
+        json.append(",\"capacite\":").append(chambre.getCapacite())
+                .append(",\"prixParNuit\":").append(Montant.formater(chambre.getPrixParNuitCentimes())).append('}');
+    }
+
+    private static String json(Reservation reservation) {
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"numero\":").append(reservation.getNumeroReservation())
+                .append(",\"client\":").append(reservation.getClient().getNumeroClient())
+                .append(",\"chambre\":").append(reservation.getChambre().getNumero())
+                .append(",\"debut\":\"").append(reservation.getDebut())
+                .append("\",\"fin\":\"").append(reservation.getFin())
+                .append("\",\"statut\":\"").append(reservation.getStatut().name())
+                .append("\",\"services\":[");
+        List<Service> services = reservation.getServices();
+        for (int i = 0; i < services.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(services.get(i).getIdService());
+        }
+        json.append("],\"total\":").append(Montant.formater(reservation.calculerPrixTotalCentimes()));
+        if (reservation.getRaison() != null) {
+            json.append(",\"raison\":");
+            ObjetJson.ecrireChaine(json, reservation.getRaison());
+        }
+        return json.append('}').toString();
+    }
+
+    private static String json(Client client) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"numero\":").append(client.getNumeroClient()).append(",\"nom\":");
+        ObjetJson.ecrireChaine(json, client.getNom());
+        json.append(",\"prenom\":");
+        ObjetJson.ecrireChaine(json, client.getPrenom());
+        json.append(",\"email\":");
+        ObjetJson.ecrireChaine(json, client.getEmail());
+        json.append(",\"telephone\":");
+        ObjetJson.ecrireChaine(json, client.getTelephone());
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,352 @@
+package com.gestionhotel.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.utils.ObjetJson;
+import com.gestionhotel.utils.ValidationUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * API HTTP/JSON de réservation, embarquée sur le serveur du JDK
+ * ({@code com.sun.net.httpserver}), pour les gestionnaires de canaux de distribution.
+ *
+ * Routes (dates aaaa-mm-jj, corps JSON plats) :
+ * <pre>
+ * GET  /disponibilites?debut=&amp;fin=[&amp;type=]     chambres libres sur la période
+ * GET  /devis?chambre=&amp;debut=&amp;fin=[&amp;services=1,2] prix du séjour (cache de devis)
+ * POST /reservations                             {client, chambre, debut, fin, services}
+ * GET  /reservations/{n}
+ * POST /reservations/{n}/confirmer | annuler | terminer   (annuler : {raison})
+ * POST /clients                                  {nom, prenom, email, telephone}
+ * GET  /clients/{n}  |  GET /clients?email=
+ * PUT  /clients/{n}                              champs à modifier
+ * POST /lot                                      [{operation, ...}, ...]
+ * </pre>
+ *
+ * Chaque requête est traitée sur un fil virtuel quand le JDK en propose (21 et plus,
+ * détecté par réflexion : le projet compile en Java 11), sinon sur un pool borné.
+ * Les réponses ont toujours une longueur connue et le corps des requêtes est lu en
+ * entier : le serveur du JDK garde alors les connexions ouvertes (keep-alive HTTP/1.1).
+ * {@code POST /lot} enchaîne jusqu'à {@link #TAILLE_LOT_MAX} opérations en un seul
+ * aller-retour et rend un tableau de résultats {statut, resultat} dans le même ordre.
+ */
+public class ServeurApi {
+
+    public static final int PORT_DEFAUT = 8080;
+    public static final int TAILLE_LOT_MAX = 1000;
+    public static final int TAILLE_CORPS_MAX = 1 << 20;
+
+    /** Connexions en attente d'acceptation (le défaut du système est souvent 50). */
+    static final int FILE_ATTENTE = 1024;
+    /** Connexions persistantes inactives conservées par le serveur du JDK (200 par défaut). */
+    static final String MAX_CONNEXIONS_INACTIVES = "10000";
+    /** Taille du pool de repli quand les fils virtuels sont indisponibles. */
+    static final int TAILLE_POOL_REPLI = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+
+    private final OperationsApi operations;
+    private final InetSocketAddress adresse;
+    private HttpServer serveur;
+    private ExecutorService executeur;
+    private boolean filsVirtuels;
+
+    /**
+     * @param hotel L'hôtel exposé
+     * @param port  Le port d'écoute (0 pour un port libre quelconque)
+     */
+    public ServeurApi(Hotel hotel, int port) {
+        this(hotel, new InetSocketAddress(ValidationUtils.requireInRange(port, 0, 65535, "port")));
+    }
+
+    /**
+     * Les messages de suivi de l'hôtel sont coupés : écrire sur la console à chaque
+     * requête sérialiserait les fils de traitement.
+     *
+     * @param hotel   L'hôtel exposé
+     * @param adresse L'adresse d'écoute
+     */
+    public ServeurApi(Hotel hotel, InetSocketAddress adresse) {
+        this.operations = new OperationsApi(hotel);
+        this.adresse = ValidationUtils.requireNonNull(adresse, "adresse");
+        hotel.setMessages(false);
+    }
+
+    // ===========================
+    // CYCLE DE VIE
+    // ===========================
+
+    /**
+     * Ouvre le port et commence à servir.
+     *
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public synchronized void demarrer() throws IOException {
+        if (serveur != null) {
+            throw new IllegalStateException("Serveur déjà démarré");
+        }
+        // Lu une seule fois par le JDK, à la création du premier serveur
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", MAX_CONNEXIONS_INACTIVES);
+        }
+        HttpServer nouveau = HttpServer.create(adresse, FILE_ATTENTE);
+        nouveau.createContext("/", this::traiter);
+        executeur = creerExecuteur();
+        nouveau.setExecutor(executeur);
+        nouveau.start();
+        serveur = nouveau;
+    }
+
+    /**
+     * Arrête le serveur en laissant au plus {@code delaiSecondes} aux requêtes en cours.
+     *
+     * @param delaiSecondes Délai de grâce
+     */
+    public synchronized void arreter(int delaiSecondes) {
+        if (serveur == null) {
+            return;
+        }
+        serveur.stop(delaiSecondes);
+        executeur.shutdown();
+        try {
+            executeur.awaitTermination(delaiSecondes + 1L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        serveur = null;
+    }
+
+    /**
+     * @return Le port effectivement ouvert (utile avec le port 0)
+     */
+    public synchronized int getPort() {
+        return serveur != null ? serveur.getAddress().getPort() : adresse.getPort();
+    }
+
+    /**
+     * @return true si les requêtes sont traitées sur des fils virtuels
+     */
+    public synchronized boolean utiliseFilsVirtuels() {
+        return filsVirtuels;
+    }
+
+    /**
+     * Un fil virtuel par requête si le JDK le permet, sinon un pool fixe de fils démons.
+     */
+    private ExecutorService creerExecuteur() {
+        try {
+            Method fabrique = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtuel = (ExecutorService) fabrique.invoke(null);
+            filsVirtuels = true;
+            return virtuel;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // JDK antérieur à 21 (ou aperçu non activé)
+            filsVirtuels = false;
+            AtomicInteger compteur = new AtomicInteger();
+            return Executors.newFixedThreadPool(TAILLE_POOL_REPLI, tache -> {
+                Thread fil = new Thread(tache, "api-hotel-" + compteur.incrementAndGet());
+                fil.setDaemon(true);
+                return fil;
+            });
+        }
+    }
+
+    // ===========================
+    // ROUTAGE
+    // ===========================
+
+    private void traiter(HttpExchange echange) throws IOException {
+        OperationsApi.Reponse reponse;
+        try {
+            String corps = lireCorps(echange.getRequestBody());
+            String[] segments = segments(echange.getRequestURI().getRawPath());
+            Map<String, String> parametres = parametresRequete(echange.getRequestURI().getRawQuery());
+            reponse = router(echange.getRequestMethod(), segments, parametres, corps);
+        } catch (ValidationException e) {
+            reponse = OperationsApi.Reponse.erreur(HttpURLConnection.HTTP_BAD_REQUEST, e.getMessage());
+        } catch (TropVolumineuxException e) {
+            reponse = OperationsApi.Reponse.erreur(HttpURLConnection.HTTP_ENTITY_TOO_LARGE, e.getMessage());
+        } catch (RuntimeException e) {
+            reponse = OperationsApi.Reponse.erreur(HttpURLConnection.HTTP_INTERNAL_ERROR, e.toString());
+        }
+        envoyer(echange, reponse);
+    }
+
+    private OperationsApi.Reponse router(String methode, String[] segments, Map<String, String> parametres,
+            String corps) {
+        if (segments.length == 0) {
+            return nonTrouve();
+        }
+        String ressource = segments[0];
+        if ("lot".equals(ressource) && segments.length == 1) {
+            return "POST".equals(methode) ? lot(corps) : methodeRefusee();
+        }
+        if (!corps.isEmpty()) {
+            parametres.putAll(ObjetJson.lireObjet(corps));
+        }
+        String operation = null;
+        if ("disponibilites".equals(ressource) && segments.length == 1) {
+            operation = "GET".equals(methode) ? OperationsApi.DISPONIBILITES : null;
+        } else if ("devis".equals(ressource) && segments.length == 1) {
+            operation = "GET".equals(methode) ? OperationsApi.DEVIS : null;
+        } else if ("reservations".equals(ressource)) {
+            if (segments.length == 1) {
+                operation = "POST".equals(methode) ? OperationsApi.RESERVER : null;
+            } else {
+                parametres.put("numero", segments[1]);
+                if (segments.length == 2) {
+                    operation = "GET".equals(methode) ? OperationsApi.RESERVATION : null;
+                } else if (segments.length == 3 && "POST".equals(methode)) {
+                    operation = actionReservation(segments[2]);
+                    if (operation == null) {
+                        return nonTrouve();
+                    }
+                } else if (segments.length > 3) {
+                    return nonTrouve();
+                }
+            }
+        } else if ("clients".equals(ressource) && segments.length <= 2) {
+            if (segments.length == 2) {
+                parametres.put("numero", segments[1]);
+                operation = "GET".equals(methode) ? OperationsApi.CLIENT
+                        : "PUT".equals(methode) ? OperationsApi.MODIFIER_CLIENT : null;
+            } else {
+                operation = "POST".equals(methode) ? OperationsApi.CREER_CLIENT
+                        : "GET".equals(methode) ? OperationsApi.CLIENT : null;
+            }
+        } else {
+            return nonTrouve();
+        }
+        return operation != null ? operations.executer(operation, parametres) : methodeRefusee();
+    }
+
+    private static String actionReservation(String action) {
+        switch (action) {
+            case "confirmer":
+                return OperationsApi.CONFIRMER;
+            case "annuler":
+                return OperationsApi.ANNULER;
+            case "terminer":
+                return OperationsApi.TERMINER;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Exécute un lot d'opérations dans l'ordre ; l'échec d'un élément n'arrête pas les suivants.
+     */
+    private OperationsApi.Reponse lot(String corps) {
+        List<Map<String, String>> elements = ObjetJson.lireTableau(corps.isEmpty() ? "[]" : corps);
+        if (elements.size() > TAILLE_LOT_MAX) {
+            throw new TropVolumineuxException("Lot de " + elements.size() + " opérations (maximum " + TAILLE_LOT_MAX + ")");
+        }
+        StringBuilder json = new StringBuilder(64 + elements.size() * 192).append('[');
+        for (int i = 0; i < elements.size(); i++) {
+            Map<String, String> element = elements.get(i);
+            OperationsApi.Reponse reponse = operations.executer(element.remove("operation"), element);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"statut\":").append(reponse.statut).append(",\"resultat\":").append(reponse.json).append('}');
+        }
+        return new OperationsApi.Reponse(HttpURLConnection.HTTP_OK, json.append(']').toString());
+    }
+
+    private static OperationsApi.Reponse nonTrouve() {
+        return OperationsApi.Reponse.erreur(HttpURLConnection.HTTP_NOT_FOUND, "Ressource inconnue");
+    }
+
+    private static OperationsApi.Reponse methodeRefusee() {
+        return OperationsApi.Reponse.erreur(HttpURLConnection.HTTP_BAD_METHOD, "Méthode non autorisée");
+    }
+
+    // ===========================
+    // TRANSPORT
+    // ===========================
+
+    /**
+     * Corps trop volumineux (413).
+     */
+    private static final class TropVolumineuxException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TropVolumineuxException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Lit le corps en entier, condition pour que la connexion puisse être réutilisée.
+     */
+    private static String lireCorps(InputStream entree) throws IOException {
+        try (InputStream corps = entree) {
+            ByteArrayOutputStream octets = new ByteArrayOutputStream();
+            byte[] tampon = new byte[8192];
+            int lus;
+            while ((lus = corps.read(tampon)) != -1) {
+                if (octets.size() + lus > TAILLE_CORPS_MAX) {
+                    throw new TropVolumineuxException("Corps de requête supérieur à " + TAILLE_CORPS_MAX + " octets");
+                }
+                octets.write(tampon, 0, lus);
+            }
+            return octets.toString(StandardCharsets.UTF_8.name()).trim();
+        }
+    }
+
+    private static String[] segments(String chemin) {
+        String nettoye = chemin == null ? "" : chemin.replaceAll("^/+|/+$", "");
+        return nettoye.isEmpty() ? new String[0] : nettoye.split("/+");
+    }
+
+    private static Map<String, String> parametresRequete(String requete) {
+        Map<String, String> parametres = new HashMap<>();
+        if (requete == null || requete.isEmpty()) {
+            return parametres;
+        }
+        for (String paire : requete.split("&")) {
+            int egal = paire.indexOf('=');
+            String cle = decoder(egal < 0 ? paire : paire.substring(0, egal));
+            String valeur = egal < 0 ? "" : decoder(paire.substring(egal + 1));
+            if (!cle.isEmpty() && !valeur.isEmpty()) {
+                parametres.put(cle, valeur);
+            }
+        }
+        return parametres;
+    }
+
+    private static String decoder(String texte) {
+        try {
+            return URLDecoder.decode(texte, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Paramètre mal encodé : " + texte);
+        }
+    }
+
+    private static void envoyer(HttpExchange echange, OperationsApi.Reponse reponse) throws IOException {
+        byte[] octets = reponse.json.getBytes(StandardCharsets.UTF_8);
+        echange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        // Longueur fixe : pas de fermeture pour délimiter la réponse
+        echange.sendResponseHeaders(reponse.statut, octets.length);
+        try (OutputStream sortie = echange.getResponseBody()) {
+            sortie.write(octets);
+        } finally {
+            echange.close();
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.gestionhotel.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Archive de réservations closes dans un fichier à enregistrements de taille fixe,
+ * projeté en mémoire ({@link FileChannel#map}).
+ *
+ * Les lectures (recherche par numéro, parcours) lisent directement les pages du
+ * fichier : aucun objet n'est créé et l'historique ne pèse pas sur le tas. Les
+ * ajouts se font en fin de fichier ; une ligne écrite ne change plus.
+ *
+ * Format :
+ * - en-tête de 64 octets : "GHAR", version (int), taille d'un enregistrement (int),
+ *   drapeaux (int, bit 0 : numéros croissants), nombre d'enregistrements (long)
+ * - enregistrements de 64 octets : numéro, chambre, client, jour de début, jour de fin
+ *   (int, jours depuis l'epoch), statut (octet), nombre de services (octet), 2 octets
+ *   libres, puis jusqu'à {@link #MAX_SERVICES} identifiants de service (int)
+ *
+ * Le nombre d'enregistrements de l'en-tête n'est mis à jour qu'après l'écriture de
+ * la ligne : une ligne interrompue par un arrêt brutal est ignorée à la réouverture.
+ * Tant que les numéros arrivent dans l'ordre, la recherche est dichotomique ; sinon
+ * un index numéro -> ligne est construit à la première recherche.
+ */
+public class ArchiveMappee implements Closeable {
+
+    public static final int MAX_SERVICES = 10;
+
+    static final byte[] MAGIC = { 'G', 'H', 'A', 'R' };
+    static final int VERSION = 1;
+    static final int TAILLE_EN_TETE = 64;
+    static final int TAILLE_ENREGISTREMENT = 64;
+
+    // Lignes par projection : 4 Mo par segment
+    private static final int LIGNES_PAR_SEGMENT = 1 << 16;
+    private static final long TAILLE_SEGMENT = (long) LIGNES_PAR_SEGMENT * TAILLE_ENREGISTREMENT;
+
+    private static final int DRAPEAU_TRIE = 1;
+
+    // Position des champs dans un enregistrement
+    private static final int NUMERO = 0;
+    private static final int CHAMBRE = 4;
+    private static final int CLIENT = 8;
+    private static final int DEBUT = 12;
+    private static final int FIN = 16;
+    private static final int STATUT = 20;
+    private static final int NB_SERVICES = 21;
+    private static final int SERVICES = 24;
+
+    private final File fichier;
+    private final FileChannel canal;
+    private final boolean lectureSeule;
+    private final MappedByteBuffer enTete;
+    private volatile MappedByteBuffer[] segments;
+    private volatile int taille;
+    private boolean trie;
+    private int dernierNumero = Integer.MIN_VALUE;
+    private TableEntiers index; // Construit à la demande si les numéros ne sont pas triés
+
+    private ArchiveMappee(File fichier, FileChannel canal, boolean lectureSeule) throws IOException {
+        this.fichier = fichier;
+        this.canal = canal;
+        this.lectureSeule = lectureSeule;
+        boolean neuf = canal.size() == 0;
+        if (neuf && lectureSeule) {
+            throw new IOException("Archive vide ou absente : " + fichier);
+        }
+        this.enTete = canal.map(lectureSeule ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+                0, TAILLE_EN_TETE);
+        if (neuf) {
+            enTete.put(0, MAGIC[0]).put(1, MAGIC[1]).put(2, MAGIC[2]).put(3, MAGIC[3]);
+            enTete.putInt(4, VERSION);
+            enTete.putInt(8, TAILLE_ENREGISTREMENT);
+            enTete.putInt(12, DRAPEAU_TRIE);
+            enTete.putLong(16, 0);
+        } else {
+            byte[] magic = new byte[MAGIC.length];
+            for (int i = 0; i < magic.length; i++) {
+                magic[i] = enTete.get(i);
+            }
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Fichier d'archive invalide (en-tête inconnu) : " + fichier);
+            }
+            if (enTete.getInt(4) != VERSION || enTete.getInt(8) != TAILLE_ENREGISTREMENT) {
+                throw new IOException("Version d'archive non supportée : " + enTete.getInt(4));
+            }
+        }
+        long nombre = enTete.getLong(16);
+        if (nombre < 0 || TAILLE_EN_TETE + nombre * TAILLE_ENREGISTREMENT > canal.size()) {
+            throw new IOException("Archive tronquée : " + fichier);
+        }
+        this.taille = (int) nombre;
+        this.trie = (enTete.getInt(12) & DRAPEAU_TRIE) != 0;
+        this.segments = new MappedByteBuffer[0];
+        if (taille > 0) {
+            projeter(taille - 1);
+            dernierNumero = getNumero(taille - 1);
+        }
+    }
+
+    /**
+     * Ouvre (ou crée) une archive en lecture et écriture.
+     *
+     * @param fichier Le fichier d'archive
+     * @return L'archive ouverte
+     * @throws IOException Si le fichier est illisible ou n'est pas une archive
+     */
+    public static ArchiveMappee ouvrir(File fichier) throws IOException {
+        FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return ouvrir(fichier, canal, false);
+    }
+
+    /**
+     * Ouvre une archive existante en lecture seule (historique consultable sans risque d'écriture).
+     *
+     * @param fichier Le fichier d'archive
+     * @return L'archive ouverte
+     * @throws IOException Si le fichier est absent, illisible ou n'est pas une archive
+     */
+    public static ArchiveMappee ouvrirEnLecture(File fichier) throws IOException {
+        return ouvrir(fichier, FileChannel.open(fichier.toPath(), StandardOpenOption.READ), true);
+    }
+
+    private static ArchiveMappee ouvrir(File fichier, FileChannel canal, boolean lectureSeule) throws IOException {
+        try {
+            return new ArchiveMappee(fichier, canal, lectureSeule);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    // ===========================
+    // PROJECTION
+    // ===========================
+
+    /**
+     * Projette les segments nécessaires pour atteindre la ligne donnée.
+     */
+    private void projeter(int ligne) throws IOException {
+        int segment = ligne / LIGNES_PAR_SEGMENT;
+        MappedByteBuffer[] actuels = segments;
+        if (segment < actuels.length) {
+            return;
+        }
+        MappedByteBuffer[] nouveaux = Arrays.copyOf(actuels, segment + 1);
+        for (int i = actuels.length; i <= segment; i++) {
+            long debut = TAILLE_EN_TETE + i * TAILLE_SEGMENT;
+            if (lectureSeule) {
+                // Un fichier ouvert en lecture ne peut pas être agrandi par la projection
+                nouveaux[i] = canal.map(FileChannel.MapMode.READ_ONLY, debut,
+                        Math.min(TAILLE_SEGMENT, canal.size() - debut));
+            } else {
+                nouveaux[i] = canal.map(FileChannel.MapMode.READ_WRITE, debut, TAILLE_SEGMENT);
+            }
+        }
+        segments = nouveaux;
+    }
+
+    private ByteBuffer segment(int ligne) {
+        return segments[ligne / LIGNES_PAR_SEGMENT];
+    }
+
+    private static int decalage(int ligne) {
+        return (ligne % LIGNES_PAR_SEGMENT) * TAILLE_ENREGISTREMENT;
+    }
+
+    // ===========================
+    // AJOUT
+    // ===========================
+
+    /**
+     * Ajoute une réservation close en fin d'archive.
+     *
+     * @param reservation La réservation (son état est figé une fois archivée)
+     * @return false si ce numéro est déjà archivé
+     * @throws ValidationException Si la réservation compte plus de {@link #MAX_SERVICES} services
+     */
+    public boolean ajouter(Reservation reservation) {
+        Object[] liste = reservation.getServices().toArray();
+        int[] ids = new int[liste.length];
+        for (int i = 0; i < liste.length; i++) {
+            ids[i] = ((Service) liste[i]).getIdService();
+        }
+        return ajouter(reservation.getNumeroReservation(), reservation.getChambre().getNumero(),
+                reservation.getClient().getNumeroClient(), (int) reservation.getDebut().toEpochDay(),
+                (int) reservation.getFin().toEpochDay(), reservation.getStatut(), ids);
+    }
+
+    /**
+     * Ajoute une ligne en fin d'archive.
+     *
+     * @return false si ce numéro est déjà archivé
+     * @throws ValidationException Si la ligne compte plus de {@link #MAX_SERVICES} services
+     */
+    public synchronized boolean ajouter(int numero, int numeroChambre, int numeroClient, int jourDebut, int jourFin,
+            StatutReservation statut, int[] idsServices) {
+        if (lectureSeule) {
+            throw new IllegalStateException("Archive ouverte en lecture seule : " + fichier);
+        }
+        if (idsServices.length > MAX_SERVICES) {
+            throw new ValidationException("Une réservation archivée compte au plus " + MAX_SERVICES + " services");
+        }
+        if (rechercher(numero) >= 0) {
+            return false;
+        }
+        try {
+            projeter(taille);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Agrandissement de l'archive impossible", e);
+        }
+        ByteBuffer tampon = segment(taille);
+        int base = decalage(taille);
+        tampon.putInt(base + NUMERO, numero);
+        tampon.putInt(base + CHAMBRE, numeroChambre);
+        tampon.putInt(base + CLIENT, numeroClient);
+        tampon.putInt(base + DEBUT, jourDebut);
+        tampon.putInt(base + FIN, jourFin);
+        tampon.put(base + STATUT, (byte) statut.ordinal());
+        tampon.put(base + NB_SERVICES, (byte) idsServices.length);
+        for (int i = 0; i < idsServices.length; i++) {
+            tampon.putInt(base + SERVICES + 4 * i, idsServices[i]);
+        }
+
+        if (trie && numero < dernierNumero) {
+            trie = false;
+            enTete.putInt(12, 0);
+        }
+        dernierNumero = Math.max(dernierNumero, numero);
+        if (index != null) {
+            index.put(numero, taille);
+        }
+        // La ligne est complète avant d'être comptée
+        enTete.putLong(16, taille + 1);
+        taille++;
+        return true;
+    }
+
+    /**
+     * Écrit sur disque les lignes ajoutées (fsync des pages projetées).
+     */
+    public synchronized void forcer() {
+        if (lectureSeule) {
+            return;
+        }
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        enTete.force();
+    }
+
+    // ===========================
+    // LECTURE
+    // ===========================
+
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * @param numero Le numéro de réservation
+     * @return La ligne de cette réservation, ou -1 si elle n'est pas archivée ici
+     */
+    public synchronized int rechercher(int numero) {
+        int nombre = taille;
+        if (trie) {
+            int bas = 0;
+            int haut = nombre - 1;
+            while (bas <= haut) {
+                int milieu = (bas + haut) >>> 1;
+                int lu = getNumero(milieu);
+                if (lu < numero) {
+                    bas = milieu + 1;
+                } else if (lu > numero) {
+                    haut = milieu - 1;
+                } else {
+                    return milieu;
+                }
+            }
+            return -1;
+        }
+        if (index == null) {
+            index = new TableEntiers(nombre);
+            for (int ligne = 0; ligne < nombre; ligne++) {
+                index.put(getNumero(ligne), ligne);
+            }
+        }
+        return index.get(numero, -1);
+    }
+
+    public boolean contient(int numero) {
+        return rechercher(numero) >= 0;
+    }
+
+    public int getNumero(int ligne) {
+        return segment(verifier(ligne)).getInt(decalage(ligne) + NUMERO);
+    }
+
+    public int getNumeroChambre(int ligne) {
+        return segment(verifier(ligne)).getInt(decalage(ligne) + CHAMBRE);
+    }
+
+    public int getNumeroClient(int ligne) {
+        return segment(verifier(ligne)).getInt(decalage(ligne) + CLIENT);
+    }
+
+    /**
+     * @return Le jour d'arrivée, en jours depuis l'epoch
+     */
+    public int getJourDebut(int ligne) {
+        return segment(verifier(ligne)).getInt(decalage(ligne) + DEBUT);
+    }
+
+    /**
+     * @return Le jour de départ, en jours depuis l'epoch
+     */
+    public int getJourFin(int ligne) {
+        return segment(verifier(ligne)).getInt(decalage(ligne) + FIN);
+    }
+
+    /**
+     * @throws UncheckedIOException Si l'octet de statut du fichier est corrompu
+     */
+    public StatutReservation getStatut(int ligne) {
+        int ordinal = segment(verifier(ligne)).get(decalage(ligne) + STATUT);
+        if (ordinal < 0 || ordinal >= StatutReservation.values().length) {
+            throw new UncheckedIOException(new IOException("Statut de réservation inconnu dans l'archive "
+                    + fichier + " (ligne " + ligne + ") : " + ordinal));
+        }
+        return StatutReservation.values()[ordinal];
+    }
+
+    /**
+     * @return Les identifiants des services de la ligne
+     */
+    public int[] getServices(int ligne) {
+        ByteBuffer tampon = segment(verifier(ligne));
+        int base = decalage(ligne);
+        int[] ids = new int[tampon.get(base + NB_SERVICES)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tampon.getInt(base + SERVICES + 4 * i);
+        }
+        return ids;
+    }
+
+    private int verifier(int ligne) {
+        if (ligne < 0 || ligne >= taille) {
+            throw new IndexOutOfBoundsException("Ligne " + ligne + " hors de l'archive (" + taille + ")");
+        }
+        return ligne;
+    }
+
+    /**
+     * Parcourt les lignes [debut, fin[ dans l'ordre du fichier, sans créer d'objet par ligne.
+     *
+     * @param debut    Première ligne
+     * @param fin      Ligne de fin (exclue), au plus {@link #getTaille()}
+     * @param visiteur Reçoit chaque ligne
+     */
+    public void parcourir(int debut, int fin, VisiteurArchive visiteur) {
+        if (debut < 0 || fin > taille || debut > fin) {
+            throw new IndexOutOfBoundsException("Plage [" + debut + ", " + fin + "[ hors de l'archive (" + taille + ")");
+        }
+        MappedByteBuffer[] projetes = segments;
+        int[] services = new int[MAX_SERVICES];
+        for (int ligne = debut; ligne < fin; ligne++) {
+            ByteBuffer tampon = projetes[ligne / LIGNES_PAR_SEGMENT];
+            int base = decalage(ligne);
+            int nombre = tampon.get(base + NB_SERVICES);
+            for (int i = 0; i < nombre; i++) {
+                services[i] = tampon.getInt(base + SERVICES + 4 * i);
+            }
+            visiteur.ligne(tampon.getInt(base + NUMERO), tampon.getInt(base + CHAMBRE), tampon.getInt(base + CLIENT),
+                    tampon.getInt(base + DEBUT), tampon.getInt(base + FIN), tampon.get(base + STATUT),
+                    services, 0, nombre);
+        }
+    }
+
+    /**
+     * Parcourt toute l'archive.
+     */
+    public void parcourir(VisiteurArchive visiteur) {
+        parcourir(0, taille, visiteur);
+    }
+
+    /**
+     * Recrée l'objet Reservation d'une ligne (consultation ponctuelle, export).
+     *
+     * @param ligne La ligne
+     * @param hotel L'hôtel qui fournit client, chambre et services
+     * @return La réservation, ou null si son client ou sa chambre n'existe plus
+     */
+    public Reservation materialiser(int ligne, Hotel hotel) {
+        Client client = hotel.rechercherClient(getNumeroClient(ligne));
+        Chambre chambre = hotel.rechercherChambre(getNumeroChambre(ligne));
+        if (client == null || chambre == null) {
+            return null;
+        }
+        Reservation reservation = new Reservation(getNumero(ligne), client, chambre,
+                LocalDate.ofEpochDay(getJourDebut(ligne)), LocalDate.ofEpochDay(getJourFin(ligne)), getStatut(ligne));
+        for (int id : getServices(ligne)) {
+            Service service = hotel.rechercherService(id);
+            if (service != null) {
+                reservation.getServices().add(service);
+            }
+        }
+        return reservation;
+    }
+
+    public File getFichier() {
+        return fichier;
+    }
+
+    /**
+     * Ferme le canal. Les pages projetées sont libérées par le ramasse-miettes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        forcer();
+        canal.close();
+    }
+}
@@ -0,0 +1,503 @@
+package com.gestionhotel.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Export et import en flux des chambres, clients, services et réservations,
+ * en CSV ou en JSON Lines (voir {@link FormatEchange}).
+ *
+ * Les exports écrivent les éléments un par un, archive comprise pour les
+ * réservations, sans copie intermédiaire. Les imports lisent un enregistrement
+ * à la fois, le valident avec {@link ValidationUtils} et rejettent les lignes
+ * invalides dans un {@link RapportImport} sans interrompre la lecture. Les
+ * réservations sont insérées par lots via {@link Hotel#insererReservations}, sous
+ * le verrou de chaque chambre : l'import peut se faire dans un hôtel en service,
+ * et le journal éventuel enregistre les réservations importées.
+ *
+ * Les dates sont au format ISO (AAAA-MM-JJ) ; le format JJ/MM/AAAA est aussi
+ * accepté à l'import. Les statuts sont exportés par leur nom (ex: ANNULEE) ;
+ * le libellé (ex: "Annulée") est aussi accepté à l'import.
+ */
+public class EchangeDonnees {
+
+    /** Nombre de réservations insérées par lot à l'import. */
+    public static final int TAILLE_LOT = 5000;
+
+    static final String[] COLONNES_CHAMBRES = { "numero", "type", "prix", "capacite", "litsJumeaux", "balcon", "jacuzzi" };
+    static final String[] COLONNES_CLIENTS = { "numero", "nom", "prenom", "email", "telephone" };
+    static final String[] COLONNES_SERVICES = { "id", "nom", "description", "prix", "disponible" };
+    static final String[] COLONNES_RESERVATIONS = { "numero", "client", "chambre", "debut", "fin", "statut",
+            "dateAnnulation", "raison", "services" };
+
+    // ===========================
+    // EXPORT
+    // ===========================
+
+    /**
+     * Exporte les chambres, filtrées par type.
+     *
+     * @param hotel   L'hôtel
+     * @param fichier Le fichier de sortie (remplacé s'il existe)
+     * @param format  CSV ou JSON Lines
+     * @param filtre  Critères (seul le type de chambre s'applique), ou null
+     * @return Le nombre de chambres écrites
+     */
+    public static long exporterChambres(Hotel hotel, File fichier, FormatEchange format, FiltreExport filtre)
+            throws IOException {
+        try (EcrivainEnregistrements sortie = new EcrivainEnregistrements(fichier, format, COLONNES_CHAMBRES)) {
+            for (Chambre chambre : hotel.getChambres()) {
+                if (filtre != null && !filtre.accepte(chambre)) {
+                    continue;
+                }
+                Boolean litsJumeaux = chambre instanceof ChambreDouble ? ((ChambreDouble) chambre).isLitsJumeaux() : null;
+                Boolean balcon = chambre instanceof Suite ? ((Suite) chambre).hasBalcon() : null;
+                Boolean jacuzzi = chambre instanceof Suite ? ((Suite) chambre).hasJacuzzi() : null;
+                sortie.ecrire(chambre.getNumero(), chambre.getType(), chambre.getPrixParNuit(), chambre.getCapacite(),
+                        litsJumeaux, balcon, jacuzzi);
+            }
+            return sortie.getNombre();
+        }
+    }
+
+    /**
+     * Exporte les clients, par numéro croissant.
+     *
+     * @return Le nombre de clients écrits
+     */
+    public static long exporterClients(Hotel hotel, File fichier, FormatEchange format) throws IOException {
+        try (EcrivainEnregistrements sortie = new EcrivainEnregistrements(fichier, format, COLONNES_CLIENTS)) {
+            for (Client client : hotel.getClients()) {
+                sortie.ecrire(client.getNumeroClient(), client.getNom(), client.getPrenom(), client.getEmail(),
+                        client.getTelephone());
+            }
+            return sortie.getNombre();
+        }
+    }
+
+    /**
+     * Exporte les services, disponibles ou non.
+     *
+     * @return Le nombre de services écrits
+     */
+    public static long exporterServices(Hotel hotel, File fichier, FormatEchange format) throws IOException {
+        try (EcrivainEnregistrements sortie = new EcrivainEnregistrements(fichier, format, COLONNES_SERVICES)) {
+            for (Service service : hotel.getServicesDisponibles()) {
+                sortie.ecrire(service.getIdService(), service.getNom(), service.getDescription(), service.getPrix(),
+                        service.isDisponible());
+            }
+            return sortie.getNombre();
+        }
+    }
+
+    /**
+     * Exporte les réservations vivantes puis archivées qui passent le filtre.
+     * Les lignes archivées sont lues directement dans l'archive, sans recréer
+     * d'objet Reservation ; leur date et leur motif d'annulation sont vides.
+     *
+     * @param hotel   L'hôtel
+     * @param fichier Le fichier de sortie (remplacé s'il existe)
+     * @param format  CSV ou JSON Lines
+     * @param filtre  Critères de statut, de période et de type de chambre, ou null
+     * @return Le nombre de réservations écrites
+     */
+    public static long exporterReservations(Hotel hotel, File fichier, FormatEchange format, FiltreExport filtre)
+            throws IOException {
+        try (EcrivainEnregistrements sortie = new EcrivainEnregistrements(fichier, format, COLONNES_RESERVATIONS)) {
+            // Une réservation archivée pendant l'export n'est écrite qu'une fois
+            TableEntiers vues = new TableEntiers();
+            for (Reservation reservation : hotel.getReservations()) {
+                vues.put(reservation.getNumeroReservation(), 1);
+                if (filtre != null && !filtre.accepte(reservation)) {
+                    continue;
+                }
+                Object[] liste = reservation.getServices().toArray();
+                int[] services = new int[liste.length];
+                for (int i = 0; i < liste.length; i++) {
+                    services[i] = ((Service) liste[i]).getIdService();
+                }
+                sortie.ecrire(reservation.getNumeroReservation(), reservation.getClient().getNumeroClient(),
+                        reservation.getChambre().getNumero(), reservation.getDebut().toString(),
+                        reservation.getFin().toString(), reservation.getStatut().name(),
+                        reservation.getDateAnnulation(), reservation.getRaison(),
+                        services);
+            }
+
+            StatutReservation[] statuts = StatutReservation.values();
+            try {
+                hotel.parcourirArchives((numero, numeroChambre, client, jourDebut, jourFin, statut, services,
+                        premier, dernier) -> {
+                    if (vues.contient(numero) || (filtre != null && !filtre.accepte(statuts[statut], jourDebut,
+                            jourFin, hotel.rechercherChambre(numeroChambre)))) {
+                        return;
+                    }
+                    try {
+                        sortie.ecrire(numero, client, numeroChambre, LocalDate.ofEpochDay(jourDebut).toString(),
+                                LocalDate.ofEpochDay(jourFin).toString(), statuts[statut].name(), null, null,
+                                Arrays.copyOfRange(services, premier, dernier));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return sortie.getNombre();
+        }
+    }
+
+    // ===========================
+    // IMPORT
+    // ===========================
+
+    /**
+     * Importe des chambres ; les numéros déjà présents sont rejetés.
+     *
+     * @return Le bilan de l'import
+     */
+    public static RapportImport importerChambres(Hotel hotel, File fichier, FormatEchange format) throws IOException {
+        RapportImport rapport = new RapportImport();
+        try (LecteurEnregistrements entree = new LecteurEnregistrements(fichier, format)) {
+            Map<String, String> ligne;
+            while ((ligne = lireSuivant(entree, rapport)) != null) {
+                try {
+                    Chambre chambre = lireChambre(ligne);
+                    if (hotel.rechercherChambre(chambre.getNumero()) != null) {
+                        throw new ValidationException("Chambre " + chambre.getNumero() + " déjà présente");
+                    }
+                    hotel.ajouterChambre(chambre);
+                    rapport.importees(1);
+                } catch (ValidationException e) {
+                    rapport.rejeter(entree.getLigne(), e.getMessage());
+                }
+            }
+        }
+        return rapport;
+    }
+
+    /**
+     * Importe des clients ; les numéros, emails ou téléphones déjà présents sont rejetés.
+     *
+     * @return Le bilan de l'import
+     */
+    public static RapportImport importerClients(Hotel hotel, File fichier, FormatEchange format) throws IOException {
+        RapportImport rapport = new RapportImport();
+        try (LecteurEnregistrements entree = new LecteurEnregistrements(fichier, format)) {
+            Map<String, String> ligne;
+            while ((ligne = lireSuivant(entree, rapport)) != null) {
+                try {
+                    int numero = ValidationUtils.requirePositive(entier(ligne, "numero"), "numero");
+                    String nom = ValidationUtils.requireNotBlank(ligne.get("nom"), "nom");
+                    String prenom = ValidationUtils.requireNotBlank(ligne.get("prenom"), "prenom");
+                    String email = ValidationUtils.requireValidEmail(ligne.get("email"), "email");
+                    String telephone = ValidationUtils.requireNotBlank(ligne.get("telephone"), "telephone");
+                    if (hotel.rechercherClient(numero) != null) {
+                        throw new ValidationException("Client " + numero + " déjà présent");
+                    }
+                    if (!hotel.ajouterClient(new Client(numero, nom, prenom, email, telephone))) {
+                        throw new ValidationException("Email ou téléphone déjà utilisé");
+                    }
+                    rapport.importees(1);
+                } catch (ValidationException e) {
+                    rapport.rejeter(entree.getLigne(), e.getMessage());
+                }
+            }
+        }
+        return rapport;
+    }
+
+    /**
+     * Importe des services ; les identifiants déjà présents sont rejetés.
+     *
+     * @return Le bilan de l'import
+     */
+    public static RapportImport importerServices(Hotel hotel, File fichier, FormatEchange format) throws IOException {
+        RapportImport rapport = new RapportImport();
+        try (LecteurEnregistrements entree = new LecteurEnregistrements(fichier, format)) {
+            Map<String, String> ligne;
+            while ((ligne = lireSuivant(entree, rapport)) != null) {
+                try {
+                    int id = ValidationUtils.requirePositive(entier(ligne, "id"), "id");
+                    String nom = ValidationUtils.requireNotBlank(ligne.get("nom"), "nom");
+                    String description = ligne.get("description") != null ? ligne.get("description") : "";
+                    double prix = ValidationUtils.requireInRange(decimal(ligne, "prix"), 0, Double.MAX_VALUE, "prix");
+                    String disponible = ligne.get("disponible");
+                    if (hotel.rechercherService(id) != null) {
+                        throw new ValidationException("Service " + id + " déjà présent");
+                    }
+                    Service service = new Service(id, nom, description, prix);
+                    service.setDisponible(disponible == null || booleen(ligne, "disponible"));
+                    hotel.ajouterService(service);
+                    rapport.importees(1);
+                } catch (ValidationException e) {
+                    rapport.rejeter(entree.getLigne(), e.getMessage());
+                }
+            }
+        }
+        return rapport;
+    }
+
+    /**
+     * Importe des réservations par lots de {@link #TAILLE_LOT}. Les clients, chambres
+     * et services référencés doivent déjà exister. Sont rejetés : les numéros déjà
+     * présents (vivants, archivés ou plus haut dans le fichier) et les réservations
+     * actives qui chevauchent une autre réservation active de la même chambre.
+     *
+     * @return Le bilan de l'import
+     */
+    public static RapportImport importerReservations(Hotel hotel, File fichier, FormatEchange format)
+            throws IOException {
+        return importerReservations(hotel, fichier, format, TAILLE_LOT);
+    }
+
+    /**
+     * @param tailleLot Nombre de réservations par insertion dans l'hôtel
+     * @see #importerReservations(Hotel, File, FormatEchange)
+     */
+    public static RapportImport importerReservations(Hotel hotel, File fichier, FormatEchange format, int tailleLot)
+            throws IOException {
+        ValidationUtils.requirePositive(tailleLot, "tailleLot");
+        RapportImport rapport = new RapportImport();
+        LotReservations lot = new LotReservations(hotel, rapport, tailleLot);
+        try (LecteurEnregistrements entree = new LecteurEnregistrements(fichier, format)) {
+            Map<String, String> ligne;
+            while ((ligne = lireSuivant(entree, rapport)) != null) {
+                try {
+                    lot.ajouter(lireReservation(hotel, ligne), entree.getLigne());
+                } catch (ValidationException e) {
+                    rapport.rejeter(entree.getLigne(), e.getMessage());
+                }
+            }
+        }
+        lot.inserer();
+        return rapport;
+    }
+
+    /**
+     * Réservations en attente d'insertion. Un séjour actif est vérifié contre le planning
+     * de l'hôtel et contre les séjours actifs du lot (intervalles par chambre) ; le lot
+     * est inséré dans le planning de façon incrémentale
+     * ({@link Hotel#insererReservations}), sans reconstruction.
+     */
+    private static final class LotReservations {
+        private final Hotel hotel;
+        private final RapportImport rapport;
+        private final int taille;
+        private final ArrayList<Reservation> reservations;
+        private TableEntiers numeros = new TableEntiers(); // Numéro -> ligne source
+        // Chambre -> séjours actifs du lot (jour d'arrivée -> jour de départ)
+        private HashMap<Integer, TreeMap<Integer, Integer>> sejoursActifs = new HashMap<>();
+
+        LotReservations(Hotel hotel, RapportImport rapport, int taille) {
+            this.hotel = hotel;
+            this.rapport = rapport;
+            this.taille = taille;
+            this.reservations = new ArrayList<>(Math.min(taille, 1 << 16));
+        }
+
+        void ajouter(Reservation reservation, long ligne) {
+            int numero = reservation.getNumeroReservation();
+            if (numeros.contient(numero) || hotel.rechercherReservation(numero) != null || hotel.estArchivee(numero)) {
+                throw new ValidationException("Réservation " + numero + " déjà présente");
+            }
+            if (reservation.getStatut().estActif()) {
+                int chambre = reservation.getChambre().getNumero();
+                int jourDebut = (int) reservation.getDebut().toEpochDay();
+                int jourFin = (int) reservation.getFin().toEpochDay();
+                TreeMap<Integer, Integer> sejours = sejoursActifs.computeIfAbsent(chambre, k -> new TreeMap<>());
+                if (chevauche(sejours, jourDebut, jourFin)
+                        || !hotel.getPlanning().estDisponible(chambre, reservation.getDebut(), reservation.getFin())) {
+                    throw new ValidationException("Chambre " + chambre + " déjà réservée sur cette période");
+                }
+                sejours.put(jourDebut, jourFin);
+            }
+            numeros.put(numero, (int) ligne);
+            reservations.add(reservation);
+            if (reservations.size() >= taille) {
+                inserer();
+            }
+        }
+
+        void inserer() {
+            if (reservations.isEmpty()) {
+                return;
+            }
+            List<Reservation> ecartees = hotel.insererReservations(reservations);
+            rapport.importees(reservations.size() - ecartees.size());
+            for (Reservation reservation : ecartees) {
+                rapport.rejeter(numeros.get(reservation.getNumeroReservation(), 0),
+                        "Réservation ou séjour inséré entre-temps par ailleurs");
+            }
+            reservations.clear();
+            numeros = new TableEntiers();
+            sejoursActifs = new HashMap<>();
+        }
+
+        private static boolean chevauche(TreeMap<Integer, Integer> sejours, int jourDebut, int jourFin) {
+            Map.Entry<Integer, Integer> precedent = sejours.floorEntry(jourDebut);
+            if (precedent != null && precedent.getValue() > jourDebut) {
+                return true;
+            }
+            Integer suivant = sejours.higherKey(jourDebut);
+            return suivant != null && suivant < jourFin;
+        }
+    }
+
+    // ===========================
+    // LECTURE DES CHAMPS
+    // ===========================
+
+    /**
+     * Lit l'enregistrement suivant ; un enregistrement mal formé est rejeté et sauté.
+     */
+    private static Map<String, String> lireSuivant(LecteurEnregistrements entree, RapportImport rapport)
+            throws IOException {
+        while (true) {
+            try {
+                Map<String, String> ligne = entree.lire();
+                if (ligne != null) {
+                    rapport.lue();
+                }
+                return ligne;
+            } catch (ValidationException e) {
+                rapport.lue();
+                rapport.rejeter(entree.getLigne(), e.getMessage());
+            }
+        }
+    }
+
+    private static Chambre lireChambre(Map<String, String> ligne) {
+        int numero = ValidationUtils.requirePositive(entier(ligne, "numero"), "numero");
+        String type = ValidationUtils.requireNotBlank(ligne.get("type"), "type");
+        Chambre chambre;
+        if ("Simple".equalsIgnoreCase(type)) {
+            chambre = new ChambreSimple(numero);
+        } else if ("Double".equalsIgnoreCase(type)) {
+            chambre = new ChambreDouble(numero, ligne.get("litsJumeaux") != null && booleen(ligne, "litsJumeaux"));
+        } else if ("Suite".equalsIgnoreCase(type)) {
+            chambre = new Suite(numero, ligne.get("jacuzzi") != null && booleen(ligne, "jacuzzi"),
+                    ligne.get("balcon") != null && booleen(ligne, "balcon"));
+        } else {
+            throw new ValidationException("Type de chambre inconnu : " + type);
+        }
+        if (ligne.get("prix") != null) {
+            chambre.setPrixParNuit(ValidationUtils.requirePositive(decimal(ligne, "prix"), "prix"));
+        }
+        return chambre;
+    }
+
+    private static Reservation lireReservation(Hotel hotel, Map<String, String> ligne) {
+        int numero = ValidationUtils.requirePositive(entier(ligne, "numero"), "numero");
+        int numeroClient = entier(ligne, "client");
+        int numeroChambre = entier(ligne, "chambre");
+        LocalDate debut = date(ligne, "debut");
+        LocalDate fin = date(ligne, "fin");
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        StatutReservation statut = statut(ValidationUtils.requireNotBlank(ligne.get("statut"), "statut"));
+
+        Client client = hotel.rechercherClient(numeroClient);
+        if (client == null) {
+            throw new ValidationException("Client inconnu : " + numeroClient);
+        }
+        Chambre chambre = hotel.rechercherChambre(numeroChambre);
+        if (chambre == null) {
+            throw new ValidationException("Chambre inconnue : " + numeroChambre);
+        }
+        ArrayList<Service> services = new ArrayList<>();
+        String ids = ligne.get("services");
+        if (ids != null && !ids.trim().isEmpty()) {
+            for (String id : ids.split(";")) {
+                int idService = entier("services", id.trim());
+                Service service = hotel.rechercherService(idService);
+                if (service == null) {
+                    throw new ValidationException("Service inconnu : " + idService);
+                }
+                services.add(service);
+            }
+        }
+
+        Reservation reservation = new Reservation(numero, client, chambre, debut, fin, statut);
+        reservation.getServices().addAll(services);
+        if (ligne.get("dateAnnulation") != null) {
+            reservation.setDateAnnulation(ligne.get("dateAnnulation"));
+            reservation.setRaison(ligne.get("raison"));
+        }
+        return reservation;
+    }
+
+    private static int entier(Map<String, String> ligne, String colonne) {
+        return entier(colonne, ValidationUtils.requireNotBlank(ligne.get(colonne), colonne).trim());
+    }
+
+    private static int entier(String colonne, String texte) {
+        try {
+            return Integer.parseInt(texte);
+        } catch (NumberFormatException e) {
+            throw new ValidationException(colonne + " n'est pas un entier : " + texte, e);
+        }
+    }
+
+    private static double decimal(Map<String, String> ligne, String colonne) {
+        String texte = ValidationUtils.requireNotBlank(ligne.get(colonne), colonne).trim();
+        try {
+            double valeur = Double.parseDouble(texte);
+            if (Double.isNaN(valeur) || Double.isInfinite(valeur)) {
+                throw new NumberFormatException();
+            }
+            return valeur;
+        } catch (NumberFormatException e) {
+            throw new ValidationException(colonne + " n'est pas un nombre : " + texte, e);
+        }
+    }
+
+    private static boolean booleen(Map<String, String> ligne, String colonne) {
+        String texte = ligne.get(colonne).trim();
+        if ("true".equalsIgnoreCase(texte)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(texte)) {
+            return false;
+        }
+        throw new ValidationException(colonne + " doit valoir true ou false : " + texte);
+    }
+
+    private static LocalDate date(Map<String, String> ligne, String colonne) {
+        String texte = ValidationUtils.requireNotBlank(ligne.get(colonne), colonne).trim();
+        if (texte.indexOf('/') >= 0) {
+            return ValidationUtils.requireValidDateFR(texte, colonne);
+        }
+        try {
+            return LocalDate.parse(texte);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Format de date invalide pour " + colonne + " : " + texte, e);
+        }
+    }
+
+    private static StatutReservation statut(String texte) {
+        for (StatutReservation statut : StatutReservation.values()) {
+            if (statut.name().equals(texte)) {
+                return statut;
+            }
+        }
+        return StatutReservation.depuisLibelle(texte);
+    }
+}
@@ -0,0 +1,174 @@
+package com.gestionhotel.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture en flux d'enregistrements plats en CSV ou en JSON Lines.
+ *
+ * Le texte est encodé en UTF-8 dans un tampon puis écrit dans un {@link FileChannel} :
+ * la mémoire utilisée ne dépend pas du nombre de lignes. Les valeurs acceptées sont
+ * null, String, Number, Boolean et int[] (liste d'identifiants, "1;2" en CSV).
+ */
+final class EcrivainEnregistrements implements Closeable {
+
+    static final int TAILLE_TAMPON = 1 << 16;
+
+    private final FormatEchange format;
+    private final String[] colonnes;
+    private final Writer sortie;
+    private final StringBuilder ligne = new StringBuilder(256);
+    private long nombre;
+
+    /**
+     * Crée (ou remplace) le fichier et écrit l'en-tête CSV s'il y a lieu.
+     *
+     * @param fichier  Le fichier de sortie
+     * @param format   Le format
+     * @param colonnes Les noms des colonnes, dans l'ordre des valeurs
+     */
+    EcrivainEnregistrements(File fichier, FormatEchange format, String... colonnes) throws IOException {
+        this.format = ValidationUtils.requireNonNull(format, "format");
+        this.colonnes = colonnes;
+        FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.sortie = new BufferedWriter(Channels.newWriter(canal, StandardCharsets.UTF_8.newEncoder(), TAILLE_TAMPON),
+                TAILLE_TAMPON);
+        if (format == FormatEchange.CSV) {
+            for (int i = 0; i < colonnes.length; i++) {
+                if (i > 0) {
+                    ligne.append(',');
+                }
+                ajouterCsv(colonnes[i]);
+            }
+            terminerLigne();
+        }
+    }
+
+    /**
+     * Écrit un enregistrement.
+     *
+     * @param valeurs Une valeur par colonne
+     */
+    void ecrire(Object... valeurs) throws IOException {
+        if (valeurs.length != colonnes.length) {
+            throw new IllegalArgumentException(colonnes.length + " valeurs attendues, " + valeurs.length + " reçues");
+        }
+        if (format == FormatEchange.CSV) {
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    ligne.append(',');
+                }
+                ajouterCsv(valeurs[i]);
+            }
+        } else {
+            ligne.append('{');
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    ligne.append(',');
+                }
+                ajouterChaineJson(colonnes[i]);
+                ligne.append(':');
+                ajouterJson(valeurs[i]);
+            }
+            ligne.append('}');
+        }
+        terminerLigne();
+        nombre++;
+    }
+
+    /**
+     * @return Le nombre d'enregistrements écrits (en-tête exclu)
+     */
+    long getNombre() {
+        return nombre;
+    }
+
+    private void terminerLigne() throws IOException {
+        ligne.append('\n');
+        sortie.append(ligne);
+        ligne.setLength(0);
+    }
+
+    // ===========================
+    // CSV
+    // ===========================
+
+    private void ajouterCsv(Object valeur) {
+        if (valeur == null) {
+            return;
+        }
+        if (valeur instanceof int[]) {
+            ajouterIds((int[]) valeur);
+            return;
+        }
+        String texte = valeur.toString();
+        boolean guillemets = false;
+        for (int i = 0; i < texte.length() && !guillemets; i++) {
+            char c = texte.charAt(i);
+            guillemets = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!guillemets) {
+            ligne.append(texte);
+            return;
+        }
+        ligne.append('"');
+        for (int i = 0; i < texte.length(); i++) {
+            char c = texte.charAt(i);
+            if (c == '"') {
+                ligne.append('"');
+            }
+            ligne.append(c);
+        }
+        ligne.append('"');
+    }
+
+    private void ajouterIds(int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                ligne.append(';');
+            }
+            ligne.append(ids[i]);
+        }
+    }
+
+    // ===========================
+    // JSON
+    // ===========================
+
+    private void ajouterJson(Object valeur) {
+        if (valeur == null) {
+            ligne.append("null");
+        } else if (valeur instanceof int[]) {
+            int[] ids = (int[]) valeur;
+            ligne.append('[');
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) {
+                    ligne.append(',');
+                }
+                ligne.append(ids[i]);
+            }
+            ligne.append(']');
+        } else if (valeur instanceof Number || valeur instanceof Boolean) {
+            ligne.append(valeur);
+        } else {
+            ajouterChaineJson(valeur.toString());
+        }
+    }
+
+    private void ajouterChaineJson(String texte) {
+        ObjetJson.ecrireChaine(ligne, texte);
+    }
+
+    @Override
+    public void close() throws IOException {
+        sortie.close();
+    }
+}
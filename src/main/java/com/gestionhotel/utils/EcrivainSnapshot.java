@@ -0,0 +1,159 @@
+package com.gestionhotel.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Écriture au fil de l'eau d'un snapshot binaire ({@link SnapshotBinaire}).
+ * Chaque section annonce son nombre d'éléments puis les reçoit un par un :
+ * rien n'est gardé en mémoire, ce qui permet d'écrire des volumes que l'on ne
+ * pourrait pas charger dans un Hotel.
+ * Les sections s'enchaînent dans l'ordre du format : chambres, clients, services, réservations
+ * puis archive (facultative : {@link #terminer()} l'écrit vide si elle n'a pas été ouverte).
+ */
+final class EcrivainSnapshot {
+
+    private static final int CHAMBRES = 0;
+    private static final int CLIENTS = 1;
+    private static final int SERVICES = 2;
+    private static final int RESERVATIONS = 3;
+    private static final int ARCHIVE = 4;
+    private static final int TERMINE = 5;
+
+    private final OutputStream flux;
+    private final CRC32 crc = new CRC32();
+    private final SortieBinaire sortie;
+    private int section = -1;
+    private int restants;
+
+    /**
+     * Écrit l'en-tête du snapshot.
+     *
+     * @param flux                  Le flux de destination (non fermé)
+     * @param dernierEnregistrement Numéro du dernier enregistrement de journal inclus (0 si aucun)
+     * @param marquesHautes         Marques hautes des identifiants de réservation, client et service
+     * @param nom                   Nom de l'hôtel
+     * @param adresse               Adresse de l'hôtel
+     */
+    EcrivainSnapshot(OutputStream flux, long dernierEnregistrement, int[] marquesHautes, String nom, String adresse)
+            throws IOException {
+        this.flux = flux;
+        this.sortie = new SortieBinaire(new CheckedOutputStream(flux, crc));
+        sortie.ecrireOctets(SnapshotBinaire.MAGIC);
+        sortie.ecrireVarint(SnapshotBinaire.VERSION);
+        sortie.ecrireVarlong(dernierEnregistrement);
+        for (int marque : marquesHautes) {
+            sortie.ecrireVarint(marque);
+        }
+        sortie.ecrireChaine(nom);
+        sortie.ecrireChaine(adresse);
+    }
+
+    private void ouvrir(int nouvelle, int nombre) throws IOException {
+        if (nouvelle != section + 1 || restants != 0) {
+            throw new IllegalStateException("Section du snapshot hors d'ordre ou incomplète");
+        }
+        section = nouvelle;
+        restants = nombre;
+        sortie.ecrireVarint(nombre);
+    }
+
+    private void compter(int attendue) {
+        if (section != attendue || restants == 0) {
+            throw new IllegalStateException("Élément en trop ou hors de sa section");
+        }
+        restants--;
+    }
+
+    void debuterChambres(int nombre) throws IOException {
+        ouvrir(CHAMBRES, nombre);
+    }
+
+    void chambre(Chambre chambre) throws IOException {
+        compter(CHAMBRES);
+        SnapshotBinaire.ecrireChambre(sortie, chambre, true);
+    }
+
+    void debuterClients(int nombre) throws IOException {
+        ouvrir(CLIENTS, nombre);
+    }
+
+    void client(Client client) throws IOException {
+        compter(CLIENTS);
+        sortie.ecrireVarint(client.getNumeroClient());
+        sortie.ecrireChaine(client.getNom());
+        sortie.ecrireChaine(client.getPrenom());
+        sortie.ecrireChaine(client.getEmail());
+        sortie.ecrireChaine(client.getTelephone());
+    }
+
+    void debuterServices(int nombre) throws IOException {
+        ouvrir(SERVICES, nombre);
+    }
+
+    void service(Service service) throws IOException {
+        compter(SERVICES);
+        sortie.ecrireVarint(service.getIdService());
+        sortie.ecrireChaine(service.getNom());
+        sortie.ecrireChaine(service.getDescription());
+        sortie.ecrireVarlong(service.getPrixCentimes());
+        sortie.ecrireBooleen(service.isDisponible());
+    }
+
+    void debuterReservations(int nombre) throws IOException {
+        ouvrir(RESERVATIONS, nombre);
+    }
+
+    void reservation(Reservation reservation) throws IOException {
+        compter(RESERVATIONS);
+        SnapshotBinaire.ecrireReservation(sortie, reservation);
+    }
+
+    void debuterArchive(int nombre) throws IOException {
+        ouvrir(ARCHIVE, nombre);
+    }
+
+    /**
+     * Écrit une ligne de l'archive en colonnes (sans date ni motif d'annulation).
+     */
+    void ligneArchive(int numero, int numeroChambre, int numeroClient, int jourDebut, int jourFin,
+            StatutReservation statut, int[] idsServices) throws IOException {
+        compter(ARCHIVE);
+        sortie.ecrireVarint(numero);
+        sortie.ecrireVarint(numeroChambre);
+        sortie.ecrireVarint(numeroClient);
+        sortie.ecrireVarintSigne(jourDebut);
+        sortie.ecrireVarintSigne(jourFin - jourDebut);
+        sortie.ecrireOctet(statut.ordinal());
+        sortie.ecrireVarint(idsServices.length);
+        for (int id : idsServices) {
+            sortie.ecrireVarint(id);
+        }
+    }
+
+    /**
+     * Écrit le CRC final ; toutes les sections doivent être complètes.
+     */
+    void terminer() throws IOException {
+        if (section == RESERVATIONS && restants == 0) {
+            debuterArchive(0);
+        }
+        if (section != ARCHIVE || restants != 0) {
+            throw new IllegalStateException("Snapshot incomplet");
+        }
+        section = TERMINE;
+        sortie.flush();
+
+        // Le CRC est écrit hors du flux contrôlé
+        SortieBinaire fin = new SortieBinaire(flux);
+        fin.ecrireEntier((int) crc.getValue());
+        fin.flush();
+    }
+}
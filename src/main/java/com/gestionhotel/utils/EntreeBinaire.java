@@ -0,0 +1,80 @@
+package com.gestionhotel.utils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture du format binaire écrit par {@link SortieBinaire}.
+ */
+public class EntreeBinaire {
+
+    private final DataInputStream entree;
+
+    /**
+     * @param entree Le flux source (idéalement bufferisé)
+     */
+    public EntreeBinaire(InputStream entree) {
+        this.entree = new DataInputStream(entree);
+    }
+
+    public int lireVarint() throws IOException {
+        int valeur = 0;
+        for (int decalage = 0; decalage < 32; decalage += 7) {
+            int octet = entree.readUnsignedByte();
+            valeur |= (octet & 0x7F) << decalage;
+            if ((octet & 0x80) == 0) {
+                return valeur;
+            }
+        }
+        throw new IOException("Varint trop long");
+    }
+
+    public long lireVarlong() throws IOException {
+        long valeur = 0;
+        for (int decalage = 0; decalage < 64; decalage += 7) {
+            int octet = entree.readUnsignedByte();
+            valeur |= (long) (octet & 0x7F) << decalage;
+            if ((octet & 0x80) == 0) {
+                return valeur;
+            }
+        }
+        throw new IOException("Varlong trop long");
+    }
+
+    public int lireVarintSigne() throws IOException {
+        int valeur = lireVarint();
+        return (valeur >>> 1) ^ -(valeur & 1);
+    }
+
+    public int lireOctet() throws IOException {
+        return entree.readUnsignedByte();
+    }
+
+    public boolean lireBooleen() throws IOException {
+        return entree.readBoolean();
+    }
+
+    public double lireDouble() throws IOException {
+        return entree.readDouble();
+    }
+
+    public int lireEntier() throws IOException {
+        return entree.readInt();
+    }
+
+    public void lireOctets(byte[] destination) throws IOException {
+        entree.readFully(destination);
+    }
+
+    public String lireChaine() throws IOException {
+        int longueur = lireVarint();
+        if (longueur == 0) {
+            return null;
+        }
+        byte[] octets = new byte[longueur - 1];
+        entree.readFully(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+}
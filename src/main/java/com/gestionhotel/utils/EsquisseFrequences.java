@@ -0,0 +1,134 @@
+package com.gestionhotel.utils;
+
+/**
+ * Esquisse Space-Saving : repère les identifiants les plus fréquents d'un flux
+ * avec une mémoire fixe de M compteurs, quel que soit le nombre d'identifiants distincts.
+ *
+ * Un identifiant suivi voit son compteur incrémenté ; un nouveau venu remplace le
+ * compteur le plus faible et en hérite la valeur (qui devient son erreur maximale).
+ * Le compte estimé majore donc le vrai compte d'au plus N / M pour un flux de N
+ * éléments, et tout identifiant plus fréquent que N / M est forcément suivi.
+ * Les compteurs forment un tas minimum indexé par identifiant.
+ */
+public class EsquisseFrequences {
+
+    private final int[] ids;
+    private final int[] comptes;
+    private final int[] erreurs;
+    private final TableEntiers positions;
+    private int taille;
+    private long total;
+
+    /**
+     * @param capacite Nombre M de compteurs (quelques fois le K du classement voulu)
+     */
+    public EsquisseFrequences(int capacite) {
+        ValidationUtils.requirePositive(capacite, "capacite");
+        this.ids = new int[capacite];
+        this.comptes = new int[capacite];
+        this.erreurs = new int[capacite];
+        this.positions = new TableEntiers(capacite);
+    }
+
+    /**
+     * Compte une occurrence de l'identifiant.
+     */
+    public void offrir(int id) {
+        total++;
+        int i = positions.get(id, -1);
+        if (i >= 0) {
+            comptes[i]++;
+            descendre(i);
+        } else if (taille < ids.length) {
+            ids[taille] = id;
+            comptes[taille] = 1;
+            erreurs[taille] = 0;
+            positions.put(id, taille);
+            monter(taille++);
+        } else {
+            // Le plus faible (racine) cède sa place
+            positions.supprimer(ids[0]);
+            erreurs[0] = comptes[0];
+            comptes[0]++;
+            ids[0] = id;
+            positions.put(id, 0);
+            descendre(0);
+        }
+    }
+
+    private void monter(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (comptes[parent] <= comptes[i]) {
+                return;
+            }
+            echanger(i, parent);
+            i = parent;
+        }
+    }
+
+    private void descendre(int i) {
+        while (true) {
+            int gauche = 2 * i + 1;
+            if (gauche >= taille) {
+                return;
+            }
+            int plusPetit = gauche + 1 < taille && comptes[gauche + 1] < comptes[gauche] ? gauche + 1 : gauche;
+            if (comptes[i] <= comptes[plusPetit]) {
+                return;
+            }
+            echanger(i, plusPetit);
+            i = plusPetit;
+        }
+    }
+
+    private void echanger(int i, int j) {
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        int compte = comptes[i];
+        comptes[i] = comptes[j];
+        comptes[j] = compte;
+        int erreur = erreurs[i];
+        erreurs[i] = erreurs[j];
+        erreurs[j] = erreur;
+        positions.put(ids[i], i);
+        positions.put(ids[j], j);
+    }
+
+    /**
+     * @return Le compte estimé (majorant) de l'identifiant, 0 s'il n'est pas suivi
+     */
+    public int getCompte(int id) {
+        int i = positions.get(id, -1);
+        return i >= 0 ? comptes[i] : 0;
+    }
+
+    /**
+     * @return L'écart maximal entre le compte estimé et le vrai compte de l'identifiant
+     */
+    public int getErreur(int id) {
+        int i = positions.get(id, -1);
+        return i >= 0 ? erreurs[i] : 0;
+    }
+
+    /**
+     * @return Le nombre d'éléments vus dans le flux
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param k Nombre d'identifiants voulus
+     * @return Les k identifiants de plus fort compte estimé, déjà triés
+     */
+    public TasBorne classer(int k) {
+        TasBorne tas = new TasBorne(k);
+        for (int i = 0; i < taille; i++) {
+            tas.offrir(ids[i], comptes[i]);
+        }
+        tas.trier();
+        return tas;
+    }
+}
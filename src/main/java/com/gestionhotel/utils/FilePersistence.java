@@ -2,11 +2,17 @@ package com.gestionhotel.utils;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.ReservationsColonnes;
 import com.gestionhotel.model.Chambre;
 import com.gestionhotel.model.ChambreSimple;
 import com.gestionhotel.model.ChambreDouble;
@@ -14,42 +20,222 @@ import com.gestionhotel.model.Suite;
 import com.gestionhotel.model.Client;
 import com.gestionhotel.model.Reservation;
 import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.exceptions.ValidationException;
 
 /**
  * Classe utilitaire pour la persistance des données de l'hôtel.
- * Permet de sauvegarder et charger les chambres, clients, réservations et services
- * depuis/vers des fichiers texte.
+ * Permet de sauvegarder et charger les chambres, clients, réservations et services.
+ * Le format principal est le snapshot binaire ({@link SnapshotBinaire}) complété par un
+ * journal ({@link Journal}) où chaque modification est écrite dès qu'elle a lieu ;
+ * les fichiers texte délimités par '|' restent disponibles en import/export.
+ * Chaque méthode existe pour le répertoire par défaut ({@code data/}) et pour un
+ * répertoire donné : plusieurs hôtels d'un même processus ont chacun le leur.
  * 
  * @author Dev 4 (Phase 3)
  */
 public class FilePersistence {
 
-    // Noms des fichiers de sauvegarde
-    private static final String FICHIER_CHAMBRES = "data/chambres.txt";
-    private static final String FICHIER_CLIENTS = "data/clients.txt";
-    private static final String FICHIER_RESERVATIONS = "data/reservations.txt";
-    private static final String FICHIER_SERVICES = "data/services.txt";
-    private static final String FICHIER_HOTEL = "data/hotel.txt";
+    // Noms des fichiers texte (repris par GenerateurDonnees pour écrire dans un autre répertoire)
+    static final String NOM_CHAMBRES = "chambres.txt";
+    static final String NOM_CLIENTS = "clients.txt";
+    static final String NOM_RESERVATIONS = "reservations.txt";
+    static final String NOM_SERVICES = "services.txt";
+    static final String NOM_HOTEL = "hotel.txt";
+
+    static final String NOM_SNAPSHOT = "hotel.snap";
+    static final String NOM_JOURNAL = "hotel.wal";
+
+    // Répertoire de l'hôtel unique de l'application (un répertoire par hôtel avec RegistreHotels)
+    public static final File REPERTOIRE_DEFAUT = new File("data");
+
+    /**
+     * Session d'un répertoire : journal ouvert (null tant que ouvrirJournal n'a pas été
+     * appelé) et dernier enregistrement du journal inclus dans les données chargées.
+     */
+    private static final class Session {
+        Journal journal;
+        long dernierEnregistrement;
+    }
+
+    // Une session par répertoire de sauvegarde (chemin absolu)
+    private static final Map<String, Session> sessions = new HashMap<>();
+
+    private static synchronized Session session(File repertoire) {
+        return sessions.computeIfAbsent(repertoire.getAbsolutePath(), k -> new Session());
+    }
 
     /**
-     * Sauvegarde toutes les données de l'hôtel dans des fichiers.
+     * Ouvre le journal de la session : les enregistrements postérieurs aux données
+     * chargées sont rejoués, puis chaque modification de l'hôtel y est écrite.
+     * Appelé par {@link #chargerHotel} ; à appeler directement pour un nouvel hôtel.
+     * 
+     * @param hotel L'hôtel à journaliser
+     * @return true si le journal est ouvert, false sinon
+     */
+    public static boolean ouvrirJournal(Hotel hotel) {
+        return ouvrirJournal(hotel, REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Ouvre le journal d'un hôtel sauvegardé dans le répertoire donné.
+     * 
+     * @param hotel      L'hôtel à journaliser
+     * @param repertoire Le répertoire de sauvegarde de l'hôtel
+     * @return true si le journal est ouvert, false sinon
+     */
+    public static boolean ouvrirJournal(Hotel hotel, File repertoire) {
+        Session session = session(repertoire);
+        synchronized (session) {
+            if (session.journal != null) {
+                return true;
+            }
+            try {
+                creerRepertoire(repertoire);
+                session.journal = Journal.ouvrir(hotel, new File(repertoire, NOM_SNAPSHOT),
+                        new File(repertoire, NOM_JOURNAL), session.dernierEnregistrement);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Erreur lors de l'ouverture du journal : " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Ferme le journal de la session (après {@link #sauvegarderHotel}).
+     */
+    public static void fermerJournal() {
+        fermerJournal(REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Ferme le journal du répertoire donné.
+     * 
+     * @param repertoire Le répertoire de sauvegarde de l'hôtel
+     */
+    public static void fermerJournal(File repertoire) {
+        Session session = session(repertoire);
+        synchronized (session) {
+            if (session.journal == null) {
+                return;
+            }
+            try {
+                session.journal.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fermeture du journal : " + e.getMessage());
+            }
+            session.journal = null;
+        }
+    }
+
+    private static void creerRepertoire(File repertoire) {
+        if (!repertoire.exists()) {
+            repertoire.mkdirs();
+        }
+    }
+
+    /**
+     * Sauvegarde toutes les données de l'hôtel dans le snapshot binaire.
+     * Si le journal est ouvert, c'est un checkpoint : le journal est vidé ensuite.
      * 
      * @param hotel L'hôtel à sauvegarder
      * @return true si la sauvegarde a réussi, false sinon
      */
     public static boolean sauvegarderHotel(Hotel hotel) {
-        try {
-            // Créer le répertoire data s'il n'existe pas
-            java.io.File dataDir = new java.io.File("data");
-            if (!dataDir.exists()) {
-                dataDir.mkdirs();
+        return sauvegarderHotel(hotel, REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Sauvegarde l'hôtel dans le répertoire donné (voir {@link #sauvegarderHotel(Hotel)}).
+     * 
+     * @param hotel      L'hôtel à sauvegarder
+     * @param repertoire Le répertoire de sauvegarde de l'hôtel
+     * @return true si la sauvegarde a réussi, false sinon
+     */
+    public static boolean sauvegarderHotel(Hotel hotel, File repertoire) {
+        Session session = session(repertoire);
+        synchronized (session) {
+            try {
+                creerRepertoire(repertoire);
+                if (session.journal != null) {
+                    session.journal.checkpoint();
+                } else {
+                    SnapshotBinaire.ecrire(hotel, new File(repertoire, NOM_SNAPSHOT), session.dernierEnregistrement);
+                }
+                return true;
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la sauvegarde : " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Charge toutes les données de l'hôtel : depuis le snapshot binaire s'il existe,
+     * sinon depuis les fichiers texte (migration des anciennes sauvegardes), puis
+     * rejoue le journal et le garde ouvert pour la session.
+     * 
+     * @param hotel L'hôtel à remplir avec les données chargées
+     * @return true si le chargement a réussi, false sinon
+     */
+    public static boolean chargerHotel(Hotel hotel) {
+        return chargerHotel(hotel, REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Charge l'hôtel sauvegardé dans le répertoire donné (voir {@link #chargerHotel(Hotel)}).
+     * 
+     * @param hotel      L'hôtel à remplir avec les données chargées
+     * @param repertoire Le répertoire de sauvegarde de l'hôtel
+     * @return true si le chargement a réussi, false sinon
+     */
+    public static boolean chargerHotel(Hotel hotel, File repertoire) {
+        Session session = session(repertoire);
+        synchronized (session) {
+            File snapshot = new File(repertoire, NOM_SNAPSHOT);
+            if (!snapshot.exists()) {
+                if (!importerTexte(hotel, repertoire)) {
+                    return false;
+                }
+            } else {
+                try {
+                    session.dernierEnregistrement = SnapshotBinaire.lire(hotel, snapshot);
+                } catch (IOException e) {
+                    System.err.println("Erreur lors du chargement : " + e.getMessage());
+                    return false;
+                }
             }
+            return ouvrirJournal(hotel, repertoire);
+        }
+    }
 
-            sauvegarderHotelInfo(hotel);
-            sauvegarderChambres(hotel.getChambres());
-            sauvegarderClients(hotel.getClients());
-            sauvegarderReservations(hotel.getReservations());
-            sauvegarderServices(hotel.getServicesDisponibles());
+    /**
+     * Exporte toutes les données de l'hôtel dans les fichiers texte délimités par '|'.
+     * 
+     * @param hotel L'hôtel à exporter
+     * @return true si l'export a réussi, false sinon
+     */
+    public static boolean exporterTexte(Hotel hotel) {
+        return exporterTexte(hotel, REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Exporte l'hôtel en fichiers texte dans le répertoire donné.
+     * 
+     * @param hotel      L'hôtel à exporter
+     * @param repertoire Le répertoire cible
+     * @return true si l'export a réussi, false sinon
+     */
+    public static boolean exporterTexte(Hotel hotel, File repertoire) {
+        try {
+            creerRepertoire(repertoire);
+
+            sauvegarderHotelInfo(hotel, repertoire);
+            sauvegarderChambres(hotel.getChambres(), repertoire);
+            sauvegarderClients(hotel.getClients(), repertoire);
+            sauvegarderReservations(hotel.getReservations(), hotel, repertoire);
+            sauvegarderServices(hotel.getServicesDisponibles(), repertoire);
 
             return true;
         } catch (IOException e) {
@@ -59,18 +245,29 @@ public class FilePersistence {
     }
 
     /**
-     * Charge toutes les données de l'hôtel depuis les fichiers.
+     * Importe toutes les données de l'hôtel depuis les fichiers texte.
      * 
      * @param hotel L'hôtel à remplir avec les données chargées
-     * @return true si le chargement a réussi, false sinon
+     * @return true si l'import a réussi, false sinon
      */
-    public static boolean chargerHotel(Hotel hotel) {
+    public static boolean importerTexte(Hotel hotel) {
+        return importerTexte(hotel, REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Importe l'hôtel depuis les fichiers texte du répertoire donné.
+     * 
+     * @param hotel      L'hôtel à remplir avec les données chargées
+     * @param repertoire Le répertoire source
+     * @return true si l'import a réussi, false sinon
+     */
+    public static boolean importerTexte(Hotel hotel, File repertoire) {
         try {
-            chargerHotelInfo(hotel);
-            chargerChambres(hotel);
-            chargerClients(hotel);
-            chargerServices(hotel);
-            chargerReservations(hotel);
+            chargerHotelInfo(hotel, repertoire);
+            chargerChambres(hotel, repertoire);
+            chargerClients(hotel, repertoire);
+            chargerServices(hotel, repertoire);
+            chargerReservations(hotel, repertoire);
 
             return true;
         } catch (IOException e) {
@@ -86,8 +283,8 @@ public class FilePersistence {
     /**
      * Sauvegarde les informations de l'hôtel (nom, adresse).
      */
-    private static void sauvegarderHotelInfo(Hotel hotel) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FICHIER_HOTEL))) {
+    private static void sauvegarderHotelInfo(Hotel hotel, File repertoire) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(repertoire, NOM_HOTEL)))) {
             writer.write(hotel.getNom());
             writer.newLine();
             writer.write(hotel.getAdresse());
@@ -98,95 +295,139 @@ public class FilePersistence {
     /**
      * Sauvegarde les chambres dans un fichier.
      */
-    private static void sauvegarderChambres(ArrayList<Chambre> chambres) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FICHIER_CHAMBRES))) {
+    private static void sauvegarderChambres(Collection<Chambre> chambres, File repertoire) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(repertoire, NOM_CHAMBRES)))) {
             for (Chambre chambre : chambres) {
-                String type = chambre.getType();
-                writer.write(type + "|" + chambre.getNumero() + "|" + 
-                    chambre.getPrixParNuit() + "|" + chambre.getCapacite() + "|" + 
-                    chambre.isOccupee());
-                
-                // Ajouter des informations spécifiques selon le type
-                if (chambre instanceof ChambreDouble) {
-                    ChambreDouble chambreDouble = (ChambreDouble) chambre;
-                    writer.write("|" + chambreDouble.isLitsJumeaux());
-                } else if (chambre instanceof Suite) {
-                    Suite suite = (Suite) chambre;
-                    writer.write("|" + suite.hasBalcon() + "|" + suite.hasJacuzzi());
-                }
-                
-                writer.newLine();
+                ecrireLigneChambre(writer, chambre);
             }
         }
     }
 
+    /**
+     * Écrit une chambre sur une ligne du fichier des chambres.
+     */
+    static void ecrireLigneChambre(BufferedWriter writer, Chambre chambre) throws IOException {
+        String type = chambre.getType();
+        writer.write(type + "|" + chambre.getNumero() + "|" + 
+            chambre.getPrixParNuit() + "|" + chambre.getCapacite() + "|" + 
+            chambre.isOccupee());
+        
+        // Ajouter des informations spécifiques selon le type
+        if (chambre instanceof ChambreDouble) {
+            ChambreDouble chambreDouble = (ChambreDouble) chambre;
+            writer.write("|" + chambreDouble.isLitsJumeaux());
+        } else if (chambre instanceof Suite) {
+            Suite suite = (Suite) chambre;
+            writer.write("|" + suite.hasBalcon() + "|" + suite.hasJacuzzi());
+        }
+        
+        writer.newLine();
+    }
+
     /**
      * Sauvegarde les clients dans un fichier.
      */
-    private static void sauvegarderClients(ArrayList<Client> clients) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FICHIER_CLIENTS))) {
+    private static void sauvegarderClients(Collection<Client> clients, File repertoire) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(repertoire, NOM_CLIENTS)))) {
             for (Client client : clients) {
-                writer.write(client.getNumeroClient() + "|" + 
-                    client.getNom() + "|" + 
-                    client.getPrenom() + "|" + 
-                    client.getEmail() + "|" + 
-                    client.getTelephone());
-                writer.newLine();
+                ecrireLigneClient(writer, client);
             }
         }
     }
 
+    /**
+     * Écrit un client sur une ligne du fichier des clients.
+     */
+    static void ecrireLigneClient(BufferedWriter writer, Client client) throws IOException {
+        writer.write(client.getNumeroClient() + "|" + 
+            client.getNom() + "|" + 
+            client.getPrenom() + "|" + 
+            client.getEmail() + "|" + 
+            client.getTelephone());
+        writer.newLine();
+    }
+
     /**
      * Sauvegarde les réservations dans un fichier.
      */
-    private static void sauvegarderReservations(ArrayList<Reservation> reservations) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FICHIER_RESERVATIONS))) {
+    private static void sauvegarderReservations(Collection<Reservation> reservations, Hotel hotel, File repertoire)
+            throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(repertoire, NOM_RESERVATIONS)))) {
             for (Reservation reservation : reservations) {
-                writer.write(reservation.getNumeroReservation() + "|" + 
-                    reservation.getClient().getNumeroClient() + "|" + 
-                    reservation.getChambre().getNumero() + "|" + 
-                    reservation.getDateDebut() + "|" + 
-                    reservation.getDateFin() + "|" + 
-                    reservation.getStatut());
-                
-                // Ajouter la date d'annulation et la raison si applicable
-                if (reservation.getDateAnnulation() != null) {
-                    writer.write("|" + reservation.getDateAnnulation() + "|" + 
-                        (reservation.getRaison() != null ? reservation.getRaison() : ""));
+                ecrireLigneReservation(writer, reservation);
+            }
+            // L'historique archivé est recréé ligne par ligne (sans date ni motif d'annulation)
+            ReservationsColonnes archive = hotel.getArchive();
+            for (int ligne = 0, n = archive.getTaille(); ligne < n; ligne++) {
+                Reservation reservation = archive.materialiser(ligne, hotel);
+                if (reservation != null) {
+                    ecrireLigneReservation(writer, reservation);
                 }
-                
-                // Ajouter les IDs des services
-                if (!reservation.getServices().isEmpty()) {
-                    writer.write("|SERVICES:");
-                    for (int i = 0; i < reservation.getServices().size(); i++) {
-                        writer.write(reservation.getServices().get(i).getIdService() + "");
-                        if (i < reservation.getServices().size() - 1) {
-                            writer.write(",");
-                        }
-                    }
+            }
+            ArchiveMappee fichier = hotel.getArchiveFichier();
+            for (int ligne = 0, n = fichier != null ? fichier.getTaille() : 0; ligne < n; ligne++) {
+                Reservation reservation = fichier.materialiser(ligne, hotel);
+                if (reservation != null) {
+                    ecrireLigneReservation(writer, reservation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Écrit une réservation sur une ligne du fichier des réservations.
+     */
+    static void ecrireLigneReservation(BufferedWriter writer, Reservation reservation) throws IOException {
+        writer.write(reservation.getNumeroReservation() + "|" + 
+            reservation.getClient().getNumeroClient() + "|" + 
+            reservation.getChambre().getNumero() + "|" + 
+            reservation.getDateDebut() + "|" + 
+            reservation.getDateFin() + "|" + 
+            reservation.getStatut());
+        
+        // Ajouter la date d'annulation et la raison si applicable
+        if (reservation.getDateAnnulation() != null) {
+            writer.write("|" + reservation.getDateAnnulation() + "|" + 
+                (reservation.getRaison() != null ? reservation.getRaison() : ""));
+        }
+        
+        // Ajouter les IDs des services
+        if (!reservation.getServices().isEmpty()) {
+            writer.write("|SERVICES:");
+            for (int i = 0; i < reservation.getServices().size(); i++) {
+                writer.write(reservation.getServices().get(i).getIdService() + "");
+                if (i < reservation.getServices().size() - 1) {
+                    writer.write(",");
                 }
-                
-                writer.newLine();
             }
         }
+        
+        writer.newLine();
     }
 
     /**
      * Sauvegarde les services dans un fichier.
      */
-    private static void sauvegarderServices(ArrayList<Service> services) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FICHIER_SERVICES))) {
+    private static void sauvegarderServices(Collection<Service> services, File repertoire) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(repertoire, NOM_SERVICES)))) {
             for (Service service : services) {
-                writer.write(service.getIdService() + "|" + 
-                    service.getNom() + "|" + 
-                    service.getDescription() + "|" + 
-                    service.getPrix() + "|" + 
-                    service.isDisponible());
-                writer.newLine();
+                ecrireLigneService(writer, service);
             }
         }
     }
 
+    /**
+     * Écrit un service sur une ligne du fichier des services.
+     */
+    static void ecrireLigneService(BufferedWriter writer, Service service) throws IOException {
+        writer.write(service.getIdService() + "|" + 
+            service.getNom() + "|" + 
+            service.getDescription() + "|" + 
+            service.getPrix() + "|" + 
+            service.isDisponible());
+        writer.newLine();
+    }
+
     // ===========================
     // MÉTHODES DE CHARGEMENT
     // ===========================
@@ -194,13 +435,13 @@ public class FilePersistence {
     /**
      * Charge les informations de l'hôtel (nom, adresse).
      */
-    private static void chargerHotelInfo(Hotel hotel) throws IOException {
-        java.io.File fichier = new java.io.File(FICHIER_HOTEL);
+    private static void chargerHotelInfo(Hotel hotel, File repertoire) throws IOException {
+        File fichier = new File(repertoire, NOM_HOTEL);
         if (!fichier.exists()) {
             return; // Pas de fichier, on garde les valeurs par défaut
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FICHIER_HOTEL))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
             String nom = reader.readLine();
             String adresse = reader.readLine();
             
@@ -216,13 +457,13 @@ public class FilePersistence {
     /**
      * Charge les chambres depuis un fichier.
      */
-    private static void chargerChambres(Hotel hotel) throws IOException {
-        java.io.File fichier = new java.io.File(FICHIER_CHAMBRES);
+    private static void chargerChambres(Hotel hotel, File repertoire) throws IOException {
+        File fichier = new File(repertoire, NOM_CHAMBRES);
         if (!fichier.exists()) {
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FICHIER_CHAMBRES))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
             String ligne;
             while ((ligne = reader.readLine()) != null) {
                 String[] parts = ligne.split("\\|");
@@ -243,7 +484,7 @@ public class FilePersistence {
                 } else if (type.equals("Suite")) {
                     boolean balcon = parts.length > 5 ? Boolean.parseBoolean(parts[5]) : false;
                     boolean jacuzzi = parts.length > 6 ? Boolean.parseBoolean(parts[6]) : false;
-                    chambre = new Suite(numero, balcon, jacuzzi);
+                    chambre = new Suite(numero, jacuzzi, balcon);
                 }
 
                 if (chambre != null) {
@@ -258,24 +499,30 @@ public class FilePersistence {
     /**
      * Charge les clients depuis un fichier.
      */
-    private static void chargerClients(Hotel hotel) throws IOException {
-        java.io.File fichier = new java.io.File(FICHIER_CLIENTS);
+    private static void chargerClients(Hotel hotel, File repertoire) throws IOException {
+        File fichier = new File(repertoire, NOM_CLIENTS);
         if (!fichier.exists()) {
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FICHIER_CLIENTS))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
             String ligne;
             while ((ligne = reader.readLine()) != null) {
                 String[] parts = ligne.split("\\|");
                 if (parts.length < 5) continue;
 
+                int numero;
+                try {
+                    numero = Integer.parseInt(parts[0]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
                 String nom = parts[1];
                 String prenom = parts[2];
                 String email = parts[3];
                 String telephone = parts[4];
 
-                Client client = new Client(nom, prenom, email, telephone);
+                Client client = new Client(numero, nom, prenom, email, telephone);
                 hotel.ajouterClient(client);
             }
         }
@@ -284,24 +531,25 @@ public class FilePersistence {
     /**
      * Charge les services depuis un fichier.
      */
-    private static void chargerServices(Hotel hotel) throws IOException {
-        java.io.File fichier = new java.io.File(FICHIER_SERVICES);
+    private static void chargerServices(Hotel hotel, File repertoire) throws IOException {
+        File fichier = new File(repertoire, NOM_SERVICES);
         if (!fichier.exists()) {
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FICHIER_SERVICES))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
             String ligne;
             while ((ligne = reader.readLine()) != null) {
                 String[] parts = ligne.split("\\|");
                 if (parts.length < 5) continue;
 
+                int id = Integer.parseInt(parts[0]);
                 String nom = parts[1];
                 String description = parts[2];
                 double prix = Double.parseDouble(parts[3]);
                 boolean disponible = Boolean.parseBoolean(parts[4]);
 
-                Service service = new Service(nom, description, prix);
+                Service service = new Service(id, nom, description, prix);
                 service.setDisponible(disponible);
                 hotel.ajouterService(service);
             }
@@ -310,25 +558,49 @@ public class FilePersistence {
 
     /**
      * Charge les réservations depuis un fichier.
+     * Les réservations sont restaurées en bloc avec leur numéro, leur statut et leurs
+     * informations d'annulation d'origine (voir {@link Hotel#restaurerReservations}).
      * Note: Cette méthode doit être appelée après le chargement des chambres, clients et services.
      */
-    private static void chargerReservations(Hotel hotel) throws IOException {
-        java.io.File fichier = new java.io.File(FICHIER_RESERVATIONS);
+    private static void chargerReservations(Hotel hotel, File repertoire) throws IOException {
+        File fichier = new File(repertoire, NOM_RESERVATIONS);
         if (!fichier.exists()) {
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FICHIER_RESERVATIONS))) {
+        ArrayList<Reservation> lot = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
             String ligne;
             while ((ligne = reader.readLine()) != null) {
                 String[] parts = ligne.split("\\|");
                 if (parts.length < 6) continue;
 
-                int numeroClient = Integer.parseInt(parts[1]);
-                int numeroChambre = Integer.parseInt(parts[2]);
-                String dateDebut = parts[3];
-                String dateFin = parts[4];
-                String statut = parts[5];
+                StatutReservation statut;
+                int numeroReservation;
+                int numeroClient;
+                int numeroChambre;
+                LocalDate debut;
+                LocalDate fin;
+                boolean annulation = parts.length > 6 && !parts[6].isEmpty() && !parts[6].startsWith("SERVICES");
+                try {
+                    numeroReservation = Integer.parseInt(parts[0]);
+                    numeroClient = Integer.parseInt(parts[1]);
+                    numeroChambre = Integer.parseInt(parts[2]);
+                    debut = DateUtils.parserDateFR(parts[3]);
+                    fin = DateUtils.parserDateFR(parts[4]);
+                    statut = StatutReservation.depuisLibelle(parts[5]);
+                    if (annulation) {
+                        DateUtils.parserDateFR(parts[6]);
+                    }
+                } catch (IllegalArgumentException | ValidationException e) {
+                    continue; // Ignorer les lignes corrompues
+                }
+                // Une date d'annulation n'est posée que par le passage à ANNULEE, état final :
+                // portée par un autre statut, la ligne est incohérente. (Une annulée archivée
+                // peut l'avoir perdue : l'inverse n'est pas exigé.)
+                if (annulation && statut != StatutReservation.ANNULEE) {
+                    continue;
+                }
 
                 Client client = hotel.rechercherClient(numeroClient);
                 Chambre chambre = hotel.rechercherChambre(numeroChambre);
@@ -337,42 +609,38 @@ public class FilePersistence {
                     continue; // Ignorer si client ou chambre non trouvés
                 }
 
-                Reservation reservation = hotel.creerReservation(client, chambre, dateDebut, dateFin);
-                if (reservation != null) {
-                    reservation.setStatut(statut);
+                Reservation reservation = new Reservation(numeroReservation, client, chambre, debut, fin, statut);
 
-                    // Charger date d'annulation et raison si présentes
-                    if (parts.length > 6 && !parts[6].isEmpty() && !parts[6].startsWith("SERVICES")) {
-                        reservation.setDateAnnulation(parts[6]);
-                        if (parts.length > 7 && !parts[7].startsWith("SERVICES")) {
-                            reservation.setRaison(parts[7]);
-                        }
+                // Charger date d'annulation et raison si présentes
+                if (parts.length > 6 && !parts[6].isEmpty() && !parts[6].startsWith("SERVICES")) {
+                    reservation.setDateAnnulation(parts[6]);
+                    if (parts.length > 7 && !parts[7].startsWith("SERVICES")) {
+                        reservation.setRaison(parts[7]);
                     }
+                }
 
-                    // Charger les services associés
-                    for (int i = 6; i < parts.length; i++) {
-                        if (parts[i].startsWith("SERVICES:")) {
-                            String servicesStr = parts[i].substring(9); // Enlever "SERVICES:"
-                            String[] serviceIds = servicesStr.split(",");
-                            for (String serviceIdStr : serviceIds) {
-                                try {
-                                    int serviceId = Integer.parseInt(serviceIdStr);
-                                    for (Service service : hotel.getServicesDisponibles()) {
-                                        if (service.getIdService() == serviceId) {
-                                            reservation.ajouterService(service);
-                                            break;
-                                        }
-                                    }
-                                } catch (NumberFormatException e) {
-                                    // Ignorer les IDs invalides
+                // Charger les services associés (même s'ils ont été désactivés depuis)
+                for (int i = 6; i < parts.length; i++) {
+                    if (parts[i].startsWith("SERVICES:")) {
+                        String servicesStr = parts[i].substring(9); // Enlever "SERVICES:"
+                        String[] serviceIds = servicesStr.split(",");
+                        for (String serviceIdStr : serviceIds) {
+                            try {
+                                Service service = hotel.rechercherService(Integer.parseInt(serviceIdStr));
+                                if (service != null) {
+                                    reservation.getServices().add(service);
                                 }
+                            } catch (NumberFormatException e) {
+                                // Ignorer les IDs invalides
                             }
-                            break;
                         }
+                        break;
                     }
                 }
+                lot.add(reservation);
             }
         }
+        hotel.restaurerReservations(lot);
     }
 
     /**
@@ -381,10 +649,22 @@ public class FilePersistence {
      * @return true si au moins un fichier existe, false sinon
      */
     public static boolean fichiersExistent() {
-        return new java.io.File(FICHIER_CHAMBRES).exists() ||
-               new java.io.File(FICHIER_CLIENTS).exists() ||
-               new java.io.File(FICHIER_RESERVATIONS).exists() ||
-               new java.io.File(FICHIER_SERVICES).exists() ||
-               new java.io.File(FICHIER_HOTEL).exists();
+        return fichiersExistent(REPERTOIRE_DEFAUT);
+    }
+
+    /**
+     * Vérifie si des fichiers de sauvegarde existent dans le répertoire donné.
+     * 
+     * @param repertoire Le répertoire de sauvegarde d'un hôtel
+     * @return true si au moins un fichier existe, false sinon
+     */
+    public static boolean fichiersExistent(File repertoire) {
+        for (String nom : new String[] { NOM_SNAPSHOT, NOM_JOURNAL, NOM_CHAMBRES, NOM_CLIENTS,
+                NOM_RESERVATIONS, NOM_SERVICES, NOM_HOTEL }) {
+            if (new File(repertoire, nom).exists()) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,89 @@
+package com.gestionhotel.utils;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Locale;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Critères d'un export : statuts, période et type de chambre.
+ * Un critère non renseigné laisse tout passer ; les critères se cumulent.
+ */
+public class FiltreExport {
+
+    private EnumSet<StatutReservation> statuts; // null = tous les statuts
+    private long jourDebut = Long.MIN_VALUE;
+    private long jourFin = Long.MAX_VALUE;
+    private String typeChambre; // En minuscules, null = tous les types
+
+    /**
+     * Ne garde que les réservations ayant l'un des statuts donnés.
+     *
+     * @param statuts Les statuts acceptés (aucun = tous)
+     */
+    public void setStatuts(StatutReservation... statuts) {
+        this.statuts = statuts.length == 0 ? null : EnumSet.noneOf(StatutReservation.class);
+        for (StatutReservation statut : statuts) {
+            this.statuts.add(ValidationUtils.requireNonNull(statut, "statut"));
+        }
+    }
+
+    /**
+     * Ne garde que les séjours qui chevauchent la période [debut, fin).
+     *
+     * @param debut Premier jour de la période
+     * @param fin   Lendemain du dernier jour de la période
+     */
+    public void setPeriode(LocalDate debut, LocalDate fin) {
+        ValidationUtils.requireDateRange(debut, fin, "debut", "fin");
+        this.jourDebut = debut.toEpochDay();
+        this.jourFin = fin.toEpochDay();
+    }
+
+    /**
+     * Ne garde que les chambres (et leurs réservations) d'un type donné.
+     *
+     * @param type "Simple", "Double" ou "Suite" (casse indifférente), ou null pour tous
+     */
+    public void setTypeChambre(String type) {
+        this.typeChambre = type == null ? null : type.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param chambre Une chambre
+     * @return true si la chambre passe le filtre de type
+     */
+    public boolean accepte(Chambre chambre) {
+        return typeChambre == null || (chambre != null && typeChambre.equals(chambre.getType().toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * @param reservation Une réservation
+     * @return true si la réservation passe tous les critères
+     */
+    public boolean accepte(Reservation reservation) {
+        return accepte(reservation.getStatut(), reservation.getDebut().toEpochDay(),
+                reservation.getFin().toEpochDay(), reservation.getChambre());
+    }
+
+    /**
+     * Variante sur les champs bruts, pour les lignes archivées.
+     *
+     * @param statut     Le statut
+     * @param jourDebut  Jour d'arrivée (depuis l'epoch)
+     * @param jourFin    Jour de départ (depuis l'epoch)
+     * @param chambre    La chambre, ou null si elle n'existe plus
+     * @return true si la ligne passe tous les critères
+     */
+    public boolean accepte(StatutReservation statut, long jourDebut, long jourFin, Chambre chambre) {
+        if (statuts != null && !statuts.contains(statut)) {
+            return false;
+        }
+        if (jourFin <= this.jourDebut || jourDebut >= this.jourFin) {
+            return false;
+        }
+        return accepte(chambre);
+    }
+}
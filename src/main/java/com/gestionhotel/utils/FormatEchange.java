@@ -0,0 +1,33 @@
+package com.gestionhotel.utils;
+
+import java.util.Locale;
+
+/**
+ * Formats d'échange des exports et imports en flux ({@link EchangeDonnees}).
+ */
+public enum FormatEchange {
+
+    /** CSV (RFC 4180) : ligne d'en-tête, séparateur virgule, champs entre guillemets si besoin. */
+    CSV,
+
+    /** JSON Lines : un objet JSON plat par ligne. */
+    JSONL;
+
+    /**
+     * Déduit le format de l'extension d'un nom de fichier (.csv, .jsonl ou .json).
+     *
+     * @param nom Le nom du fichier
+     * @return Le format correspondant
+     * @throws IllegalArgumentException Si l'extension n'est pas reconnue
+     */
+    public static FormatEchange depuisNomFichier(String nom) {
+        String minuscule = nom.toLowerCase(Locale.ROOT);
+        if (minuscule.endsWith(".csv")) {
+            return CSV;
+        }
+        if (minuscule.endsWith(".jsonl") || minuscule.endsWith(".json")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Format d'échange inconnu : " + nom);
+    }
+}
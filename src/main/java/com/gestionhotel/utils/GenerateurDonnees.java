@@ -0,0 +1,714 @@
+package com.gestionhotel.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.exceptions.ValidationException;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Générateur déterministe de jeux de données pour les tests de charge et les benchmarks.
+ *
+ * À graine et configuration égales, le contenu généré est identique octet pour octet,
+ * quelle que soit la destination. Les éléments sont produits un par un et envoyés à une
+ * {@link Destination} : un Hotel en mémoire, un snapshot binaire ou les fichiers texte,
+ * sans jamais garder les réservations en mémoire pour les destinations fichier.
+ *
+ * Chaque chambre reçoit une suite de séjours sans chevauchement sur l'historique demandé
+ * (et au-delà si la densité l'exige). L'écart entre deux séjours dépend de la demande du
+ * mois : les séjours se resserrent et s'allongent en haute saison. Les identifiants sont
+ * attribués de 1 à N : la destination Hotel doit être vierge.
+ */
+public class GenerateurDonnees {
+
+    /** Demande relative par mois (janvier à décembre), 1.0 = moyenne. */
+    private static final double[] DEMANDE_MENSUELLE = {
+            0.65, 0.75, 0.85, 0.95, 1.05, 1.25, 1.55, 1.60, 1.10, 0.90, 0.70, 1.00 };
+
+    private static final String[] NOMS = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier" };
+    private static final String[] PRENOMS = {
+            "Jean", "Marie", "Pierre", "Sophie", "Louis", "Camille", "Paul", "Julie", "Hugo", "Emma",
+            "Lucas", "Chloe", "Thomas", "Lea", "Nicolas", "Manon", "Antoine", "Sarah", "Julien", "Laura" };
+    private static final String[] SERVICES = {
+            "Petit-déjeuner", "Spa", "Parking", "Blanchisserie", "Navette aéroport", "Minibar",
+            "Room service", "Salle de sport", "Location de vélo", "Late check-out", "Pressing", "Conciergerie" };
+    private static final String[] RAISONS = {
+            "Changement de programme", "Raison médicale", "Vol annulé", "Raison professionnelle", "Non spécifiée" };
+
+    private long graine = 42L;
+    private int nombreChambresSimples = 60;
+    private int nombreChambresDoubles = 30;
+    private int nombreSuites = 10;
+    private int nombreClients = 500;
+    private int nombreServices = 8;
+    private int nombreReservations = 5000;
+    private int nombreAnnees = 3;
+    private double tauxAnnulation = 0.08;
+    private double dureeMoyenneSejour = 3.0;
+    private LocalDate dateReference = LocalDate.now();
+    private String nomHotel = "Hôtel Généré";
+    private String adresseHotel = "1 place de la Génération, Paris";
+
+    /**
+     * Constructeur avec la configuration par défaut (100 chambres, 500 clients,
+     * 8 services, 5000 réservations sur 3 ans, graine 42).
+     */
+    public GenerateurDonnees() {
+    }
+
+    /**
+     * @param graine Graine du tirage pseudo-aléatoire
+     */
+    public GenerateurDonnees(long graine) {
+        this.graine = graine;
+    }
+
+    // ===========================
+    // CONFIGURATION
+    // ===========================
+
+    public long getGraine() {
+        return graine;
+    }
+
+    public void setGraine(long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * @param simples Nombre de chambres simples
+     * @param doubles Nombre de chambres doubles
+     * @param suites  Nombre de suites
+     */
+    public void setNombreChambres(int simples, int doubles, int suites) {
+        verifierPositif(simples, "simples");
+        verifierPositif(doubles, "doubles");
+        verifierPositif(suites, "suites");
+        this.nombreChambresSimples = simples;
+        this.nombreChambresDoubles = doubles;
+        this.nombreSuites = suites;
+    }
+
+    public int getNombreChambres() {
+        return nombreChambresSimples + nombreChambresDoubles + nombreSuites;
+    }
+
+    public void setNombreClients(int nombreClients) {
+        verifierPositif(nombreClients, "nombreClients");
+        this.nombreClients = nombreClients;
+    }
+
+    public int getNombreClients() {
+        return nombreClients;
+    }
+
+    public void setNombreServices(int nombreServices) {
+        verifierPositif(nombreServices, "nombreServices");
+        this.nombreServices = nombreServices;
+    }
+
+    public int getNombreServices() {
+        return nombreServices;
+    }
+
+    public void setNombreReservations(int nombreReservations) {
+        verifierPositif(nombreReservations, "nombreReservations");
+        this.nombreReservations = nombreReservations;
+    }
+
+    public int getNombreReservations() {
+        return nombreReservations;
+    }
+
+    /**
+     * @param nombreAnnees Profondeur de l'historique, en années avant la date de référence
+     */
+    public void setNombreAnnees(int nombreAnnees) {
+        ValidationUtils.requirePositive(nombreAnnees, "nombreAnnees");
+        this.nombreAnnees = nombreAnnees;
+    }
+
+    /**
+     * @param tauxAnnulation Part des réservations annulées, entre 0 et 1
+     */
+    public void setTauxAnnulation(double tauxAnnulation) {
+        ValidationUtils.requireInRange(tauxAnnulation, 0.0, 1.0, "tauxAnnulation");
+        this.tauxAnnulation = tauxAnnulation;
+    }
+
+    /**
+     * @param dureeMoyenneSejour Nombre moyen de nuits par séjour (au moins 1)
+     */
+    public void setDureeMoyenneSejour(double dureeMoyenneSejour) {
+        ValidationUtils.requireInRange(dureeMoyenneSejour, 1.0, 365.0, "dureeMoyenneSejour");
+        this.dureeMoyenneSejour = dureeMoyenneSejour;
+    }
+
+    /**
+     * @param dateReference Date « aujourd'hui » du jeu : fin de l'historique et frontière
+     *                      entre séjours terminés et séjours à venir
+     */
+    public void setDateReference(LocalDate dateReference) {
+        ValidationUtils.requireNonNullDate(dateReference, "dateReference");
+        this.dateReference = dateReference;
+    }
+
+    public void setHotel(String nom, String adresse) {
+        this.nomHotel = nom;
+        this.adresseHotel = adresse;
+    }
+
+    private static void verifierPositif(int valeur, String champ) {
+        ValidationUtils.requireInRange(valeur, 0, Integer.MAX_VALUE, champ);
+    }
+
+    // ===========================
+    // GÉNÉRATION
+    // ===========================
+
+    /**
+     * Remplit un hôtel vierge en mémoire ; les réservations sont restaurées en un lot.
+     *
+     * @param hotel L'hôtel à remplir (sans chambres, clients ni journal ouvert)
+     */
+    public void genererHotel(Hotel hotel) {
+        try {
+            generer(versHotel(hotel));
+        } catch (IOException e) {
+            // La destination Hotel n'écrit rien sur disque
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Écrit directement un snapshot binaire, chargeable par {@link SnapshotBinaire#lire}.
+     *
+     * @param fichier Le fichier snapshot (remplacé atomiquement)
+     */
+    public void genererSnapshot(File fichier) throws IOException {
+        generer(versSnapshot(fichier));
+    }
+
+    /**
+     * Écrit les fichiers texte délimités par '|' dans un répertoire, au format de
+     * {@link FilePersistence#importerTexte}.
+     *
+     * @param repertoire Le répertoire de destination (créé si besoin)
+     */
+    public void genererTexte(File repertoire) throws IOException {
+        generer(versTexte(repertoire));
+    }
+
+    /**
+     * Génère le jeu complet vers une destination, dans l'ordre chambres, clients,
+     * services puis réservations. La destination est fermée à la fin, même en cas d'erreur.
+     *
+     * @param destination La destination des éléments générés
+     */
+    public void generer(Destination destination) throws IOException {
+        int nombreChambres = getNombreChambres();
+        if (nombreReservations > 0 && (nombreChambres == 0 || nombreClients == 0)) {
+            throw new ValidationException("Des chambres et des clients sont nécessaires pour générer des réservations");
+        }
+        SplittableRandom aleatoire = new SplittableRandom(graine);
+        try (Destination sortie = destination) {
+            sortie.debuter(nomHotel, adresseHotel, nombreChambres, nombreClients, nombreServices, nombreReservations);
+
+            Chambre[] chambres = genererChambres(aleatoire);
+            for (Chambre chambre : chambres) {
+                sortie.chambre(chambre);
+            }
+
+            Client[] clients = new Client[nombreClients];
+            for (int i = 0; i < nombreClients; i++) {
+                clients[i] = genererClient(i);
+                sortie.client(clients[i]);
+            }
+
+            Service[] services = new Service[nombreServices];
+            for (int i = 0; i < nombreServices; i++) {
+                services[i] = genererService(i, aleatoire);
+                sortie.service(services[i]);
+            }
+
+            genererReservations(aleatoire, chambres, clients, services, sortie);
+            sortie.terminer();
+        }
+    }
+
+    /**
+     * Types tirés dans les proportions demandées puis mélangés ; les numéros suivent
+     * les étages (101, 102, ..., 201, ...).
+     */
+    private Chambre[] genererChambres(SplittableRandom aleatoire) {
+        int total = getNombreChambres();
+        int[] types = new int[total];
+        for (int i = nombreChambresSimples; i < total; i++) {
+            types[i] = i < nombreChambresSimples + nombreChambresDoubles ? 1 : 2;
+        }
+        for (int i = total - 1; i > 0; i--) {
+            int j = aleatoire.nextInt(i + 1);
+            int echange = types[i];
+            types[i] = types[j];
+            types[j] = echange;
+        }
+
+        Chambre[] chambres = new Chambre[total];
+        for (int i = 0; i < total; i++) {
+            int numero = 100 * (1 + i / 99) + 1 + i % 99;
+            Chambre chambre;
+            if (types[i] == 0) {
+                chambre = new ChambreSimple(numero);
+            } else if (types[i] == 1) {
+                chambre = new ChambreDouble(numero, aleatoire.nextBoolean());
+            } else {
+                chambre = new Suite(numero, aleatoire.nextBoolean(), aleatoire.nextBoolean());
+            }
+            // Variation de prix par palier de 5 € autour du tarif de base
+            chambre.setPrixParNuit(chambre.getPrixParNuit() + 5 * (aleatoire.nextInt(7) - 2));
+            chambres[i] = chambre;
+        }
+        return chambres;
+    }
+
+    private Client genererClient(int indice) {
+        String nom = NOMS[indice % NOMS.length];
+        String prenom = PRENOMS[(indice / NOMS.length) % PRENOMS.length];
+        String email = prenom.toLowerCase() + "." + nom.toLowerCase() + "." + indice + "@exemple.fr";
+        return new Client(indice + 1, nom, prenom, email, String.format("06%08d", indice));
+    }
+
+    private Service genererService(int indice, SplittableRandom aleatoire) {
+        String nom = SERVICES[indice % SERVICES.length];
+        if (indice >= SERVICES.length) {
+            nom += " " + (indice / SERVICES.length + 1);
+        }
+        return new Service(indice + 1, nom, "Service " + nom.toLowerCase(), 5.0 + aleatoire.nextInt(56));
+    }
+
+    private void genererReservations(SplittableRandom aleatoire, Chambre[] chambres, Client[] clients,
+            Service[] services, Destination sortie) throws IOException {
+        if (nombreReservations == 0) {
+            return;
+        }
+        long reference = dateReference.toEpochDay();
+        long origine = dateReference.minusYears(nombreAnnees).toEpochDay();
+
+        // Cycle moyen (séjour + écart) pour répartir les réservations sur l'historique
+        double parChambre = (double) nombreReservations / chambres.length;
+        double cycle = (reference - origine) / parChambre;
+        double ecartMoyen = Math.max(0, cycle - dureeMoyenneSejour);
+
+        long[] curseurs = new long[chambres.length];
+        for (int i = 0; i < curseurs.length; i++) {
+            curseurs[i] = origine + aleatoire.nextInt(7);
+        }
+
+        for (int i = 0; i < nombreReservations; i++) {
+            int indiceChambre = i % chambres.length;
+            long jour = curseurs[indiceChambre];
+            double demande = DEMANDE_MENSUELLE[LocalDate.ofEpochDay(jour).getMonthValue() - 1];
+            long debut = jour + tirerGeometrique(aleatoire, ecartMoyen / demande);
+            double nuitsSupplementaires = (dureeMoyenneSejour - 1) * (demande > 1.2 ? 1.4 : 1.0);
+            long fin = debut + 1 + tirerGeometrique(aleatoire, nuitsSupplementaires);
+            curseurs[indiceChambre] = fin;
+
+            StatutReservation statut;
+            boolean annulee = aleatoire.nextDouble() < tauxAnnulation;
+            if (annulee) {
+                statut = StatutReservation.ANNULEE;
+            } else if (fin <= reference) {
+                statut = StatutReservation.TERMINEE;
+            } else {
+                statut = aleatoire.nextBoolean() ? StatutReservation.CONFIRMEE : StatutReservation.EN_COURS;
+            }
+
+            // Les premiers clients reviennent plus souvent (clientèle fidèle)
+            double u = aleatoire.nextDouble();
+            Client client = clients[(int) (clients.length * u * u)];
+            Reservation reservation = new Reservation(i + 1, client, chambres[indiceChambre],
+                    LocalDate.ofEpochDay(debut), LocalDate.ofEpochDay(fin), statut);
+            if (annulee) {
+                long jourAnnulation = Math.min(reference, debut - 1 - aleatoire.nextInt(30));
+                reservation.setDateAnnulation(DateUtils.formaterDateFR(LocalDate.ofEpochDay(jourAnnulation)));
+                reservation.setRaison(RAISONS[aleatoire.nextInt(RAISONS.length)]);
+            }
+            if (services.length > 0) {
+                int tirage = aleatoire.nextInt(100);
+                int nombre = tirage < 50 ? 0 : tirage < 85 ? 1 : 2;
+                for (int s = 0; s < nombre; s++) {
+                    reservation.getServices().add(services[aleatoire.nextInt(services.length)]);
+                }
+            }
+            sortie.reservation(reservation);
+        }
+    }
+
+    /**
+     * Tirage géométrique (nombre d'échecs avant un succès) de moyenne donnée.
+     */
+    private static long tirerGeometrique(SplittableRandom aleatoire, double moyenne) {
+        if (moyenne <= 0) {
+            return 0;
+        }
+        double p = 1.0 / (1.0 + moyenne);
+        return (long) (Math.log(1.0 - aleatoire.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    // ===========================
+    // DESTINATIONS
+    // ===========================
+
+    /**
+     * Reçoit les éléments générés, dans l'ordre : debuter, chambres, clients,
+     * services, réservations, terminer. close() est toujours appelé à la fin.
+     */
+    public interface Destination extends Closeable {
+
+        void debuter(String nom, String adresse, int chambres, int clients, int services, int reservations)
+                throws IOException;
+
+        void chambre(Chambre chambre) throws IOException;
+
+        void client(Client client) throws IOException;
+
+        void service(Service service) throws IOException;
+
+        void reservation(Reservation reservation) throws IOException;
+
+        void terminer() throws IOException;
+    }
+
+    /**
+     * @param hotel L'hôtel vierge à remplir
+     * @return Une destination qui remplit l'hôtel (réservations restaurées en un lot à la fin)
+     */
+    public static Destination versHotel(Hotel hotel) {
+        return new DestinationHotel(hotel);
+    }
+
+    /**
+     * @param fichier Le snapshot à écrire
+     * @return Une destination qui écrit le snapshot au fil de l'eau
+     */
+    public static Destination versSnapshot(File fichier) {
+        return new DestinationSnapshot(fichier);
+    }
+
+    /**
+     * @param repertoire Le répertoire des fichiers texte
+     * @return Une destination qui écrit les fichiers texte au fil de l'eau
+     */
+    public static Destination versTexte(File repertoire) {
+        return new DestinationTexte(repertoire);
+    }
+
+    /**
+     * @param destinations Les destinations à alimenter en une seule génération
+     * @return Une destination qui transmet chaque élément à toutes les autres
+     */
+    public static Destination versPlusieurs(Destination... destinations) {
+        return new DestinationMultiple(destinations);
+    }
+
+    private static class DestinationHotel implements Destination {
+
+        private final Hotel hotel;
+        private ArrayList<Reservation> lot;
+
+        DestinationHotel(Hotel hotel) {
+            this.hotel = hotel;
+        }
+
+        @Override
+        public void debuter(String nom, String adresse, int chambres, int clients, int services, int reservations) {
+            hotel.setNom(nom);
+            hotel.setAdresse(adresse);
+            lot = new ArrayList<>(reservations);
+        }
+
+        @Override
+        public void chambre(Chambre chambre) {
+            hotel.ajouterChambre(chambre);
+        }
+
+        @Override
+        public void client(Client client) {
+            hotel.ajouterClient(client);
+        }
+
+        @Override
+        public void service(Service service) {
+            hotel.ajouterService(service);
+        }
+
+        @Override
+        public void reservation(Reservation reservation) {
+            lot.add(reservation);
+        }
+
+        @Override
+        public void terminer() {
+            hotel.restaurerReservations(lot);
+            lot = null;
+        }
+
+        @Override
+        public void close() {
+            lot = null;
+        }
+    }
+
+    private static class DestinationSnapshot implements Destination {
+
+        private final File fichier;
+        private final File temporaire;
+        private FileOutputStream fichierSortie;
+        private OutputStream flux;
+        private EcrivainSnapshot ecrivain;
+        private int[] nombres;
+        // Dernière section ouverte : 0 chambres, 1 clients, 2 services, 3 réservations
+        private int section = -1;
+        private boolean termine;
+
+        DestinationSnapshot(File fichier) {
+            this.fichier = fichier;
+            this.temporaire = new File(fichier.getPath() + ".tmp");
+        }
+
+        @Override
+        public void debuter(String nom, String adresse, int chambres, int clients, int services, int reservations)
+                throws IOException {
+            nombres = new int[] { chambres, clients, services, reservations };
+            fichierSortie = new FileOutputStream(temporaire);
+            flux = new BufferedOutputStream(fichierSortie, 1 << 16);
+            // Identifiants attribués de 1 à N : la marque haute est N + 1
+            int[] marquesHautes = { reservations + 1, clients + 1, services + 1 };
+            ecrivain = new EcrivainSnapshot(flux, 0, marquesHautes, nom, adresse);
+        }
+
+        /**
+         * Ouvre les sections jusqu'à celle demandée (une section vide n'a pas d'élément pour l'ouvrir).
+         */
+        private void atteindre(int cible) throws IOException {
+            while (section < cible) {
+                section++;
+                switch (section) {
+                    case 0:
+                        ecrivain.debuterChambres(nombres[0]);
+                        break;
+                    case 1:
+                        ecrivain.debuterClients(nombres[1]);
+                        break;
+                    case 2:
+                        ecrivain.debuterServices(nombres[2]);
+                        break;
+                    default:
+                        ecrivain.debuterReservations(nombres[3]);
+                        break;
+                }
+            }
+        }
+
+        @Override
+        public void chambre(Chambre chambre) throws IOException {
+            atteindre(0);
+            ecrivain.chambre(chambre);
+        }
+
+        @Override
+        public void client(Client client) throws IOException {
+            atteindre(1);
+            ecrivain.client(client);
+        }
+
+        @Override
+        public void service(Service service) throws IOException {
+            atteindre(2);
+            ecrivain.service(service);
+        }
+
+        @Override
+        public void reservation(Reservation reservation) throws IOException {
+            atteindre(3);
+            ecrivain.reservation(reservation);
+        }
+
+        @Override
+        public void terminer() throws IOException {
+            atteindre(3);
+            ecrivain.terminer();
+            flux.flush();
+            fichierSortie.getFD().sync();
+            flux.close();
+            Files.move(temporaire.toPath(), fichier.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            termine = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!termine && flux != null) {
+                flux.close();
+                temporaire.delete();
+            }
+        }
+    }
+
+    private static class DestinationTexte implements Destination {
+
+        private final File repertoire;
+        private BufferedWriter chambres;
+        private BufferedWriter clients;
+        private BufferedWriter services;
+        private BufferedWriter reservations;
+
+        DestinationTexte(File repertoire) {
+            this.repertoire = repertoire;
+        }
+
+        private BufferedWriter ouvrir(String nom) throws IOException {
+            return new BufferedWriter(new FileWriter(new File(repertoire, nom)), 1 << 16);
+        }
+
+        @Override
+        public void debuter(String nom, String adresse, int nbChambres, int nbClients, int nbServices,
+                int nbReservations) throws IOException {
+            repertoire.mkdirs();
+            try (BufferedWriter writer = ouvrir(FilePersistence.NOM_HOTEL)) {
+                writer.write(nom);
+                writer.newLine();
+                writer.write(adresse);
+                writer.newLine();
+            }
+            chambres = ouvrir(FilePersistence.NOM_CHAMBRES);
+            clients = ouvrir(FilePersistence.NOM_CLIENTS);
+            services = ouvrir(FilePersistence.NOM_SERVICES);
+            reservations = ouvrir(FilePersistence.NOM_RESERVATIONS);
+        }
+
+        @Override
+        public void chambre(Chambre chambre) throws IOException {
+            FilePersistence.ecrireLigneChambre(chambres, chambre);
+        }
+
+        @Override
+        public void client(Client client) throws IOException {
+            FilePersistence.ecrireLigneClient(clients, client);
+        }
+
+        @Override
+        public void service(Service service) throws IOException {
+            FilePersistence.ecrireLigneService(services, service);
+        }
+
+        @Override
+        public void reservation(Reservation reservation) throws IOException {
+            FilePersistence.ecrireLigneReservation(reservations, reservation);
+        }
+
+        @Override
+        public void terminer() throws IOException {
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter writer : new BufferedWriter[] { chambres, clients, services, reservations }) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+            chambres = clients = services = reservations = null;
+        }
+    }
+
+    private static class DestinationMultiple implements Destination {
+
+        private final Destination[] destinations;
+
+        DestinationMultiple(Destination[] destinations) {
+            this.destinations = destinations.clone();
+        }
+
+        @Override
+        public void debuter(String nom, String adresse, int chambres, int clients, int services, int reservations)
+                throws IOException {
+            for (Destination destination : destinations) {
+                destination.debuter(nom, adresse, chambres, clients, services, reservations);
+            }
+        }
+
+        @Override
+        public void chambre(Chambre chambre) throws IOException {
+            for (Destination destination : destinations) {
+                destination.chambre(chambre);
+            }
+        }
+
+        @Override
+        public void client(Client client) throws IOException {
+            for (Destination destination : destinations) {
+                destination.client(client);
+            }
+        }
+
+        @Override
+        public void service(Service service) throws IOException {
+            for (Destination destination : destinations) {
+                destination.service(service);
+            }
+        }
+
+        @Override
+        public void reservation(Reservation reservation) throws IOException {
+            for (Destination destination : destinations) {
+                destination.reservation(reservation);
+            }
+        }
+
+        @Override
+        public void terminer() throws IOException {
+            for (Destination destination : destinations) {
+                destination.terminer();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException premiere = null;
+            for (Destination destination : destinations) {
+                try {
+                    destination.close();
+                } catch (IOException e) {
+                    if (premiere == null) {
+                        premiere = e;
+                    }
+                }
+            }
+            if (premiere != null) {
+                throw premiere;
+            }
+        }
+    }
+}
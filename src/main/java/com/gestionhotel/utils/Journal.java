@@ -0,0 +1,793 @@
+package com.gestionhotel.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import com.gestionhotel.core.EcouteurHotel;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Journal d'écriture anticipée de l'hôtel.
+ * Chaque modification est ajoutée en fin de fichier au moment où elle a lieu ;
+ * au démarrage, le snapshot est chargé puis les enregistrements postérieurs sont rejoués.
+ * Un checkpoint réécrit le snapshot et vide le journal.
+ * Le rejeu est idempotent : un enregistrement dont l'effet figure déjà dans le
+ * snapshot (checkpoint pris pendant que d'autres terminaux écrivaient) est sans effet.
+ *
+ * Format d'un enregistrement :
+ * - longueur du corps (varint)
+ * - corps : numéro d'enregistrement (varlong), type (octet), données
+ * - CRC32 du corps (int)
+ * Un enregistrement incomplet ou au CRC invalide (arrêt brutal pendant l'écriture)
+ * marque la fin du journal : il est tronqué à l'ouverture.
+ *
+ * Les écritures sont regroupées (group commit) : un fil dédié écrit d'un bloc tous les
+ * enregistrements en attente puis fait un seul fsync, et chaque appelant attend
+ * que son propre enregistrement soit durable. Les réservations d'un import n'attendent
+ * pas une à une : le lot entier l'est en fin d'insertion.
+ *
+ * Les checkpoints automatiques tournent sur un fil à part, un seul à la fois : l'appelant
+ * qui franchit le seuil n'écrit pas le snapshot lui-même (il tient souvent un verrou
+ * de l'hôtel). Le journal est ensuite réduit aux enregistrements postérieurs au snapshot.
+ */
+public class Journal implements EcouteurHotel, Closeable {
+
+    // Types d'enregistrement
+    private static final int CHAMBRE_AJOUTEE = 1;
+    private static final int CHAMBRE_SUPPRIMEE = 2;
+    private static final int PRIX_CHAMBRE = 3;
+    private static final int CLIENT_AJOUTE = 4;
+    private static final int CLIENT_MODIFIE = 5;
+    private static final int RESERVATION_CREEE = 6;
+    private static final int STATUT_RESERVATION = 7;
+    private static final int SERVICE_AJOUTE = 8;
+    private static final int SERVICE_MODIFIE = 9;
+    private static final int SERVICE_RESERVATION = 10;
+    private static final int ARCHIVAGE = 11;
+    private static final int RESERVATION_INSEREE = 12;
+
+    /** Nombre d'enregistrements au-delà duquel un checkpoint est fait automatiquement. */
+    public static final int SEUIL_CHECKPOINT_DEFAUT = 1000;
+
+    /**
+     * Données d'un enregistrement, écrites après son numéro et son type.
+     */
+    private interface Contenu {
+        void ecrire(SortieBinaire sortie) throws IOException;
+    }
+
+    private final Hotel hotel;
+    private final File fichierSnapshot;
+    private final File fichierJournal;
+    private final Thread ecrivain;
+    private final ExecutorService checkpointeur;
+    private final AtomicBoolean checkpointPrevu = new AtomicBoolean();
+    private final ReentrantLock verrouCheckpoint = new ReentrantLock();
+
+    // Protège l'état ci-dessous. Un verrou explicite plutôt qu'un moniteur : attendre la
+    // durabilité ne bloque pas le fil porteur d'un fil virtuel (API HTTP)
+    private final ReentrantLock verrou = new ReentrantLock();
+    private final Condition aEcrire = verrou.newCondition();   // Enregistrements en attente, ou fermeture
+    private final Condition ecrit = verrou.newCondition();     // numeroDurable avancé, erreur ou arrêt
+    private final ByteArrayOutputStream enAttente = new ByteArrayOutputStream(4096);
+    private long dernierNumero;          // Dernier numéro attribué
+    private long numeroDurable;          // Dernier numéro écrit et synchronisé sur disque
+    private long numeroCheckpoint;       // Dernier numéro inclus dans le snapshot
+    private IOException erreur;
+    private boolean ferme;
+
+    // Protège le canal (remplacé quand le journal est réduit) et numeroEcrit
+    private final Object verrouCanal = new Object();
+    private FileChannel canal;
+    private long numeroEcrit;
+
+    private volatile boolean attendreDurabilite = true;
+    private volatile int seuilCheckpoint = SEUIL_CHECKPOINT_DEFAUT;
+
+    private Journal(Hotel hotel, File fichierSnapshot, File fichierJournal, FileChannel canal,
+            long dernierNumero, long numeroCheckpoint) {
+        this.hotel = hotel;
+        this.fichierSnapshot = fichierSnapshot;
+        this.fichierJournal = fichierJournal;
+        this.canal = canal;
+        this.dernierNumero = dernierNumero;
+        this.numeroDurable = dernierNumero;
+        this.numeroEcrit = dernierNumero;
+        this.numeroCheckpoint = numeroCheckpoint;
+        this.ecrivain = new Thread(this::boucleEcriture, "journal-hotel");
+        this.ecrivain.setDaemon(true);
+        this.checkpointeur = Executors.newSingleThreadExecutor(tache -> {
+            Thread fil = new Thread(tache, "checkpoint-hotel");
+            fil.setDaemon(true);
+            return fil;
+        });
+    }
+
+    /**
+     * Rejoue le journal sur l'hôtel déjà chargé depuis le snapshot, tronque une éventuelle
+     * fin incomplète, puis ouvre le journal et l'abonne aux modifications de l'hôtel.
+     *
+     * @param hotel                 L'hôtel chargé depuis le snapshot (ou vide)
+     * @param fichierSnapshot       Le snapshot réécrit à chaque checkpoint
+     * @param fichierJournal        Le fichier journal (créé s'il n'existe pas)
+     * @param dernierEnregistrement Numéro du dernier enregistrement inclus dans le snapshot chargé
+     * @return Le journal ouvert
+     * @throws IOException Si le journal est illisible ou ne peut être ouvert
+     */
+    public static Journal ouvrir(Hotel hotel, File fichierSnapshot, File fichierJournal,
+            long dernierEnregistrement) throws IOException {
+        long dernier = dernierEnregistrement;
+        long tailleValide = 0;
+        if (fichierJournal.exists()) {
+            byte[] octets = Files.readAllBytes(fichierJournal.toPath());
+            Rejeu rejeu = new Rejeu(hotel, dernierEnregistrement);
+            tailleValide = rejeu.rejouer(octets);
+            dernier = Math.max(dernier, rejeu.dernierNumero);
+        }
+
+        FileChannel canal = FileChannel.open(fichierJournal.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() > tailleValide) {
+            canal.truncate(tailleValide);
+            canal.force(true);
+        }
+        canal.position(tailleValide);
+
+        Journal journal = new Journal(hotel, fichierSnapshot, fichierJournal, canal, dernier, dernierEnregistrement);
+        journal.ecrivain.start();
+        hotel.ajouterEcouteur(journal);
+        return journal;
+    }
+
+    // ===========================
+    // PARAMÉTRAGE
+    // ===========================
+
+    /**
+     * @param attendre true (par défaut) pour que chaque modification attende que son
+     *                 enregistrement soit sur disque, false pour ne pas bloquer l'appelant
+     */
+    public void setAttendreDurabilite(boolean attendre) {
+        this.attendreDurabilite = attendre;
+    }
+
+    /**
+     * @param seuil Nombre d'enregistrements déclenchant un checkpoint (0 pour désactiver)
+     */
+    public void setSeuilCheckpoint(int seuil) {
+        this.seuilCheckpoint = seuil;
+    }
+
+    public long getDernierNumero() {
+        verrou.lock();
+        try {
+            return dernierNumero;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    public int getEnregistrementsDepuisCheckpoint() {
+        verrou.lock();
+        try {
+            return (int) (dernierNumero - numeroCheckpoint);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    // ===========================
+    // ÉCRITURE
+    // ===========================
+
+    /**
+     * Attend que tous les enregistrements déjà ajoutés soient sur disque.
+     *
+     * @throws IOException Si l'écriture du journal a échoué
+     */
+    public void synchroniser() throws IOException {
+        attendre(getDernierNumero());
+    }
+
+    /**
+     * Réécrit le snapshot avec l'état courant de l'hôtel puis réduit le journal aux
+     * enregistrements écrits depuis. Le snapshot contient au moins tous les
+     * enregistrements jusqu'à son numéro (chaque modification est appliquée avant
+     * d'être journalisée) ; il peut en contenir de plus récents si d'autres terminaux
+     * écrivent pendant le checkpoint. Un seul checkpoint s'exécute à la fois.
+     *
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void checkpoint() throws IOException {
+        verrouCheckpoint.lock();
+        try {
+            long numero = getDernierNumero();
+            attendre(numero);
+            long position;
+            synchronized (verrouCanal) {
+                // Tout ce qui est écrit est déjà appliqué à l'hôtel
+                numero = numeroEcrit;
+                position = canal.position();
+            }
+            SnapshotBinaire.ecrire(hotel, fichierSnapshot, numero);
+            synchronized (verrouCanal) {
+                reduire(position);
+            }
+            verrou.lock();
+            try {
+                numeroCheckpoint = Math.max(numeroCheckpoint, numero);
+            } finally {
+                verrou.unlock();
+            }
+        } finally {
+            verrouCheckpoint.unlock();
+        }
+    }
+
+    /**
+     * Retire du journal la partie déjà couverte par le snapshot. Les enregistrements
+     * écrits pendant le snapshot sont recopiés dans un nouveau fichier qui remplace
+     * l'ancien d'un bloc : un arrêt brutal laisse l'un ou l'autre, jamais un mélange.
+     * Appelé sous verrouCanal.
+     *
+     * @param position Fin de la partie couverte par le snapshot
+     */
+    private void reduire(long position) throws IOException {
+        long taille = canal.size();
+        if (taille == position) {
+            canal.truncate(0);
+            canal.force(true);
+            return;
+        }
+        ByteBuffer reste = ByteBuffer.allocate((int) (taille - position));
+        while (reste.hasRemaining() && canal.read(reste, position + reste.position()) >= 0) {
+            // Lecture jusqu'à la fin du fichier
+        }
+        reste.flip();
+        File temporaire = File.createTempFile(fichierJournal.getName() + ".", ".tmp",
+                fichierJournal.getAbsoluteFile().getParentFile());
+        try {
+            try (FileChannel nouveau = FileChannel.open(temporaire.toPath(), StandardOpenOption.WRITE)) {
+                while (reste.hasRemaining()) {
+                    nouveau.write(reste);
+                }
+                nouveau.force(true);
+            }
+            Files.move(temporaire.toPath(), fichierJournal.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaire.toPath());
+        }
+        FileChannel ancien = canal;
+        canal = FileChannel.open(fichierJournal.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        canal.position(canal.size());
+        ancien.close();
+    }
+
+    /**
+     * Lance un checkpoint sur le fil dédié, sauf s'il y en a déjà un de prévu.
+     */
+    private void planifierCheckpoint() {
+        if (!checkpointPrevu.compareAndSet(false, true)) {
+            return;
+        }
+        checkpointeur.execute(() -> {
+            try {
+                checkpoint();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Checkpoint du journal impossible : " + e);
+            } finally {
+                checkpointPrevu.set(false);
+            }
+        });
+    }
+
+    /**
+     * Attend les écritures en cours, arrête le fil d'écriture et ferme le fichier.
+     * Le journal est désabonné de l'hôtel.
+     */
+    @Override
+    public void close() throws IOException {
+        hotel.retirerEcouteur(this);
+        checkpointeur.shutdown();
+        try {
+            checkpointeur.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        verrou.lock();
+        try {
+            ferme = true;
+            aEcrire.signalAll();
+        } finally {
+            verrou.unlock();
+        }
+        try {
+            ecrivain.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (verrouCanal) {
+            canal.close();
+        }
+        if (erreur != null) {
+            throw erreur;
+        }
+    }
+
+    private void journaliser(int type, Contenu contenu) {
+        journaliser(type, contenu, attendreDurabilite);
+    }
+
+    private void journaliser(int type, Contenu contenu, boolean durable) {
+        long numero;
+        boolean checkpointAtteint;
+        try {
+            verrou.lock();
+            try {
+                if (ferme) {
+                    throw new IOException("Journal fermé");
+                }
+                if (erreur != null) {
+                    throw erreur;
+                }
+                numero = ++dernierNumero;
+                ByteArrayOutputStream corps = new ByteArrayOutputStream(64);
+                SortieBinaire sortie = new SortieBinaire(corps);
+                sortie.ecrireVarlong(numero);
+                sortie.ecrireOctet(type);
+                contenu.ecrire(sortie);
+                sortie.flush();
+                byte[] octets = corps.toByteArray();
+                CRC32 crc = new CRC32();
+                crc.update(octets);
+
+                SortieBinaire tampon = new SortieBinaire(enAttente);
+                tampon.ecrireVarint(octets.length);
+                tampon.ecrireOctets(octets);
+                tampon.ecrireEntier((int) crc.getValue());
+                tampon.flush();
+                checkpointAtteint = seuilCheckpoint > 0 && dernierNumero - numeroCheckpoint >= seuilCheckpoint;
+                aEcrire.signal();
+            } finally {
+                verrou.unlock();
+            }
+            if (durable) {
+                attendre(numero);
+            }
+            if (checkpointAtteint) {
+                planifierCheckpoint();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible", e);
+        }
+    }
+
+    private void attendre(long numero) throws IOException {
+        verrou.lock();
+        try {
+            while (numeroDurable < numero && erreur == null && ecrivain.isAlive()) {
+                try {
+                    ecrit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Attente du journal interrompue");
+                }
+            }
+            if (numeroDurable < numero) {
+                throw erreur != null ? erreur : new IOException("Journal fermé");
+            }
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    /**
+     * Fil d'écriture : prend tout ce qui est en attente, l'écrit d'un bloc et fait
+     * un seul fsync pour l'ensemble, puis réveille les appelants concernés.
+     */
+    private void boucleEcriture() {
+        while (true) {
+            byte[] lot;
+            long numeroLot;
+            verrou.lock();
+            try {
+                while (enAttente.size() == 0 && !ferme) {
+                    try {
+                        aEcrire.await();
+                    } catch (InterruptedException e) {
+                        ferme = true;
+                    }
+                }
+                if (enAttente.size() == 0) {
+                    ecrit.signalAll();
+                    return;
+                }
+                lot = enAttente.toByteArray();
+                enAttente.reset();
+                numeroLot = dernierNumero;
+            } finally {
+                verrou.unlock();
+            }
+            try {
+                synchronized (verrouCanal) {
+                    ByteBuffer tampon = ByteBuffer.wrap(lot);
+                    while (tampon.hasRemaining()) {
+                        canal.write(tampon);
+                    }
+                    canal.force(false);
+                    numeroEcrit = numeroLot;
+                }
+                verrou.lock();
+                try {
+                    numeroDurable = numeroLot;
+                    ecrit.signalAll();
+                } finally {
+                    verrou.unlock();
+                }
+            } catch (IOException e) {
+                verrou.lock();
+                try {
+                    erreur = e;
+                    ecrit.signalAll();
+                } finally {
+                    verrou.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    // ===========================
+    // ÉVÉNEMENTS DE L'HÔTEL
+    // ===========================
+
+    @Override
+    public void chambreAjoutee(Chambre chambre) {
+        journaliser(CHAMBRE_AJOUTEE, sortie -> SnapshotBinaire.ecrireChambre(sortie, chambre, false));
+    }
+
+    @Override
+    public void chambreSupprimee(Chambre chambre) {
+        journaliser(CHAMBRE_SUPPRIMEE, sortie -> sortie.ecrireVarint(chambre.getNumero()));
+    }
+
+    @Override
+    public void prixChambreModifie(Chambre chambre, double ancienPrix) {
+        journaliser(PRIX_CHAMBRE, sortie -> {
+            sortie.ecrireVarint(chambre.getNumero());
+            sortie.ecrireDouble(chambre.getPrixParNuit());
+        });
+    }
+
+    @Override
+    public void clientAjoute(Client client) {
+        journaliser(CLIENT_AJOUTE, sortie -> ecrireClient(sortie, client));
+    }
+
+    @Override
+    public void clientModifie(Client client) {
+        journaliser(CLIENT_MODIFIE, sortie -> ecrireClient(sortie, client));
+    }
+
+    @Override
+    public void reservationCreee(Reservation reservation) {
+        journaliser(RESERVATION_CREEE, sortie -> {
+            sortie.ecrireVarint(reservation.getNumeroReservation());
+            sortie.ecrireVarint(reservation.getClient().getNumeroClient());
+            sortie.ecrireVarint(reservation.getChambre().getNumero());
+            int jourDebut = (int) reservation.getDebut().toEpochDay();
+            sortie.ecrireVarintSigne(jourDebut);
+            sortie.ecrireVarintSigne((int) reservation.getFin().toEpochDay() - jourDebut);
+        });
+    }
+
+    @Override
+    public void statutReservationModifie(Reservation reservation, StatutReservation ancien) {
+        journaliser(STATUT_RESERVATION, sortie -> {
+            sortie.ecrireVarint(reservation.getNumeroReservation());
+            sortie.ecrireOctet(reservation.getStatut().ordinal());
+            sortie.ecrireChaine(reservation.getDateAnnulation());
+            sortie.ecrireChaine(reservation.getRaison());
+        });
+    }
+
+    @Override
+    public void serviceAjoute(Service service) {
+        journaliser(SERVICE_AJOUTE, sortie -> ecrireService(sortie, service));
+    }
+
+    @Override
+    public void serviceModifie(Service service) {
+        journaliser(SERVICE_MODIFIE, sortie -> ecrireService(sortie, service));
+    }
+
+    @Override
+    public void serviceReservationAjoute(Reservation reservation, Service service) {
+        journaliser(SERVICE_RESERVATION, sortie -> {
+            sortie.ecrireVarint(reservation.getNumeroReservation());
+            sortie.ecrireVarint(service.getIdService());
+            sortie.ecrireVarint(reservation.getServices().size() - 1); // Position dans la réservation
+        });
+    }
+
+    @Override
+    public void reservationInseree(Reservation reservation) {
+        journaliser(RESERVATION_INSEREE, sortie -> {
+            sortie.ecrireVarint(reservation.getNumeroReservation());
+            sortie.ecrireVarint(reservation.getClient().getNumeroClient());
+            sortie.ecrireVarint(reservation.getChambre().getNumero());
+            int jourDebut = (int) reservation.getDebut().toEpochDay();
+            sortie.ecrireVarintSigne(jourDebut);
+            sortie.ecrireVarintSigne((int) reservation.getFin().toEpochDay() - jourDebut);
+            sortie.ecrireOctet(reservation.getStatut().ordinal());
+            sortie.ecrireChaine(reservation.getDateAnnulation());
+            sortie.ecrireChaine(reservation.getRaison());
+            List<Service> services = reservation.getServices();
+            sortie.ecrireVarint(services.size());
+            for (Service service : services) {
+                sortie.ecrireVarint(service.getIdService());
+            }
+        }, false);
+    }
+
+    @Override
+    public void lotInsere(int nombre) {
+        if (attendreDurabilite) {
+            try {
+                synchroniser();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Écriture du journal impossible", e);
+            }
+        }
+    }
+
+    @Override
+    public void reservationsArchivees(LocalDate avant, int nombre) {
+        journaliser(ARCHIVAGE, sortie -> sortie.ecrireVarintSigne((int) avant.toEpochDay()));
+    }
+
+    private static void ecrireClient(SortieBinaire sortie, Client client) throws IOException {
+        sortie.ecrireVarint(client.getNumeroClient());
+        sortie.ecrireChaine(client.getNom());
+        sortie.ecrireChaine(client.getPrenom());
+        sortie.ecrireChaine(client.getEmail());
+        sortie.ecrireChaine(client.getTelephone());
+    }
+
+    private static void ecrireService(SortieBinaire sortie, Service service) throws IOException {
+        sortie.ecrireVarint(service.getIdService());
+        sortie.ecrireChaine(service.getNom());
+        sortie.ecrireChaine(service.getDescription());
+        sortie.ecrireDouble(service.getPrix());
+        sortie.ecrireBooleen(service.isDisponible());
+    }
+
+    // ===========================
+    // REJEU
+    // ===========================
+
+    /**
+     * Applique les enregistrements du journal à l'hôtel sans passer par les règles
+     * métier (les dates passées sont acceptées, rien n'est affiché). Les réservations
+     * créées sont restaurées en un seul lot à la fin, ce qui reconstruit le planning.
+     */
+    private static class Rejeu {
+        private final Hotel hotel;
+        private final long dejaInclus;
+        private final LinkedHashMap<Integer, Reservation> nouvelles = new LinkedHashMap<>();
+        private long dernierNumero;
+
+        Rejeu(Hotel hotel, long dejaInclus) {
+            this.hotel = hotel;
+            this.dejaInclus = dejaInclus;
+        }
+
+        /**
+         * @return La longueur de la partie valide du journal
+         */
+        long rejouer(byte[] octets) throws IOException {
+            ByteArrayInputStream flux = new ByteArrayInputStream(octets);
+            EntreeBinaire entree = new EntreeBinaire(flux);
+            long tailleValide = 0;
+            while (flux.available() > 0) {
+                byte[] corps;
+                int crcLu;
+                try {
+                    int longueur = entree.lireVarint();
+                    if (longueur <= 0 || longueur > flux.available()) {
+                        break;
+                    }
+                    corps = new byte[longueur];
+                    entree.lireOctets(corps);
+                    crcLu = entree.lireEntier();
+                } catch (EOFException e) {
+                    break; // Enregistrement tronqué
+                }
+                CRC32 crc = new CRC32();
+                crc.update(corps);
+                if ((int) crc.getValue() != crcLu) {
+                    break;
+                }
+
+                EntreeBinaire donnees = new EntreeBinaire(new ByteArrayInputStream(corps));
+                long numero = donnees.lireVarlong();
+                int type = donnees.lireOctet();
+                if (numero > dejaInclus) {
+                    appliquer(type, donnees);
+                }
+                dernierNumero = numero;
+                tailleValide = octets.length - flux.available();
+            }
+            hotel.restaurerReservations(nouvelles.values());
+            return tailleValide;
+        }
+
+        private void appliquer(int type, EntreeBinaire entree) throws IOException {
+            switch (type) {
+                case CHAMBRE_AJOUTEE:
+                    hotel.ajouterChambre(SnapshotBinaire.lireChambre(entree, false));
+                    break;
+                case CHAMBRE_SUPPRIMEE:
+                    hotel.supprimerChambre(entree.lireVarint());
+                    break;
+                case PRIX_CHAMBRE: {
+                    Chambre chambre = hotel.rechercherChambre(entree.lireVarint());
+                    double prix = entree.lireDouble();
+                    if (chambre != null) {
+                        chambre.setPrixParNuit(prix);
+                    }
+                    break;
+                }
+                case CLIENT_AJOUTE: {
+                    Client client = new Client(entree.lireVarint(), entree.lireChaine(), entree.lireChaine(),
+                            entree.lireChaine(), entree.lireChaine());
+                    if (hotel.rechercherClient(client.getNumeroClient()) == null) {
+                        hotel.ajouterClient(client);
+                    }
+                    break;
+                }
+                case CLIENT_MODIFIE:
+                    hotel.modifierClient(entree.lireVarint(), entree.lireChaine(), entree.lireChaine(),
+                            entree.lireChaine(), entree.lireChaine());
+                    break;
+                case RESERVATION_CREEE: {
+                    int numero = entree.lireVarint();
+                    Client client = hotel.rechercherClient(entree.lireVarint());
+                    Chambre chambre = hotel.rechercherChambre(entree.lireVarint());
+                    int jourDebut = entree.lireVarintSigne();
+                    LocalDate debut = LocalDate.ofEpochDay(jourDebut);
+                    LocalDate fin = LocalDate.ofEpochDay(jourDebut + entree.lireVarintSigne());
+                    if (client != null && chambre != null) {
+                        nouvelles.put(numero, new Reservation(numero, client, chambre, debut, fin,
+                                StatutReservation.EN_COURS));
+                    }
+                    break;
+                }
+                case RESERVATION_INSEREE: {
+                    int numero = entree.lireVarint();
+                    Client client = hotel.rechercherClient(entree.lireVarint());
+                    Chambre chambre = hotel.rechercherChambre(entree.lireVarint());
+                    int jourDebut = entree.lireVarintSigne();
+                    LocalDate debut = LocalDate.ofEpochDay(jourDebut);
+                    LocalDate fin = LocalDate.ofEpochDay(jourDebut + entree.lireVarintSigne());
+                    int ordinal = entree.lireOctet();
+                    String dateAnnulation = entree.lireChaine();
+                    String raison = entree.lireChaine();
+                    if (ordinal >= StatutReservation.values().length) {
+                        throw new IOException("Statut de réservation inconnu dans le journal : " + ordinal);
+                    }
+                    int nombreServices = entree.lireVarint();
+                    ArrayList<Service> services = new ArrayList<>(nombreServices);
+                    for (int i = 0; i < nombreServices; i++) {
+                        Service service = hotel.rechercherService(entree.lireVarint());
+                        if (service != null) {
+                            services.add(service);
+                        }
+                    }
+                    if (client != null && chambre != null) {
+                        Reservation reservation = new Reservation(numero, client, chambre, debut, fin,
+                                StatutReservation.values()[ordinal]);
+                        reservation.setDateAnnulation(dateAnnulation);
+                        reservation.setRaison(raison);
+                        reservation.getServices().addAll(services);
+                        nouvelles.put(numero, reservation);
+                    }
+                    break;
+                }
+                case STATUT_RESERVATION: {
+                    Reservation reservation = trouverReservation(entree.lireVarint());
+                    int ordinal = entree.lireOctet();
+                    String dateAnnulation = entree.lireChaine();
+                    String raison = entree.lireChaine();
+                    if (ordinal >= StatutReservation.values().length) {
+                        throw new IOException("Statut de réservation inconnu dans le journal : " + ordinal);
+                    }
+                    StatutReservation statut = StatutReservation.values()[ordinal];
+                    // Un statut déjà atteint ou dépassé figure dans le snapshot
+                    if (reservation != null && reservation.getStatut().peutPasserA(statut)) {
+                        reservation.setStatut(statut);
+                        reservation.setDateAnnulation(dateAnnulation);
+                        reservation.setRaison(raison);
+                    }
+                    break;
+                }
+                case SERVICE_AJOUTE: {
+                    Service service = lireService(entree);
+                    if (hotel.rechercherService(service.getIdService()) == null) {
+                        hotel.ajouterService(service);
+                    }
+                    break;
+                }
+                case SERVICE_MODIFIE: {
+                    Service lu = lireService(entree);
+                    Service service = hotel.rechercherService(lu.getIdService());
+                    if (service != null) {
+                        service.setNom(lu.getNom());
+                        service.setDescription(lu.getDescription());
+                        service.setPrix(lu.getPrix());
+                        service.setDisponible(lu.isDisponible());
+                    }
+                    break;
+                }
+                case SERVICE_RESERVATION: {
+                    Reservation reservation = trouverReservation(entree.lireVarint());
+                    Service service = hotel.rechercherService(entree.lireVarint());
+                    int position = entree.lireVarint();
+                    if (reservation != null && service != null && reservation.getServices().size() == position) {
+                        reservation.getServices().add(service);
+                    }
+                    break;
+                }
+                case ARCHIVAGE: {
+                    // Les réservations créées jusqu'ici doivent être dans l'hôtel pour être archivées
+                    LocalDate avant = LocalDate.ofEpochDay(entree.lireVarintSigne());
+                    hotel.restaurerReservations(nouvelles.values());
+                    nouvelles.clear();
+                    hotel.archiverReservations(avant);
+                    break;
+                }
+                default:
+                    throw new IOException("Type d'enregistrement inconnu dans le journal : " + type);
+            }
+        }
+
+        private Reservation trouverReservation(int numero) {
+            Reservation reservation = nouvelles.get(numero);
+            return reservation != null ? reservation : hotel.rechercherReservation(numero);
+        }
+
+        private static Service lireService(EntreeBinaire entree) throws IOException {
+            Service service = new Service(entree.lireVarint(), entree.lireChaine(), entree.lireChaine(),
+                    entree.lireDouble());
+            service.setDisponible(entree.lireBooleen());
+            return service;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.gestionhotel.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import com.gestionhotel.exceptions.ValidationException;
+
+/**
+ * Lecture en flux d'enregistrements plats en CSV ou en JSON Lines, un à la fois.
+ *
+ * Chaque enregistrement est rendu sous forme colonne -> texte (null si la valeur est
+ * absente ou vide) ; les tableaux JSON sont rendus comme en CSV ("1;2"). Un
+ * enregistrement mal formé lève une {@link ValidationException} après avoir été
+ * consommé : la lecture peut reprendre à l'enregistrement suivant.
+ */
+final class LecteurEnregistrements implements Closeable {
+
+    private final FormatEchange format;
+    private final BufferedReader entree;
+    private final StringBuilder champ = new StringBuilder(64);
+    private String[] colonnes;
+    private long ligneCourante; // Dernière ligne physique lue
+    private long ligneEnregistrement; // Première ligne du dernier enregistrement
+
+    /**
+     * Ouvre le fichier et lit l'en-tête CSV s'il y a lieu.
+     *
+     * @param fichier Le fichier à lire (UTF-8)
+     * @param format  Le format
+     * @throws ValidationException Si l'en-tête CSV est absent
+     */
+    LecteurEnregistrements(File fichier, FormatEchange format) throws IOException {
+        this.format = ValidationUtils.requireNonNull(format, "format");
+        this.entree = Files.newBufferedReader(fichier.toPath(), StandardCharsets.UTF_8);
+        if (format == FormatEchange.CSV) {
+            try {
+                String[] entete = lireChampsCsv();
+                if (entete == null) {
+                    throw new ValidationException("Fichier CSV vide : en-tête manquant");
+                }
+                for (int i = 0; i < entete.length; i++) {
+                    entete[i] = entete[i] == null ? "" : entete[i].trim();
+                }
+                colonnes = entete;
+            } catch (IOException | RuntimeException e) {
+                entree.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return La ligne du fichier où commence le dernier enregistrement lu
+     */
+    long getLigne() {
+        return ligneEnregistrement;
+    }
+
+    /**
+     * Lit l'enregistrement suivant (les lignes vides sont sautées).
+     *
+     * @return L'enregistrement, ou null en fin de fichier
+     * @throws ValidationException Si l'enregistrement est mal formé
+     */
+    Map<String, String> lire() throws IOException {
+        return format == FormatEchange.CSV ? lireCsv() : lireJson();
+    }
+
+    // ===========================
+    // CSV
+    // ===========================
+
+    private Map<String, String> lireCsv() throws IOException {
+        String[] champs = lireChampsCsv();
+        if (champs == null) {
+            return null;
+        }
+        if (champs.length != colonnes.length) {
+            throw new ValidationException(colonnes.length + " champs attendus, " + champs.length + " lus");
+        }
+        Map<String, String> enregistrement = new HashMap<>(colonnes.length * 2);
+        for (int i = 0; i < champs.length; i++) {
+            enregistrement.put(colonnes[i], champs[i]);
+        }
+        return enregistrement;
+    }
+
+    /**
+     * Lit un enregistrement CSV complet, qui peut s'étendre sur plusieurs lignes
+     * si un champ entre guillemets contient des retours à la ligne.
+     */
+    private String[] lireChampsCsv() throws IOException {
+        int c = entree.read();
+        while (c == '\n' || c == '\r') {
+            if (c == '\n') {
+                ligneCourante++;
+            }
+            c = entree.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        ligneEnregistrement = ligneCourante + 1;
+        ArrayList<String> champs = new ArrayList<>();
+        boolean entreGuillemets = false;
+        boolean guillemetsVus = false;
+        champ.setLength(0);
+        while (true) {
+            if (entreGuillemets) {
+                if (c == -1) {
+                    ligneCourante++;
+                    throw new ValidationException("Guillemet non fermé");
+                }
+                if (c == '"') {
+                    entree.mark(1);
+                    int suivant = entree.read();
+                    if (suivant == '"') {
+                        champ.append('"');
+                    } else {
+                        entreGuillemets = false;
+                        entree.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        ligneCourante++;
+                    }
+                    champ.append((char) c);
+                }
+            } else if (c == '"' && champ.length() == 0 && !guillemetsVus) {
+                entreGuillemets = true;
+                guillemetsVus = true;
+            } else if (c == ',') {
+                champs.add(valeurChamp(guillemetsVus));
+                guillemetsVus = false;
+            } else if (c == '\n' || c == -1) {
+                ligneCourante++;
+                champs.add(valeurChamp(guillemetsVus));
+                return champs.toArray(new String[0]);
+            } else if (c != '\r') {
+                champ.append((char) c);
+            }
+            c = entree.read();
+        }
+    }
+
+    private String valeurChamp(boolean guillemets) {
+        String valeur = champ.length() == 0 && !guillemets ? null : champ.toString();
+        champ.setLength(0);
+        return valeur;
+    }
+
+    // ===========================
+    // JSON LINES
+    // ===========================
+
+    private Map<String, String> lireJson() throws IOException {
+        String texte;
+        do {
+            texte = entree.readLine();
+            if (texte == null) {
+                return null;
+            }
+            ligneCourante++;
+        } while (texte.trim().isEmpty());
+        ligneEnregistrement = ligneCourante;
+        return ObjetJson.lireObjet(texte, champ);
+    }
+
+    @Override
+    public void close() throws IOException {
+        entree.close();
+    }
+}
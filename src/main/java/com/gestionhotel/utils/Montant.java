@@ -0,0 +1,98 @@
+package com.gestionhotel.utils;
+
+import com.gestionhotel.exceptions.ValidationException;
+
+/**
+ * Arithmétique monétaire en centimes d'euro, stockés dans des {@code long}.
+ *
+ * Les prix sont arrondis au centime une seule fois, à la frontière (saisie d'un prix,
+ * devis d'une tarification à coefficients, pourcentage de remise) ; sommes et
+ * multiplications par un nombre de nuits sont ensuite exactes. La règle d'arrondi est
+ * partout la même : au centime le plus proche, les demis vers le centime pair
+ * (arrondi bancaire), ce qui ne biaise pas les cumuls.
+ *
+ * Les doubles en euros ne servent plus qu'à l'affichage et aux interfaces publiques
+ * historiques ({@link #enEuros(long)}).
+ */
+public class Montant {
+
+    public static final long CENTIMES_PAR_EURO = 100;
+
+    // Au-delà, le produit par 100 n'est plus représentable exactement en double
+    private static final double EUROS_MAX = 9.0e13;
+
+    private Montant() {
+    }
+
+    /**
+     * Convertit des euros en centimes, arrondis au centime le plus proche (demis au pair).
+     *
+     * @param euros Le montant en euros
+     * @return Le montant en centimes
+     * @throws ValidationException si le montant n'est pas fini ou dépasse ±9e13 €
+     */
+    public static long depuisEuros(double euros) {
+        if (Double.isNaN(euros) || Math.abs(euros) > EUROS_MAX) {
+            throw new ValidationException("Montant invalide : " + euros);
+        }
+        return (long) Math.rint(euros * CENTIMES_PAR_EURO);
+    }
+
+    /**
+     * @param centimes Le montant en centimes
+     * @return Le même montant en euros (pour l'affichage)
+     */
+    public static double enEuros(long centimes) {
+        return centimes / (double) CENTIMES_PAR_EURO;
+    }
+
+    /**
+     * Multiplie un montant par une quantité (nombre de nuits, de services...).
+     *
+     * @throws ArithmeticException en cas de dépassement
+     */
+    public static long multiplier(long centimes, long quantite) {
+        return Math.multiplyExact(centimes, quantite);
+    }
+
+    /**
+     * Calcule un pourcentage d'un montant, arrondi au centime (demis au pair).
+     *
+     * @param centimes    Le montant en centimes
+     * @param pourcentage Le pourcentage (ex : 15 pour 15 %)
+     * @return La part du montant, en centimes
+     */
+    public static long pourcentage(long centimes, int pourcentage) {
+        return diviser(Math.multiplyExact(centimes, (long) pourcentage), 100);
+    }
+
+    /**
+     * Division entière arrondie au plus proche, les demis vers le quotient pair.
+     *
+     * @param dividende Le dividende
+     * @param diviseur  Le diviseur (> 0)
+     * @return Le quotient arrondi
+     */
+    public static long diviser(long dividende, long diviseur) {
+        ValidationUtils.requirePositive(diviseur, "Le diviseur");
+        long quotient = Math.floorDiv(dividende, diviseur);
+        long reste = Math.floorMod(dividende, diviseur); // 0 <= reste < diviseur
+        long doubleReste = 2 * reste;
+        if (doubleReste > diviseur || (doubleReste == diviseur && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    /**
+     * Formate un montant en euros avec deux décimales, sans passer par un double.
+     *
+     * @param centimes Le montant en centimes
+     * @return Par exemple "-1234.05"
+     */
+    public static String formater(long centimes) {
+        long absolu = Math.abs(centimes);
+        long reste = absolu % CENTIMES_PAR_EURO;
+        return (centimes < 0 ? "-" : "") + absolu / CENTIMES_PAR_EURO + (reste < 10 ? ".0" : ".") + reste;
+    }
+}
@@ -0,0 +1,244 @@
+package com.gestionhotel.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.gestionhotel.exceptions.ValidationException;
+
+/**
+ * Analyse et écriture d'objets JSON plats : valeurs chaînes, nombres, booléens, null
+ * ou tableaux de ces valeurs.
+ *
+ * Chaque objet est rendu sous forme clé -> texte (null si la valeur est null) ; les
+ * tableaux sont rendus comme en CSV ("1;2"). Sert aux JSON Lines d'{@link EchangeDonnees}
+ * et aux corps de requête de l'API HTTP.
+ */
+public final class ObjetJson {
+
+    private final String texte;
+    private final StringBuilder champ;
+    private int position;
+
+    private ObjetJson(String texte, StringBuilder champ) {
+        this.texte = texte;
+        this.champ = champ;
+    }
+
+    /**
+     * Analyse un objet JSON plat.
+     *
+     * @param texte Le texte de l'objet
+     * @return Les valeurs par clé
+     * @throws ValidationException Si le texte n'est pas un objet plat bien formé
+     */
+    public static Map<String, String> lireObjet(String texte) {
+        return lireObjet(texte, new StringBuilder(64));
+    }
+
+    /**
+     * Variante réutilisant un tampon de caractères (lecture ligne à ligne).
+     */
+    static Map<String, String> lireObjet(String texte, StringBuilder tampon) {
+        ObjetJson analyseur = new ObjetJson(ValidationUtils.requireNonNull(texte, "texte"), tampon);
+        Map<String, String> objet = analyseur.lireObjet();
+        analyseur.fin();
+        return objet;
+    }
+
+    /**
+     * Analyse un tableau d'objets JSON plats.
+     *
+     * @param texte Le texte du tableau
+     * @return Les objets, dans l'ordre
+     * @throws ValidationException Si le texte n'est pas un tableau d'objets plats bien formé
+     */
+    public static List<Map<String, String>> lireTableau(String texte) {
+        ObjetJson analyseur = new ObjetJson(ValidationUtils.requireNonNull(texte, "texte"), new StringBuilder(64));
+        List<Map<String, String>> objets = new ArrayList<>();
+        analyseur.attendre('[');
+        if (!analyseur.suivantEst(']')) {
+            do {
+                objets.add(analyseur.lireObjet());
+            } while (analyseur.suivantEst(','));
+            analyseur.attendre(']');
+        }
+        analyseur.fin();
+        return objets;
+    }
+
+    /**
+     * Ajoute une chaîne JSON (entre guillemets, caractères spéciaux échappés).
+     *
+     * @param sortie Le tampon de sortie
+     * @param texte  La chaîne
+     */
+    public static void ecrireChaine(StringBuilder sortie, String texte) {
+        sortie.append('"');
+        for (int i = 0; i < texte.length(); i++) {
+            char c = texte.charAt(i);
+            switch (c) {
+                case '"':
+                    sortie.append("\\\"");
+                    break;
+                case '\\':
+                    sortie.append("\\\\");
+                    break;
+                case '\n':
+                    sortie.append("\\n");
+                    break;
+                case '\r':
+                    sortie.append("\\r");
+                    break;
+                case '\t':
+                    sortie.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sortie.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sortie.append(c);
+                    }
+            }
+        }
+        sortie.append('"');
+    }
+
+    // ===========================
+    // ANALYSE
+    // ===========================
+
+    private Map<String, String> lireObjet() {
+        Map<String, String> objet = new HashMap<>();
+        attendre('{');
+        if (!suivantEst('}')) {
+            do {
+                String cle = lireChaine();
+                attendre(':');
+                objet.put(cle, lireValeur());
+            } while (suivantEst(','));
+            attendre('}');
+        }
+        return objet;
+    }
+
+    private void fin() {
+        espaces();
+        if (position != texte.length()) {
+            throw erreur("texte après la valeur");
+        }
+    }
+
+    private String lireValeur() {
+        espaces();
+        if (position >= texte.length()) {
+            throw erreur("valeur manquante");
+        }
+        char c = texte.charAt(position);
+        if (c == '"') {
+            return lireChaine();
+        }
+        if (c == '[') {
+            position++;
+            StringBuilder liste = new StringBuilder();
+            if (!suivantEst(']')) {
+                do {
+                    String element = lireValeur();
+                    if (liste.length() > 0) {
+                        liste.append(';');
+                    }
+                    liste.append(element == null ? "" : element);
+                } while (suivantEst(','));
+                attendre(']');
+            }
+            return liste.length() == 0 ? null : liste.toString();
+        }
+        if (c == '{') {
+            throw erreur("objet imbriqué non supporté");
+        }
+        int debut = position;
+        while (position < texte.length() && ",]} \t\r\n".indexOf(texte.charAt(position)) < 0) {
+            position++;
+        }
+        String litteral = texte.substring(debut, position);
+        if (litteral.isEmpty()) {
+            throw erreur("valeur manquante");
+        }
+        return "null".equals(litteral) ? null : litteral;
+    }
+
+    private String lireChaine() {
+        attendre('"');
+        champ.setLength(0);
+        while (position < texte.length()) {
+            char c = texte.charAt(position++);
+            if (c == '"') {
+                return champ.toString();
+            }
+            if (c != '\\') {
+                champ.append(c);
+                continue;
+            }
+            if (position >= texte.length()) {
+                break;
+            }
+            char echappe = texte.charAt(position++);
+            switch (echappe) {
+                case 'n':
+                    champ.append('\n');
+                    break;
+                case 'r':
+                    champ.append('\r');
+                    break;
+                case 't':
+                    champ.append('\t');
+                    break;
+                case 'b':
+                    champ.append('\b');
+                    break;
+                case 'f':
+                    champ.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > texte.length()) {
+                        throw erreur("séquence \\u incomplète");
+                    }
+                    try {
+                        champ.append((char) Integer.parseInt(texte.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw erreur("séquence \\u invalide");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    champ.append(echappe);
+            }
+        }
+        throw erreur("chaîne non fermée");
+    }
+
+    private void espaces() {
+        while (position < texte.length() && Character.isWhitespace(texte.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean suivantEst(char attendu) {
+        espaces();
+        if (position < texte.length() && texte.charAt(position) == attendu) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void attendre(char attendu) {
+        if (!suivantEst(attendu)) {
+            throw erreur("'" + attendu + "' attendu");
+        }
+    }
+
+    private ValidationException erreur(String message) {
+        return new ValidationException("JSON invalide (colonne " + (position + 1) + ") : " + message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gestionhotel.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'un import : lignes lues, importées et rejetées avec leur motif.
+ * Seuls les {@link #MAX_REJETS_DETAILLES} premiers rejets sont détaillés ; les
+ * suivants sont seulement comptés, pour que la mémoire reste bornée.
+ */
+public class RapportImport {
+
+    public static final int MAX_REJETS_DETAILLES = 1000;
+
+    private long lues;
+    private long importees;
+    private long rejetees;
+    private final List<String> rejets = new ArrayList<>();
+
+    void lue() {
+        lues++;
+    }
+
+    void importees(long nombre) {
+        importees += nombre;
+    }
+
+    /**
+     * Enregistre le rejet d'une ligne.
+     *
+     * @param ligne Numéro de la ligne dans le fichier (0 si inconnu)
+     * @param motif La raison du rejet
+     */
+    void rejeter(long ligne, String motif) {
+        rejetees++;
+        if (rejets.size() < MAX_REJETS_DETAILLES) {
+            rejets.add(ligne > 0 ? "Ligne " + ligne + " : " + motif : motif);
+        }
+    }
+
+    public long getLues() {
+        return lues;
+    }
+
+    public long getImportees() {
+        return importees;
+    }
+
+    public long getRejetees() {
+        return rejetees;
+    }
+
+    /**
+     * @return Le détail des premiers rejets ("Ligne n : motif"), en lecture seule
+     */
+    public List<String> getRejets() {
+        return Collections.unmodifiableList(rejets);
+    }
+
+    @Override
+    public String toString() {
+        return lues + " lues, " + importees + " importées, " + rejetees + " rejetées";
+    }
+}
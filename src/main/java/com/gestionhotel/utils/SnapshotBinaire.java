@@ -0,0 +1,428 @@
+package com.gestionhotel.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.ReservationsColonnes;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Snapshot binaire versionné de l'hôtel.
+ * 
+ * Format (version 5) :
+ * - en-tête : "GHSN" + version (varint)
+ * - numéro du dernier enregistrement du journal inclus (varlong, absent en version 1)
+ * - marques hautes des identifiants de réservation, client et service (varint, depuis la version 3)
+ * - hôtel : nom, adresse
+ * - chambres, clients, services, réservations : nombre (varint) puis enregistrements
+ * - archive en colonnes (depuis la version 4) : nombre puis lignes numéro, chambre, client,
+ *   début, durée, statut et services
+ * - prix des chambres et des services : centimes (varlong) depuis la version 5, euros (double) avant
+ * - fin : CRC32 de tout ce qui précède (int)
+ * 
+ * Les chaînes sont préfixées par leur longueur (aucun séparateur à échapper),
+ * les identifiants sont en varint et les dates en jours depuis l'epoch.
+ */
+public class SnapshotBinaire {
+
+    public static final int VERSION = 5;
+    static final byte[] MAGIC = { 'G', 'H', 'S', 'N' };
+
+    private static final int TYPE_SIMPLE = 0;
+    private static final int TYPE_DOUBLE = 1;
+    private static final int TYPE_SUITE = 2;
+
+    private SnapshotBinaire() {
+    }
+
+    // ===========================
+    // ÉCRITURE
+    // ===========================
+
+    /**
+     * Écrit le snapshot de l'hôtel. Le fichier est d'abord écrit à côté puis
+     * renommé, pour qu'un arrêt brutal ne laisse jamais un snapshot tronqué.
+     * 
+     * @param hotel   L'hôtel à sauvegarder
+     * @param fichier Le fichier de destination
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public static void ecrire(Hotel hotel, File fichier) throws IOException {
+        ecrire(hotel, fichier, 0);
+    }
+
+    /**
+     * Écrit le snapshot de l'hôtel en notant le dernier enregistrement du journal
+     * qu'il contient : au rejeu, seuls les enregistrements suivants sont appliqués.
+     * 
+     * @param hotel                L'hôtel à sauvegarder
+     * @param fichier              Le fichier de destination
+     * @param dernierEnregistrement Numéro du dernier enregistrement de journal inclus (0 si aucun)
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public static void ecrire(Hotel hotel, File fichier, long dernierEnregistrement) throws IOException {
+        // Nom temporaire unique : deux écritures simultanées ne se marchent pas dessus
+        File temporaire = File.createTempFile(fichier.getName() + ".", ".tmp", fichier.getAbsoluteFile().getParentFile());
+        try {
+            try (FileOutputStream fichierSortie = new FileOutputStream(temporaire);
+                    OutputStream flux = new BufferedOutputStream(fichierSortie, 1 << 16)) {
+                ecrire(hotel, flux, dernierEnregistrement);
+                flux.flush();
+                fichierSortie.getFD().sync();
+            }
+            Files.move(temporaire.toPath(), fichier.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaire.toPath());
+        }
+    }
+
+    /**
+     * Écrit le snapshot de l'hôtel dans un flux (le flux n'est pas fermé).
+     */
+    public static void ecrire(Hotel hotel, OutputStream flux) throws IOException {
+        ecrire(hotel, flux, 0);
+    }
+
+    /**
+     * Écrit le snapshot de l'hôtel dans un flux (le flux n'est pas fermé).
+     */
+    public static void ecrire(Hotel hotel, OutputStream flux, long dernierEnregistrement) throws IOException {
+        int[] marquesHautes = { hotel.getAllocateurReservations().getMarqueHaute(),
+                hotel.getAllocateurClients().getMarqueHaute(), hotel.getAllocateurServices().getMarqueHaute() };
+        EcrivainSnapshot ecrivain = new EcrivainSnapshot(flux, dernierEnregistrement, marquesHautes,
+                hotel.getNom(), hotel.getAdresse());
+
+        // Copie des collections : le nombre annoncé doit correspondre aux éléments écrits
+        Chambre[] chambres = hotel.getChambres().toArray(new Chambre[0]);
+        ecrivain.debuterChambres(chambres.length);
+        for (Chambre chambre : chambres) {
+            ecrivain.chambre(chambre);
+        }
+
+        Client[] clients = hotel.getClients().toArray(new Client[0]);
+        ecrivain.debuterClients(clients.length);
+        for (Client client : clients) {
+            ecrivain.client(client);
+        }
+
+        Service[] services = hotel.getServicesDisponibles().toArray(new Service[0]);
+        ecrivain.debuterServices(services.length);
+        for (Service service : services) {
+            ecrivain.service(service);
+        }
+
+        Reservation[] reservations = hotel.getReservations().toArray(new Reservation[0]);
+        ecrivain.debuterReservations(reservations.length);
+        for (Reservation reservation : reservations) {
+            ecrivain.reservation(reservation);
+        }
+
+        // L'archive est lue après les réservations vivantes : une réservation archivée
+        // entre-temps figure dans les deux sections, jamais dans aucune
+        ReservationsColonnes archive = hotel.getArchive();
+        int nbArchivees = archive.getTaille();
+        ecrivain.debuterArchive(nbArchivees);
+        for (int ligne = 0; ligne < nbArchivees; ligne++) {
+            ecrivain.ligneArchive(archive.getNumero(ligne), archive.getNumeroChambre(ligne),
+                    archive.getNumeroClient(ligne), (int) archive.getDebut(ligne).toEpochDay(),
+                    (int) archive.getFin(ligne).toEpochDay(), archive.getStatut(ligne), archive.getServices(ligne));
+        }
+        ecrivain.terminer();
+    }
+
+    /**
+     * @param enCentimes Prix en centimes (varlong, snapshot) ou en euros (double, format
+     *                   historique des enregistrements du journal)
+     */
+    static void ecrireChambre(SortieBinaire sortie, Chambre chambre, boolean enCentimes) throws IOException {
+        if (chambre instanceof ChambreDouble) {
+            sortie.ecrireOctet(TYPE_DOUBLE);
+        } else if (chambre instanceof Suite) {
+            sortie.ecrireOctet(TYPE_SUITE);
+        } else {
+            sortie.ecrireOctet(TYPE_SIMPLE);
+        }
+        sortie.ecrireVarint(chambre.getNumero());
+        if (enCentimes) {
+            sortie.ecrireVarlong(chambre.getPrixParNuitCentimes());
+        } else {
+            sortie.ecrireDouble(chambre.getPrixParNuit());
+        }
+        sortie.ecrireBooleen(chambre.isOccupee());
+        if (chambre instanceof ChambreDouble) {
+            sortie.ecrireBooleen(((ChambreDouble) chambre).isLitsJumeaux());
+        } else if (chambre instanceof Suite) {
+            Suite suite = (Suite) chambre;
+            sortie.ecrireBooleen(suite.hasJacuzzi());
+            sortie.ecrireBooleen(suite.hasBalcon());
+        }
+    }
+
+    static void ecrireReservation(SortieBinaire sortie, Reservation reservation) throws IOException {
+        sortie.ecrireVarint(reservation.getNumeroReservation());
+        sortie.ecrireVarint(reservation.getClient().getNumeroClient());
+        sortie.ecrireVarint(reservation.getChambre().getNumero());
+        int jourDebut = (int) reservation.getDebut().toEpochDay();
+        sortie.ecrireVarintSigne(jourDebut);
+        sortie.ecrireVarintSigne((int) reservation.getFin().toEpochDay() - jourDebut);
+        sortie.ecrireOctet(reservation.getStatut().ordinal());
+        sortie.ecrireChaine(reservation.getDateAnnulation());
+        sortie.ecrireChaine(reservation.getRaison());
+        sortie.ecrireVarint(reservation.getServices().size());
+        for (Service service : reservation.getServices()) {
+            sortie.ecrireVarint(service.getIdService());
+        }
+    }
+
+    // ===========================
+    // LECTURE
+    // ===========================
+
+    /**
+     * Charge un snapshot dans l'hôtel.
+     * 
+     * @param hotel   L'hôtel à remplir
+     * @param fichier Le fichier snapshot
+     * @return Le numéro du dernier enregistrement de journal inclus (0 si aucun)
+     * @throws IOException Si le fichier est illisible, d'une version inconnue ou corrompu
+     */
+    public static long lire(Hotel hotel, File fichier) throws IOException {
+        try (InputStream flux = new BufferedInputStream(new FileInputStream(fichier), 1 << 16)) {
+            return lire(hotel, flux);
+        }
+    }
+
+    /**
+     * Charge un snapshot depuis un flux (le flux n'est pas fermé).
+     * 
+     * @return Le numéro du dernier enregistrement de journal inclus (0 si aucun)
+     */
+    public static long lire(Hotel hotel, InputStream flux) throws IOException {
+        CRC32 crc = new CRC32();
+        EntreeBinaire entree = new EntreeBinaire(new CheckedInputStream(flux, crc));
+        byte[] magic = new byte[MAGIC.length];
+        entree.lireOctets(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Fichier snapshot invalide (en-tête inconnu)");
+        }
+        int version = entree.lireVarint();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Version de snapshot non supportée : " + version);
+        }
+        long dernierEnregistrement = version >= 2 ? entree.lireVarlong() : 0;
+        int[] marquesHautes = { 1, 1, 1 };
+        if (version >= 3) {
+            for (int i = 0; i < marquesHautes.length; i++) {
+                marquesHautes[i] = entree.lireVarint();
+            }
+        }
+
+        String nom = entree.lireChaine();
+        String adresse = entree.lireChaine();
+
+        int nbChambres = entree.lireVarint();
+        Chambre[] chambres = new Chambre[nbChambres];
+        for (int i = 0; i < nbChambres; i++) {
+            chambres[i] = lireChambre(entree, version >= 5);
+        }
+
+        // Numéro sauvegardé -> objet recréé avec ce même numéro
+        int nbClients = entree.lireVarint();
+        HashMap<Integer, Client> clients = new HashMap<>();
+        Client[] ordreClients = new Client[nbClients];
+        for (int i = 0; i < nbClients; i++) {
+            int numero = entree.lireVarint();
+            Client client = new Client(numero, entree.lireChaine(), entree.lireChaine(), entree.lireChaine(), entree.lireChaine());
+            clients.put(numero, client);
+            ordreClients[i] = client;
+        }
+
+        int nbServices = entree.lireVarint();
+        HashMap<Integer, Service> services = new HashMap<>();
+        Service[] ordreServices = new Service[nbServices];
+        for (int i = 0; i < nbServices; i++) {
+            int id = entree.lireVarint();
+            String nomService = entree.lireChaine();
+            String description = entree.lireChaine();
+            Service service;
+            if (version >= 5) {
+                service = new Service(id, nomService, description, 0);
+                service.setPrixCentimes(entree.lireVarlong());
+            } else {
+                service = new Service(id, nomService, description, entree.lireDouble());
+            }
+            service.setDisponible(entree.lireBooleen());
+            services.put(id, service);
+            ordreServices[i] = service;
+        }
+
+        int nbReservations = entree.lireVarint();
+        LigneReservation[] lignes = new LigneReservation[nbReservations];
+        for (int i = 0; i < nbReservations; i++) {
+            lignes[i] = lireReservation(entree);
+        }
+
+        ReservationsColonnes archive = new ReservationsColonnes();
+        int nbArchivees = version >= 4 ? entree.lireVarint() : 0;
+        for (int i = 0; i < nbArchivees; i++) {
+            int numero = entree.lireVarint();
+            int numeroChambre = entree.lireVarint();
+            int numeroClient = entree.lireVarint();
+            int jourDebut = entree.lireVarintSigne();
+            int jourFin = jourDebut + entree.lireVarintSigne();
+            int ordinal = entree.lireOctet();
+            if (ordinal >= StatutReservation.values().length) {
+                throw new IOException("Statut de réservation archivée inconnu dans le snapshot : " + ordinal);
+            }
+            StatutReservation statut = StatutReservation.values()[ordinal];
+            int[] idsServices = new int[entree.lireVarint()];
+            for (int s = 0; s < idsServices.length; s++) {
+                idsServices[s] = entree.lireVarint();
+            }
+            archive.ajouter(numero, numeroChambre, numeroClient, jourDebut, jourFin, statut, idsServices);
+        }
+
+        long crcCalcule = crc.getValue();
+        int crcLu = new EntreeBinaire(flux).lireEntier();
+        if ((int) crcCalcule != crcLu) {
+            throw new IOException("Snapshot corrompu (CRC invalide)");
+        }
+
+        // Le contenu est vérifié : on peut remplir l'hôtel.
+        // Les allocateurs reprennent à la marque haute, même si les derniers identifiants
+        // attribués n'apparaissent plus dans le snapshot.
+        hotel.getAllocateurReservations().reserverJusqua(marquesHautes[0] - 1);
+        hotel.getAllocateurClients().reserverJusqua(marquesHautes[1] - 1);
+        hotel.getAllocateurServices().reserverJusqua(marquesHautes[2] - 1);
+        hotel.setNom(nom);
+        hotel.setAdresse(adresse);
+        for (Chambre chambre : chambres) {
+            hotel.ajouterChambre(chambre);
+        }
+        for (Client client : ordreClients) {
+            hotel.ajouterClient(client);
+        }
+        for (Service service : ordreServices) {
+            hotel.ajouterService(service);
+        }
+        // L'archive d'abord : ses numéros ne sont pas recréés en objets
+        hotel.getArchive().ajouter(archive);
+        ArrayList<Reservation> lot = new ArrayList<>(lignes.length);
+        for (LigneReservation ligne : lignes) {
+            Reservation reservation = restaurer(hotel, ligne, clients, services);
+            if (reservation != null) {
+                lot.add(reservation);
+            }
+        }
+        hotel.restaurerReservations(lot);
+        return dernierEnregistrement;
+    }
+
+    /**
+     * @param enCentimes Voir {@link #ecrireChambre(SortieBinaire, Chambre, boolean)}
+     */
+    static Chambre lireChambre(EntreeBinaire entree, boolean enCentimes) throws IOException {
+        int type = entree.lireOctet();
+        int numero = entree.lireVarint();
+        long prixCentimes = enCentimes ? entree.lireVarlong() : Montant.depuisEuros(entree.lireDouble());
+        boolean occupee = entree.lireBooleen();
+        Chambre chambre;
+        switch (type) {
+            case TYPE_SIMPLE:
+                chambre = new ChambreSimple(numero);
+                break;
+            case TYPE_DOUBLE:
+                chambre = new ChambreDouble(numero, entree.lireBooleen());
+                break;
+            case TYPE_SUITE:
+                boolean jacuzzi = entree.lireBooleen();
+                boolean balcon = entree.lireBooleen();
+                chambre = new Suite(numero, jacuzzi, balcon);
+                break;
+            default:
+                throw new IOException("Type de chambre inconnu dans le snapshot : " + type);
+        }
+        chambre.setPrixParNuitCentimes(prixCentimes);
+        chambre.setOccupee(occupee);
+        return chambre;
+    }
+
+    /**
+     * Réservation lue, en attente de résolution des clients, chambres et services.
+     */
+    private static class LigneReservation {
+        int numeroReservation;
+        int numeroClient;
+        int numeroChambre;
+        LocalDate debut;
+        LocalDate fin;
+        StatutReservation statut;
+        String dateAnnulation;
+        String raison;
+        int[] services;
+    }
+
+    private static LigneReservation lireReservation(EntreeBinaire entree) throws IOException {
+        LigneReservation ligne = new LigneReservation();
+        ligne.numeroReservation = entree.lireVarint();
+        ligne.numeroClient = entree.lireVarint();
+        ligne.numeroChambre = entree.lireVarint();
+        int jourDebut = entree.lireVarintSigne();
+        ligne.debut = LocalDate.ofEpochDay(jourDebut);
+        ligne.fin = LocalDate.ofEpochDay(jourDebut + entree.lireVarintSigne());
+        int ordinal = entree.lireOctet();
+        if (ordinal >= StatutReservation.values().length) {
+            throw new IOException("Statut de réservation inconnu dans le snapshot : " + ordinal);
+        }
+        ligne.statut = StatutReservation.values()[ordinal];
+        ligne.dateAnnulation = entree.lireChaine();
+        ligne.raison = entree.lireChaine();
+        ligne.services = new int[entree.lireVarint()];
+        for (int i = 0; i < ligne.services.length; i++) {
+            ligne.services[i] = entree.lireVarint();
+        }
+        return ligne;
+    }
+
+    private static Reservation restaurer(Hotel hotel, LigneReservation ligne,
+            HashMap<Integer, Client> clients, HashMap<Integer, Service> services) {
+        Client client = clients.get(ligne.numeroClient);
+        Chambre chambre = hotel.rechercherChambre(ligne.numeroChambre);
+        if (client == null || chambre == null) {
+            return null;
+        }
+        Reservation reservation = new Reservation(ligne.numeroReservation, client, chambre,
+                ligne.debut, ligne.fin, ligne.statut);
+        reservation.setDateAnnulation(ligne.dateAnnulation);
+        reservation.setRaison(ligne.raison);
+        for (int id : ligne.services) {
+            Service service = services.get(id);
+            if (service != null) {
+                reservation.getServices().add(service);
+            }
+        }
+        return reservation;
+    }
+}
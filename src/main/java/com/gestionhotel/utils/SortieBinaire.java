@@ -0,0 +1,88 @@
+package com.gestionhotel.utils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écriture binaire compacte : entiers en varint, chaînes UTF-8 préfixées par leur longueur.
+ * Utilisée par les formats binaires de persistance.
+ */
+public class SortieBinaire {
+
+    private final DataOutputStream sortie;
+
+    /**
+     * @param sortie Le flux de destination (idéalement bufferisé)
+     */
+    public SortieBinaire(OutputStream sortie) {
+        this.sortie = new DataOutputStream(sortie);
+    }
+
+    /**
+     * Écrit un entier positif sur 1 à 5 octets (7 bits par octet).
+     */
+    public void ecrireVarint(int valeur) throws IOException {
+        while ((valeur & ~0x7F) != 0) {
+            sortie.writeByte((valeur & 0x7F) | 0x80);
+            valeur >>>= 7;
+        }
+        sortie.writeByte(valeur);
+    }
+
+    /**
+     * Écrit un entier long positif sur 1 à 10 octets.
+     */
+    public void ecrireVarlong(long valeur) throws IOException {
+        while ((valeur & ~0x7FL) != 0) {
+            sortie.writeByte((int) ((valeur & 0x7F) | 0x80));
+            valeur >>>= 7;
+        }
+        sortie.writeByte((int) valeur);
+    }
+
+    /**
+     * Écrit un entier signé en zigzag (les petites valeurs négatives restent courtes).
+     */
+    public void ecrireVarintSigne(int valeur) throws IOException {
+        ecrireVarint((valeur << 1) ^ (valeur >> 31));
+    }
+
+    public void ecrireOctet(int valeur) throws IOException {
+        sortie.writeByte(valeur);
+    }
+
+    public void ecrireBooleen(boolean valeur) throws IOException {
+        sortie.writeBoolean(valeur);
+    }
+
+    public void ecrireDouble(double valeur) throws IOException {
+        sortie.writeDouble(valeur);
+    }
+
+    public void ecrireEntier(int valeur) throws IOException {
+        sortie.writeInt(valeur);
+    }
+
+    public void ecrireOctets(byte[] octets) throws IOException {
+        sortie.write(octets);
+    }
+
+    /**
+     * Écrit une chaîne éventuellement null : longueur + 1 en varint (0 = null), puis les octets UTF-8.
+     */
+    public void ecrireChaine(String valeur) throws IOException {
+        if (valeur == null) {
+            ecrireVarint(0);
+            return;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        ecrireVarint(octets.length + 1);
+        sortie.write(octets);
+    }
+
+    public void flush() throws IOException {
+        sortie.flush();
+    }
+}
@@ -0,0 +1,178 @@
+package com.gestionhotel.utils;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage int -> int à adressage ouvert (sondage linéaire), sans objet par entrée.
+ * Remplace un HashMap&lt;Integer, Integer&gt; dans les boucles de comptage : ni boxing,
+ * ni nœud alloué, et les clés et valeurs tiennent dans deux tableaux contigus.
+ * La clé {@link Integer#MIN_VALUE} est réservée (case vide). Non synchronisée.
+ */
+public class TableEntiers {
+
+    private static final int VIDE = Integer.MIN_VALUE;
+
+    private int[] cles;
+    private int[] valeurs;
+    private int taille;
+    private int masque;
+
+    public TableEntiers() {
+        this(16);
+    }
+
+    /**
+     * @param capacite Nombre d'entrées attendu (la table s'agrandit au-delà)
+     */
+    public TableEntiers(int capacite) {
+        int cases = Integer.highestOneBit(Math.max(4, capacite) * 2 - 1) << 1;
+        allouer(cases);
+    }
+
+    /**
+     * Copie d'une autre table.
+     */
+    public TableEntiers(TableEntiers autre) {
+        this.cles = autre.cles.clone();
+        this.valeurs = autre.valeurs.clone();
+        this.taille = autre.taille;
+        this.masque = autre.masque;
+    }
+
+    private void allouer(int cases) {
+        cles = new int[cases];
+        Arrays.fill(cles, VIDE);
+        valeurs = new int[cases];
+        masque = cases - 1;
+    }
+
+    private static int melanger(int cle) {
+        int h = cle * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int position(int cle) {
+        int i = melanger(cle) & masque;
+        while (cles[i] != VIDE && cles[i] != cle) {
+            i = (i + 1) & masque;
+        }
+        return i;
+    }
+
+    /**
+     * @return La valeur associée, ou defaut si la clé est absente
+     */
+    public int get(int cle, int defaut) {
+        int i = position(cle);
+        return cles[i] == VIDE ? defaut : valeurs[i];
+    }
+
+    public boolean contient(int cle) {
+        return cles[position(cle)] != VIDE;
+    }
+
+    /**
+     * Associe une valeur à la clé (remplace l'ancienne).
+     */
+    public void put(int cle, int valeur) {
+        if (cle == VIDE) {
+            throw new IllegalArgumentException("Clé réservée : " + cle);
+        }
+        int i = position(cle);
+        if (cles[i] == VIDE) {
+            cles[i] = cle;
+            taille++;
+            valeurs[i] = valeur;
+            if (taille * 4 > cles.length * 3) {
+                agrandir();
+            }
+            return;
+        }
+        valeurs[i] = valeur;
+    }
+
+    /**
+     * Ajoute delta à la valeur de la clé (0 si absente).
+     *
+     * @return La nouvelle valeur
+     */
+    public int ajouter(int cle, int delta) {
+        if (cle == VIDE) {
+            throw new IllegalArgumentException("Clé réservée : " + cle);
+        }
+        int i = position(cle);
+        if (cles[i] == VIDE) {
+            cles[i] = cle;
+            valeurs[i] = delta;
+            taille++;
+            if (taille * 4 > cles.length * 3) {
+                agrandir();
+            }
+            return delta;
+        }
+        valeurs[i] += delta;
+        return valeurs[i];
+    }
+
+    /**
+     * Retire la clé (sans effet si elle est absente).
+     *
+     * @return true si la clé était présente
+     */
+    public boolean supprimer(int cle) {
+        int i = position(cle);
+        if (cles[i] == VIDE) {
+            return false;
+        }
+        // Recule les clés suivantes de la même grappe pour ne pas couper leur sondage
+        int trou = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & masque;
+            if (cles[j] == VIDE) {
+                break;
+            }
+            int ideale = melanger(cles[j]) & masque;
+            boolean deplacable = trou <= j ? (ideale <= trou || ideale > j) : (ideale <= trou && ideale > j);
+            if (deplacable) {
+                cles[trou] = cles[j];
+                valeurs[trou] = valeurs[j];
+                trou = j;
+            }
+        }
+        cles[trou] = VIDE;
+        taille--;
+        return true;
+    }
+
+    private void agrandir() {
+        int[] anciennesCles = cles;
+        int[] anciennesValeurs = valeurs;
+        allouer(anciennesCles.length * 2);
+        for (int i = 0; i < anciennesCles.length; i++) {
+            if (anciennesCles[i] != VIDE) {
+                int j = position(anciennesCles[i]);
+                cles[j] = anciennesCles[i];
+                valeurs[j] = anciennesValeurs[i];
+            }
+        }
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * @return Les clés présentes (ordre non spécifié)
+     */
+    public int[] cles() {
+        int[] resultat = new int[taille];
+        int n = 0;
+        for (int cle : cles) {
+            if (cle != VIDE) {
+                resultat[n++] = cle;
+            }
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,134 @@
+package com.gestionhotel.utils;
+
+/**
+ * Tas de taille bornée qui garde les K meilleurs couples (identifiant, valeur)
+ * d'une suite quelconque, en O(log K) par élément et sans objet par entrée.
+ * Le pire des K retenus est à la racine : un candidat ne coûte qu'une comparaison
+ * s'il ne le bat pas. À valeur égale, le plus petit identifiant l'emporte, ce qui
+ * rend le classement indépendant de l'ordre de parcours.
+ */
+public class TasBorne {
+
+    private final int[] ids;
+    private final double[] valeurs;
+    private int taille;
+    private boolean trie;
+
+    /**
+     * @param capacite Nombre K d'éléments retenus
+     */
+    public TasBorne(int capacite) {
+        ValidationUtils.requirePositive(capacite, "capacite");
+        this.ids = new int[capacite];
+        this.valeurs = new double[capacite];
+    }
+
+    /**
+     * Propose un candidat ; il n'est retenu que s'il fait partie des K meilleurs.
+     */
+    public void offrir(int id, double valeur) {
+        if (trie) {
+            throw new IllegalStateException("Tas déjà trié");
+        }
+        if (taille < ids.length) {
+            ids[taille] = id;
+            valeurs[taille] = valeur;
+            monter(taille++);
+        } else if (meilleur(id, valeur, ids[0], valeurs[0])) {
+            ids[0] = id;
+            valeurs[0] = valeur;
+            descendre(0, taille);
+        }
+    }
+
+    private static boolean meilleur(int idA, double a, int idB, double b) {
+        return a > b || (a == b && idA < idB);
+    }
+
+    private boolean moinsBon(int i, int j) {
+        return meilleur(ids[j], valeurs[j], ids[i], valeurs[i]);
+    }
+
+    private void monter(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!moinsBon(i, parent)) {
+                return;
+            }
+            echanger(i, parent);
+            i = parent;
+        }
+    }
+
+    private void descendre(int i, int fin) {
+        while (true) {
+            int gauche = 2 * i + 1;
+            if (gauche >= fin) {
+                return;
+            }
+            int pire = gauche;
+            if (gauche + 1 < fin && moinsBon(gauche + 1, gauche)) {
+                pire = gauche + 1;
+            }
+            if (!moinsBon(pire, i)) {
+                return;
+            }
+            echanger(i, pire);
+            i = pire;
+        }
+    }
+
+    private void echanger(int i, int j) {
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double valeur = valeurs[i];
+        valeurs[i] = valeurs[j];
+        valeurs[j] = valeur;
+    }
+
+    /**
+     * Range les éléments retenus du meilleur au moins bon (tri par tas, en place).
+     * Le tas n'accepte plus de candidat ensuite.
+     *
+     * @return Le nombre d'éléments retenus
+     */
+    public int trier() {
+        if (!trie) {
+            for (int fin = taille - 1; fin > 0; fin--) {
+                echanger(0, fin);
+                descendre(0, fin);
+            }
+            trie = true;
+        }
+        return taille;
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * @param rang Rang dans le classement (0 = meilleur), après {@link #trier()}
+     */
+    public int getId(int rang) {
+        return ids[verifier(rang)];
+    }
+
+    /**
+     * @param rang Rang dans le classement (0 = meilleur), après {@link #trier()}
+     */
+    public double getValeur(int rang) {
+        return valeurs[verifier(rang)];
+    }
+
+    private int verifier(int rang) {
+        if (!trie) {
+            throw new IllegalStateException("Appeler trier() avant de lire le classement");
+        }
+        if (rang < 0 || rang >= taille) {
+            throw new IndexOutOfBoundsException("Rang " + rang + " hors du classement (" + taille + ")");
+        }
+        return rang;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gestionhotel.utils;
+
+/**
+ * Reçoit les lignes d'un historique de réservations archivées, champ par champ,
+ * sans objet Reservation intermédiaire.
+ * Les services de la ligne sont services[premierService .. finService[.
+ */
+@FunctionalInterface
+public interface VisiteurArchive {
+
+    void ligne(int numero, int numeroChambre, int numeroClient, int jourDebut, int jourFin, int statut,
+            int[] services, int premierService, int finService);
+}
@@ -0,0 +1,98 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.Arrays;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+
+/**
+ * Classe de tests unitaires pour CacheDevis.
+ * Vérifie le partage des devis, l'éviction LRU et l'invalidation sur changement de prix.
+ */
+public class TestCacheDevis {
+
+    private Hotel hotel;
+    private Service petitDejeuner;
+    private Service spa;
+    private LocalDate debut;
+    private LocalDate fin;
+
+    /**
+     * Initialisation avant chaque test.
+     * Deux chambres simples au même tarif et deux services.
+     */
+    @Before
+    public void setUp() {
+        hotel = new Hotel("Hôtel Test", "Paris");
+        hotel.ajouterChambre(new ChambreSimple(101));
+        hotel.ajouterChambre(new ChambreSimple(102));
+        petitDejeuner = new Service("Petit-déjeuner", "Buffet", 15.0);
+        spa = new Service("Spa", "Accès au spa", 40.0);
+        hotel.ajouterService(petitDejeuner);
+        hotel.ajouterService(spa);
+        debut = LocalDate.now().plusDays(10);
+        fin = debut.plusDays(3);
+    }
+
+    @Test
+    public void testDevisPartagesEntreChambresDuMemeTarif() {
+        // Act
+        double premier = hotel.chiffrerSejour(hotel.rechercherChambre(101), debut, fin, Arrays.asList(spa, petitDejeuner));
+        double second = hotel.chiffrerSejour(hotel.rechercherChambre(102), debut, fin, Arrays.asList(petitDejeuner, spa));
+
+        // Assert : même type, même tarif, même ensemble de services
+        assertEquals(150.0 + 15.0 + 40.0, premier, 0.0);
+        assertEquals(premier, second, 0.0);
+        assertEquals(1, hotel.getCacheDevis().getEchecs());
+        assertEquals(1, hotel.getCacheDevis().getSucces());
+        assertEquals(0.5, hotel.getCacheDevis().getTauxSucces(), 0.0);
+    }
+
+    @Test
+    public void testEvictionDuMoinsRecemmentUtilise() {
+        // Arrange
+        CacheDevis cache = new CacheDevis(2);
+        Chambre chambre = hotel.rechercherChambre(101);
+        cache.coter(chambre, debut, fin, null);
+        cache.coter(chambre, debut, fin.plusDays(1), null);
+        cache.coter(chambre, debut, fin, null); // relu : devient le plus récent
+
+        // Act
+        cache.coter(chambre, debut, fin.plusDays(2), null);
+        cache.coter(chambre, debut, fin, null);
+        cache.coter(chambre, debut, fin.plusDays(1), null);
+
+        // Assert : seul le séjour le moins récemment lu a été évincé
+        assertEquals(2, cache.getTaille());
+        assertEquals(2, cache.getSucces());
+        assertEquals(4, cache.getEchecs());
+    }
+
+    @Test
+    public void testInvalidationSurChangementDePrix() {
+        // Arrange
+        Client client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        Chambre chambre = hotel.rechercherChambre(101);
+        Reservation reservation = hotel.creerReservation(client, chambre, debut, fin);
+        hotel.ajouterServiceReservation(reservation, spa);
+        assertEquals(190.0, hotel.chiffrerReservation(reservation), 0.0);
+
+        // Act & Assert : chaque modification de prix est prise en compte
+        chambre.setPrixParNuit(60.0);
+        assertEquals(220.0, hotel.chiffrerReservation(reservation), 0.0);
+        spa.setPrix(50.0);
+        assertEquals(230.0, hotel.chiffrerReservation(reservation), 0.0);
+        spa.appliquerPromotion(10);
+        assertEquals(225.0, hotel.chiffrerReservation(reservation), 0.0);
+        assertEquals(reservation.calculerPrixTotal(), hotel.chiffrerReservation(reservation), 0.0);
+        assertEquals(4, hotel.getCacheDevis().getEchecs());
+        assertEquals(1, hotel.getCacheDevis().getSucces());
+    }
+}
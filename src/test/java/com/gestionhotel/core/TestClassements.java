@@ -0,0 +1,116 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.GenerateurDonnees;
+
+/**
+ * Classe de tests unitaires pour les classements top-K de Statistiques.
+ * Compare les classements à un calcul naïf, archive comprise.
+ */
+public class TestClassements {
+
+    private static final LocalDate REFERENCE = LocalDate.of(2024, 1, 1);
+
+    private Hotel hotel;
+    private Statistiques statistiques;
+    private Map<Integer, Integer> reservationsParClient;
+    private Map<Integer, Double> chiffreParChambre;
+
+    /**
+     * Initialisation avant chaque test.
+     * Génère un historique, calcule les valeurs attendues puis archive une partie.
+     */
+    @Before
+    public void setUp() {
+        GenerateurDonnees generateur = new GenerateurDonnees(3L);
+        generateur.setNombreChambres(30, 15, 5);
+        generateur.setNombreClients(400);
+        generateur.setNombreReservations(6000);
+        generateur.setDateReference(REFERENCE);
+        hotel = new Hotel("", "");
+        generateur.genererHotel(hotel);
+
+        reservationsParClient = new HashMap<>();
+        chiffreParChambre = new HashMap<>();
+        for (Reservation reservation : hotel.getReservations()) {
+            reservationsParClient.merge(reservation.getClient().getNumeroClient(), 1, Integer::sum);
+            if (reservation.getStatut() != StatutReservation.ANNULEE) {
+                chiffreParChambre.merge(reservation.getChambre().getNumero(), reservation.calculerPrixTotal(), Double::sum);
+            }
+        }
+        hotel.archiverReservations(REFERENCE.minusYears(1));
+        statistiques = new Statistiques(hotel);
+    }
+
+    @Test
+    public void testTopClientsParNombre() {
+        // Act
+        List<Classement<Client>> top = statistiques.classerClients(20, CritereClassement.NOMBRE_RESERVATIONS);
+
+        // Assert : ordre décroissant, valeurs exactes, et personne hors du top ne fait mieux
+        assertEquals(20, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            Classement<Client> ligne = top.get(i);
+            assertEquals(i + 1, ligne.getRang());
+            assertEquals((int) reservationsParClient.get(ligne.getElement().getNumeroClient()), (int) ligne.getValeur());
+            if (i > 0) {
+                assertTrue(top.get(i - 1).getValeur() >= ligne.getValeur());
+            }
+        }
+        double dernier = top.get(19).getValeur();
+        long meilleurs = reservationsParClient.values().stream().filter(n -> n > dernier).count();
+        assertTrue(meilleurs < 20);
+        int fidele = statistiques.trouverClientLePlusFidele().getNumeroClient();
+        assertEquals((int) reservationsParClient.get(fidele), (int) top.get(0).getValeur());
+    }
+
+    @Test
+    public void testTopChambresParChiffreAffaires() {
+        // Act
+        List<Classement<Chambre>> top = statistiques.classerChambres(5, CritereClassement.CHIFFRE_AFFAIRES);
+
+        // Assert
+        double meilleur = chiffreParChambre.values().stream().mapToDouble(Double::doubleValue).max().getAsDouble();
+        assertEquals(5, top.size());
+        assertEquals(meilleur, top.get(0).getValeur(), 0.01);
+        for (Classement<Chambre> ligne : top) {
+            assertEquals(chiffreParChambre.get(ligne.getElement().getNumero()), ligne.getValeur(), 0.01);
+        }
+    }
+
+    @Test
+    public void testKSuperieurAuNombreDElements() {
+        // Act
+        List<Classement<Service>> top = statistiques.classerServices(100, CritereClassement.NOMBRE_RESERVATIONS);
+
+        // Assert
+        assertEquals(hotel.getServicesDisponibles().size(), top.size());
+    }
+
+    @Test
+    public void testClassementApproximatifRetrouveLesGrosClients() {
+        // Arrange
+        List<Classement<Client>> exact = statistiques.classerClients(5, CritereClassement.NOMBRE_RESERVATIONS);
+
+        // Act : 100 compteurs pour 400 clients
+        List<Classement<Client>> approche = statistiques.classerClientsApproximatif(5, 100);
+
+        // Assert : le majorant ne sous-estime jamais et le premier est retrouvé
+        assertEquals(5, approche.size());
+        assertEquals(exact.get(0).getElement(), approche.get(0).getElement());
+        for (Classement<Client> ligne : approche) {
+            assertTrue(ligne.getValeur() >= reservationsParClient.get(ligne.getElement().getNumeroClient()));
+        }
+    }
+}
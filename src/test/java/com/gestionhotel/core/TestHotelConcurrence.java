@@ -0,0 +1,149 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Classe de tests unitaires pour l'accès concurrent à Hotel.
+ * Plusieurs terminaux réservent en même temps : aucune chambre ne doit être vendue deux fois.
+ */
+public class TestHotelConcurrence {
+
+    private static final int TERMINAUX = 8;
+
+    private Hotel hotel;
+    private Client client;
+    private LocalDate debut;
+
+    /**
+     * Initialisation avant chaque test.
+     * Crée un hôtel de 32 chambres et un client.
+     */
+    @Before
+    public void setUp() {
+        hotel = new Hotel("Hôtel Test", "Paris");
+        for (int numero = 100; numero < 132; numero++) {
+            hotel.ajouterChambre(new ChambreSimple(numero));
+        }
+        client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        debut = LocalDate.now().plusDays(30);
+    }
+
+    private ArrayList<Reservation> lancer(Callable<Reservation> tache, int nombre) throws Exception {
+        ExecutorService terminaux = Executors.newFixedThreadPool(TERMINAUX);
+        CountDownLatch depart = new CountDownLatch(1);
+        ArrayList<Future<Reservation>> resultats = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            resultats.add(terminaux.submit(() -> {
+                depart.await();
+                return tache.call();
+            }));
+        }
+        depart.countDown();
+        ArrayList<Reservation> creees = new ArrayList<>();
+        for (Future<Reservation> resultat : resultats) {
+            Reservation reservation = resultat.get();
+            if (reservation != null) {
+                creees.add(reservation);
+            }
+        }
+        terminaux.shutdown();
+        return creees;
+    }
+
+    @Test
+    public void testMemeChambreVendueUneSeuleFois() throws Exception {
+        // Act : 64 terminaux tentent la même chambre sur la même période
+        ArrayList<Reservation> creees = lancer(
+                () -> hotel.creerReservation(client, hotel.rechercherChambre(100), debut, debut.plusDays(2)), 64);
+
+        // Assert
+        assertEquals("Une seule réservation doit aboutir", 1, creees.size());
+        assertEquals(1, hotel.getReservations().size());
+        assertEquals(1, hotel.getAgregateur().getNombreReservations());
+    }
+
+    @Test
+    public void testChambresDifferentesReserveesEnParallele() throws Exception {
+        // Act : chaque chambre est demandée deux fois
+        int[] suivante = { 0 };
+        ArrayList<Reservation> creees = lancer(() -> {
+            int numero;
+            synchronized (suivante) {
+                numero = 100 + (suivante[0]++ % 32);
+            }
+            return hotel.creerReservation(client, hotel.rechercherChambre(numero), debut, debut.plusDays(1));
+        }, 64);
+
+        // Assert
+        assertEquals("Chaque chambre doit être vendue exactement une fois", 32, creees.size());
+        HashSet<Integer> numeros = new HashSet<>();
+        for (Reservation reservation : creees) {
+            assertTrue("Les numéros de réservation doivent être uniques",
+                    numeros.add(reservation.getNumeroReservation()));
+        }
+        assertTrue(hotel.getChambresDisponibles(debut, debut.plusDays(1)).isEmpty());
+        assertEquals(32, hotel.getReservationsClient(client.getNumeroClient()).size());
+    }
+
+    @Test
+    public void testStatistiquesJustesPendantLesReconstructions() throws Exception {
+        // Arrange : un fil reconstruit les compteurs en boucle pendant les réservations
+        AtomicBoolean fini = new AtomicBoolean();
+        Thread reconstructions = new Thread(() -> {
+            while (!fini.get()) {
+                hotel.getAgregateur().invalider();
+                hotel.getAgregateur();
+            }
+        });
+        reconstructions.start();
+        int[] suivante = { 0 };
+
+        // Act : 320 séjours d'une nuit, un sur deux confirmé
+        try {
+            lancer(() -> {
+                int rang;
+                synchronized (suivante) {
+                    rang = suivante[0]++;
+                }
+                LocalDate jour = debut.plusDays(rang / 32);
+                Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(100 + rang % 32), jour,
+                        jour.plusDays(1));
+                if (rang % 2 == 0) {
+                    hotel.confirmerReservation(reservation.getNumeroReservation());
+                }
+                return reservation;
+            }, 320);
+        } finally {
+            fini.set(true);
+            reconstructions.join();
+        }
+        AgregateurStatistiques incremental = hotel.getAgregateur();
+        int nombre = incremental.getNombreReservations();
+        int confirmees = incremental.getNombreReservations(StatutReservation.CONFIRMEE);
+        long chiffreAffaires = incremental.getChiffreAffairesCentimes();
+        incremental.invalider();
+        AgregateurStatistiques reconstruit = hotel.getAgregateur();
+
+        // Assert : aucune réservation comptée deux fois
+        assertEquals(320, nombre);
+        assertEquals(reconstruit.getNombreReservations(StatutReservation.CONFIRMEE), confirmees);
+        assertEquals(160, confirmees);
+        assertEquals(reconstruit.getChiffreAffairesCentimes(), chiffreAffaires);
+    }
+}
@@ -0,0 +1,98 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import com.gestionhotel.model.Chambre;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Classe de tests unitaires pour MoteurTarifaire.
+ * Vérifie chaque famille de règles, leur cumul et l'invalidation des statistiques.
+ */
+public class TestMoteurTarifaire {
+
+    private Hotel hotel;
+    private MoteurTarifaire moteur;
+    private Client client;
+    private LocalDate lundi;
+
+    /**
+     * Initialisation avant chaque test.
+     * Deux chambres simples à 50€ et une suite avec jacuzzi, moteur branché sans règle.
+     */
+    @Before
+    public void setUp() {
+        hotel = new Hotel("Hôtel Test", "Paris");
+        hotel.ajouterChambre(new ChambreSimple(101));
+        hotel.ajouterChambre(new ChambreSimple(102));
+        hotel.ajouterChambre(new Suite(301, true, false));
+        client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        moteur = new MoteurTarifaire(hotel);
+        hotel.setTarification(moteur);
+        lundi = LocalDate.now().plusYears(1).with(DayOfWeek.MONDAY);
+    }
+
+    @Test
+    public void testSansRegleLesPrixNeChangentPas() {
+        // Act & Assert
+        assertEquals(150.0, hotel.rechercherChambre(101).calculerPrix(lundi, lundi.plusDays(3)), 0.0);
+        assertEquals(3 * (150.0 + 30.0), hotel.rechercherChambre(301).calculerPrix(lundi, lundi.plusDays(3)), 0.0);
+        assertEquals("Hors horizon, le prix par nuit s'applique", 100.0,
+                hotel.rechercherChambre(101).calculerPrix(lundi.plusYears(5), lundi.plusYears(5).plusDays(2)), 0.0);
+    }
+
+    @Test
+    public void testCumulDesRegles() {
+        // Arrange : samedi +20 %, saison +50 % sur les simples, tarif fixé le mercredi, -10 % dès 7 nuits
+        moteur.setCoefficientJour(null, DayOfWeek.SATURDAY, 1.2);
+        moteur.ajouterSaison("Simple", lundi, lundi.plusDays(14), 1.5);
+        moteur.definirTarif("simple", lundi.plusDays(2), lundi.plusDays(3), 40.0);
+        moteur.ajouterRemiseDuree(7, 0.10);
+        Chambre simple = hotel.rechercherChambre(101);
+        Chambre suite = hotel.rechercherChambre(301);
+
+        // Act & Assert : lundi à dimanche
+        double semaine = 50 * 1.5 * 5 + 40 * 1.5 + 50 * 1.5 * 1.2;
+        assertEquals(50 * 1.5 + 50 * 1.5 + 40 * 1.5, simple.calculerPrix(lundi, lundi.plusDays(3)), 1e-9);
+        assertEquals(semaine * 0.9, simple.calculerPrix(lundi, lundi.plusDays(7)), 1e-9);
+        assertEquals("La saison des simples ne touche pas la suite, le supplément reste fixe",
+                (150 * 1.2 + 30) * 0.9 + (150 + 30) * 6 * 0.9, suite.calculerPrix(lundi.minusDays(2), lundi.plusDays(5)), 1e-9);
+    }
+
+    @Test
+    public void testYieldEtInvalidationDesStatistiques() {
+        // Arrange : les deux simples vendues la première nuit, +30 % dès 100 % d'occupation
+        Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(101), lundi, lundi.plusDays(2));
+        hotel.creerReservation(client, hotel.rechercherChambre(102), lundi, lundi.plusDays(1));
+        Statistiques statistiques = new Statistiques(hotel);
+        assertEquals(150.0, statistiques.calculerChiffreAffaires(), 1e-9);
+
+        // Act
+        moteur.ajouterSeuilOccupation("Simple", 100.0, 1.3);
+
+        // Assert : seule la nuit pleine est majorée, et les statistiques suivent
+        assertEquals(50 * 1.3 + 50, reservation.calculerPrixChambre(), 1e-9);
+        assertEquals(50 * 1.3 * 2 + 50, statistiques.calculerChiffreAffaires(), 1e-9);
+    }
+
+    @Test
+    public void testChambreAjouteeApresLePremierDevis() {
+        // Arrange : saison ×2 sur les doubles, grilles calculées avant qu'il y en ait une
+        moteur.ajouterSaison("Double", lundi, lundi.plusDays(7), 2.0);
+        assertEquals(100.0, hotel.rechercherChambre(101).calculerPrix(lundi, lundi.plusDays(2)), 0.0);
+
+        // Act
+        hotel.ajouterChambre(new ChambreDouble(201, false));
+
+        // Assert
+        assertEquals(80 * 2.0 * 2, hotel.rechercherChambre(201).calculerPrix(lundi, lundi.plusDays(2)), 1e-9);
+    }
+}
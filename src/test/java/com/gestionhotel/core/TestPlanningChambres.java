@@ -0,0 +1,123 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Classe de tests unitaires pour PlanningChambres.
+ * Vérifie la détection des chevauchements et la vente à l'avance.
+ */
+public class TestPlanningChambres {
+
+    private PlanningChambres planning;
+    private LocalDate jour;
+
+    /**
+     * Initialisation avant chaque test.
+     * Crée un planning avec deux chambres libres.
+     */
+    @Before
+    public void setUp() {
+        planning = new PlanningChambres();
+        planning.ajouterChambre(101);
+        planning.ajouterChambre(102);
+        jour = LocalDate.of(2030, 6, 10);
+    }
+
+    // ===========================
+    // TESTS DE RÉSERVATION
+    // ===========================
+
+    @Test
+    public void testChambreLibreParDefaut() {
+        assertTrue("Une chambre sans séjour doit être libre",
+                planning.estDisponible(101, jour, jour.plusDays(3)));
+    }
+
+    @Test
+    public void testChambreInconnueIndisponible() {
+        assertFalse("Une chambre non déclarée ne doit pas être disponible",
+                planning.estDisponible(999, jour, jour.plusDays(1)));
+    }
+
+    @Test
+    public void testChevauchementRefuse() {
+        // Arrange
+        assertTrue(planning.reserver(101, jour, jour.plusDays(3), 1));
+
+        // Act & Assert
+        assertFalse("Un séjour chevauchant doit être refusé",
+                planning.reserver(101, jour.plusDays(2), jour.plusDays(5), 2));
+        assertFalse("Un séjour englobant doit être refusé",
+                planning.reserver(101, jour.minusDays(1), jour.plusDays(4), 3));
+    }
+
+    @Test
+    public void testSejoursConsecutifsAcceptes() {
+        // Arrange
+        assertTrue(planning.reserver(101, jour, jour.plusDays(3), 1));
+
+        // Act & Assert : le départ libère la chambre pour une arrivée le même jour
+        assertTrue("Un séjour commençant au départ du précédent doit être accepté",
+                planning.reserver(101, jour.plusDays(3), jour.plusDays(5), 2));
+        assertTrue("Un séjour finissant à l'arrivée du suivant doit être accepté",
+                planning.reserver(101, jour.minusDays(2), jour, 3));
+    }
+
+    @Test
+    public void testVenteAvanceNeBloquePasCeSoir() {
+        // Arrange : réservation le mois prochain
+        planning.reserver(101, jour.plusMonths(1), jour.plusMonths(1).plusDays(2), 1);
+
+        // Act & Assert
+        assertTrue("La chambre doit rester vendable ce soir",
+                planning.estDisponible(101, jour, jour.plusDays(1)));
+    }
+
+    // ===========================
+    // TESTS DE LIBÉRATION
+    // ===========================
+
+    @Test
+    public void testLibererSejour() {
+        // Arrange
+        planning.reserver(101, jour, jour.plusDays(2), 7);
+
+        // Act
+        boolean resultat = planning.liberer(101, jour, 7);
+
+        // Assert
+        assertTrue("La libération doit réussir", resultat);
+        assertTrue("La chambre doit redevenir libre", planning.estDisponible(101, jour, jour.plusDays(2)));
+    }
+
+    @Test
+    public void testLibererAutreReservationIgnore() {
+        // Arrange
+        planning.reserver(101, jour, jour.plusDays(2), 7);
+
+        // Act & Assert
+        assertFalse("Seule la réservation propriétaire peut libérer le séjour", planning.liberer(101, jour, 8));
+        assertFalse(planning.estDisponible(101, jour, jour.plusDays(1)));
+    }
+
+    // ===========================
+    // TESTS DE RECHERCHE
+    // ===========================
+
+    @Test
+    public void testChambresLibresSurPeriode() {
+        // Arrange
+        planning.reserver(101, jour, jour.plusDays(2), 1);
+
+        // Act
+        ArrayList<Integer> libres = planning.getChambresLibres(jour.plusDays(1), jour.plusDays(3));
+
+        // Assert
+        assertEquals("Une seule chambre doit être libre", 1, libres.size());
+        assertEquals("La chambre 102 doit être libre", Integer.valueOf(102), libres.get(0));
+    }
+}
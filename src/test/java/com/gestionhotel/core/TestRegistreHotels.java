@@ -0,0 +1,145 @@
+package com.gestionhotel.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Classe de tests unitaires pour RegistreHotels.
+ * Vérifie les espaces de numéros par hôtel, la recherche multi-hôtels et la sauvegarde par répertoire.
+ */
+public class TestRegistreHotels {
+
+    private File racine;
+    private RegistreHotels registre;
+    private LocalDate debut;
+    private LocalDate fin;
+
+    /**
+     * Initialisation avant chaque test.
+     * Deux hôtels à Paris et un à Lyon, chacun avec une suite et une chambre simple.
+     */
+    @Before
+    public void setUp() throws IOException {
+        racine = Files.createTempDirectory("registre").toFile();
+        registre = new RegistreHotels(racine);
+        creer("PAR1", "Paris", 301);
+        creer("PAR2", "paris", 302);
+        creer("LYO1", "Lyon", 303);
+        debut = LocalDate.now().plusDays(20);
+        fin = debut.plusDays(3);
+    }
+
+    private Hotel creer(String code, String ville, int numeroSuite) {
+        Hotel hotel = registre.creerHotel(code, "Hôtel " + code, "1 rue de la Gare", ville);
+        hotel.ajouterChambre(new ChambreSimple(101));
+        hotel.ajouterChambre(new Suite(numeroSuite, true, true));
+        return hotel;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        registre.fermer();
+        Files.walk(racine.toPath()).map(java.nio.file.Path::toFile)
+                .sorted((a, b) -> b.getPath().length() - a.getPath().length()).forEach(File::delete);
+    }
+
+    private Reservation reserver(Hotel hotel, int numeroChambre) {
+        Client client = hotel.nouveauClient("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        return hotel.creerReservation(client, hotel.rechercherChambre(numeroChambre), debut, fin);
+    }
+
+    @Test
+    public void testEspacesDeNumerosIndependants() {
+        // Act
+        Reservation parisienne = reserver(registre.getHotel("PAR1"), 101);
+        Reservation lyonnaise = reserver(registre.getHotel("LYO1"), 101);
+
+        // Assert : chaque hôtel numérote à partir de 1
+        assertEquals(1, parisienne.getNumeroReservation());
+        assertEquals(1, lyonnaise.getNumeroReservation());
+        assertEquals(1, parisienne.getClient().getNumeroClient());
+        assertEquals(1, lyonnaise.getClient().getNumeroClient());
+    }
+
+    @Test
+    public void testRechercheMultiHotels() {
+        // Arrange : la suite de PAR1 est prise
+        reserver(registre.getHotel("PAR1"), 301);
+
+        // Act
+        List<ChambreTrouvee> suites = registre.rechercherChambresDisponibles("PARIS", "suite", debut, fin);
+        ChambreTrouvee une = registre.trouverChambreDisponible(null, "Suite", debut, fin);
+
+        // Assert
+        assertEquals(1, suites.size());
+        assertEquals("PAR2", suites.get(0).getCodeHotel());
+        assertEquals(302, suites.get(0).getChambre().getNumero());
+        assertNotNull(une);
+        assertEquals(2, registre.rechercherHotels("Paris").size());
+        assertEquals(5, registre.rechercherChambresDisponibles(null, null, debut, fin).size());
+
+        // Une chambre supprimée quitte l'index
+        registre.getHotel("PAR2").supprimerChambre(302);
+        assertTrue(registre.rechercherChambresDisponibles("Paris", "Suite", debut, fin).isEmpty());
+    }
+
+    @Test
+    public void testSauvegardeEtRechargementParRepertoire() throws IOException {
+        // Arrange
+        Reservation reservation = reserver(registre.getHotel("LYO1"), 303);
+        assertTrue(registre.sauvegarder());
+        registre.fermer();
+
+        // Act
+        registre = RegistreHotels.charger(racine);
+
+        // Assert
+        assertEquals(3, registre.getNombreHotels());
+        assertTrue(new File(racine, "LYO1").isDirectory());
+        Hotel lyon = registre.getHotel("LYO1");
+        assertEquals("Hôtel LYO1", lyon.getNom());
+        assertNotNull(lyon.rechercherReservation(reservation.getNumeroReservation()));
+        assertTrue(registre.getHotel("PAR1").getReservations().isEmpty());
+        assertNull(registre.trouverChambreDisponible("Lyon", "Suite", debut, fin));
+        assertTrue("Les numéros reprennent après ceux de la sauvegarde",
+                reserver(lyon, 101).getNumeroReservation() > reservation.getNumeroReservation());
+    }
+
+    @Test
+    public void testRestaurationAvanceLesAllocateursDeLHotel() {
+        // Arrange : une réservation sauvegardée au numéro élevé
+        Hotel lyon = registre.getHotel("LYO1");
+        Client client = lyon.nouveauClient("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        lyon.ajouterClient(client);
+        Reservation sauvegardee = new Reservation(1_000_000, client, lyon.rechercherChambre(303), debut, fin,
+                StatutReservation.CONFIRMEE);
+
+        // Act
+        lyon.restaurerReservations(Collections.singletonList(sauvegardee));
+        lyon.ajouterClient(new Client(1_000_000, "Martin", "Anne", "anne.martin@email.com", "0611223344"));
+        lyon.ajouterService(new Service(1_000_000, "Spa", "Accès illimité", 45.0));
+
+        // Assert : seuls les espaces de numéros de l'hôtel sont avancés
+        assertTrue(Reservation.getAllocateur().getMarqueHaute() <= 1_000_000);
+        assertTrue(Client.getAllocateur().getMarqueHaute() <= 1_000_000);
+        assertTrue(Service.getAllocateur().getMarqueHaute() <= 1_000_000);
+        assertTrue(reserver(lyon, 101).getNumeroReservation() > 1_000_000);
+        assertTrue(lyon.nouveauClient("Durand", "Paul", "paul.durand@email.com", "0622334455").getNumeroClient() > 1_000_000);
+        assertTrue(lyon.nouveauService("Parking", "Place couverte", 12.0).getIdService() > 1_000_000);
+    }
+}
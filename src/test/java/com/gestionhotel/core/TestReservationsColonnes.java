@@ -0,0 +1,137 @@
+package com.gestionhotel.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.GenerateurDonnees;
+import com.gestionhotel.utils.SnapshotBinaire;
+
+/**
+ * Classe de tests unitaires pour ReservationsColonnes et l'archivage de l'hôtel.
+ * Vérifie que les statistiques sont inchangées par l'archivage, que l'archive
+ * survit à un snapshot et qu'elle reste compacte.
+ */
+public class TestReservationsColonnes {
+
+    private static final LocalDate REFERENCE = LocalDate.of(2024, 1, 1);
+
+    private Hotel hotel;
+    private File fichier;
+
+    /**
+     * Initialisation avant chaque test.
+     * Génère trois ans d'historique clos avant la date de référence.
+     */
+    @Before
+    public void setUp() throws IOException {
+        GenerateurDonnees generateur = new GenerateurDonnees(11L);
+        generateur.setNombreChambres(12, 6, 2);
+        generateur.setNombreClients(200);
+        generateur.setNombreServices(5);
+        generateur.setNombreReservations(3000);
+        generateur.setDateReference(REFERENCE);
+        hotel = new Hotel("", "");
+        generateur.genererHotel(hotel);
+        fichier = File.createTempFile("archive", ".snap");
+    }
+
+    @After
+    public void tearDown() {
+        fichier.delete();
+    }
+
+    @Test
+    public void testStatistiquesInchangeesApresArchivage() {
+        // Arrange
+        AgregateurStatistiques avant = hotel.getAgregateur();
+        double chiffreAffaires = avant.getChiffreAffaires();
+        int annulees = avant.getNombreReservations(StatutReservation.ANNULEE);
+        long nuits = avant.getNuitsNonAnnulees();
+        int services = avant.getNombreServices();
+
+        // Act
+        int archivees = hotel.archiverReservations(REFERENCE.minusMonths(6));
+        hotel.invaliderStatistiques();
+
+        // Assert
+        assertTrue("Une partie de l'historique doit être archivée", archivees > 1000);
+        assertEquals(3000 - archivees, hotel.getReservations().size());
+        AgregateurStatistiques apres = hotel.getAgregateur();
+        assertEquals(3000, apres.getNombreReservations());
+        assertEquals(chiffreAffaires, apres.getChiffreAffaires(), 0.001);
+        assertEquals(annulees, apres.getNombreReservations(StatutReservation.ANNULEE));
+        assertEquals(nuits, apres.getNuitsNonAnnulees());
+        assertEquals(services, apres.getNombreServices());
+    }
+
+    @Test
+    public void testSeulesLesReservationsClosesSontArchivees() {
+        // Arrange
+        Client client = hotel.getClients().iterator().next();
+        Reservation future = hotel.creerReservation(client, hotel.getChambres().get(0),
+                LocalDate.now().plusYears(5), LocalDate.now().plusYears(5).plusDays(2));
+
+        // Act
+        hotel.archiverReservations(LocalDate.now().plusYears(10));
+
+        // Assert
+        assertNotNull(future);
+        assertSame(future, hotel.rechercherReservation(future.getNumeroReservation()));
+        assertFalse(hotel.getArchive().contient(future.getNumeroReservation()));
+        for (Reservation reservation : hotel.getReservations()) {
+            assertTrue("Seules les réservations actives restent vivantes", reservation.getStatut().estActif());
+        }
+        assertEquals(3001, hotel.getArchive().getTaille() + hotel.getReservations().size());
+    }
+
+    @Test
+    public void testComptageClientInclutArchive() {
+        // Arrange
+        Client client = hotel.getClients().iterator().next();
+        Statistiques statistiques = new Statistiques(hotel);
+        int attendu = statistiques.compterReservationsClient(client);
+
+        // Act
+        hotel.archiverReservations(REFERENCE);
+
+        // Assert
+        assertEquals(attendu, statistiques.compterReservationsClient(client));
+    }
+
+    @Test
+    public void testSnapshotConserveLArchive() throws IOException {
+        // Arrange
+        int archivees = hotel.archiverReservations(REFERENCE.minusYears(1));
+        double chiffreAffaires = hotel.getAgregateur().getChiffreAffaires();
+        SnapshotBinaire.ecrire(hotel, fichier);
+
+        // Act
+        Hotel relu = new Hotel("", "");
+        SnapshotBinaire.lire(relu, fichier);
+
+        // Assert
+        assertEquals(archivees, relu.getArchive().getTaille());
+        assertEquals(hotel.getReservations().size(), relu.getReservations().size());
+        assertEquals(chiffreAffaires, relu.getAgregateur().getChiffreAffaires(), 0.001);
+        Reservation recreee = relu.getArchive().materialiser(0, relu);
+        assertEquals(hotel.getArchive().getNumero(0), recreee.getNumeroReservation());
+        assertEquals(hotel.getArchive().getFin(0), recreee.getFin());
+    }
+
+    @Test
+    public void testEmpreinteMemoireCompacte() {
+        // Act
+        int archivees = hotel.archiverReservations(REFERENCE);
+        hotel.getArchive().compacter();
+
+        // Assert : quelques dizaines d'octets par réservation
+        assertTrue(hotel.getArchive().getEmpreinteMemoire() < 40L * archivees);
+    }
+}
@@ -0,0 +1,194 @@
+package com.gestionhotel.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.GenerateurDonnees;
+
+/**
+ * Classe de tests unitaires pour SeriesOccupation.
+ * Vérifie les indicateurs par période, la mise à jour incrémentale
+ * et l'équivalence avec un calcul chambre par chambre et jour par jour.
+ */
+public class TestSeriesOccupation {
+
+    private Hotel hotel;
+    private Client client;
+    private LocalDate lundi;
+
+    /**
+     * Initialisation avant chaque test.
+     * Crée deux chambres simples et une double.
+     */
+    @Before
+    public void setUp() {
+        hotel = new Hotel("Hôtel Test", "Paris");
+        hotel.ajouterChambre(new ChambreSimple(101));
+        hotel.ajouterChambre(new ChambreSimple(102));
+        hotel.ajouterChambre(new ChambreDouble(201, false));
+        client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        lundi = LocalDate.now().plusYears(1).with(DayOfWeek.MONDAY);
+    }
+
+    @Test
+    public void testIndicateursParSemaine() {
+        // Arrange : 3 nuits en simple et 2 en double sur la même semaine
+        hotel.creerReservation(client, hotel.rechercherChambre(101), lundi, lundi.plusDays(3));
+        hotel.creerReservation(client, hotel.rechercherChambre(201), lundi.plusDays(1), lundi.plusDays(3));
+
+        // Act
+        List<PointSerie> tout = hotel.getSeriesOccupation().calculer(null, lundi, lundi.plusWeeks(2), Granularite.SEMAINE);
+        List<PointSerie> simples = hotel.getSeriesOccupation().calculer("simple", lundi, lundi.plusWeeks(1), Granularite.SEMAINE);
+
+        // Assert
+        assertEquals(2, tout.size());
+        assertEquals(21, tout.get(0).getNuitsDisponibles());
+        assertEquals(5, tout.get(0).getNuitsVendues());
+        assertEquals(3 * 50.0 + 2 * 80.0, tout.get(0).getChiffreAffaires(), 0.001);
+        assertEquals(62.0, tout.get(0).getADR(), 0.001);
+        assertEquals(0, tout.get(1).getNuitsVendues());
+        assertEquals(14, simples.get(0).getNuitsDisponibles());
+        assertEquals(3.0 / 14 * 100, simples.get(0).getTauxOccupation(), 0.001);
+        assertEquals(150.0 / 14, simples.get(0).getRevPAR(), 0.001);
+    }
+
+    @Test
+    public void testMiseAJourIncrementale() {
+        // Arrange : séries calculées une première fois
+        Statistiques statistiques = new Statistiques(hotel);
+        statistiques.calculerSerieOccupation(null, lundi, lundi.plusDays(7), Granularite.JOUR);
+        Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(102), lundi, lundi.plusDays(2));
+
+        // Act & Assert : création, annulation puis changement de tarif
+        List<PointSerie> jours = statistiques.calculerSerieOccupation(null, lundi, lundi.plusDays(7), Granularite.JOUR);
+        assertEquals(7, jours.size());
+        assertEquals(1, jours.get(0).getNuitsVendues());
+        assertEquals(1, jours.get(1).getNuitsVendues());
+        assertEquals(0, jours.get(2).getNuitsVendues());
+
+        hotel.rechercherChambre(102).setPrixParNuit(70.0);
+        assertEquals(70.0, statistiques.calculerSerieOccupation(null, lundi, lundi.plusDays(1), Granularite.JOUR)
+                .get(0).getChiffreAffaires(), 0.001);
+
+        hotel.annulerReservation(reservation.getNumeroReservation(), "Test");
+        assertEquals(0, statistiques.calculerSerieOccupation(null, lundi, lundi.plusDays(7), Granularite.MOIS)
+                .get(0).getNuitsVendues());
+    }
+
+    @Test
+    public void testCentimesRepartisSansPerte() {
+        // Arrange : 100€ pour trois nuits, soit 10000 centimes non divisibles par 3
+        hotel.setTarification((chambre, jourDebut, jourFin) -> 100.0);
+        hotel.creerReservation(client, hotel.rechercherChambre(101), lundi, lundi.plusDays(3));
+
+        // Act
+        List<PointSerie> jours = hotel.getSeriesOccupation().calculer(null, lundi, lundi.plusDays(3), Granularite.JOUR);
+        List<PointSerie> semaine = hotel.getSeriesOccupation().calculer(null, lundi, lundi.plusDays(3), Granularite.SEMAINE);
+
+        // Assert : le centime restant va à la première nuit, le total est exact
+        assertEquals(33.34, jours.get(0).getChiffreAffaires(), 0.0);
+        assertEquals(33.33, jours.get(1).getChiffreAffaires(), 0.0);
+        assertEquals(33.33, jours.get(2).getChiffreAffaires(), 0.0);
+        assertEquals(100.0, semaine.get(0).getChiffreAffaires(), 0.0);
+    }
+
+    @Test
+    public void testEquivalentAuCalculNaif() {
+        // Arrange : trois ans d'historique, dont une partie archivée
+        GenerateurDonnees generateur = new GenerateurDonnees(9L);
+        generateur.setNombreChambres(10, 5, 2);
+        generateur.setNombreReservations(2000);
+        generateur.setDateReference(LocalDate.of(2024, 1, 1));
+        Hotel historique = new Hotel("", "");
+        generateur.genererHotel(historique);
+        LocalDate debut = LocalDate.of(2021, 1, 1);
+        LocalDate fin = LocalDate.of(2024, 1, 1);
+        long attendu = 0;
+        for (Reservation reservation : historique.getReservations()) {
+            if (reservation.getStatut() == StatutReservation.ANNULEE
+                    || !"Double".equals(reservation.getChambre().getType())) {
+                continue;
+            }
+            for (LocalDate jour = reservation.getDebut(); jour.isBefore(reservation.getFin()); jour = jour.plusDays(1)) {
+                if (!jour.isBefore(debut) && jour.isBefore(fin)) {
+                    attendu++;
+                }
+            }
+        }
+        historique.archiverReservations(LocalDate.of(2023, 1, 1));
+
+        // Act
+        List<PointSerie> mois = historique.getSeriesOccupation().calculer("Double", debut, fin, Granularite.MOIS);
+
+        // Assert
+        assertEquals(36, mois.size());
+        long vendues = 0;
+        for (PointSerie point : mois) {
+            vendues += point.getNuitsVendues();
+            assertTrue(point.getTauxOccupation() <= 100.0);
+        }
+        assertEquals(attendu, vendues);
+    }
+
+    @Test
+    public void testReconstructionsPendantLesReservations() throws InterruptedException {
+        // Arrange : 20 chambres, un fil reconstruit les séries en boucle
+        for (int numero = 110; numero < 130; numero++) {
+            hotel.ajouterChambre(new ChambreSimple(numero));
+        }
+        SeriesOccupation series = hotel.getSeriesOccupation();
+        LocalDate fin = lundi.plusDays(60);
+        AtomicBoolean fini = new AtomicBoolean();
+        Thread reconstructions = new Thread(() -> {
+            while (!fini.get()) {
+                series.invalider();
+                series.calculer(null, lundi, fin, Granularite.MOIS);
+            }
+        });
+        AtomicInteger suivante = new AtomicInteger();
+        List<Thread> terminaux = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            terminaux.add(new Thread(() -> {
+                int rang;
+                while ((rang = suivante.getAndIncrement()) < 1200) {
+                    LocalDate jour = lundi.plusDays(rang / 20);
+                    Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(110 + rang % 20),
+                            jour, jour.plusDays(1));
+                    if (rang % 10 == 0) {
+                        hotel.annulerReservation(reservation.getNumeroReservation(), "Test");
+                    }
+                }
+            }));
+        }
+
+        // Act
+        reconstructions.start();
+        for (Thread terminal : terminaux) {
+            terminal.start();
+        }
+        for (Thread terminal : terminaux) {
+            terminal.join();
+        }
+        fini.set(true);
+        reconstructions.join();
+        long incrementales = 0;
+        for (PointSerie point : series.calculer(null, lundi, fin, Granularite.MOIS)) {
+            incrementales += point.getNuitsVendues();
+        }
+
+        // Assert : 1200 nuits dont 120 annulées, chacune comptée une fois
+        assertEquals(1080, incrementales);
+    }
+}
@@ -0,0 +1,92 @@
+package com.gestionhotel.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.utils.GenerateurDonnees;
+
+/**
+ * Classe de tests unitaires pour le mode parallèle de Statistiques.
+ * Vérifie que la reconstruction par tranches donne exactement les mêmes résultats
+ * sur un pool que dans le fil appelant.
+ */
+public class TestStatistiquesParallele {
+
+    private static final LocalDate REFERENCE = LocalDate.of(2024, 1, 1);
+
+    private Hotel hotel;
+    private ForkJoinPool pool;
+
+    /**
+     * Initialisation avant chaque test.
+     * Génère un historique de plusieurs tranches, dont une partie archivée.
+     */
+    @Before
+    public void setUp() {
+        GenerateurDonnees generateur = new GenerateurDonnees(5L);
+        generateur.setNombreChambres(150, 80, 20);
+        generateur.setNombreClients(8000);
+        generateur.setNombreReservations(5 * CalculParTranches.TAILLE_TRANCHE);
+        generateur.setDateReference(REFERENCE);
+        hotel = new Hotel("", "");
+        generateur.genererHotel(hotel);
+        hotel.archiverReservations(REFERENCE.minusYears(1));
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testResultatsIdentiquesAuModeSequentiel() {
+        // Arrange
+        Statistiques statistiques = new Statistiques(hotel);
+        statistiques.recalculer();
+        double chiffreAffaires = statistiques.calculerChiffreAffaires();
+        double annule = statistiques.calculerChiffreAffairesParStatut(StatutReservation.ANNULEE);
+        double nuits = statistiques.calculerNombreMoyenNuits();
+        int services = statistiques.calculerNombreTotalServices();
+        int chambre = hotel.getAgregateur().getChambreLaPlusReservee();
+        int client = hotel.getAgregateur().getClientLePlusFidele();
+        int service = hotel.getAgregateur().getServiceLePlusUtilise();
+
+        // Act
+        statistiques.setModeParallele(pool);
+        statistiques.recalculer();
+
+        // Assert : mêmes sommes au bit près, mêmes gagnants
+        assertTrue(statistiques.isModeParallele());
+        assertEquals(Double.doubleToLongBits(chiffreAffaires),
+                Double.doubleToLongBits(statistiques.calculerChiffreAffaires()));
+        assertEquals(Double.doubleToLongBits(annule),
+                Double.doubleToLongBits(statistiques.calculerChiffreAffairesParStatut(StatutReservation.ANNULEE)));
+        assertEquals(Double.doubleToLongBits(nuits), Double.doubleToLongBits(statistiques.calculerNombreMoyenNuits()));
+        assertEquals(services, statistiques.calculerNombreTotalServices());
+        assertEquals(chambre, hotel.getAgregateur().getChambreLaPlusReservee());
+        assertEquals(client, hotel.getAgregateur().getClientLePlusFidele());
+        assertEquals(service, hotel.getAgregateur().getServiceLePlusUtilise());
+    }
+
+    @Test
+    public void testReconstructionEgaleAuxCompteursIncrementaux() {
+        // Arrange : compteurs tenus à jour réservation par réservation
+        Statistiques statistiques = new Statistiques(hotel);
+        int nombre = hotel.getAgregateur().getNombreReservations();
+        double chiffreAffaires = statistiques.calculerChiffreAffaires();
+
+        // Act
+        statistiques.setModeParallele(pool);
+        statistiques.recalculer();
+
+        // Assert
+        assertEquals(5 * CalculParTranches.TAILLE_TRANCHE, nombre);
+        assertEquals(nombre, hotel.getAgregateur().getNombreReservations());
+        assertEquals(chiffreAffaires, statistiques.calculerChiffreAffaires(), 0.01);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gestionhotel.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe de tests unitaires pour AllocateurParBlocs.
+ * Vérifie l'unicité sous concurrence et la reprise à la marque haute.
+ */
+public class TestAllocateurParBlocs {
+
+    @Test
+    public void testIdentifiantsConsecutifsDansUnFil() {
+        // Arrange
+        AllocateurParBlocs allocateur = new AllocateurParBlocs(4, 1);
+
+        // Act & Assert
+        for (int attendu = 1; attendu <= 10; attendu++) {
+            assertEquals(attendu, allocateur.suivant());
+        }
+    }
+
+    @Test
+    public void testUnicitePlusieursFils() throws InterruptedException {
+        // Arrange
+        AllocateurParBlocs allocateur = new AllocateurParBlocs(8, 1);
+        Set<Integer> vus = ConcurrentHashMap.newKeySet();
+        List<Thread> fils = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fils.add(new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    assertTrue("Identifiant attribué deux fois", vus.add(allocateur.suivant()));
+                }
+            }));
+        }
+
+        // Act
+        for (Thread fil : fils) {
+            fil.start();
+        }
+        for (Thread fil : fils) {
+            fil.join();
+        }
+
+        // Assert
+        assertEquals(8000, vus.size());
+        assertTrue("La marque haute doit couvrir tous les identifiants",
+                allocateur.getMarqueHaute() > vus.stream().mapToInt(Integer::intValue).max().getAsInt());
+    }
+
+    @Test
+    public void testReserverJusquaAbandonneLeBlocEnCours() {
+        // Arrange : le fil détient le bloc [1, 33)
+        AllocateurParBlocs allocateur = new AllocateurParBlocs(32, 1);
+        allocateur.suivant();
+
+        // Act : un identifiant 10 est restauré depuis une sauvegarde
+        allocateur.reserverJusqua(10);
+
+        // Assert
+        assertTrue("L'identifiant suivant doit dépasser l'identifiant restauré", allocateur.suivant() > 10);
+    }
+
+    @Test
+    public void testRepriseALaMarqueHaute() {
+        // Arrange : session précédente
+        AllocateurParBlocs avant = new AllocateurParBlocs();
+        int dernier = 0;
+        for (int i = 0; i < 5; i++) {
+            dernier = avant.suivant();
+        }
+        int marque = avant.getMarqueHaute();
+
+        // Act : redémarrage
+        AllocateurParBlocs apres = new AllocateurParBlocs();
+        apres.reserverJusqua(marque - 1);
+
+        // Assert
+        assertTrue(apres.suivant() > dernier);
+    }
+}
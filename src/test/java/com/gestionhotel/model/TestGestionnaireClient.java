@@ -321,4 +321,98 @@ public class TestGestionnaireClient {
         gestionnaire.ajouterClient(client3);
         assertEquals("2 clients doivent être présents", 2, gestionnaire.obtenirNombreClients());
     }
+
+    // ===========================
+    // TESTS D'UNICITÉ (INDEX EMAIL / TÉLÉPHONE)
+    // ===========================
+
+    @Test
+    public void testAjouterEmailDejaUtilise() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+        Client homonyme = new Client("Dupont", "Jeanne", "JEAN.DUPONT@email.com", "0600000000");
+
+        // Act
+        boolean resultat = gestionnaire.ajouterClient(homonyme);
+
+        // Assert
+        assertFalse("Un email déjà utilisé (casse différente) doit être refusé", resultat);
+        assertEquals("Le nombre de clients doit rester 1", 1, gestionnaire.obtenirNombreClients());
+    }
+
+    @Test
+    public void testAjouterTelephoneDejaUtilise() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+        Client autre = new Client("Petit", "Luc", "luc.petit@email.com", "01 23 45 67 89");
+
+        // Act & Assert
+        assertFalse("Un téléphone déjà utilisé (format différent) doit être refusé", gestionnaire.ajouterClient(autre));
+    }
+
+    @Test
+    public void testRechercheNormalisee() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+
+        // Act & Assert
+        assertEquals("La recherche par email doit ignorer la casse et les espaces",
+                client1, gestionnaire.rechercherParEmail("  Jean.Dupont@EMAIL.com "));
+        assertEquals("La recherche par téléphone doit ignorer la mise en forme",
+                client1, gestionnaire.rechercherParTelephone("01.23.45.67.89"));
+    }
+
+    @Test
+    public void testModifierClientMetAJourIndex() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+
+        // Act
+        gestionnaire.modifierClient(client1.getNumeroClient(), "Dupont", "Jean", "nouveau@email.com", "0111111111");
+
+        // Assert
+        assertNull("L'ancien email ne doit plus être indexé", gestionnaire.rechercherParEmail("jean.dupont@email.com"));
+        assertNull("L'ancien téléphone ne doit plus être indexé", gestionnaire.rechercherParTelephone("0123456789"));
+        assertEquals("Le nouvel email doit être indexé", client1, gestionnaire.rechercherParEmail("nouveau@email.com"));
+        assertEquals("Le nouveau téléphone doit être indexé", client1, gestionnaire.rechercherParTelephone("0111111111"));
+    }
+
+    @Test
+    public void testModifierVersEmailDUnAutreClient() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+        gestionnaire.ajouterClient(client2);
+
+        // Act
+        boolean resultat = gestionnaire.modifierClient(client2.getNumeroClient(), "Martin", "Marie",
+                "jean.dupont@email.com", "0987654321");
+
+        // Assert
+        assertFalse("La modification vers l'email d'un autre client doit être refusée", resultat);
+        assertEquals("L'email de client2 doit être inchangé", "marie.martin@email.com", client2.getEmail());
+    }
+
+    @Test
+    public void testSupprimerLibereEmailEtTelephone() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+        gestionnaire.supprimerClient(client1.getNumeroClient());
+
+        // Act & Assert
+        assertFalse("L'email doit être libéré", gestionnaire.emailExiste("jean.dupont@email.com"));
+        assertFalse("Le téléphone doit être libéré", gestionnaire.telephoneExiste("0123456789"));
+    }
+
+    @Test
+    public void testEffacerTousLesClientsVideIndex() {
+        // Arrange
+        gestionnaire.ajouterClient(client1);
+
+        // Act
+        gestionnaire.effacerTousLesClients();
+
+        // Assert
+        assertNull("L'index email doit être vidé", gestionnaire.rechercherParEmail("jean.dupont@email.com"));
+        assertTrue("Le client doit pouvoir être réinscrit", gestionnaire.ajouterClient(client1));
+    }
 }
@@ -0,0 +1,75 @@
+package com.gestionhotel.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import com.gestionhotel.exceptions.ValidationException;
+
+/**
+ * Classe de tests unitaires pour StatutReservation.
+ * Vérifie la table des transitions et la lecture des libellés.
+ */
+public class TestStatutReservation {
+
+    // ===========================
+    // TESTS DES TRANSITIONS
+    // ===========================
+
+    @Test
+    public void testTransitionsDepuisEnCours() {
+        assertTrue(StatutReservation.EN_COURS.peutPasserA(StatutReservation.CONFIRMEE));
+        assertTrue(StatutReservation.EN_COURS.peutPasserA(StatutReservation.ANNULEE));
+        assertTrue(StatutReservation.EN_COURS.peutPasserA(StatutReservation.TERMINEE));
+    }
+
+    @Test
+    public void testConfirmeeNeRevientPasEnCours() {
+        assertFalse("Une réservation confirmée ne peut pas repasser EN_COURS",
+                StatutReservation.CONFIRMEE.peutPasserA(StatutReservation.EN_COURS));
+    }
+
+    @Test
+    public void testStatutsFinaux() {
+        assertTrue(StatutReservation.ANNULEE.estFinal());
+        assertTrue(StatutReservation.TERMINEE.estFinal());
+        assertFalse(StatutReservation.ANNULEE.peutPasserA(StatutReservation.TERMINEE));
+        assertFalse(StatutReservation.TERMINEE.peutPasserA(StatutReservation.ANNULEE));
+    }
+
+    @Test
+    public void testAtteignabilite() {
+        assertTrue(StatutReservation.EN_COURS.peutAtteindre(StatutReservation.EN_COURS));
+        assertTrue(StatutReservation.EN_COURS.peutAtteindre(StatutReservation.TERMINEE));
+        assertFalse(StatutReservation.ANNULEE.peutAtteindre(StatutReservation.CONFIRMEE));
+    }
+
+    // ===========================
+    // TESTS DES LIBELLÉS
+    // ===========================
+
+    @Test
+    public void testDepuisLibelle() {
+        for (StatutReservation statut : StatutReservation.values()) {
+            assertEquals("Le libellé doit être relu à l'identique",
+                    statut, StatutReservation.depuisLibelle(statut.getLibelle()));
+        }
+    }
+
+    @Test(expected = ValidationException.class)
+    public void testLibelleInconnu() {
+        StatutReservation.depuisLibelle("Perdue");
+    }
+
+    // ===========================
+    // TESTS SUR LA RÉSERVATION
+    // ===========================
+
+    @Test(expected = ValidationException.class)
+    public void testSetStatutTransitionInterdite() {
+        Reservation reservation = new Reservation(
+                new Client("Dupont", "Jean", "jean@email.com", "0102030405"),
+                new ChambreSimple(1), "01/01/2030", "03/01/2030");
+        reservation.terminer();
+
+        reservation.setStatut(StatutReservation.CONFIRMEE);
+    }
+}
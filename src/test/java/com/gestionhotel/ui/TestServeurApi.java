@@ -0,0 +1,160 @@
+package com.gestionhotel.ui;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.Suite;
+import com.gestionhotel.utils.ObjetJson;
+
+/**
+ * Classe de tests unitaires pour ServeurApi.
+ * Vérifie le parcours d'une réservation par HTTP et le traitement des lots.
+ */
+public class TestServeurApi {
+
+    private Hotel hotel;
+    private ServeurApi serveur;
+    private Service petitDejeuner;
+    private String debut;
+    private String fin;
+
+    /**
+     * Initialisation avant chaque test.
+     * Un hôtel de deux chambres servi sur un port libre.
+     */
+    @Before
+    public void setUp() throws IOException {
+        hotel = new Hotel("Hôtel Test", "Paris");
+        hotel.ajouterChambre(new ChambreSimple(101));
+        hotel.ajouterChambre(new Suite(301, true, true));
+        petitDejeuner = new Service("Petit-déjeuner", "Buffet", 15.0);
+        hotel.ajouterService(petitDejeuner);
+        serveur = new ServeurApi(hotel, 0);
+        serveur.demarrer();
+        debut = LocalDate.now().plusDays(10).toString();
+        fin = LocalDate.now().plusDays(12).toString();
+    }
+
+    @After
+    public void tearDown() {
+        serveur.arreter(0);
+    }
+
+    /**
+     * Réponse HTTP : code et corps.
+     */
+    private static final class Reponse {
+        final int statut;
+        final String corps;
+
+        Reponse(int statut, String corps) {
+            this.statut = statut;
+            this.corps = corps;
+        }
+    }
+
+    private Reponse appeler(String methode, String chemin, String corps) throws IOException {
+        HttpURLConnection connexion = (HttpURLConnection) URI.create("http://localhost:" + serveur.getPort() + chemin)
+                .toURL().openConnection();
+        connexion.setRequestMethod(methode);
+        if (corps != null) {
+            connexion.setDoOutput(true);
+            try (OutputStream sortie = connexion.getOutputStream()) {
+                sortie.write(corps.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int statut = connexion.getResponseCode();
+        try (InputStream entree = statut < 400 ? connexion.getInputStream() : connexion.getErrorStream()) {
+            ByteArrayOutputStream octets = new ByteArrayOutputStream();
+            byte[] tampon = new byte[4096];
+            int lus;
+            while ((lus = entree.read(tampon)) != -1) {
+                octets.write(tampon, 0, lus);
+            }
+            return new Reponse(statut, octets.toString("UTF-8"));
+        }
+    }
+
+    @Test
+    public void testParcoursReservation() throws IOException {
+        // Arrange
+        Reponse client = appeler("POST", "/clients",
+                "{\"nom\":\"Dupont\",\"prenom\":\"Jean\",\"email\":\"jean.dupont@email.com\",\"telephone\":\"0123456789\"}");
+        assertEquals(201, client.statut);
+        String numeroClient = ObjetJson.lireObjet(client.corps).get("numero");
+
+        // Act
+        Reponse devis = appeler("GET", "/devis?chambre=101&debut=" + debut + "&fin=" + fin
+                + "&services=" + petitDejeuner.getIdService(), null);
+        Reponse creee = appeler("POST", "/reservations", "{\"client\":" + numeroClient + ",\"chambre\":101,\"debut\":\""
+                + debut + "\",\"fin\":\"" + fin + "\",\"services\":[" + petitDejeuner.getIdService() + "]}");
+        Reponse doublon = appeler("POST", "/reservations", "{\"client\":" + numeroClient + ",\"chambre\":101,\"debut\":\""
+                + debut + "\",\"fin\":\"" + fin + "\"}");
+        Map<String, String> reservation = ObjetJson.lireObjet(creee.corps);
+        Reponse disponibles = appeler("GET", "/disponibilites?debut=" + debut + "&fin=" + fin, null);
+        Reponse confirmee = appeler("POST", "/reservations/" + reservation.get("numero") + "/confirmer", null);
+        Reponse reconfirmee = appeler("POST", "/reservations/" + reservation.get("numero") + "/confirmer", null);
+
+        // Assert
+        assertEquals(200, devis.statut);
+        assertEquals("115.00", ObjetJson.lireObjet(devis.corps).get("montant"));
+        assertEquals(201, creee.statut);
+        assertEquals("115.00", reservation.get("total"));
+        assertEquals(409, doublon.statut);
+        assertTrue(disponibles.corps.contains("\"numero\":301"));
+        assertFalse(disponibles.corps.contains("\"numero\":101"));
+        assertEquals(200, confirmee.statut);
+        assertEquals("CONFIRMEE", ObjetJson.lireObjet(confirmee.corps).get("statut"));
+        assertEquals(409, reconfirmee.statut);
+        assertEquals(404, appeler("GET", "/reservations/999999", null).statut);
+        assertEquals(400, appeler("GET", "/disponibilites?debut=" + fin + "&fin=" + debut, null).statut);
+        assertEquals(405, appeler("DELETE", "/clients/" + numeroClient, null).statut);
+
+        // Un service indisponible est refusé avant toute création
+        petitDejeuner.setDisponible(false);
+        Reponse sansService = appeler("POST", "/reservations", "{\"client\":" + numeroClient + ",\"chambre\":301,\"debut\":\""
+                + debut + "\",\"fin\":\"" + fin + "\",\"services\":[" + petitDejeuner.getIdService() + "]}");
+        assertEquals(409, sansService.statut);
+        assertEquals(1, hotel.getReservations().size());
+    }
+
+    @Test
+    public void testLotOperations() throws IOException {
+        // Arrange : un client, deux réservations dont une en conflit, une opération invalide
+        hotel.ajouterClient(hotel.nouveauClient("Martin", "Anne", "anne.martin@email.com", "0611223344"));
+        int numeroClient = hotel.rechercherClientParEmail("anne.martin@email.com").getNumeroClient();
+        String sejour = "\"client\":" + numeroClient + ",\"chambre\":301,\"debut\":\"" + debut + "\",\"fin\":\"" + fin + "\"";
+        String lot = "[{\"operation\":\"reserver\"," + sejour + "},"
+                + "{\"operation\":\"reserver\"," + sejour + "},"
+                + "{\"operation\":\"client\",\"email\":\"anne.martin@email.com\"},"
+                + "{\"operation\":\"inconnue\"}]";
+
+        // Act
+        Reponse reponse = appeler("POST", "/lot", lot);
+
+        // Assert
+        assertEquals(200, reponse.statut);
+        List<Map<String, String>> resultats = ObjetJson.lireTableau(
+                reponse.corps.replaceAll("\"resultat\":\\{[^}]*\\}", "\"resultat\":null"));
+        assertEquals(4, resultats.size());
+        assertEquals("201", resultats.get(0).get("statut"));
+        assertEquals("409", resultats.get(1).get("statut"));
+        assertEquals("200", resultats.get(2).get("statut"));
+        assertEquals("404", resultats.get(3).get("statut"));
+        assertEquals(1, hotel.getReservations().size());
+    }
+}
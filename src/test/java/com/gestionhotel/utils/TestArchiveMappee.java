@@ -0,0 +1,132 @@
+package com.gestionhotel.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.Statistiques;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Classe de tests unitaires pour ArchiveMappee.
+ * Vérifie les ajouts, la réouverture, la recherche et l'archivage d'un hôtel sur disque.
+ */
+public class TestArchiveMappee {
+
+    private File fichier;
+
+    /**
+     * Initialisation avant chaque test.
+     * Réserve un nom de fichier d'archive inexistant.
+     */
+    @Before
+    public void setUp() throws IOException {
+        fichier = File.createTempFile("archive", ".ghar");
+        fichier.delete();
+    }
+
+    @After
+    public void tearDown() {
+        fichier.delete();
+    }
+
+    @Test
+    public void testAjoutEtReouverture() throws IOException {
+        // Arrange
+        try (ArchiveMappee archive = ArchiveMappee.ouvrir(fichier)) {
+            assertTrue(archive.ajouter(1, 101, 7, 19000, 19003, StatutReservation.TERMINEE, new int[] { 2, 5 }));
+            assertTrue(archive.ajouter(2, 201, 8, 19010, 19011, StatutReservation.ANNULEE, new int[0]));
+            assertFalse("Un numéro déjà archivé est ignoré",
+                    archive.ajouter(1, 101, 7, 19000, 19003, StatutReservation.TERMINEE, new int[0]));
+        }
+
+        // Act
+        try (ArchiveMappee archive = ArchiveMappee.ouvrirEnLecture(fichier)) {
+            // Assert
+            assertEquals(2, archive.getTaille());
+            int ligne = archive.rechercher(1);
+            assertEquals(0, ligne);
+            assertEquals(101, archive.getNumeroChambre(ligne));
+            assertEquals(7, archive.getNumeroClient(ligne));
+            assertEquals(19003, archive.getJourFin(ligne));
+            assertArrayEquals(new int[] { 2, 5 }, archive.getServices(ligne));
+            assertEquals(StatutReservation.ANNULEE, archive.getStatut(archive.rechercher(2)));
+            assertEquals(-1, archive.rechercher(3));
+        }
+    }
+
+    @Test
+    public void testRechercheNumerosDesordonnes() throws IOException {
+        // Arrange : numéros décroissants, la recherche passe par l'index
+        try (ArchiveMappee archive = ArchiveMappee.ouvrir(fichier)) {
+            for (int numero = 1000; numero > 0; numero--) {
+                archive.ajouter(numero, 101, numero % 10, 19000, 19001, StatutReservation.TERMINEE, new int[0]);
+            }
+
+            // Act
+            int[] parClient = new int[10];
+            archive.parcourir((numero, chambre, client, jourDebut, jourFin, statut, services, premier, dernier)
+                    -> parClient[client]++);
+
+            // Assert
+            assertEquals(1000, archive.getTaille());
+            assertEquals(999, archive.rechercher(1));
+            assertEquals(0, archive.rechercher(1000));
+            assertTrue(archive.ajouter(1001, 101, 0, 19000, 19001, StatutReservation.TERMINEE, new int[0]));
+            assertEquals(1000, archive.rechercher(1001));
+            assertEquals(100, parClient[3]);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLectureSeuleRefuseLesAjouts() throws IOException {
+        // Arrange
+        ArchiveMappee.ouvrir(fichier).close();
+
+        // Act
+        try (ArchiveMappee archive = ArchiveMappee.ouvrirEnLecture(fichier)) {
+            archive.ajouter(1, 101, 1, 19000, 19001, StatutReservation.TERMINEE, new int[0]);
+        }
+    }
+
+    @Test
+    public void testArchivageHotelSurDisque() throws IOException {
+        // Arrange : un historique généré, statistiques calculées avant archivage
+        GenerateurDonnees generateur = new GenerateurDonnees(5L);
+        generateur.setNombreReservations(3000);
+        generateur.setDateReference(LocalDate.of(2024, 1, 1));
+        Hotel hotel = new Hotel("", "");
+        generateur.genererHotel(hotel);
+        Statistiques statistiques = new Statistiques(hotel);
+        double chiffre = statistiques.calculerChiffreAffaires();
+        int total = hotel.getReservations().size();
+
+        try (ArchiveMappee archive = ArchiveMappee.ouvrir(fichier)) {
+            hotel.attacherArchiveFichier(archive);
+
+            // Act
+            int archivees = hotel.archiverReservations(LocalDate.of(2023, 6, 1));
+            ByteArrayOutputStream flux = new ByteArrayOutputStream();
+            SnapshotBinaire.ecrire(hotel, flux);
+
+            // Assert : les lignes sont sur disque et les cumuls n'ont pas bougé
+            assertTrue(archivees > 0);
+            assertEquals(archivees, archive.getTaille() + hotel.getArchive().getTaille());
+            assertEquals(total, hotel.getReservations().size() + hotel.getNombreReservationsArchivees());
+            assertEquals(chiffre, statistiques.calculerChiffreAffaires(), 0.01);
+
+            // Assert : rechargé avec la même archive, le snapshot ne ressuscite pas les lignes archivées
+            Hotel copie = new Hotel("", "");
+            copie.attacherArchiveFichier(archive);
+            SnapshotBinaire.lire(copie, new ByteArrayInputStream(flux.toByteArray()));
+            assertEquals(hotel.getReservations().size(), copie.getReservations().size());
+            assertEquals(chiffre, new Statistiques(copie).calculerChiffreAffaires(), 0.01);
+        }
+    }
+}
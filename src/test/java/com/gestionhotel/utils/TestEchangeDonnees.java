@@ -0,0 +1,199 @@
+package com.gestionhotel.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.Statistiques;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Classe de tests unitaires pour EchangeDonnees.
+ * Vérifie l'aller-retour CSV et JSON Lines, les filtres et le rejet des lignes invalides.
+ */
+public class TestEchangeDonnees {
+
+    private Hotel hotel;
+    private File repertoire;
+
+    /**
+     * Initialisation avant chaque test.
+     * Génère un historique dont une partie est archivée.
+     */
+    @Before
+    public void setUp() throws IOException {
+        GenerateurDonnees generateur = new GenerateurDonnees(11L);
+        generateur.setNombreChambres(10, 5, 2);
+        generateur.setNombreClients(100);
+        generateur.setNombreReservations(1500);
+        generateur.setDateReference(LocalDate.of(2024, 1, 1));
+        hotel = new Hotel("", "");
+        generateur.genererHotel(hotel);
+        hotel.archiverReservations(LocalDate.of(2022, 6, 1));
+        repertoire = Files.createTempDirectory("echange").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (File fichier : repertoire.listFiles()) {
+            fichier.delete();
+        }
+        repertoire.delete();
+    }
+
+    private Hotel allerRetour(FormatEchange format) throws IOException {
+        String extension = format == FormatEchange.CSV ? ".csv" : ".jsonl";
+        File chambres = new File(repertoire, "chambres" + extension);
+        File clients = new File(repertoire, "clients" + extension);
+        File services = new File(repertoire, "services" + extension);
+        File reservations = new File(repertoire, "reservations" + extension);
+        EchangeDonnees.exporterChambres(hotel, chambres, format, null);
+        EchangeDonnees.exporterClients(hotel, clients, format);
+        EchangeDonnees.exporterServices(hotel, services, format);
+        EchangeDonnees.exporterReservations(hotel, reservations, format, null);
+
+        Hotel copie = new Hotel("", "");
+        EchangeDonnees.importerChambres(copie, chambres, format);
+        EchangeDonnees.importerClients(copie, clients, format);
+        EchangeDonnees.importerServices(copie, services, format);
+        RapportImport rapport = EchangeDonnees.importerReservations(copie, reservations, format, 100);
+        assertEquals(rapport.toString(), 0, rapport.getRejetees());
+        return copie;
+    }
+
+    @Test
+    public void testAllerRetourCsvEtJson() throws IOException {
+        // Arrange
+        int total = hotel.getReservations().size() + hotel.getNombreReservationsArchivees();
+        double chiffre = new Statistiques(hotel).calculerChiffreAffaires();
+
+        for (FormatEchange format : FormatEchange.values()) {
+            // Act
+            Hotel copie = allerRetour(format);
+
+            // Assert : tout revient, archive comprise, avec les mêmes cumuls
+            assertEquals(hotel.getChambres().size(), copie.getChambres().size());
+            assertEquals(hotel.getClients().size(), copie.getClients().size());
+            assertEquals(total, copie.getReservations().size());
+            assertEquals(chiffre, new Statistiques(copie).calculerChiffreAffaires(), 0.01);
+        }
+    }
+
+    @Test
+    public void testFiltres() throws IOException {
+        // Arrange
+        FiltreExport filtre = new FiltreExport();
+        filtre.setStatuts(StatutReservation.ANNULEE);
+        filtre.setTypeChambre("suite");
+        filtre.setPeriode(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1));
+        long attendu = 0;
+        for (Reservation reservation : hotel.getReservations()) {
+            if (filtre.accepte(reservation)) {
+                attendu++;
+            }
+        }
+
+        // Act
+        File fichier = new File(repertoire, "annulees.jsonl");
+        long ecrites = EchangeDonnees.exporterReservations(hotel, fichier, FormatEchange.JSONL, filtre);
+
+        // Assert
+        assertTrue(attendu > 0);
+        assertEquals(attendu, ecrites);
+        assertEquals(attendu, Files.readAllLines(fichier.toPath(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testLignesInvalidesRejetees() throws IOException {
+        // Arrange : champ entre guillemets sur deux lignes, puis trois lignes invalides
+        File fichier = new File(repertoire, "clients.csv");
+        Files.write(fichier.toPath(), ("numero,nom,prenom,email,telephone\n"
+                + "900001,\"Martin, dit \"\"Le Grand\"\"\",\"Jean\nPierre\",jp@email.com,0600000001\n"
+                + "900002,Durand,Paul,pas-un-email,0600000002\n"
+                + "abc,Petit,Marie,marie@email.com,0600000003\n"
+                + "900004,Leroy,Luc\n"
+                + "900005,Roux,Lea,lea@email.com,0600000005\n").getBytes(StandardCharsets.UTF_8));
+        Hotel vide = new Hotel("", "");
+
+        // Act
+        RapportImport rapport = EchangeDonnees.importerClients(vide, fichier, FormatEchange.CSV);
+
+        // Assert
+        assertEquals(5, rapport.getLues());
+        assertEquals(2, rapport.getImportees());
+        assertEquals(3, rapport.getRejetees());
+        assertTrue(rapport.getRejets().get(0).startsWith("Ligne 4 "));
+        assertTrue(rapport.getRejets().get(2).startsWith("Ligne 6 "));
+        Client client = vide.rechercherClient(900001);
+        assertEquals("Martin, dit \"Le Grand\"", client.getNom());
+        assertEquals("Jean\nPierre", client.getPrenom());
+    }
+
+    @Test
+    public void testChevauchementsVerifiesDansUnLot() throws IOException {
+        // Arrange : trois séjours actifs sur la même chambre dans un seul lot, le troisième en chevauche un
+        Hotel cible = new Hotel("", "");
+        cible.ajouterChambre(new ChambreSimple(101));
+        cible.ajouterClient(new Client(900001, "Martin", "Jean", "jean.martin@email.com", "0600000001"));
+        File fichier = new File(repertoire, "reservations.csv");
+        Files.write(fichier.toPath(), ("numero,client,chambre,debut,fin,statut\n"
+                + "800001,900001,101,2030-01-01,2030-01-03,EN_COURS\n"
+                + "800002,900001,101,2030-01-03,2030-01-05,CONFIRMEE\n"
+                + "800003,900001,101,2030-01-02,2030-01-04,EN_COURS\n"
+                + "800004,900001,101,2030-01-02,2030-01-04,ANNULEE\n").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        RapportImport rapport = EchangeDonnees.importerReservations(cible, fichier, FormatEchange.CSV);
+
+        // Assert
+        assertEquals(3, rapport.getImportees());
+        assertEquals(1, rapport.getRejetees());
+        assertTrue(rapport.getRejets().get(0).startsWith("Ligne 4 "));
+        assertNull(cible.rechercherReservation(800003));
+        assertFalse(cible.getPlanning().estDisponible(101, LocalDate.of(2030, 1, 4), LocalDate.of(2030, 1, 5)));
+        assertTrue(cible.getPlanning().estDisponible(101, LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 6)));
+        assertEquals(3, cible.getAgregateur().getNombreReservations());
+    }
+
+    @Test
+    public void testImportJournalise() throws IOException {
+        // Arrange : hôtel en service avec son journal
+        File snapshot = new File(repertoire, "hotel.snap");
+        File fichierJournal = new File(repertoire, "hotel.wal");
+        Hotel cible = new Hotel("", "");
+        Journal journal = Journal.ouvrir(cible, snapshot, fichierJournal, 0);
+        cible.ajouterChambre(new ChambreSimple(101));
+        cible.ajouterClient(new Client(900001, "Martin", "Jean", "jean.martin@email.com", "0600000001"));
+        File fichier = new File(repertoire, "reservations.csv");
+        Files.write(fichier.toPath(), ("numero,client,chambre,debut,fin,statut,dateAnnulation,raison\n"
+                + "500,900001,101,2030-01-01,2030-01-03,CONFIRMEE,,\n"
+                + "501,900001,101,2030-01-01,2030-01-03,ANNULEE,15/12/2029,Grève\n").getBytes(StandardCharsets.UTF_8));
+
+        try {
+            // Act : import puis redémarrage sans fermeture ni synchronisation
+            EchangeDonnees.importerReservations(cible, fichier, FormatEchange.CSV);
+            Hotel copie = new Hotel("", "");
+            Journal.ouvrir(copie, snapshot, fichierJournal, 0).close();
+
+            // Assert
+            Reservation confirmee = copie.rechercherReservation(500);
+            Reservation annulee = copie.rechercherReservation(501);
+            assertNotNull(confirmee);
+            assertEquals(StatutReservation.CONFIRMEE, confirmee.getStatut());
+            assertEquals("Grève", annulee.getRaison());
+            assertEquals(StatutReservation.ANNULEE, annulee.getStatut());
+            assertFalse(copie.getPlanning().estDisponible(101, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3)));
+        } finally {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gestionhotel.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.StatutReservation;
+
+/**
+ * Classe de tests unitaires pour GenerateurDonnees.
+ * Vérifie le déterminisme, l'équivalence des destinations, l'absence de chevauchement
+ * et le respect du taux d'annulation et de la saisonnalité.
+ */
+public class TestGenerateurDonnees {
+
+    private static final LocalDate REFERENCE = LocalDate.of(2024, 1, 1);
+
+    private GenerateurDonnees generateur;
+    private File premier;
+    private File second;
+
+    /**
+     * Initialisation avant chaque test.
+     * Configure un petit hôtel de 20 chambres sur 3 ans d'historique.
+     */
+    @Before
+    public void setUp() throws IOException {
+        generateur = new GenerateurDonnees(7L);
+        generateur.setNombreChambres(12, 6, 2);
+        generateur.setNombreClients(300);
+        generateur.setNombreServices(5);
+        generateur.setNombreReservations(4000);
+        generateur.setDateReference(REFERENCE);
+        premier = File.createTempFile("generation", ".snap");
+        second = File.createTempFile("generation", ".snap");
+    }
+
+    @After
+    public void tearDown() {
+        premier.delete();
+        second.delete();
+    }
+
+    @Test
+    public void testMemeGraineMemeSnapshot() throws IOException {
+        // Act
+        generateur.genererSnapshot(premier);
+        generateur.genererSnapshot(second);
+
+        // Assert
+        assertArrayEquals(Files.readAllBytes(premier.toPath()), Files.readAllBytes(second.toPath()));
+    }
+
+    @Test
+    public void testSnapshotEquivalentALHotelEnMemoire() throws IOException {
+        // Arrange
+        Hotel enMemoire = new Hotel("", "");
+        generateur.genererHotel(enMemoire);
+        generateur.genererSnapshot(premier);
+
+        // Act
+        Hotel relu = new Hotel("", "");
+        SnapshotBinaire.lire(relu, premier);
+
+        // Assert
+        assertEquals(20, relu.getChambres().size());
+        assertEquals(300, relu.getClients().size());
+        assertEquals(4000, relu.getReservations().size());
+        assertEquals(enMemoire.getAgregateur().getChiffreAffaires(), relu.getAgregateur().getChiffreAffaires(), 0.001);
+        assertEquals(enMemoire.getAgregateur().getNombreReservations(StatutReservation.ANNULEE),
+                relu.getAgregateur().getNombreReservations(StatutReservation.ANNULEE));
+    }
+
+    @Test
+    public void testSejoursSansChevauchementEtSaisonnalite() {
+        // Arrange
+        Hotel hotel = new Hotel("", "");
+
+        // Act
+        generateur.genererHotel(hotel);
+
+        // Assert : chaque chambre enchaîne des séjours disjoints
+        int[] nuitsParMois = new int[12];
+        LocalDate[] dernieresFins = new LocalDate[1000];
+        for (Reservation reservation : hotel.getReservations()) {
+            int indice = reservation.getChambre().getNumero() - 101;
+            LocalDate fin = dernieresFins[indice];
+            assertTrue("Séjours qui se chevauchent sur la chambre " + reservation.getChambre().getNumero(),
+                    fin == null || !reservation.getDebut().isBefore(fin));
+            dernieresFins[indice] = reservation.getFin();
+            nuitsParMois[reservation.getDebut().getMonthValue() - 1]++;
+        }
+        assertTrue("Août doit compter plus d'arrivées que janvier", nuitsParMois[7] > nuitsParMois[0]);
+    }
+
+    @Test
+    public void testTauxAnnulationConfigurable() {
+        // Arrange
+        generateur.setTauxAnnulation(0.25);
+        Hotel hotel = new Hotel("", "");
+
+        // Act
+        generateur.genererHotel(hotel);
+
+        // Assert
+        int annulees = hotel.getAgregateur().getNombreReservations(StatutReservation.ANNULEE);
+        assertEquals(0.25, annulees / 4000.0, 0.03);
+    }
+}
@@ -0,0 +1,220 @@
+package com.gestionhotel.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Classe de tests unitaires pour Journal.
+ * Vérifie le rejeu après arrêt brutal, la troncature d'une fin incomplète et le checkpoint.
+ */
+public class TestJournal {
+
+    private File snapshot;
+    private File fichierJournal;
+    private Hotel hotel;
+    private Journal journal;
+
+    /**
+     * Initialisation avant chaque test.
+     * Ouvre un journal vide sur un hôtel vierge.
+     */
+    @Before
+    public void setUp() throws IOException {
+        snapshot = File.createTempFile("hotel", ".snap");
+        fichierJournal = File.createTempFile("hotel", ".wal");
+        snapshot.delete();
+        fichierJournal.delete();
+        hotel = new Hotel("Hôtel Test", "Paris");
+        journal = Journal.ouvrir(hotel, snapshot, fichierJournal, 0);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        journal.close();
+        snapshot.delete();
+        fichierJournal.delete();
+        new File(snapshot.getPath() + ".tmp").delete();
+    }
+
+    /**
+     * Simule un redémarrage : recharge le snapshot éventuel puis rejoue le journal.
+     */
+    private Hotel redemarrer() throws IOException {
+        Hotel copie = new Hotel("", "");
+        long dernier = snapshot.exists() ? SnapshotBinaire.lire(copie, snapshot) : 0;
+        Journal.ouvrir(copie, snapshot, fichierJournal, dernier).close();
+        return copie;
+    }
+
+    private Reservation remplir() {
+        hotel.ajouterChambre(new Suite(301, true, false));
+        hotel.ajouterChambre(new ChambreSimple(101));
+        Client client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        Service spa = new Service("Spa", "Accès illimité", 45.5);
+        hotel.ajouterService(spa);
+        LocalDate debut = LocalDate.now().plusDays(5);
+        Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(301), debut, debut.plusDays(2));
+        hotel.ajouterServiceReservation(reservation, spa);
+        Reservation annulee = hotel.creerReservation(client, hotel.rechercherChambre(101), debut, debut.plusDays(1));
+        hotel.annulerReservation(annulee.getNumeroReservation(), "Vol annulé");
+        hotel.modifierClient(client.getNumeroClient(), "Dupont", "Jeanne", "jeanne.dupont@email.com", "0123456789");
+        hotel.rechercherChambre(101).setPrixParNuit(75.0);
+        return reservation;
+    }
+
+    // ===========================
+    // TESTS DE REJEU
+    // ===========================
+
+    @Test
+    public void testRejeuSansSnapshot() throws IOException {
+        // Arrange
+        Reservation reservation = remplir();
+        journal.synchroniser();
+
+        // Act : redémarrage sans sauvegarde de fermeture
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals(2, copie.getChambres().size());
+        assertEquals(75.0, copie.rechercherChambre(101).getPrixParNuit(), 0.001);
+        assertEquals("Jeanne", copie.getClients().iterator().next().getPrenom());
+        Reservation relue = copie.rechercherReservation(reservation.getNumeroReservation());
+        assertNotNull("La réservation doit être rejouée avec son numéro", relue);
+        assertEquals(1, relue.getServices().size());
+        assertEquals(1, copie.getAgregateur().getNombreReservations(StatutReservation.ANNULEE));
+        assertFalse("Le séjour rejoué doit occuper le planning",
+                copie.estChambreDisponible(copie.rechercherChambre(301), relue.getDebut(), relue.getFin()));
+    }
+
+    @Test
+    public void testFinIncompleteTronquee() throws IOException {
+        // Arrange : écriture interrompue après les enregistrements valides
+        remplir();
+        journal.synchroniser();
+        long tailleValide = fichierJournal.length();
+        try (FileOutputStream flux = new FileOutputStream(fichierJournal, true)) {
+            flux.write(new byte[] { 40, 1, 2, 3 });
+        }
+
+        // Act
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals(2, copie.getReservations().size());
+        assertEquals("La fin incomplète doit être tronquée", tailleValide, fichierJournal.length());
+    }
+
+    // ===========================
+    // TESTS DE CHECKPOINT
+    // ===========================
+
+    @Test
+    public void testCheckpointVideLeJournal() throws IOException {
+        // Arrange
+        remplir();
+
+        // Act
+        journal.checkpoint();
+        hotel.ajouterChambre(new ChambreSimple(102));
+        journal.synchroniser();
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals("Seul l'ajout postérieur doit rester dans le journal", 1, journal.getEnregistrementsDepuisCheckpoint());
+        assertEquals("Le snapshot et la fin du journal doivent être combinés", 3, copie.getChambres().size());
+        assertEquals(2, copie.getReservations().size());
+    }
+
+    @Test
+    public void testCheckpointsAutomatiquesConcurrents() throws Exception {
+        // Arrange : un checkpoint tous les 5 enregistrements, 8 terminaux sur des chambres différentes
+        journal.setSeuilCheckpoint(5);
+        Client client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        for (int i = 0; i < 8; i++) {
+            hotel.ajouterChambre(new ChambreSimple(101 + i));
+        }
+        LocalDate debut = LocalDate.now().plusDays(1);
+        AtomicInteger echecs = new AtomicInteger();
+        List<Thread> terminaux = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int numeroChambre = 101 + i;
+            terminaux.add(new Thread(() -> {
+                for (int k = 0; k < 25; k++) {
+                    try {
+                        hotel.creerReservation(client, hotel.rechercherChambre(numeroChambre),
+                                debut.plusDays(2 * k), debut.plusDays(2 * k + 1));
+                    } catch (RuntimeException e) {
+                        echecs.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        // Act
+        for (Thread terminal : terminaux) {
+            terminal.start();
+        }
+        for (Thread terminal : terminaux) {
+            terminal.join();
+        }
+        journal.checkpoint();
+        journal.synchroniser();
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals("Aucune réservation ne doit échouer à cause d'un checkpoint", 0, echecs.get());
+        assertEquals(200, hotel.getReservations().size());
+        assertEquals(200, copie.getReservations().size());
+        assertTrue(journal.getEnregistrementsDepuisCheckpoint() < 5);
+    }
+
+    @Test
+    public void testEnregistrementsDejaDansLeSnapshotIgnores() throws IOException {
+        // Arrange : snapshot écrit mais journal non vidé (arrêt pendant le checkpoint)
+        remplir();
+        journal.synchroniser();
+        SnapshotBinaire.ecrire(hotel, snapshot, journal.getDernierNumero());
+
+        // Act
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals("Aucune réservation ne doit être dupliquée", 2, copie.getReservations().size());
+        assertEquals(1, copie.getReservations().iterator().next().getServices().size());
+    }
+
+    @Test
+    public void testArchivageRejoue() throws IOException {
+        // Arrange : la réservation annulée est archivée après sa création dans le même journal
+        Reservation reservation = remplir();
+        assertEquals(1, hotel.archiverReservations(reservation.getFin().plusDays(30)));
+        journal.synchroniser();
+
+        // Act
+        Hotel copie = redemarrer();
+
+        // Assert
+        assertEquals(1, copie.getReservations().size());
+        assertEquals(1, copie.getArchive().getTaille());
+        assertEquals(hotel.getAgregateur().getChiffreAffaires(), copie.getAgregateur().getChiffreAffaires(), 0.001);
+    }
+}
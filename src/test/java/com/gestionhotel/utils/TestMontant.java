@@ -0,0 +1,71 @@
+package com.gestionhotel.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.LocalDate;
+import java.util.Collections;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.core.Statistiques;
+import com.gestionhotel.model.ChambreSimple;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+
+/**
+ * Classe de tests unitaires pour Montant.
+ * Vérifie les règles d'arrondi et l'exactitude des prix et des cumuls en centimes.
+ */
+public class TestMontant {
+
+    @Test
+    public void testArrondiAuCentimeDemisAuPair() {
+        // Act & Assert
+        assertEquals(1999, Montant.depuisEuros(19.99));
+        assertEquals(12, Montant.depuisEuros(0.125));
+        assertEquals(14, Montant.depuisEuros(0.135));
+        assertEquals(-12, Montant.depuisEuros(-0.125));
+        assertEquals(2, Montant.diviser(5, 2));
+        assertEquals(4, Montant.diviser(7, 2));
+        assertEquals(-2, Montant.diviser(-5, 2));
+        assertEquals(150, Montant.pourcentage(1000, 15));
+        assertEquals("-1234.05", Montant.formater(-123405));
+        assertEquals("0.50", Montant.formater(50));
+    }
+
+    @Test
+    public void testPromotionsSuccessivesSansDerive() {
+        // Arrange
+        Service service = new Service("Spa", "Accès au spa", 19.99);
+
+        // Act : 1999 -> 1799 (réduction 199,9 arrondie à 200) -> 1619 (179,9 -> 180)
+        service.appliquerPromotion(10);
+        service.appliquerPromotion(10);
+
+        // Assert
+        assertEquals(1619, service.getPrixCentimes());
+        assertEquals(16.19, service.getPrix(), 0.0);
+    }
+
+    @Test
+    public void testCumulExactSurUnMillionDeServices() {
+        // Arrange : 10 centimes ajoutés un million de fois
+        Hotel hotel = new Hotel("Hôtel Test", "Paris");
+        hotel.ajouterChambre(new ChambreSimple(101));
+        Client client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        Service cafe = new Service("Café", "Un café", 0.10);
+        hotel.ajouterService(cafe);
+        LocalDate debut = LocalDate.now().plusDays(1);
+        Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(101), debut, debut.plusDays(1));
+
+        // Act
+        reservation.setServices(Collections.nCopies(1_000_000, cafe));
+        Statistiques statistiques = new Statistiques(hotel);
+        statistiques.recalculer();
+
+        // Assert : la même somme en doubles vaudrait 100000.00000133288
+        assertEquals(5_000 + 10_000_000L, reservation.calculerPrixTotalCentimes());
+        assertEquals(5_000 + 10_000_000L, statistiques.calculerChiffreAffairesCentimes());
+        assertEquals(100_050.0, statistiques.calculerChiffreAffaires(), 0.0);
+    }
+}
@@ -0,0 +1,186 @@
+package com.gestionhotel.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import com.gestionhotel.core.Hotel;
+import com.gestionhotel.model.ChambreDouble;
+import com.gestionhotel.model.Client;
+import com.gestionhotel.model.Reservation;
+import com.gestionhotel.model.Service;
+import com.gestionhotel.model.StatutReservation;
+import com.gestionhotel.model.Suite;
+
+/**
+ * Classe de tests unitaires pour SnapshotBinaire.
+ * Vérifie l'aller-retour écriture / lecture et la détection des corruptions.
+ */
+public class TestSnapshotBinaire {
+
+    private Hotel hotel;
+
+    /**
+     * Initialisation avant chaque test.
+     * Crée un hôtel avec des textes contenant des séparateurs de l'ancien format.
+     */
+    @Before
+    public void setUp() {
+        hotel = new Hotel("Hôtel | Test", "1 rue du Port\nMarseille");
+        hotel.ajouterChambre(new Suite(301, true, false));
+        hotel.ajouterChambre(new ChambreDouble(201, true));
+        Client client = new Client("Dupont", "Jean", "jean.dupont@email.com", "0123456789");
+        hotel.ajouterClient(client);
+        Service spa = new Service("Spa", "Accès | illimité", 45.5);
+        hotel.ajouterService(spa);
+
+        LocalDate debut = LocalDate.now().plusDays(10);
+        Reservation reservation = hotel.creerReservation(client, hotel.rechercherChambre(301), debut, debut.plusDays(3));
+        hotel.ajouterServiceReservation(reservation, spa);
+        Reservation annulee = hotel.creerReservation(client, hotel.rechercherChambre(201), debut, debut.plusDays(1));
+        hotel.annulerReservation(annulee.getNumeroReservation(), "Vol | annulé");
+    }
+
+    private byte[] ecrire(Hotel source) throws IOException {
+        ByteArrayOutputStream flux = new ByteArrayOutputStream();
+        SnapshotBinaire.ecrire(source, flux);
+        return flux.toByteArray();
+    }
+
+    // ===========================
+    // TESTS D'ALLER-RETOUR
+    // ===========================
+
+    @Test
+    public void testAllerRetour() throws IOException {
+        // Act
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, new ByteArrayInputStream(ecrire(hotel)));
+
+        // Assert
+        assertEquals("Le nom doit être conservé", hotel.getNom(), copie.getNom());
+        assertEquals("L'adresse multi-ligne doit être conservée", hotel.getAdresse(), copie.getAdresse());
+        assertEquals(2, copie.getChambres().size());
+        assertTrue("Les options de la suite doivent être conservées",
+                ((Suite) copie.rechercherChambre(301)).hasJacuzzi());
+        assertEquals(1, copie.getClients().size());
+        assertEquals(2, copie.getReservations().size());
+        assertEquals("Le chiffre d'affaires doit être identique",
+                hotel.getAgregateur().getChiffreAffaires(), copie.getAgregateur().getChiffreAffaires(), 0.001);
+        assertEquals(1, copie.getAgregateur().getNombreReservations(StatutReservation.ANNULEE));
+    }
+
+    @Test
+    public void testSeparateursConservesDansLesTextes() throws IOException {
+        // Act
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, new ByteArrayInputStream(ecrire(hotel)));
+
+        // Assert
+        assertEquals("Accès | illimité", copie.getServicesDisponibles().get(0).getDescription());
+        for (Reservation reservation : copie.getReservations()) {
+            if (reservation.estAnnulee()) {
+                assertEquals("Vol | annulé", reservation.getRaison());
+            }
+        }
+    }
+
+    @Test
+    public void testReservationsPasseesConserveesAvecNumero() throws IOException {
+        // Arrange : séjour terminé dans le passé, impossible à recréer via creerReservation
+        Client client = hotel.getClients().iterator().next();
+        LocalDate debut = LocalDate.now().minusDays(30);
+        Reservation passee = new Reservation(9000, client, hotel.rechercherChambre(201),
+                debut, debut.plusDays(2), StatutReservation.TERMINEE);
+        hotel.restaurerReservations(java.util.Collections.singletonList(passee));
+
+        // Act
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, new ByteArrayInputStream(ecrire(hotel)));
+
+        // Assert
+        Reservation relue = copie.rechercherReservation(9000);
+        assertNotNull("La réservation passée doit être restaurée avec son numéro", relue);
+        assertEquals(StatutReservation.TERMINEE, relue.getStatut());
+        assertEquals(3, copie.getReservations().size());
+    }
+
+    @Test
+    public void testPrixConservesAuCentime() throws IOException {
+        // Arrange
+        hotel.rechercherChambre(201).setPrixParNuitCentimes(3333);
+        hotel.getServicesDisponibles().get(0).setPrixCentimes(1619);
+
+        // Act
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, new ByteArrayInputStream(ecrire(hotel)));
+
+        // Assert
+        assertEquals(3333, copie.rechercherChambre(201).getPrixParNuitCentimes());
+        assertEquals(1619, copie.getServicesDisponibles().get(0).getPrixCentimes());
+    }
+
+    @Test
+    public void testLectureVersion4PrixEnEuros() throws IOException {
+        // Arrange : snapshot version 4, prix écrits en double
+        ByteArrayOutputStream flux = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        SortieBinaire sortie = new SortieBinaire(new CheckedOutputStream(flux, crc));
+        sortie.ecrireOctets(SnapshotBinaire.MAGIC);
+        sortie.ecrireVarint(4);
+        sortie.ecrireVarlong(0);
+        for (int i = 0; i < 3; i++) {
+            sortie.ecrireVarint(0);
+        }
+        sortie.ecrireChaine("Ancien");
+        sortie.ecrireChaine("");
+        sortie.ecrireVarint(1); // chambres : simple n°101
+        sortie.ecrireOctet(0);
+        sortie.ecrireVarint(101);
+        sortie.ecrireDouble(33.33);
+        sortie.ecrireBooleen(false);
+        sortie.ecrireVarint(0); // clients
+        sortie.ecrireVarint(1); // services
+        sortie.ecrireVarint(7);
+        sortie.ecrireChaine("Spa");
+        sortie.ecrireChaine("");
+        sortie.ecrireDouble(16.19);
+        sortie.ecrireBooleen(true);
+        sortie.ecrireVarint(0); // réservations
+        sortie.ecrireVarint(0); // archive
+        sortie.flush();
+        new SortieBinaire(flux).ecrireEntier((int) crc.getValue());
+
+        // Act
+        Hotel copie = new Hotel("", "");
+        SnapshotBinaire.lire(copie, new ByteArrayInputStream(flux.toByteArray()));
+
+        // Assert
+        assertEquals(3333, copie.rechercherChambre(101).getPrixParNuitCentimes());
+        assertEquals(1619, copie.rechercherService(7).getPrixCentimes());
+    }
+
+    // ===========================
+    // TESTS DE ROBUSTESSE
+    // ===========================
+
+    @Test(expected = IOException.class)
+    public void testCorruptionDetectee() throws IOException {
+        // Arrange
+        byte[] octets = ecrire(hotel);
+        octets[octets.length / 2] ^= 0x5A;
+
+        // Act
+        SnapshotBinaire.lire(new Hotel("", ""), new ByteArrayInputStream(octets));
+    }
+
+    @Test(expected = IOException.class)
+    public void testEnTeteInvalide() throws IOException {
+        SnapshotBinaire.lire(new Hotel("", ""), new ByteArrayInputStream("pas un snapshot".getBytes()));
+    }
+}